@@ -0,0 +1,117 @@
+package br.edu.iff.taskflowapi.benchmarks;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.service.TaskDependencyGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adds one dependency to a user's graph that already has four per task and
+ * takes it back, against the full search from the blocked task that a
+ * graph without an order would need for every new dependency. Half of the
+ * new dependencies go against the current order and make the graph renumber
+ * the tasks between their ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskDependencyBenchmark {
+
+    private static final int CANDIDATES = 1024;
+
+    @Param({"1000", "10000"})
+    private int tasksPerUser;
+
+    private TaskDependencyGraph graph;
+    private final Map<Long, List<Long>> dependents = new HashMap<>();
+    private final List<Task[]> candidates = new ArrayList<>();
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = new TaskDependencyGraph(null, null, true, 1);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("benchmark@example.com");
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= tasksPerUser; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setStatus(Status.OPEN);
+            task.setUser(user);
+            graph.index(task);
+            tasks.add(task);
+        }
+        // Older tasks block newer ones, so the setup never closes a cycle.
+        Random random = new Random(42);
+        for (int i = 0; i < tasksPerUser * 4; i++) {
+            int a = random.nextInt(tasksPerUser);
+            int b = random.nextInt(tasksPerUser);
+            if (a != b) {
+                Task blocker = tasks.get(Math.min(a, b));
+                Task task = tasks.get(Math.max(a, b));
+                graph.link(blocker, task);
+                dependents.computeIfAbsent(blocker.getId(), id -> new ArrayList<>()).add(task.getId());
+            }
+        }
+        while (candidates.size() < CANDIDATES) {
+            Task blocker = tasks.get(random.nextInt(tasksPerUser));
+            Task task = tasks.get(random.nextInt(tasksPerUser));
+            if (!reaches(task.getId(), blocker.getId())
+                && !dependents.getOrDefault(blocker.getId(), List.of()).contains(task.getId())) {
+                candidates.add(new Task[] {blocker, task});
+            }
+        }
+    }
+
+    @Benchmark
+    public void incremental() {
+        Task[] candidate = candidates.get(next++ & (CANDIDATES - 1));
+        graph.link(candidate[0], candidate[1]);
+        graph.unlink(candidate[0].getId(), candidate[1]);
+    }
+
+    @Benchmark
+    public boolean fullSearch() {
+        Task[] candidate = candidates.get(next++ & (CANDIDATES - 1));
+        return reaches(candidate[1].getId(), candidate[0].getId());
+    }
+
+    private boolean reaches(long from, long to) {
+        Set<Long> seen = new HashSet<>();
+        List<Long> stack = new ArrayList<>(List.of(from));
+        while (!stack.isEmpty()) {
+            long id = stack.remove(stack.size() - 1);
+            if (id == to) {
+                return true;
+            }
+            if (seen.add(id)) {
+                stack.addAll(dependents.getOrDefault(id, List.of()));
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,80 @@
+package br.edu.iff.taskflowapi.benchmarks;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.service.TaskLabelIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters one user's tasks straight through the label index, without the
+ * store lookups of the endpoint. Each task gets one to four labels from a
+ * skewed vocabulary and a random status, so common labels match a large part
+ * of the tasks and rare ones only a few.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskLabelFilterBenchmark {
+
+    private static final String EMAIL = "benchmark@example.com";
+    private static final String[] LABELS = {
+        "trabalho", "casa", "urgente", "cliente", "financeiro", "estudo", "saude", "compras", "viagem", "projeto-x",
+        "reuniao", "bug", "melhoria", "documentacao", "suporte", "familia", "carro", "banco", "impostos", "academia",
+        "leitura", "contrato", "marketing", "vendas", "rh", "infra", "seguranca", "backup", "auditoria", "ferias"};
+    private static final Status[] STATUSES = Status.values();
+
+    @Param({"100000"})
+    private int tasksPerUser;
+
+    @Param({"urgente", "trabalho urgente", "(bug OR melhoria) AND NOT status:DONE", "ferias auditoria", "NOT casa"})
+    private String query;
+
+    private TaskLabelIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TaskLabelIndex(null, null, true, 1);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        Random random = new Random(42);
+        for (long id = 1; id <= tasksPerUser; id++) {
+            Set<String> labels = new TreeSet<>();
+            for (int i = random.nextInt(4); i >= 0; i--) {
+                // Squaring skews the picks towards the start of the vocabulary.
+                labels.add(LABELS[(int) (random.nextDouble() * random.nextDouble() * LABELS.length)]);
+            }
+            Task task = new Task();
+            task.setId(id);
+            task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            task.setLabels(labels);
+            task.setUser(user);
+            index.index(task);
+        }
+    }
+
+    @Benchmark
+    public List<Long> filter() {
+        return index.filter(EMAIL, query, 50);
+    }
+}
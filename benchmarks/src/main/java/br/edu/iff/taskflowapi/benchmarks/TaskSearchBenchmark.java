@@ -0,0 +1,84 @@
+package br.edu.iff.taskflowapi.benchmarks;
+
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.service.TaskSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Searches one user's tasks straight through the index, without the store
+ * lookups of the endpoint. Titles and descriptions are drawn from a fixed
+ * Portuguese vocabulary with a skewed distribution, so common words have
+ * long posting lists as in real data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSearchBenchmark {
+
+    private static final String EMAIL = "benchmark@example.com";
+    private static final String[] WORDS = {
+        "relatório", "reunião", "cliente", "contrato", "revisão", "pagamento", "fatura", "entrega", "projeto",
+        "orçamento", "equipe", "sprint", "deploy", "correção", "erro", "banco", "migração", "documentação",
+        "ligação", "fornecedor", "compra", "venda", "meta", "planejamento", "apresentação", "treinamento",
+        "auditoria", "backup", "servidor", "segurança", "acesso", "senha", "contratação", "férias", "viagem",
+        "estoque", "pedido", "nota", "fiscal", "imposto", "marketing", "campanha", "relacionamento", "suporte",
+        "chamado", "prazo", "urgente", "semanal", "mensal", "anual"};
+
+    @Param({"100000"})
+    private int tasksPerUser;
+
+    @Param({"cliente", "contrato fiscal", "rela", "urgente chamado suporte"})
+    private String query;
+
+    private TaskSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new TaskSearchIndex(null, null, true, 1);
+        User user = new User();
+        user.setId(1L);
+        user.setEmail(EMAIL);
+        Random random = new Random(42);
+        for (long id = 1; id <= tasksPerUser; id++) {
+            Task task = new Task();
+            task.setId(id);
+            task.setTitle(words(random, 3) + " " + id);
+            task.setDescription(words(random, 12));
+            task.setUser(user);
+            index.index(task);
+        }
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // Squaring skews the picks towards the start of the vocabulary.
+            double skewed = random.nextDouble() * random.nextDouble();
+            text.append(WORDS[(int) (skewed * WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return index.search(EMAIL, query, 20);
+    }
+}
@@ -0,0 +1,70 @@
+package br.edu.iff.taskflowapi.benchmarks;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskSerializationBenchmark {
+
+    private static final TypeReference<List<Task>> TASK_LIST = new TypeReference<>() {};
+
+    @Param({"1", "10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Same builder Spring Boot uses for the MVC message converters.
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        tasks = new ArrayList<>(size);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId((long) i);
+            task.setTitle("Tarefa " + i);
+            task.setDescription("Descrição da tarefa número " + i);
+            task.setStatus(Status.values()[i % Status.values().length]);
+            task.setCreationDate(today);
+            task.setLimitDate(today.plusDays(i % 30));
+            tasks.add(task);
+        }
+        json = objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(tasks);
+    }
+
+    @Benchmark
+    public List<Task> deserialize() throws Exception {
+        return objectMapper.readValue(json, TASK_LIST);
+    }
+}
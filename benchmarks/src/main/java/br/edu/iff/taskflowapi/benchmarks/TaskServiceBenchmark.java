@@ -0,0 +1,101 @@
+package br.edu.iff.taskflowapi.benchmarks;
+
+import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.service.TaskService;
+import br.edu.iff.taskflowapi.service.UserService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final String EMAIL = "benchmark@example.com";
+
+    @Param({"10", "100", "1000"})
+    private int tasksPerUser;
+
+    @Param({"jpa", "columnar"})
+    private String store;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRequest taskRequest;
+    private Long[] ids;
+
+    @Setup
+    public void setUp() {
+        context = "columnar".equals(store) ? TaskflowContext.start("columnar") : TaskflowContext.start();
+        taskService = context.getBean(TaskService.class);
+
+        User user = new User();
+        user.setName("Benchmark");
+        user.setEmail(EMAIL);
+        user.setPassword("password");
+        context.getBean(UserService.class).saveUser(user);
+
+        taskRequest = new TaskRequest();
+        taskRequest.setTitle("Tarefa");
+        taskRequest.setDescription("Descrição");
+        taskRequest.setLimitDate("2030-01-01");
+        for (int i = 0; i < tasksPerUser; i++) {
+            taskService.saveTask(taskRequest, EMAIL);
+        }
+        ids = taskService.getByEmail(EMAIL).stream().map(Task::getId).toArray(Long[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Task> getByEmail() {
+        return taskService.getByEmail(EMAIL);
+    }
+
+    @Benchmark
+    public Task getById() {
+        return taskService.getById(randomId(), EMAIL);
+    }
+
+    @Benchmark
+    public Task updateTask() {
+        Task task = taskService.getById(randomId(), EMAIL);
+        task.setTitle("Atualizada");
+        return taskService.updateTask(task, EMAIL);
+    }
+
+    // Delete right away so the table size stays at tasksPerUser.
+    @Benchmark
+    public Long saveAndDeleteTask() {
+        Task task = taskService.saveTask(taskRequest, EMAIL);
+        taskService.deleteTask(task.getId(), EMAIL);
+        return task.getId();
+    }
+
+    private Long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
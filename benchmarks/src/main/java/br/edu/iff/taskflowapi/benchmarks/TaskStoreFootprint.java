@@ -0,0 +1,66 @@
+package br.edu.iff.taskflowapi.benchmarks;
+
+import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.service.TaskService;
+import br.edu.iff.taskflowapi.service.UserService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+
+/**
+ * Heap retained per task by each task store: creates the tasks through
+ * {@link TaskService} and compares the used heap after a full GC before and
+ * after. Usage: {@code TaskStoreFootprint [jpa|columnar] [tasks] [users]}.
+ */
+public class TaskStoreFootprint {
+
+    public static void main(String[] args) throws InterruptedException {
+        String store = args.length > 0 ? args[0] : "jpa";
+        int tasks = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int users = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+
+        ConfigurableApplicationContext context = "columnar".equals(store)
+            ? TaskflowContext.start("columnar") : TaskflowContext.start();
+        try {
+            TaskService taskService = context.getBean(TaskService.class);
+            UserService userService = context.getBean(UserService.class);
+            String[] emails = new String[users];
+            for (int i = 0; i < users; i++) {
+                User user = new User();
+                user.setName("Usuário " + i);
+                user.setEmail(emails[i] = "footprint-" + i + "@example.com");
+                user.setPassword("password");
+                userService.saveUser(user);
+            }
+
+            TaskRequest request = new TaskRequest();
+            request.setDescription("Descrição da tarefa");
+            request.setLimitDate("2030-01-01");
+            long before = usedHeap();
+            long start = System.nanoTime();
+            for (int i = 0; i < tasks; i++) {
+                // Titles repeat every 1000 tasks, like recurring tasks do.
+                request.setTitle("Tarefa " + (i % 1000));
+                taskService.saveTask(request, emails[i % users]);
+            }
+            long elapsed = System.nanoTime() - start;
+            long after = usedHeap();
+
+            System.out.printf("%s: %d tarefas, %.0f bytes por tarefa, %.0f inserções/s%n", store, tasks,
+                (double) (after - before) / tasks, tasks / (elapsed / 1e9));
+        } finally {
+            context.close();
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
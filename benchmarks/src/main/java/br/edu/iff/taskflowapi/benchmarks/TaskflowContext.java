@@ -0,0 +1,23 @@
+package br.edu.iff.taskflowapi.benchmarks;
+
+import br.edu.iff.taskflowapi.TaskflowApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class TaskflowContext {
+
+    private TaskflowContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... profiles) {
+        return new SpringApplicationBuilder(TaskflowApiApplication.class)
+            .profiles(profiles)
+            .logStartupInfo(false)
+            .properties(
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN",
+                "server.port=0",
+                "spring.datasource.url=jdbc:h2:mem:benchmarks")
+            .run();
+    }
+}
@@ -0,0 +1,300 @@
+package br.edu.iff.taskflowapi.benchmarks.load;
+
+import br.edu.iff.taskflowapi.TaskflowApiApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop HTTP load generator. Requests are sent at their scheduled time
+ * whether or not earlier ones have completed, and latency is measured from
+ * that scheduled time, so a stalled server shows up in the percentiles
+ * instead of silently lowering the request rate (coordinated omission).
+ *
+ * <p>Without {@code --url} the application is started in-process on an
+ * ephemeral port. Run with
+ * {@code java -cp benchmarks/target/benchmarks.jar br.edu.iff.taskflowapi.benchmarks.load.LoadGenerator --rate=500}.
+ */
+public class LoadGenerator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final String TASK_BODY =
+        "{\"title\":\"Tarefa de carga\",\"description\":\"Criada pelo gerador de carga\",\"limitDate\":\"2030-01-01\"}";
+    private static final String UPDATE_BODY =
+        "{\"title\":\"Tarefa atualizada\",\"description\":\"Atualizada pelo gerador de carga\",\"status\":\"IN_PROGRESS\",\"limitDate\":\"2030-01-01\"}";
+
+    private final LoadOptions options;
+    private final URI baseUrl;
+    private final HttpClient client;
+    private final Random random;
+    private final Operation[] weightedOperations;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final List<UserSession> users = new ArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private long maxLagNanos;
+
+    LoadGenerator(LoadOptions options, URI baseUrl) {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+        this.random = new Random(options.seed);
+
+        List<Operation> weighted = new ArrayList<>();
+        options.mix.forEach((operation, weight) -> {
+            stats.put(operation, new EndpointStats());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        });
+        // Operations without a task to act on fall back to CREATE.
+        stats.putIfAbsent(Operation.CREATE, new EndpointStats());
+        this.weightedOperations = weighted.toArray(Operation[]::new);
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        URI baseUrl = options.url;
+        if (baseUrl == null) {
+            String[] applicationArgs = options.applicationProperties.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+            context = new SpringApplicationBuilder(TaskflowApiApplication.class)
+                .logStartupInfo(false)
+                .run(applicationArgs);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = URI.create("http://localhost:" + port);
+        }
+        try {
+            new LoadGenerator(options, baseUrl).run(System.out);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    void run(PrintStream out) throws Exception {
+        out.printf("Seeding %d users with %d tasks each on %s%n", options.users, options.tasksPerUser, baseUrl);
+        seed();
+
+        out.printf("Running %.0f req/s (%s arrivals) for %ds after %ds of warm-up%n", options.rate,
+            options.poisson ? "poisson" : "constant", options.duration.toSeconds(), options.warmup.toSeconds());
+        long start = System.nanoTime();
+        long measureStart = start + options.warmup.toNanos();
+        long end = measureStart + options.duration.toNanos();
+        double meanIntervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        double next = start;
+        while ((long) next < end) {
+            long intendedStart = (long) next;
+            long now = System.nanoTime();
+            while (now < intendedStart) {
+                LockSupport.parkNanos(intendedStart - now);
+                now = System.nanoTime();
+            }
+            boolean measured = intendedStart >= measureStart;
+            if (measured) {
+                maxLagNanos = Math.max(maxLagNanos, now - intendedStart);
+            }
+            send(weightedOperations[random.nextInt(weightedOperations.length)], intendedStart, measured);
+            next += options.poisson
+                ? -Math.log(1 - random.nextDouble()) * meanIntervalNanos
+                : meanIntervalNanos;
+        }
+
+        long deadline = System.nanoTime() + options.timeout.toNanos() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        report(out);
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < options.users; i++) {
+            String email = "load-" + run + "-" + i + "@example.com";
+            String password = "password-" + i;
+            String credentials = MAPPER.writeValueAsString(Map.of("email", email, "password", password));
+
+            expect(200, client.send(json("/api/auth/signup", null)
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    MAPPER.writeValueAsString(Map.of("name", "Load " + i, "email", email, "password", password))))
+                .build(), HttpResponse.BodyHandlers.ofByteArray()));
+            HttpResponse<byte[]> login = expect(200, client.send(json("/api/auth/login", null)
+                .POST(HttpRequest.BodyPublishers.ofString(credentials))
+                .build(), HttpResponse.BodyHandlers.ofByteArray()));
+
+            UserSession user = new UserSession(email, password,
+                "Bearer " + MAPPER.readTree(login.body()).get("token").asText());
+            for (int j = 0; j < options.tasksPerUser; j++) {
+                HttpResponse<byte[]> created = expect(201, client.send(json("/api/task", user.getToken())
+                    .POST(HttpRequest.BodyPublishers.ofString(TASK_BODY))
+                    .build(), HttpResponse.BodyHandlers.ofByteArray()));
+                user.addTask(MAPPER.readTree(created.body()).get("id").asLong());
+            }
+            users.add(user);
+        }
+    }
+
+    private void send(Operation operation, long intendedStart, boolean measured) {
+        UserSession user = users.get(random.nextInt(users.size()));
+        Long taskId = switch (operation) {
+            case GET, UPDATE -> user.randomTask(random);
+            case DELETE -> user.takeRandomTask(random);
+            default -> null;
+        };
+        Operation actual = taskId == null && (operation == Operation.GET || operation == Operation.UPDATE
+            || operation == Operation.DELETE) ? Operation.CREATE : operation;
+
+        HttpRequest request;
+        try {
+            request = request(actual, user, taskId);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+            .whenComplete((response, error) -> {
+                long latencyNanos = System.nanoTime() - intendedStart;
+                try {
+                    if (response != null && actual == Operation.CREATE && response.statusCode() == 201) {
+                        user.addTask(MAPPER.readTree(response.body()).get("id").asLong());
+                    }
+                    if (measured) {
+                        String outcome = error != null ? error.getClass().getSimpleName()
+                            : response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode();
+                        stats.get(actual).record(latencyNanos, outcome);
+                    }
+                } catch (IOException e) {
+                    stats.get(actual).record(latencyNanos, e.getClass().getSimpleName());
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+    }
+
+    private HttpRequest request(Operation operation, UserSession user, Long taskId) throws IOException {
+        return switch (operation) {
+            case LOGIN -> json("/api/auth/login", null)
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(
+                    Map.of("email", user.getEmail(), "password", user.getPassword()))))
+                .build();
+            case LIST -> json("/api/task/all", user.getToken()).GET().build();
+            case GET -> json("/api/task/" + taskId, user.getToken()).GET().build();
+            case CREATE -> json("/api/task", user.getToken())
+                .POST(HttpRequest.BodyPublishers.ofString(TASK_BODY))
+                .build();
+            case UPDATE -> json("/api/task/" + taskId, user.getToken())
+                .PUT(HttpRequest.BodyPublishers.ofString(UPDATE_BODY))
+                .build();
+            case DELETE -> json("/api/task/" + taskId, user.getToken()).DELETE().build();
+        };
+    }
+
+    private HttpRequest.Builder json(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(options.timeout)
+            .header("Content-Type", "application/json")
+            .header("Accept", "application/json");
+        return token == null ? builder : builder.header("Authorization", token);
+    }
+
+    private static HttpResponse<byte[]> expect(int status, HttpResponse<byte[]> response) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException("Seeding failed: " + response.request().method() + " "
+                + response.uri() + " returned " + response.statusCode() + " " + new String(response.body()));
+        }
+        return response;
+    }
+
+    private void report(PrintStream out) throws IOException {
+        double seconds = options.duration.toNanos() / 1e9;
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Map<String, Long> errors = new TreeMap<>();
+
+        out.printf("%n%-22s %9s %8s %9s %10s %10s %11s %10s%n",
+            "Endpoint", "Requests", "Errors", "Req/s", "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "Max (ms)");
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            if (endpoint.histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(endpoint.histogram);
+            printRow(out, entry.getKey().getLabel(), endpoint.histogram, endpoint.errorCount(), seconds);
+            endpoint.errors.forEach((outcome, count) ->
+                errors.merge(entry.getKey().getLabel() + " " + outcome, count.sum(), Long::sum));
+        }
+        printRow(out, "TOTAL", total, errors.values().stream().mapToLong(Long::longValue).sum(), seconds);
+
+        if (!errors.isEmpty()) {
+            out.printf("%nErrors:%n");
+            errors.forEach((outcome, count) -> out.printf("  %-40s %d%n", outcome, count));
+        }
+        out.printf("%nTarget %.0f req/s, achieved %.1f req/s, max scheduling lag %.2f ms%n",
+            options.rate, total.getTotalCount() / seconds, maxLagNanos / 1e6);
+
+        if (options.histogramDir != null) {
+            Files.createDirectories(options.histogramDir);
+            for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+                try (PrintStream file = new PrintStream(
+                    options.histogramDir.resolve(entry.getKey().getKey() + ".hgrm").toFile())) {
+                    entry.getValue().histogram.outputPercentileDistribution(file, 1000.0);
+                }
+            }
+            out.printf("Percentile distributions written to %s%n", options.histogramDir.toAbsolutePath());
+        }
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errors, double seconds) {
+        out.printf("%-22s %9d %8d %9.1f %10.2f %10.2f %11.2f %10.2f%n", label, histogram.getTotalCount(), errors,
+            histogram.getTotalCount() / seconds,
+            histogram.getValueAtPercentile(50) / 1000.0,
+            histogram.getValueAtPercentile(99) / 1000.0,
+            histogram.getValueAtPercentile(99.9) / 1000.0,
+            histogram.getMaxValue() / 1000.0);
+    }
+
+    private static final class EndpointStats {
+        private final ConcurrentHistogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, String outcome) {
+            histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+            if (outcome != null) {
+                errors.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+            }
+        }
+
+        long errorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+}
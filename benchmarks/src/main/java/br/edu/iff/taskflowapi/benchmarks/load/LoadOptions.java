@@ -0,0 +1,93 @@
+package br.edu.iff.taskflowapi.benchmarks.load;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the load generator. Options it does not know are
+ * passed on to the application when it is started in-process, so
+ * {@code --spring.threads.virtual.enabled=true} works as expected.
+ */
+final class LoadOptions {
+
+    private static final String DEFAULT_MIX = "login=5,list=30,get=35,create=10,update=15,delete=5";
+
+    URI url;
+    double rate = 200;
+    Duration duration = Duration.ofSeconds(30);
+    Duration warmup = Duration.ofSeconds(10);
+    Duration timeout = Duration.ofSeconds(30);
+    int users = 20;
+    int tasksPerUser = 10;
+    boolean poisson = true;
+    long seed = 42;
+    Path histogramDir;
+    final Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+    final Map<String, String> applicationProperties = new LinkedHashMap<>();
+
+    private LoadOptions() {
+        applicationProperties.put("server.port", "0");
+        applicationProperties.put("spring.main.banner-mode", "off");
+        applicationProperties.put("logging.level.root", "WARN");
+        applicationProperties.put("spring.datasource.url", "jdbc:h2:mem:load");
+        // Every request comes from the same address, so the per-IP limits
+        // would measure the limiter instead of the service.
+        applicationProperties.put("rate-limit.enabled", "false");
+    }
+
+    static LoadOptions parse(String[] args) {
+        LoadOptions options = new LoadOptions();
+        parseMix(options, DEFAULT_MIX);
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            switch (name) {
+                case "url" -> options.url = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                case "rate" -> options.rate = Double.parseDouble(value);
+                case "duration" -> options.duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> options.warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "timeout" -> options.timeout = Duration.ofSeconds(Long.parseLong(value));
+                case "users" -> options.users = Integer.parseInt(value);
+                case "tasks-per-user" -> options.tasksPerUser = Integer.parseInt(value);
+                case "arrival" -> options.poisson = parseArrival(value);
+                case "seed" -> options.seed = Long.parseLong(value);
+                case "histogram-dir" -> options.histogramDir = Path.of(value);
+                case "mix" -> parseMix(options, value);
+                default -> options.applicationProperties.put(name, value);
+            }
+        }
+        if (options.rate <= 0 || options.users <= 0) {
+            throw new IllegalArgumentException("rate and users must be positive");
+        }
+        return options;
+    }
+
+    private static boolean parseArrival(String value) {
+        return switch (value) {
+            case "poisson" -> true;
+            case "constant" -> false;
+            default -> throw new IllegalArgumentException("arrival must be poisson or constant");
+        };
+    }
+
+    private static void parseMix(LoadOptions options, String value) {
+        options.mix.clear();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                options.mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (options.mix.isEmpty()) {
+            throw new IllegalArgumentException("mix must have at least one operation");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package br.edu.iff.taskflowapi.benchmarks.load;
+
+enum Operation {
+    LOGIN("login", "POST /api/auth/login"),
+    LIST("list", "GET /api/task/all"),
+    GET("get", "GET /api/task/{id}"),
+    CREATE("create", "POST /api/task"),
+    UPDATE("update", "PUT /api/task/{id}"),
+    DELETE("delete", "DELETE /api/task/{id}");
+
+    private final String key;
+    private final String label;
+
+    Operation(String key, String label) {
+        this.key = key;
+        this.label = label;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.iff.taskflowapi.benchmarks.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+final class UserSession {
+
+    private final String email;
+    private final String password;
+    private final String token;
+    private final List<Long> taskIds = new ArrayList<>();
+
+    UserSession(String email, String password, String token) {
+        this.email = email;
+        this.password = password;
+        this.token = token;
+    }
+
+    String getEmail() {
+        return email;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    synchronized void addTask(Long id) {
+        taskIds.add(id);
+    }
+
+    synchronized Long randomTask(Random random) {
+        return taskIds.isEmpty() ? null : taskIds.get(random.nextInt(taskIds.size()));
+    }
+
+    // Removed before the DELETE is sent so no GET or PUT picks it afterwards.
+    synchronized Long takeRandomTask(Random random) {
+        if (taskIds.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(taskIds.size());
+        Long id = taskIds.get(index);
+        taskIds.set(index, taskIds.get(taskIds.size() - 1));
+        taskIds.remove(taskIds.size() - 1);
+        return id;
+    }
+}
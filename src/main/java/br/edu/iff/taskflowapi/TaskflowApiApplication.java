@@ -2,12 +2,19 @@ package br.edu.iff.taskflowapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@ConfigurationPropertiesScan
 public class TaskflowApiApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(TaskflowApiApplication.class, args);
+        SpringApplication application = new SpringApplication(TaskflowApiApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,94 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.filter.RequestTiming;
+import br.edu.iff.taskflowapi.jfr.JwtVerificationEvent;
+import br.edu.iff.taskflowapi.security.OffloadingPasswordEncoder;
+import br.edu.iff.taskflowapi.security.TimedPasswordEncoder;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.OAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+@Configuration
+public class CryptoConfig {
+
+    @Value("${jwt.public.key}")
+    private RSAPublicKey key;
+    @Value("${jwt.private.key}")
+    private RSAPrivateKey priv;
+
+    static OAuth2TokenValidator<Jwt> jwtValidator() {
+        JwtTimestampValidator timestampValidator = new JwtTimestampValidator(Duration.ofSeconds(30));
+        return new DelegatingOAuth2TokenValidator<>(timestampValidator);
+    }
+
+    static <T> T timed(MeterRegistry registry, String name, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failure";
+        try {
+            T result = action.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(registry.timer(name, "outcome", outcome));
+        }
+    }
+
+    static Jwt verify(JwtDecoder decoder, String token) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        try {
+            Jwt jwt = decoder.decode(token);
+            event.user = jwt.getSubject();
+            event.valid = true;
+            return jwt;
+        } finally {
+            event.commit();
+        }
+    }
+
+    @Bean
+    OffloadingPasswordEncoder passwordEncoder(@Value("${password.hashing.threads:0}") int threads,
+                                              @Value("${password.hashing.queue-capacity:100}") int queueCapacity,
+                                              MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new OffloadingPasswordEncoder(new TimedPasswordEncoder(new BCryptPasswordEncoder(), meterRegistry),
+            poolSize, queueCapacity);
+    }
+
+    @Bean
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withPublicKey(this.key).build();
+        decoder.setJwtValidator(jwtValidator());
+        return token -> RequestTiming.time("jwt", () -> timed(meterRegistry, "jwt.verify", () -> verify(decoder, token)));
+    }
+
+    @Bean
+    JwtEncoder jwtEncoder(MeterRegistry meterRegistry) {
+        JWK jwk = new RSAKey.Builder(this.key).privateKey(this.priv).build();
+        JWKSource<SecurityContext> jwks = new ImmutableJWKSet<>(new JWKSet(jwk));
+        NimbusJwtEncoder encoder = new NimbusJwtEncoder(jwks);
+        return parameters -> timed(meterRegistry, "jwt.encode", () -> encoder.encode(parameters));
+    }
+}
@@ -0,0 +1,38 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.filter.ConcurrencyLimitFilter;
+import br.edu.iff.taskflowapi.filter.IdempotencyFilter;
+import br.edu.iff.taskflowapi.service.ConcurrencyLimitService;
+import br.edu.iff.taskflowapi.service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.time.Duration;
+
+@Configuration
+@Profile("!reactive")
+public class FilterConfig {
+
+    @Bean
+    FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ConcurrencyLimitService concurrencyLimitService) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+            new FilterRegistrationBean<>(new ConcurrencyLimitFilter(concurrencyLimitService));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+
+    @Bean
+    FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyService idempotencyService,
+                                                                @Value("${idempotency.wait-timeout:10s}") Duration waitTimeout) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+            new FilterRegistrationBean<>(new IdempotencyFilter(idempotencyService, waitTimeout));
+        registration.addUrlPatterns("/api/task", "/api/task/*", "/api/project", "/api/project/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 10);
+        return registration;
+    }
+}
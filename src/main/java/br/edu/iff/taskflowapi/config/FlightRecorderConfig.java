@@ -0,0 +1,41 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.filter.FlightRecorderFilter;
+import br.edu.iff.taskflowapi.jfr.RepositoryEventInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+
+@Configuration
+public class FlightRecorderConfig {
+
+    // Ordered after the security filter chain so the event can carry the
+    // authenticated user; token verification has its own JwtVerificationEvent.
+    @Bean
+    @Profile("!reactive")
+    FilterRegistrationBean<FlightRecorderFilter> flightRecorderFilter() {
+        FilterRegistrationBean<FlightRecorderFilter> registration = new FilterRegistrationBean<>(new FlightRecorderFilter());
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 5);
+        return registration;
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryEventPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof JpaRepositoryFactoryBean<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                        (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryEventInterceptor(
+                            information.getRepositoryInterface(), information.getDomainType()))));
+                }
+                return bean;
+            }
+        };
+    }
+}
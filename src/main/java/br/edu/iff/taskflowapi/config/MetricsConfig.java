@@ -0,0 +1,61 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.filter.EndpointGroup;
+import br.edu.iff.taskflowapi.service.ConcurrencyLimitService;
+import br.edu.iff.taskflowapi.service.ConcurrencyLimitService.Limiter;
+import br.edu.iff.taskflowapi.service.IdempotencyService;
+import br.edu.iff.taskflowapi.service.RateLimitService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    MeterBinder idempotencyMetrics(IdempotencyService idempotencyService) {
+        return registry -> {
+            Gauge.builder("idempotency.entries", idempotencyService, IdempotencyService::size)
+                .description("Idempotency keys kept in memory")
+                .register(registry);
+            FunctionCounter.builder("idempotency.lookups", idempotencyService, IdempotencyService::getHits)
+                .description("Idempotency key lookups")
+                .tag("result", "hit")
+                .register(registry);
+            FunctionCounter.builder("idempotency.lookups", idempotencyService, IdempotencyService::getMisses)
+                .description("Idempotency key lookups")
+                .tag("result", "miss")
+                .register(registry);
+        };
+    }
+
+    @Bean
+    MeterBinder rateLimitMetrics(RateLimitService rateLimitService) {
+        return registry -> Gauge.builder("rate.limit.buckets", rateLimitService, RateLimitService::size)
+            .description("Rate limit buckets kept in memory")
+            .register(registry);
+    }
+
+    @Bean
+    MeterBinder concurrencyLimitMetrics(ConcurrencyLimitService concurrencyLimitService) {
+        return registry -> {
+            for (EndpointGroup group : EndpointGroup.values()) {
+                Limiter limiter = concurrencyLimitService.limiterFor(group);
+                if (limiter == null) {
+                    continue;
+                }
+                String tag = group.name().toLowerCase().replace('_', '-');
+                Gauge.builder("concurrency.limit", limiter, Limiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", tag)
+                    .register(registry);
+                Gauge.builder("concurrency.in.flight", limiter, Limiter::getInFlight)
+                    .description("Requests currently holding a concurrency permit")
+                    .tag("group", tag)
+                    .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.filter.EndpointGroup;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Map<EndpointGroup, Group> groups = new EnumMap<>(EndpointGroup.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public Map<EndpointGroup, Group> getGroups() {
+        return groups;
+    }
+
+    public void setGroups(Map<EndpointGroup, Group> groups) {
+        this.groups = groups;
+    }
+
+    public static class Group {
+
+        private Quota user;
+        private Quota ip;
+
+        public Quota getUser() {
+            return user;
+        }
+
+        public void setUser(Quota user) {
+            this.user = user;
+        }
+
+        public Quota getIp() {
+            return ip;
+        }
+
+        public void setIp(Quota ip) {
+            this.ip = ip;
+        }
+    }
+
+    public static class Quota {
+
+        private long capacity;
+        private double refillPerSecond;
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getRefillPerSecond() {
+            return refillPerSecond;
+        }
+
+        public void setRefillPerSecond(double refillPerSecond) {
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.repository.ReactiveTaskRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.reactive.config.BlockingExecutionConfigurer;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+// The R2DBC connection factory is deliberately not a bean: Boot backs off the
+// JDBC DataSource (still used by JPA for users and idempotency records) as soon
+// as a ConnectionFactory bean exists. Both point to the same H2 database.
+@Configuration
+@Profile("reactive")
+@EnableR2dbcRepositories(basePackageClasses = ReactiveTaskRepository.class, entityOperationsRef = "r2dbcEntityTemplate")
+public class ReactiveConfig implements WebFluxConfigurer, DisposableBean {
+
+    private final ConnectionPool connectionPool;
+    private final ThreadPoolTaskExecutor blockingExecutor = new ThreadPoolTaskExecutor();
+
+    public ReactiveConfig(@Value("${reactive.r2dbc.url}") String url,
+                          @Value("${spring.datasource.username}") String username,
+                          @Value("${spring.datasource.password}") String password,
+                          @Value("${reactive.r2dbc.pool-size:10}") int poolSize,
+                          @Value("${reactive.blocking.threads:10}") int blockingThreads,
+                          @Value("${reactive.blocking.queue-capacity:100}") int blockingQueueCapacity) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+            .option(ConnectionFactoryOptions.USER, username)
+            .option(ConnectionFactoryOptions.PASSWORD, password)
+            .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+            .initialSize(1)
+            .maxSize(poolSize)
+            .build());
+
+        blockingExecutor.setCorePoolSize(blockingThreads);
+        blockingExecutor.setMaxPoolSize(blockingThreads);
+        blockingExecutor.setQueueCapacity(blockingQueueCapacity);
+        blockingExecutor.setThreadNamePrefix("reactive-blocking-");
+        blockingExecutor.initialize();
+    }
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Bean
+    R2dbcEntityTemplate r2dbcEntityTemplate() {
+        return new R2dbcEntityTemplate(connectionPool);
+    }
+
+    // Controllers that still return plain values (authentication, backed by
+    // JPA) run here instead of on the event loop.
+    @Override
+    public void configureBlockingExecution(BlockingExecutionConfigurer configurer) {
+        configurer.setExecutor(blockingExecutor);
+    }
+
+    @Override
+    public void destroy() {
+        blockingExecutor.shutdown();
+        connectionPool.dispose();
+    }
+}
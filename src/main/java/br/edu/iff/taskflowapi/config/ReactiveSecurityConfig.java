@@ -0,0 +1,75 @@
+package br.edu.iff.taskflowapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.interfaces.RSAPublicKey;
+
+@Configuration
+@EnableWebFluxSecurity
+@Profile("reactive")
+public class ReactiveSecurityConfig {
+
+    @Value("${jwt.public.key}")
+    private RSAPublicKey key;
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        http.authorizeExchange(exchange -> exchange
+                .pathMatchers("/api/auth/signup", "/api/auth/login").permitAll()
+                .pathMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+                .anyExchange().authenticated()
+            )
+            .csrf(csrf -> csrf.disable())
+            .oauth2ResourceServer(oauth2 -> oauth2
+                .jwt(Customizer.withDefaults())
+                .authenticationEntryPoint(reactiveJwtAuthenticationEntryPoint())
+            )
+            .securityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+
+        return http.build();
+    }
+
+    @Bean
+    public ServerAuthenticationEntryPoint reactiveJwtAuthenticationEntryPoint() {
+        return (exchange, authException) -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.setStatusCode(HttpStatus.UNAUTHORIZED);
+
+            byte[] body = String.format("{\"error\":\"%s\",\"message\":\"%s\"}",
+                HttpStatus.UNAUTHORIZED.toString(), authException.getMessage()).getBytes(StandardCharsets.UTF_8);
+
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    @Bean
+    ReactiveJwtDecoder reactiveJwtDecoder(MeterRegistry meterRegistry) {
+        NimbusReactiveJwtDecoder decoder = NimbusReactiveJwtDecoder.withPublicKey(this.key).build();
+        decoder.setJwtValidator(CryptoConfig.jwtValidator());
+        return token -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return decoder.decode(token)
+                .doOnSuccess(jwt -> sample.stop(meterRegistry.timer("jwt.verify", "outcome", "success")))
+                .doOnError(e -> sample.stop(meterRegistry.timer("jwt.verify", "outcome", "failure")));
+        };
+    }
+}
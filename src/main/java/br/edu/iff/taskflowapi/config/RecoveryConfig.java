@@ -0,0 +1,24 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.service.SnapshotService;
+import br.edu.iff.taskflowapi.service.TaskWriteAheadLog;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RecoveryConfig {
+
+    // Restoring right after the migrations means the data is back before
+    // Hibernate, the repositories or the web server are initialized. The
+    // write-ahead log goes last because it replays over the snapshot.
+    @Bean
+    FlywayMigrationStrategy recoveringMigrationStrategy(SnapshotService snapshotService,
+                                                        TaskWriteAheadLog writeAheadLog) {
+        return flyway -> {
+            flyway.migrate();
+            snapshotService.restore();
+            writeAheadLog.recover();
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package br.edu.iff.taskflowapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@Profile("replicas")
+public class ReplicaConfig {
+
+    @Bean(destroyMethod = "close")
+    ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                      ReplicaProperties properties,
+                                                      @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+                                                      @Value("${wal.enabled:false}") boolean writeAheadLogEnabled) {
+        // The log applies tasks outside any transaction, so the router would
+        // never learn that the replicas fell behind.
+        if (writeAheadLogEnabled) {
+            throw new IllegalStateException("O log de escrita (wal.enabled) não é compatível com as réplicas de leitura");
+        }
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("primary");
+        primary.setMaximumPoolSize(poolSize);
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Database database : properties.getDatabases()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + replicas.size());
+            replica.setJdbcUrl(database.getUrl());
+            replica.setUsername(database.getUsername());
+            replica.setPassword(database.getPassword());
+            replica.setMaximumPoolSize(properties.getPoolSize());
+            // Replicas fed by real replication get their schema from the primary.
+            if (properties.isSynchronize()) {
+                Flyway.configure().dataSource(replica).load().migrate();
+            }
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, properties.getStickiness(), properties.getMaxLag(),
+            properties.isSynchronize());
+    }
+
+    // Without the lazy proxy the transaction manager would fetch the
+    // connection before marking the transaction read-only.
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
@@ -0,0 +1,161 @@
+package br.edu.iff.taskflowapi.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the
+ * primary. The choice is made when the transaction first asks for a
+ * connection, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * for the read-only flag to be set by then.
+ * <p>
+ * After one of a user's transactions commits on the primary, that user's
+ * reads stay there for the stickiness window, so they always see their own
+ * writes. Other reads go round-robin to the replicas that are at most
+ * {@code maxLag} behind the primary, and to the primary when none is.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final String PRIMARY = "primary";
+    private static final long NEVER = Long.MIN_VALUE;
+    private static final int MAX_TRACKED_USERS = 10_000;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long stickinessNanos;
+    private final long maxLagNanos;
+    private final boolean trackLag;
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final AtomicLongArray replicatedUpTo;
+    private final AtomicLong lastCommit = new AtomicLong(System.nanoTime());
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    /**
+     * @param trackLag when false the replicas are assumed to be current, for
+     *                 replication that does not report through
+     *                 {@link #replicated(int, long)}
+     */
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration stickiness,
+                                    Duration maxLag, boolean trackLag) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.stickinessNanos = stickiness.toNanos();
+        this.maxLagNanos = maxLag.toNanos();
+        this.trackLag = trackLag;
+        this.replicatedUpTo = new AtomicLongArray(replicas.size());
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i));
+            replicatedUpTo.set(i, NEVER);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public List<DataSource> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Records that a replica holds everything committed on the primary up to
+     * the given {@link System#nanoTime()}.
+     */
+    public void replicated(int replica, long upToNanos) {
+        replicatedUpTo.accumulateAndGet(replica, upToNanos, Math::max);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            // A read-write transaction counts as a write even if it only read.
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        committed(currentUser());
+                    }
+                });
+            }
+            return PRIMARY;
+        }
+        long now = System.nanoTime();
+        String user = currentUser();
+        Long lastWrite = user == null ? null : lastWrites.get(user);
+        if (lastWrite != null && now - lastWrite < stickinessNanos) {
+            return PRIMARY;
+        }
+        int first = nextReplica.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = Math.floorMod(first + i, replicas.size());
+            if (lag(replica, now) <= maxLagNanos) {
+                return replica;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private void committed(String user) {
+        long now = System.nanoTime();
+        lastCommit.accumulateAndGet(now, Math::max);
+        if (user == null) {
+            return;
+        }
+        if (lastWrites.size() >= MAX_TRACKED_USERS) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= stickinessNanos);
+        }
+        lastWrites.put(user, now);
+    }
+
+    private long lag(int replica, long now) {
+        if (!trackLag) {
+            return 0;
+        }
+        long upTo = replicatedUpTo.get(replica);
+        if (upTo == NEVER) {
+            return Long.MAX_VALUE;
+        }
+        return upTo - lastCommit.get() >= 0 ? 0 : now - upTo;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+            || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package br.edu.iff.taskflowapi.config;
+
+import br.edu.iff.taskflowapi.repository.ShardedTaskStore;
+import br.edu.iff.taskflowapi.repository.TaskShareRepository;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@Profile("sharded")
+public class ShardConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardConfig.class);
+
+    // The shard pools are not exposed as DataSource beans, which would make
+    // the primary DataSource (users, idempotency records) back off.
+    @Bean(destroyMethod = "close")
+    ShardedTaskStore shardedTaskStore(ShardProperties properties, UserRepository userRepository,
+                                      TaskShareRepository shareRepository,
+                                      @Value("${wal.enabled:false}") boolean writeAheadLogEnabled) {
+        if (writeAheadLogEnabled) {
+            throw new IllegalStateException("O log de escrita (wal.enabled) não é compatível com o armazenamento particionado");
+        }
+        List<JdbcTemplate> shards = new ArrayList<>();
+        for (ShardProperties.Database database : properties.getDatabases()) {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("shard-" + shards.size());
+            dataSource.setJdbcUrl(database.getUrl());
+            dataSource.setUsername(database.getUsername());
+            dataSource.setPassword(database.getPassword());
+            dataSource.setMaximumPoolSize(properties.getPoolSize());
+            Flyway.configure().dataSource(dataSource).locations("classpath:db/shard").load().migrate();
+            shards.add(new JdbcTemplate(dataSource));
+        }
+        return new ShardedTaskStore(shards, userRepository, shareRepository);
+    }
+
+    // Runs before the application reports itself ready, so no request sees a
+    // task halfway between shards, and before the runners that rebuild the
+    // search, label and dependency indexes from the shards.
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    ApplicationRunner shardRebalancer(ShardedTaskStore shardedTaskStore, ShardProperties properties) {
+        return args -> {
+            if (properties.isRebalance()) {
+                long start = System.nanoTime();
+                long moved = shardedTaskStore.rebalance();
+                log.info("Rebalanceamento concluído: {} tarefas movidas entre {} shards em {} ms", moved,
+                    shardedTaskStore.shardCount(), (System.nanoTime() - start) / 1_000_000);
+            }
+        };
+    }
+}
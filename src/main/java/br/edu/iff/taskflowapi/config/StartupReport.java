@@ -0,0 +1,77 @@
+package br.edu.iff.taskflowapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Logs where startup time went once the application is ready. Steps are
+ * ranked by self time (their duration minus that of nested steps), so the
+ * report points at the bean or phase that is actually slow rather than at the
+ * context refresh that contains everything.
+ */
+@Component
+public class StartupReport implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private final boolean enabled;
+    private final int steps;
+
+    public StartupReport(@Value("${startup.report.enabled:true}") boolean enabled,
+                         @Value("${startup.report.steps:10}") int steps) {
+        this.enabled = enabled;
+        this.steps = steps;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return;
+        }
+        // Draining releases the buffered steps even when the report is off.
+        List<TimelineEvent> events = startup.drainBufferedTimeline().getEvents();
+        if (!enabled) {
+            return;
+        }
+
+        Map<Long, Duration> nested = new HashMap<>();
+        for (TimelineEvent timelineEvent : events) {
+            Long parentId = timelineEvent.getStartupStep().getParentId();
+            if (parentId != null) {
+                nested.merge(parentId, timelineEvent.getDuration(), Duration::plus);
+            }
+        }
+
+        log.info("Aplicação pronta em {} ms ({} ms desde o início da JVM); etapas mais lentas:",
+            event.getTimeTaken().toMillis(), ManagementFactory.getRuntimeMXBean().getUptime());
+        events.stream()
+            .map(e -> Map.entry(e, e.getDuration().minus(nested.getOrDefault(e.getStartupStep().getId(), Duration.ZERO))))
+            .sorted(Map.Entry.<TimelineEvent, Duration>comparingByValue(Comparator.reverseOrder()))
+            .limit(steps)
+            .forEach(e -> log.info("  {} ms  {}", e.getValue().toMillis(), describe(e.getKey().getStartupStep())));
+    }
+
+    private static String describe(StartupStep step) {
+        StringBuilder description = new StringBuilder(step.getName());
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName") || tag.getKey().equals("postProcessor")) {
+                description.append(' ').append(tag.getValue());
+            }
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,90 @@
+package br.edu.iff.taskflowapi.controller;
+
+import br.edu.iff.taskflowapi.dto.RecordingResponse;
+import br.edu.iff.taskflowapi.dto.ShardStatisticsResponse;
+import br.edu.iff.taskflowapi.repository.ShardedTaskStore;
+import br.edu.iff.taskflowapi.security.JwtService;
+import br.edu.iff.taskflowapi.service.FlightRecorderService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+
+    private final FlightRecorderService flightRecorderService;
+    private final ObjectProvider<ShardedTaskStore> shardedTaskStore;
+    private final JwtService jwtService;
+    private final Set<String> adminEmails;
+
+    public AdminController(FlightRecorderService flightRecorderService, ObjectProvider<ShardedTaskStore> shardedTaskStore,
+                           JwtService jwtService, @Value("${admin.emails:}") Set<String> adminEmails) {
+        this.flightRecorderService = flightRecorderService;
+        this.shardedTaskStore = shardedTaskStore;
+        this.jwtService = jwtService;
+        this.adminEmails = adminEmails;
+    }
+
+    @GetMapping("/recording")
+    public ResponseEntity<RecordingResponse> status(@RequestHeader("Authorization") String authorizationToken) {
+        requireAdmin(authorizationToken);
+        return ResponseEntity.ok(flightRecorderService.status());
+    }
+
+    @PostMapping("/recording")
+    public ResponseEntity<RecordingResponse> start(@RequestHeader("Authorization") String authorizationToken) {
+        requireAdmin(authorizationToken);
+        return ResponseEntity.ok(flightRecorderService.start());
+    }
+
+    @PostMapping("/recording/dump")
+    public ResponseEntity<RecordingResponse> dump(@RequestHeader("Authorization") String authorizationToken) {
+        requireAdmin(authorizationToken);
+        return ResponseEntity.ok(flightRecorderService.dump());
+    }
+
+    @DeleteMapping("/recording")
+    public ResponseEntity<RecordingResponse> stop(@RequestHeader("Authorization") String authorizationToken) {
+        requireAdmin(authorizationToken);
+        return ResponseEntity.ok(flightRecorderService.stop());
+    }
+
+    @GetMapping("/shards")
+    public ResponseEntity<List<ShardStatisticsResponse>> shards(@RequestHeader("Authorization") String authorizationToken) {
+        requireAdmin(authorizationToken);
+        ShardedTaskStore store = shardedTaskStore.getIfAvailable();
+        if (store == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Armazenamento particionado desativado.");
+        }
+        return ResponseEntity.ok(store.statistics().stream().map(statistics -> {
+            ShardStatisticsResponse response = new ShardStatisticsResponse();
+            response.setShard(statistics.shard());
+            response.setTasks(statistics.tasks());
+            response.setUsers(statistics.users());
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            statistics.tasksByStatus().forEach((status, count) -> byStatus.put(status.name(), count));
+            response.setTasksByStatus(byStatus);
+            return response;
+        }).toList());
+    }
+
+    private void requireAdmin(String authorizationToken) {
+        if (!adminEmails.contains(jwtService.getEmailFromToken(authorizationToken))) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.");
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.edu.iff.taskflowapi.controller;
+
+import br.edu.iff.taskflowapi.dto.ProjectRequest;
+import br.edu.iff.taskflowapi.dto.ProjectStatsResponse;
+import br.edu.iff.taskflowapi.model.Project;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.security.JwtService;
+import br.edu.iff.taskflowapi.service.ProjectService;
+import br.edu.iff.taskflowapi.service.TaskService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/project")
+@Profile("!reactive")
+public class ProjectController {
+
+    private final ProjectService projectService;
+    private final TaskService taskService;
+    private final JwtService jwtService;
+
+    public ProjectController(ProjectService projectService, TaskService taskService, JwtService jwtService) {
+        this.projectService = projectService;
+        this.taskService = taskService;
+        this.jwtService = jwtService;
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<Project>> getAll(@RequestHeader("Authorization") String authorizationToken){
+        return ResponseEntity.ok().body(projectService.getByEmail(jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Project> getById(@RequestHeader("Authorization") String authorizationToken, @PathVariable Long id){
+        return ResponseEntity.ok(projectService.getById(id, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<ProjectStatsResponse> stats(@RequestHeader("Authorization") String authorizationToken, @PathVariable Long id){
+        return ResponseEntity.ok(projectService.getStats(id, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/{id}/tasks")
+    public ResponseEntity<List<Task>> tasks(@RequestHeader("Authorization") String authorizationToken, @PathVariable Long id,
+                                            @RequestParam(value = "status", required = false) Status status,
+                                            @RequestParam(value = "label", required = false) String label){
+        return ResponseEntity.ok(taskService.getByProject(id, status, label, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @PostMapping
+    public ResponseEntity<Project> save(@RequestHeader("Authorization") String authorizationToken, @RequestBody ProjectRequest projectRequest){
+        Project project = projectService.saveProject(projectRequest, jwtService.getEmailFromToken(authorizationToken));
+
+        URI location = ServletUriComponentsBuilder
+            .fromCurrentRequest()
+            .path("/{id}")
+            .buildAndExpand(project.getId())
+            .toUri();
+
+        return ResponseEntity.created(location).body(project);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@RequestHeader("Authorization") String authorizationToken, @PathVariable("id") Long id){
+        projectService.deleteProject(id, jwtService.getEmailFromToken(authorizationToken));
+        return ResponseEntity.noContent().build();
+    }
+}
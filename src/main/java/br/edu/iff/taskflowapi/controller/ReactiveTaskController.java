@@ -0,0 +1,71 @@
+package br.edu.iff.taskflowapi.controller;
+
+import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.TaskRow;
+import br.edu.iff.taskflowapi.service.ReactiveTaskService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/task")
+@Profile("reactive")
+public class ReactiveTaskController {
+
+    private final ReactiveTaskService taskService;
+
+    public ReactiveTaskController(ReactiveTaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    @GetMapping(value = "/all", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<TaskRow> getAll(@AuthenticationPrincipal Jwt jwt){
+        return taskService.getByEmail(jwt.getSubject());
+    }
+
+    @GetMapping("/{id}")
+    public Mono<TaskRow> get(@AuthenticationPrincipal Jwt jwt, @PathVariable Long id){
+        return taskService.getById(id, jwt.getSubject());
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<TaskRow>> save(@AuthenticationPrincipal Jwt jwt, @RequestBody TaskRequest taskRequest, ServerHttpRequest request){
+        return taskService.saveTask(taskRequest, jwt.getSubject())
+            .map(task -> {
+                URI location = UriComponentsBuilder
+                    .fromUri(request.getURI())
+                    .path("/{id}")
+                    .buildAndExpand(task.getId())
+                    .toUri();
+                return ResponseEntity.created(location).body(task);
+            });
+    }
+
+    @PutMapping("/{id}")
+    public Mono<TaskRow> update(@AuthenticationPrincipal Jwt jwt, @RequestBody TaskRow task, @PathVariable("id") Long id){
+        task.setId(id);
+        return taskService.updateTask(task, jwt.getSubject());
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> delete(@AuthenticationPrincipal Jwt jwt, @PathVariable("id") Long id){
+        return taskService.deleteTask(id, jwt.getSubject())
+            .then(Mono.fromSupplier(() -> ResponseEntity.noContent().build()));
+    }
+}
@@ -1,9 +1,16 @@
 package br.edu.iff.taskflowapi.controller;
 
+import br.edu.iff.taskflowapi.dto.ParentRequest;
+import br.edu.iff.taskflowapi.dto.PositionRequest;
+import br.edu.iff.taskflowapi.dto.ShareRequest;
+import br.edu.iff.taskflowapi.dto.ShareResponse;
+import br.edu.iff.taskflowapi.dto.TaskProjectRequest;
 import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.Status;
 import br.edu.iff.taskflowapi.model.Task;
 import br.edu.iff.taskflowapi.security.JwtService;
 import br.edu.iff.taskflowapi.service.TaskService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,14 +20,17 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/task")
+@Profile("!reactive")
 public class TaskController {
 
     private final TaskService taskService;
@@ -36,11 +46,44 @@ public class TaskController {
         return ResponseEntity.ok(taskService.getByEmail(jwtService.getEmailFromToken(authorizationToken)));
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> search(@RequestHeader("Authorization") String authorizationToken, @RequestParam("q") String query,
+                                             @RequestParam(value = "limit", defaultValue = "20") int limit){
+        return ResponseEntity.ok(taskService.search(query, limit, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<List<Task>> filter(@RequestHeader("Authorization") String authorizationToken, @RequestParam("q") String query,
+                                             @RequestParam(value = "limit", defaultValue = "50") int limit){
+        return ResponseEntity.ok(taskService.filter(query, limit, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/labels")
+    public ResponseEntity<Map<String, Integer>> labels(@RequestHeader("Authorization") String authorizationToken){
+        return ResponseEntity.ok(taskService.getLabels(jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/actionable")
+    public ResponseEntity<List<Task>> actionable(@RequestHeader("Authorization") String authorizationToken,
+                                                 @RequestParam(value = "limit", defaultValue = "50") int limit){
+        return ResponseEntity.ok(taskService.getActionable(limit, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/column/{status}")
+    public ResponseEntity<List<Task>> column(@RequestHeader("Authorization") String authorizationToken, @PathVariable Status status){
+        return ResponseEntity.ok(taskService.getColumn(status, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Task> get(@RequestHeader("Authorization") String authorizationToken, @PathVariable Long id){
         return ResponseEntity.ok(taskService.getById(id, jwtService.getEmailFromToken(authorizationToken)));
     }
 
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<List<Task>> subtree(@RequestHeader("Authorization") String authorizationToken, @PathVariable Long id){
+        return ResponseEntity.ok(taskService.getSubtree(id, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
     @PostMapping
     public ResponseEntity<Task> save(@RequestHeader("Authorization") String authorizationToken, @RequestBody TaskRequest taskRequest){
         Task task = taskService.saveTask(taskRequest, jwtService.getEmailFromToken(authorizationToken));
@@ -60,6 +103,55 @@ public class TaskController {
         return ResponseEntity.ok().body(taskService.updateTask(task, jwtService.getEmailFromToken(authorizationToken)));
     }
 
+    @PutMapping("/{id}/parent")
+    public ResponseEntity<Task> move(@RequestHeader("Authorization") String authorizationToken, @RequestBody ParentRequest parentRequest,
+                                     @PathVariable("id") Long id){
+        return ResponseEntity.ok(taskService.moveTask(id, parentRequest.getParentId(), jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @PutMapping("/{id}/project")
+    public ResponseEntity<Task> moveToProject(@RequestHeader("Authorization") String authorizationToken, @RequestBody TaskProjectRequest projectRequest,
+                                              @PathVariable("id") Long id){
+        return ResponseEntity.ok(taskService.moveToProject(id, projectRequest.getProjectId(), jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @PutMapping("/{id}/position")
+    public ResponseEntity<Task> position(@RequestHeader("Authorization") String authorizationToken, @RequestBody PositionRequest positionRequest,
+                                         @PathVariable("id") Long id){
+        return ResponseEntity.ok(taskService.positionTask(id, positionRequest.getStatus(), positionRequest.getAfterId(),
+            jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @PutMapping("/{id}/blockers/{blockerId}")
+    public ResponseEntity<Task> addBlocker(@RequestHeader("Authorization") String authorizationToken, @PathVariable("id") Long id,
+                                           @PathVariable("blockerId") Long blockerId){
+        return ResponseEntity.ok(taskService.addBlocker(id, blockerId, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @DeleteMapping("/{id}/blockers/{blockerId}")
+    public ResponseEntity<Task> removeBlocker(@RequestHeader("Authorization") String authorizationToken, @PathVariable("id") Long id,
+                                              @PathVariable("blockerId") Long blockerId){
+        return ResponseEntity.ok(taskService.removeBlocker(id, blockerId, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @GetMapping("/{id}/shares")
+    public ResponseEntity<List<ShareResponse>> shares(@RequestHeader("Authorization") String authorizationToken, @PathVariable("id") Long id){
+        return ResponseEntity.ok(taskService.getShares(id, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @PutMapping("/{id}/shares")
+    public ResponseEntity<List<ShareResponse>> share(@RequestHeader("Authorization") String authorizationToken, @RequestBody ShareRequest shareRequest,
+                                                     @PathVariable("id") Long id){
+        return ResponseEntity.ok(taskService.shareTask(id, shareRequest, jwtService.getEmailFromToken(authorizationToken)));
+    }
+
+    @DeleteMapping("/{id}/shares")
+    public ResponseEntity<Void> unshare(@RequestHeader("Authorization") String authorizationToken, @PathVariable("id") Long id,
+                                        @RequestParam("email") String email){
+        taskService.unshareTask(id, email, jwtService.getEmailFromToken(authorizationToken));
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Task> delete(@RequestHeader("Authorization") String authorizationToken, @PathVariable("id") Long id){
         taskService.deleteTask(id, jwtService.getEmailFromToken(authorizationToken));
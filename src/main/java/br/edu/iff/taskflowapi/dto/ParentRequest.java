@@ -0,0 +1,15 @@
+package br.edu.iff.taskflowapi.dto;
+
+public class ParentRequest {
+
+    // Null moves the task to the root.
+    private Long parentId;
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+}
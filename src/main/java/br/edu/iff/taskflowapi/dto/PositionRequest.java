@@ -0,0 +1,27 @@
+package br.edu.iff.taskflowapi.dto;
+
+import br.edu.iff.taskflowapi.model.Status;
+
+public class PositionRequest {
+
+    // Null keeps the task in its current column.
+    private Status status;
+    // Null moves the task to the top of the column.
+    private Long afterId;
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public void setAfterId(Long afterId) {
+        this.afterId = afterId;
+    }
+}
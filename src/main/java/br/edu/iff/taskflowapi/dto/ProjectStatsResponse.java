@@ -0,0 +1,37 @@
+package br.edu.iff.taskflowapi.dto;
+
+import br.edu.iff.taskflowapi.model.Status;
+
+import java.util.Map;
+
+public class ProjectStatsResponse {
+
+    private int tasks;
+    private Map<Status, Integer> tasksByStatus;
+    // Percentage of the project's tasks that are done.
+    private int progress;
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(int tasks) {
+        this.tasks = tasks;
+    }
+
+    public Map<Status, Integer> getTasksByStatus() {
+        return tasksByStatus;
+    }
+
+    public void setTasksByStatus(Map<Status, Integer> tasksByStatus) {
+        this.tasksByStatus = tasksByStatus;
+    }
+
+    public int getProgress() {
+        return progress;
+    }
+
+    public void setProgress(int progress) {
+        this.progress = progress;
+    }
+}
@@ -0,0 +1,34 @@
+package br.edu.iff.taskflowapi.dto;
+
+import java.time.Instant;
+
+public class RecordingResponse {
+
+    private String state;
+    private Instant startTime;
+    private String file;
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(Instant startTime) {
+        this.startTime = startTime;
+    }
+
+    public String getFile() {
+        return file;
+    }
+
+    public void setFile(String file) {
+        this.file = file;
+    }
+}
@@ -0,0 +1,43 @@
+package br.edu.iff.taskflowapi.dto;
+
+import java.util.Map;
+
+public class ShardStatisticsResponse {
+
+    private int shard;
+    private long tasks;
+    private long users;
+    private Map<String, Long> tasksByStatus;
+
+    public int getShard() {
+        return shard;
+    }
+
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+
+    public long getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(long tasks) {
+        this.tasks = tasks;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public void setUsers(long users) {
+        this.users = users;
+    }
+
+    public Map<String, Long> getTasksByStatus() {
+        return tasksByStatus;
+    }
+
+    public void setTasksByStatus(Map<String, Long> tasksByStatus) {
+        this.tasksByStatus = tasksByStatus;
+    }
+}
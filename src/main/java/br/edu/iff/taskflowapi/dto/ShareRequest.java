@@ -0,0 +1,25 @@
+package br.edu.iff.taskflowapi.dto;
+
+import br.edu.iff.taskflowapi.model.AccessLevel;
+
+public class ShareRequest {
+
+    private String email;
+    private AccessLevel level;
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public AccessLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(AccessLevel level) {
+        this.level = level;
+    }
+}
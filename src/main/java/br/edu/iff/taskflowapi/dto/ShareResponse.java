@@ -0,0 +1,33 @@
+package br.edu.iff.taskflowapi.dto;
+
+import br.edu.iff.taskflowapi.model.AccessLevel;
+
+public class ShareResponse {
+
+    private String email;
+    private AccessLevel level;
+
+    public ShareResponse() {
+    }
+
+    public ShareResponse(String email, AccessLevel level) {
+        this.email = email;
+        this.level = level;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public AccessLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(AccessLevel level) {
+        this.level = level;
+    }
+}
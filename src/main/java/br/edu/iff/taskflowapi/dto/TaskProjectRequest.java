@@ -0,0 +1,15 @@
+package br.edu.iff.taskflowapi.dto;
+
+public class TaskProjectRequest {
+
+    // Null takes the task out of its project.
+    private Long projectId;
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+}
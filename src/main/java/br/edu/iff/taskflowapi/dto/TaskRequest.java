@@ -2,6 +2,8 @@ package br.edu.iff.taskflowapi.dto;
 
 import jakarta.validation.constraints.NotBlank;
 
+import java.util.List;
+
 public class TaskRequest {
 
     @NotBlank
@@ -10,6 +12,9 @@ public class TaskRequest {
     private String description;
     @NotBlank
     private String limitDate;
+    private List<String> labels;
+    private Long parentId;
+    private Long projectId;
 
     public String getTitle() {
         return title;
@@ -34,4 +39,28 @@ public class TaskRequest {
     public void setLimitDate(String limitDate) {
         this.limitDate = limitDate;
     }
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public void setLabels(List<String> labels) {
+        this.labels = labels;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
 }
@@ -0,0 +1,51 @@
+package br.edu.iff.taskflowapi.filter;
+
+import br.edu.iff.taskflowapi.service.ConcurrencyLimitService;
+import br.edu.iff.taskflowapi.service.ConcurrencyLimitService.Limiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimitService concurrencyLimitService;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitService concurrencyLimitService) {
+        this.concurrencyLimitService = concurrencyLimitService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        Limiter limiter = concurrencyLimitService.limiterFor(EndpointGroup.of(request));
+        if (limiter == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!limiter.tryAcquire()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.getWriter().write(String.format("{\"error\":\"%s\",\"message\":\"%s\"}",
+                HttpStatus.SERVICE_UNAVAILABLE, "Servidor sobrecarregado, tente novamente."));
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long end = System.nanoTime();
+            limiter.release(end - start, end);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.edu.iff.taskflowapi.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public enum EndpointGroup {
+    AUTH, TASK_READ, TASK_WRITE, OTHER;
+
+    public static EndpointGroup of(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (uri.startsWith("/api/auth")) {
+            return AUTH;
+        }
+        if (uri.startsWith("/api/task") || uri.startsWith("/api/project")) {
+            String method = request.getMethod();
+            return "GET".equals(method) || "HEAD".equals(method) ? TASK_READ : TASK_WRITE;
+        }
+        return OTHER;
+    }
+}
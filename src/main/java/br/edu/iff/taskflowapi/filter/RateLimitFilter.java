@@ -0,0 +1,78 @@
+package br.edu.iff.taskflowapi.filter;
+
+import br.edu.iff.taskflowapi.service.RateLimitService;
+import br.edu.iff.taskflowapi.service.RateLimitService.Limit;
+import br.edu.iff.taskflowapi.service.RateLimitService.Scope;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String EXEMPTION_HEADER = "X-RateLimit-Exemption";
+
+    private final RateLimitService rateLimitService;
+    private final Scope scope;
+
+    public RateLimitFilter(RateLimitService rateLimitService, Scope scope) {
+        this.rateLimitService = rateLimitService;
+        this.scope = scope;
+    }
+
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return RateLimitFilter.class.getName() + "." + scope + ".FILTERED";
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        EndpointGroup group = EndpointGroup.of(request);
+        Limit limit = rateLimitService.limitFor(group, scope);
+        String key = limit == null || rateLimitService.isExempt(request.getHeader(EXEMPTION_HEADER))
+            ? null : keyFor(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long result = rateLimitService.tryConsume(group, scope, key);
+        response.setHeader(LIMIT_HEADER, Long.toString(limit.getCapacity()));
+        if (result >= 0) {
+            response.setHeader(REMAINING_HEADER, Long.toString(result));
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(-result + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setHeader(REMAINING_HEADER, "0");
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.getWriter().write(String.format("{\"error\":\"%s\",\"message\":\"%s\"}",
+            HttpStatus.TOO_MANY_REQUESTS, "Limite de requisições excedido."));
+    }
+
+    private String keyFor(HttpServletRequest request) {
+        if (scope == Scope.IP) {
+            return request.getRemoteAddr();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+            && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,74 @@
+package br.edu.iff.taskflowapi.filter;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-request timing breakdown bound to the current thread by
+ * {@link ServerTimingFilter}. When no request is being timed every call is a
+ * single {@code ThreadLocal} lookup.
+ */
+public final class RequestTiming {
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, long[]> metrics = new LinkedHashMap<>();
+
+    public static RequestTiming start() {
+        RequestTiming timing = new RequestTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static void record(String metric, long nanos) {
+        RequestTiming timing = CURRENT.get();
+        if (timing != null) {
+            timing.add(metric, nanos);
+        }
+    }
+
+    public static <T> T time(String metric, Supplier<T> action) {
+        RequestTiming timing = CURRENT.get();
+        if (timing == null) {
+            return action.get();
+        }
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            timing.add(metric, System.nanoTime() - start);
+        }
+    }
+
+    public void add(String metric, long nanos) {
+        long[] values = metrics.computeIfAbsent(metric, k -> new long[2]);
+        values[0] += nanos;
+        values[1]++;
+    }
+
+    public long getNanos(String metric) {
+        long[] values = metrics.get(metric);
+        return values == null ? 0 : values[0];
+    }
+
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder();
+        metrics.forEach((metric, values) -> {
+            if (header.length() > 0) {
+                header.append(", ");
+            }
+            header.append(metric);
+            if (values[1] > 1) {
+                header.append(";desc=\"").append(values[1]).append("x\"");
+            }
+            header.append(";dur=").append(String.format(Locale.ROOT, "%.3f", values[0] / 1e6));
+        });
+        return header.toString();
+    }
+}
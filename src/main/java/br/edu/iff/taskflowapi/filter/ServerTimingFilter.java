@@ -0,0 +1,62 @@
+package br.edu.iff.taskflowapi.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final boolean alwaysEnabled;
+    private final boolean allowRequestHeader;
+    private final long logThresholdNanos;
+
+    public ServerTimingFilter(boolean alwaysEnabled, boolean allowRequestHeader, Duration logThreshold) {
+        this.alwaysEnabled = alwaysEnabled;
+        this.allowRequestHeader = allowRequestHeader;
+        this.logThresholdNanos = logThreshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        boolean respond = alwaysEnabled || (allowRequestHeader && request.getHeader(REQUEST_HEADER) != null);
+        if (!respond && logThresholdNanos <= 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // The header has to be set before the body is committed, so the
+        // response is only buffered when the breakdown is actually returned.
+        ContentCachingResponseWrapper wrapper = respond ? new ContentCachingResponseWrapper(response) : null;
+        RequestTiming timing = RequestTiming.start();
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, respond ? wrapper : response);
+        } finally {
+            long total = System.nanoTime() - start;
+            RequestTiming.clear();
+            timing.add("total", total);
+            if (respond) {
+                wrapper.setHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+                wrapper.copyBodyToResponse();
+            }
+            if (logThresholdNanos > 0 && total >= logThresholdNanos) {
+                log.warn("Requisição lenta: {} {} -> {} [{}]", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), timing.toHeaderValue());
+            }
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package br.edu.iff.taskflowapi.handler;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
 import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -19,4 +21,25 @@ public class GlobalExceptionHandler {
                 "timestamp", String.valueOf(System.currentTimeMillis())
             ));
     }
+
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<Map<String, String>> handleRejectedExecutionException(RejectedExecutionException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header("Retry-After", "1")
+            .body(Map.of(
+                "message", "Servidor sobrecarregado, tente novamente.",
+                "error", HttpStatus.SERVICE_UNAVAILABLE.toString(),
+                "timestamp", String.valueOf(System.currentTimeMillis())
+            ));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(Map.of(
+                "message", "A tarefa foi alterada por outra requisição, tente novamente.",
+                "error", HttpStatus.CONFLICT.toString(),
+                "timestamp", String.valueOf(System.currentTimeMillis())
+            ));
+    }
 }
@@ -0,0 +1,20 @@
+package br.edu.iff.taskflowapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("taskflow.JwtVerification")
+@Label("JWT Verification")
+@Category({"TaskFlow", "Security"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("User")
+    public String user;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,24 @@
+package br.edu.iff.taskflowapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("taskflow.Repository")
+@Label("Repository Call")
+@Category({"TaskFlow", "Database"})
+public class RepositoryEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("User")
+    public String user;
+
+    @Label("Task Id")
+    public long taskId;
+}
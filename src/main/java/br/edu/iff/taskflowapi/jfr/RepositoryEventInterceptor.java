@@ -0,0 +1,53 @@
+package br.edu.iff.taskflowapi.jfr;
+
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+public class RepositoryEventInterceptor implements MethodInterceptor {
+
+    private final String repository;
+    private final boolean taskRepository;
+
+    public RepositoryEventInterceptor(Class<?> repositoryInterface, Class<?> domainType) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.taskRepository = Task.class.equals(domainType);
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        RepositoryEvent event = new RepositoryEvent();
+        if (!event.isEnabled()) {
+            return invocation.proceed();
+        }
+        event.begin();
+        try {
+            return invocation.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.repository = repository;
+                event.method = invocation.getMethod().getName();
+                Object[] arguments = invocation.getArguments();
+                if (arguments.length > 0) {
+                    describe(event, arguments[0]);
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private void describe(RepositoryEvent event, Object argument) {
+        if (argument instanceof Task task) {
+            event.taskId = task.getId() == null ? 0 : task.getId();
+            event.user = task.getUser() == null ? null : task.getUser().getEmail();
+        } else if (argument instanceof User user) {
+            event.user = user.getEmail();
+        } else if (argument instanceof String email) {
+            event.user = email;
+        } else if (argument instanceof Long id && taskRepository) {
+            event.taskId = id;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.edu.iff.taskflowapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("taskflow.Request")
+@Label("Request")
+@Description("Handling of an API request after authentication")
+@Category({"TaskFlow", "HTTP"})
+@StackTrace(false)
+public class RequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Path")
+    public String path;
+
+    @Label("Status")
+    public int status;
+
+    @Label("User")
+    public String user;
+
+    @Label("Task Id")
+    public long taskId;
+}
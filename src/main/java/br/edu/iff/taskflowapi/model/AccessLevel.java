@@ -0,0 +1,10 @@
+package br.edu.iff.taskflowapi.model;
+
+/**
+ * What a user a task was shared with may do with it; the owner may do
+ * everything.
+ */
+public enum AccessLevel {
+    READ,
+    WRITE
+}
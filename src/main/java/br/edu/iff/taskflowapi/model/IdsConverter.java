@@ -0,0 +1,41 @@
+package br.edu.iff.taskflowapi.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Stores a set of task ids in a single column, ascending and comma separated,
+ * like {@link LabelsConverter} does for labels.
+ */
+@Converter
+public class IdsConverter implements AttributeConverter<Set<Long>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<Long> ids) {
+        return join(ids);
+    }
+
+    @Override
+    public Set<Long> convertToEntityAttribute(String column) {
+        return split(column);
+    }
+
+    public static String join(Set<Long> ids) {
+        return ids == null || ids.isEmpty() ? null
+            : new TreeSet<>(ids).stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public static Set<Long> split(String column) {
+        Set<Long> ids = new TreeSet<>();
+        if (column != null && !column.isEmpty()) {
+            for (String id : column.split(",")) {
+                ids.add(Long.valueOf(id));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,38 @@
+package br.edu.iff.taskflowapi.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Stores a task's labels in a single column, sorted and comma separated, so
+ * the same set always maps to the same string. Labels never contain commas.
+ */
+@Converter
+public class LabelsConverter implements AttributeConverter<Set<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Set<String> labels) {
+        return join(labels);
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(String column) {
+        return split(column);
+    }
+
+    public static String join(Set<String> labels) {
+        return labels == null || labels.isEmpty() ? null : String.join(",", new TreeSet<>(labels));
+    }
+
+    public static Set<String> split(String column) {
+        Set<String> labels = new TreeSet<>();
+        if (column != null && !column.isEmpty()) {
+            labels.addAll(Arrays.asList(column.split(",")));
+        }
+        return labels;
+    }
+}
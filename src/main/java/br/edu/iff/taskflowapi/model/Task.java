@@ -1,6 +1,9 @@
 package br.edu.iff.taskflowapi.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -9,8 +12,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 @Entity
 public class Task {
@@ -20,9 +30,40 @@ public class Task {
     private String title;
     private String description;
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     private Status status;
     private LocalDate creationDate;
     private LocalDate limitDate;
+    @Convert(converter = LabelsConverter.class)
+    private Set<String> labels = new TreeSet<>();
+    // Tasks that have to be done before this one. Replace the set instead of
+    // changing it, so Hibernate notices the change.
+    @Convert(converter = IdsConverter.class)
+    private Set<Long> blockedBy = new TreeSet<>();
+    private Long parentId;
+    private Long projectId;
+    // The ids of the ancestors, root first, as "/1/5/"; empty for a root.
+    @JsonIgnore
+    private String path = "";
+    // Rollups over all descendants, changed only by bulk updates so a save
+    // never overwrites a concurrent increment.
+    @Column(updatable = false)
+    private int subtaskCount;
+    @Column(updatable = false)
+    private int subtasksDone;
+    // Position within the task's status column; see RankKeys.
+    @JsonIgnore
+    private String rank;
+    // Whether the task was ever shared, so a delete knows if it has shares
+    // to remove. Set only by TaskStore.markShared.
+    @JsonIgnore
+    @Column(updatable = false)
+    private boolean shared;
+    // Checked and bumped by every save, so a save based on a stale read fails
+    // instead of moving the counters a second time.
+    @Version
+    @JsonIgnore
+    private long version;
     @ManyToOne
     @JoinColumn(name = "user_id")
     @JsonIgnore()
@@ -76,6 +117,112 @@ public class Task {
         this.limitDate = limitDate;
     }
 
+    public Set<String> getLabels() {
+        return labels;
+    }
+
+    public void setLabels(Set<String> labels) {
+        this.labels = labels;
+    }
+
+    public Set<Long> getBlockedBy() {
+        return blockedBy;
+    }
+
+    public void setBlockedBy(Set<Long> blockedBy) {
+        this.blockedBy = blockedBy;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public int getSubtaskCount() {
+        return subtaskCount;
+    }
+
+    public void setSubtaskCount(int subtaskCount) {
+        this.subtaskCount = subtaskCount;
+    }
+
+    public int getSubtasksDone() {
+        return subtasksDone;
+    }
+
+    public void setSubtasksDone(int subtasksDone) {
+        this.subtasksDone = subtasksDone;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    /**
+     * Percentage of the subtree, this task included, that is done.
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    public int getProgress() {
+        int done = subtasksDone + (status == Status.DONE ? 1 : 0);
+        return done * 100 / (subtaskCount + 1);
+    }
+
+    /**
+     * The path of this task's children.
+     */
+    public String childPath() {
+        return (path.isEmpty() ? "/" : path) + id + "/";
+    }
+
+    public List<Long> ancestorIds() {
+        List<Long> ids = new ArrayList<>();
+        for (String id : path.split("/")) {
+            if (!id.isEmpty()) {
+                ids.add(Long.valueOf(id));
+            }
+        }
+        return ids;
+    }
+
     public User getUser() {
         return user;
     }
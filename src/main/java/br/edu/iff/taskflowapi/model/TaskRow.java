@@ -0,0 +1,137 @@
+package br.edu.iff.taskflowapi.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of a task the reactive service reads and writes. The hierarchy
+ * and project columns are only read, and a save based on a stale read fails like the JPA
+ * entity's.
+ */
+@Table("task")
+public class TaskRow {
+    @Id
+    private Long id;
+    private String title;
+    private String description;
+    private Status status;
+    private LocalDate creationDate;
+    private LocalDate limitDate;
+    @JsonIgnore
+    private String rank;
+    @JsonIgnore
+    private Long userId;
+    @ReadOnlyProperty
+    @JsonIgnore
+    private Long parentId;
+    @ReadOnlyProperty
+    @JsonIgnore
+    private int subtaskCount;
+    @ReadOnlyProperty
+    @JsonIgnore
+    private Long projectId;
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDate getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(LocalDate creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public LocalDate getLimitDate() {
+        return limitDate;
+    }
+
+    public void setLimitDate(LocalDate limitDate) {
+        this.limitDate = limitDate;
+    }
+
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public int getSubtaskCount() {
+        return subtaskCount;
+    }
+
+    public void setSubtaskCount(int subtaskCount) {
+        this.subtaskCount = subtaskCount;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
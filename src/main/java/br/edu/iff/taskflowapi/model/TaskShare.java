@@ -0,0 +1,87 @@
+package br.edu.iff.taskflowapi.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Grants a user access to another user's task. The key starts with the
+ * user, so the tasks a user can see besides their own are one range of it.
+ */
+@Entity
+@Table(name = "task_share")
+@IdClass(TaskShare.Key.class)
+public class TaskShare {
+
+    @Id
+    private Long userId;
+    @Id
+    private Long taskId;
+    private Long ownerId;
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    private AccessLevel level;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public AccessLevel getLevel() {
+        return level;
+    }
+
+    public void setLevel(AccessLevel level) {
+        this.level = level;
+    }
+
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long taskId;
+
+        public Key() {
+        }
+
+        public Key(Long userId, Long taskId) {
+            this.userId = userId;
+            this.taskId = taskId;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Objects.equals(userId, key.userId) && Objects.equals(taskId, key.taskId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, taskId);
+        }
+    }
+}
@@ -0,0 +1,588 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.IdsConverter;
+import br.edu.iff.taskflowapi.model.LabelsConverter;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.TaskShare;
+import br.edu.iff.taskflowapi.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps tasks in RAM as parallel primitive arrays, one slot per task, instead
+ * of going through SQL and the persistence context. Strings live in a
+ * {@link StringArena}, statuses are stored as a byte and dates as epoch days.
+ * A task's labels are kept as one joined string, so a combination shared by
+ * many tasks is stored once, and so are its path and its blockers; ranks go
+ * to the arena too.
+ * Each user's tasks form a circular doubly linked list threaded through the
+ * slots, so listing them touches only their own slots, in creation order.
+ * <p>
+ * Users and shares stay in the database; the store only keeps the
+ * {@link User} of each task's owner to hand it back with the task. Nothing
+ * here survives a restart.
+ */
+@Component
+@Profile("columnar")
+public class ColumnarTaskStore implements TaskStore {
+
+    private static final Status[] STATUSES = Status.values();
+    private static final byte NO_STATUS = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NONE = LongIntHashMap.MISSING;
+    private static final long NO_PARENT = 0;
+    private static final long NO_PROJECT = 0;
+
+    private final TaskShareRepository shareRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final StringArena strings = new StringArena();
+    private final LongIntHashMap slotsById = new LongIntHashMap(1024);
+    private final LongIntHashMap headSlotsByUser = new LongIntHashMap(64);
+    private final Map<Long, User> users = new HashMap<>();
+    private final Map<String, Long> userIdsByEmail = new HashMap<>();
+
+    private long[] ids = new long[1024];
+    private long[] userIds = new long[1024];
+    private byte[] statuses = new byte[1024];
+    private int[] creationDates = new int[1024];
+    private int[] limitDates = new int[1024];
+    private int[] titles = new int[1024];
+    private int[] descriptions = new int[1024];
+    private int[] labels = new int[1024];
+    private int[] blockedBy = new int[1024];
+    private long[] parentIds = new long[1024];
+    private long[] projectIds = new long[1024];
+    private int[] paths = new int[1024];
+    private int[] ranks = new int[1024];
+    private int[] subtaskCounts = new int[1024];
+    private int[] subtasksDone = new int[1024];
+    private boolean[] shared = new boolean[1024];
+    private int[] versions = new int[1024];
+    private int[] nextSlots = new int[1024];
+    private int[] previousSlots = new int[1024];
+    private int slots;
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private long lastId;
+
+    public ColumnarTaskStore(TaskShareRepository shareRepository,
+                             @Value("${wal.enabled:false}") boolean writeAheadLogEnabled) {
+        this.shareRepository = shareRepository;
+        if (writeAheadLogEnabled) {
+            throw new IllegalStateException("O log de escrita (wal.enabled) não é compatível com o armazenamento colunar");
+        }
+    }
+
+    @Override
+    public Task save(Task task) {
+        User user = Objects.requireNonNull(task.getUser(), "A tarefa precisa de um usuário");
+        lock.writeLock().lock();
+        try {
+            int slot = task.getId() == null ? NONE : slotsById.get(task.getId());
+            if (slot != NONE && versions[slot] != task.getVersion()) {
+                throw new OptimisticLockingFailureException("A tarefa " + task.getId() + " foi alterada por outra requisição.");
+            }
+            boolean inserted = slot == NONE;
+            if (inserted) {
+                long id = task.getId() == null ? lastId + 1 : task.getId();
+                lastId = Math.max(lastId, id);
+                slot = allocateSlot();
+                ids[slot] = id;
+                userIds[slot] = user.getId();
+                titles[slot] = StringArena.NULL;
+                descriptions[slot] = StringArena.NULL;
+                labels[slot] = StringArena.NULL;
+                blockedBy[slot] = StringArena.NULL;
+                paths[slot] = StringArena.NULL;
+                ranks[slot] = StringArena.NULL;
+                subtaskCounts[slot] = task.getSubtaskCount();
+                subtasksDone[slot] = task.getSubtasksDone();
+                shared[slot] = task.isShared();
+                versions[slot] = (int) task.getVersion();
+                slotsById.put(id, slot);
+                link(slot, user);
+                task.setId(id);
+            } else if (userIds[slot] != user.getId()) {
+                unlink(slot);
+                userIds[slot] = user.getId();
+                link(slot, user);
+            }
+
+            // Add before release, so an unchanged string keeps its entry.
+            int title = titles[slot];
+            titles[slot] = strings.add(task.getTitle());
+            strings.release(title);
+            int description = descriptions[slot];
+            descriptions[slot] = strings.add(task.getDescription());
+            strings.release(description);
+            int previousLabels = labels[slot];
+            labels[slot] = strings.add(LabelsConverter.join(task.getLabels()));
+            strings.release(previousLabels);
+            int previousBlockedBy = blockedBy[slot];
+            blockedBy[slot] = strings.add(IdsConverter.join(task.getBlockedBy()));
+            strings.release(previousBlockedBy);
+            int path = paths[slot];
+            paths[slot] = strings.add(task.getPath());
+            strings.release(path);
+            int rank = ranks[slot];
+            ranks[slot] = strings.add(task.getRank());
+            strings.release(rank);
+            parentIds[slot] = task.getParentId() == null ? NO_PARENT : task.getParentId();
+            projectIds[slot] = task.getProjectId() == null ? NO_PROJECT : task.getProjectId();
+            statuses[slot] = task.getStatus() == null ? NO_STATUS : (byte) task.getStatus().ordinal();
+            creationDates[slot] = toEpochDay(task.getCreationDate());
+            limitDates[slot] = toEpochDay(task.getLimitDate());
+            task.setVersion(inserted ? versions[slot] : ++versions[slot]);
+            return task;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            return slot == NONE ? Optional.empty() : Optional.of(toTask(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>(ids.size());
+            for (long id : ids) {
+                int slot = slotsById.get(id);
+                if (slot != NONE) {
+                    tasks.add(toTask(slot));
+                }
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByUserEmail(String email) {
+        lock.readLock().lock();
+        try {
+            Long userId = userIdsByEmail.get(email);
+            int head = userId == null ? NONE : headSlotsByUser.get(userId);
+            List<Task> tasks = new ArrayList<>();
+            if (head == NONE) {
+                return tasks;
+            }
+            int slot = head;
+            do {
+                tasks.add(toTask(slot));
+                slot = nextSlots[slot];
+            } while (slot != head);
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findVisible(String email) {
+        List<TaskShare> shares = shareRepository.findByViewer(email);
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = findByUserEmail(email);
+            for (TaskShare share : shares) {
+                int slot = slotsById.get(share.getTaskId());
+                if (slot != NONE) {
+                    tasks.add(toTask(slot));
+                }
+            }
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void delete(Task task) {
+        lock.writeLock().lock();
+        try {
+            remove(task.getId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Task> tasks) {
+        lock.writeLock().lock();
+        try {
+            for (Task task : tasks) {
+                remove(task.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findDescendants(Task task) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>();
+            for (int slot : descendantSlots(task)) {
+                tasks.add(toTask(slot));
+            }
+            tasks.sort(Comparator.comparing(Task::getId));
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteDescendants(Task task) {
+        lock.writeLock().lock();
+        try {
+            for (int slot : descendantSlots(task)) {
+                remove(ids[slot]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void addToRollups(User owner, Collection<Long> ids, int count, int done) {
+        lock.writeLock().lock();
+        try {
+            for (Long id : ids) {
+                int slot = slotsById.get(id);
+                if (slot != NONE && userIds[slot] == owner.getId()) {
+                    subtaskCounts[slot] += count;
+                    subtasksDone[slot] += done;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void replacePathPrefix(User owner, String from, String to) {
+        lock.writeLock().lock();
+        try {
+            for (int slot : slotsWithPathPrefix(owner.getId(), from)) {
+                int path = paths[slot];
+                paths[slot] = strings.add(to + strings.get(path).substring(from.length()));
+                strings.release(path);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findColumn(String email, Status status) {
+        lock.readLock().lock();
+        try {
+            Long userId = userIdsByEmail.get(email);
+            List<Task> tasks = new ArrayList<>();
+            if (userId == null) {
+                return tasks;
+            }
+            for (int slot : slotsInColumn(userId, status)) {
+                tasks.add(toTask(slot));
+            }
+            tasks.sort(Comparator.comparing((Task task) -> rankOf(task.getRank())).thenComparing(Task::getId));
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Optional<Task> findNextInColumn(User owner, Status status, String rank, long id) {
+        lock.readLock().lock();
+        try {
+            int next = NONE;
+            for (int slot : slotsInColumn(owner.getId(), status)) {
+                if (compare(slot, rank, id) > 0
+                    && (next == NONE || compare(slot, rankOf(strings.get(ranks[next])), ids[next]) < 0)) {
+                    next = slot;
+                }
+            }
+            return next == NONE ? Optional.empty() : Optional.of(toTask(next));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateRanks(User owner, Map<Long, String> ranks) {
+        lock.writeLock().lock();
+        try {
+            ranks.forEach((id, rank) -> {
+                int slot = slotsById.get(id);
+                if (slot != NONE && userIds[slot] == owner.getId()) {
+                    int previous = this.ranks[slot];
+                    this.ranks[slot] = strings.add(rank);
+                    strings.release(previous);
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void updateBlockedBy(User owner, Map<Long, Set<Long>> blockedBy) {
+        lock.writeLock().lock();
+        try {
+            blockedBy.forEach((id, blockers) -> {
+                int slot = slotsById.get(id);
+                if (slot != NONE && userIds[slot] == owner.getId()) {
+                    int previous = this.blockedBy[slot];
+                    this.blockedBy[slot] = strings.add(IdsConverter.join(blockers));
+                    strings.release(previous);
+                    versions[slot]++;
+                }
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void markShared(User owner, long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotsById.get(id);
+            if (slot != NONE && userIds[slot] == owner.getId()) {
+                shared[slot] = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Task> findByProject(User owner, long projectId, Status status) {
+        lock.readLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>();
+            int head = headSlotsByUser.get(owner.getId());
+            if (head == NONE) {
+                return tasks;
+            }
+            // Like paths and columns, projects have no index here but the
+            // owner's list.
+            int slot = head;
+            do {
+                if (projectIds[slot] == projectId && (status == null || statuses[slot] == (byte) status.ordinal())) {
+                    tasks.add(toTask(slot));
+                }
+                slot = nextSlots[slot];
+            } while (slot != head);
+            tasks.sort(status == null
+                ? Comparator.comparing(Task::getId)
+                : Comparator.comparing((Task task) -> rankOf(task.getRank())).thenComparing(Task::getId));
+            return tasks;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Integer> descendantSlots(Task task) {
+        return slotsWithPathPrefix(task.getUser().getId(), task.childPath());
+    }
+
+    // Walks the owner's list, which is all this store has instead of an
+    // index on the path.
+    private List<Integer> slotsWithPathPrefix(long userId, String prefix) {
+        List<Integer> matches = new ArrayList<>();
+        int head = headSlotsByUser.get(userId);
+        if (head == NONE) {
+            return matches;
+        }
+        int slot = head;
+        do {
+            String path = strings.get(paths[slot]);
+            if (path != null && path.startsWith(prefix)) {
+                matches.add(slot);
+            }
+            slot = nextSlots[slot];
+        } while (slot != head);
+        return matches;
+    }
+
+    private List<Integer> slotsInColumn(long userId, Status status) {
+        List<Integer> matches = new ArrayList<>();
+        int head = headSlotsByUser.get(userId);
+        if (head == NONE) {
+            return matches;
+        }
+        int slot = head;
+        do {
+            if (statuses[slot] == (byte) status.ordinal()) {
+                matches.add(slot);
+            }
+            slot = nextSlots[slot];
+        } while (slot != head);
+        return matches;
+    }
+
+    // Orders the slot against a rank and id the way the column is sorted.
+    private int compare(int slot, String rank, long id) {
+        int byRank = rankOf(strings.get(ranks[slot])).compareTo(rank);
+        return byRank != 0 ? byRank : Long.compare(ids[slot], id);
+    }
+
+    private static String rankOf(String rank) {
+        return rank == null ? "" : rank;
+    }
+
+    private void remove(Long id) {
+        int slot = id == null ? NONE : slotsById.get(id);
+        if (slot == NONE) {
+            return;
+        }
+        unlink(slot);
+        strings.release(titles[slot]);
+        strings.release(descriptions[slot]);
+        strings.release(labels[slot]);
+        strings.release(blockedBy[slot]);
+        strings.release(paths[slot]);
+        strings.release(ranks[slot]);
+        slotsById.remove(id);
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private Task toTask(int slot) {
+        Task task = new Task();
+        task.setId(ids[slot]);
+        task.setTitle(strings.get(titles[slot]));
+        task.setDescription(strings.get(descriptions[slot]));
+        task.setStatus(statuses[slot] == NO_STATUS ? null : STATUSES[statuses[slot]]);
+        task.setCreationDate(toLocalDate(creationDates[slot]));
+        task.setLimitDate(toLocalDate(limitDates[slot]));
+        task.setLabels(LabelsConverter.split(strings.get(labels[slot])));
+        task.setBlockedBy(IdsConverter.split(strings.get(blockedBy[slot])));
+        task.setParentId(parentIds[slot] == NO_PARENT ? null : parentIds[slot]);
+        task.setProjectId(projectIds[slot] == NO_PROJECT ? null : projectIds[slot]);
+        String path = strings.get(paths[slot]);
+        task.setPath(path == null ? "" : path);
+        task.setSubtaskCount(subtaskCounts[slot]);
+        task.setSubtasksDone(subtasksDone[slot]);
+        task.setRank(strings.get(ranks[slot]));
+        task.setShared(shared[slot]);
+        task.setVersion(versions[slot]);
+        task.setUser(users.get(userIds[slot]));
+        return task;
+    }
+
+    private void link(int slot, User user) {
+        long userId = user.getId();
+        int head = headSlotsByUser.get(userId);
+        if (head == NONE) {
+            nextSlots[slot] = slot;
+            previousSlots[slot] = slot;
+            headSlotsByUser.put(userId, slot);
+            users.put(userId, user);
+            userIdsByEmail.put(user.getEmail(), userId);
+            return;
+        }
+        int tail = previousSlots[head];
+        nextSlots[tail] = slot;
+        previousSlots[slot] = tail;
+        nextSlots[slot] = head;
+        previousSlots[head] = slot;
+    }
+
+    // The owner is forgotten with its last task, so users removed from the
+    // database do not linger here.
+    private void unlink(int slot) {
+        long userId = userIds[slot];
+        int next = nextSlots[slot];
+        if (next == slot) {
+            headSlotsByUser.remove(userId);
+            User user = users.remove(userId);
+            userIdsByEmail.remove(user.getEmail());
+            return;
+        }
+        int previous = previousSlots[slot];
+        nextSlots[previous] = next;
+        previousSlots[next] = previous;
+        if (headSlotsByUser.get(userId) == slot) {
+            headSlotsByUser.put(userId, next);
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slots == ids.length) {
+            int capacity = slots * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            userIds = Arrays.copyOf(userIds, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+            creationDates = Arrays.copyOf(creationDates, capacity);
+            limitDates = Arrays.copyOf(limitDates, capacity);
+            titles = Arrays.copyOf(titles, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+            labels = Arrays.copyOf(labels, capacity);
+            blockedBy = Arrays.copyOf(blockedBy, capacity);
+            parentIds = Arrays.copyOf(parentIds, capacity);
+            projectIds = Arrays.copyOf(projectIds, capacity);
+            paths = Arrays.copyOf(paths, capacity);
+            ranks = Arrays.copyOf(ranks, capacity);
+            subtaskCounts = Arrays.copyOf(subtaskCounts, capacity);
+            subtasksDone = Arrays.copyOf(subtasksDone, capacity);
+            shared = Arrays.copyOf(shared, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            nextSlots = Arrays.copyOf(nextSlots, capacity);
+            previousSlots = Arrays.copyOf(previousSlots, capacity);
+        }
+        return slots++;
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : (int) date.toEpochDay();
+    }
+
+    private static LocalDate toLocalDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,26 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    // Read-write so it never goes to a replica: a record stored a moment ago
+    // by another instance must be seen.
+    @Override
+    @Transactional
+    Optional<IdempotencyRecord> findById(String key);
+
+    @Modifying
+    @Transactional
+    @Query("delete from IdempotencyRecord r where r.createdAt < :limit")
+    int deleteCreatedBefore(Instant limit);
+}
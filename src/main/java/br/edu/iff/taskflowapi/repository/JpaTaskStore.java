@@ -0,0 +1,128 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+@Profile("!columnar & !sharded")
+public class JpaTaskStore implements TaskStore {
+
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+
+    public JpaTaskStore(TaskRepository taskRepository, EntityManager entityManager) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Task save(Task task) {
+        return taskRepository.save(task);
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return taskRepository.findById(id);
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        return taskRepository.findAllById(ids);
+    }
+
+    @Override
+    public List<Task> findByUserEmail(String email) {
+        return taskRepository.findByUserEmail(email);
+    }
+
+    @Override
+    public List<Task> findVisible(String email) {
+        return taskRepository.findVisible(email);
+    }
+
+    @Override
+    public void delete(Task task) {
+        taskRepository.delete(task);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Task> tasks) {
+        taskRepository.deleteAll(tasks);
+    }
+
+    @Override
+    public List<Task> findDescendants(Task task) {
+        String from = task.childPath();
+        return taskRepository.findByPathRange(task.getUser(), from, TaskStore.pathRangeEnd(from));
+    }
+
+    @Override
+    public void deleteDescendants(Task task) {
+        String from = task.childPath();
+        taskRepository.deleteByPathRange(task.getUser(), from, TaskStore.pathRangeEnd(from));
+    }
+
+    @Override
+    public void addToRollups(User owner, Collection<Long> ids, int count, int done) {
+        if (!ids.isEmpty()) {
+            taskRepository.addToRollups(owner, ids, count, done);
+        }
+    }
+
+    @Override
+    public void replacePathPrefix(User owner, String from, String to) {
+        taskRepository.replacePathPrefix(owner, from, TaskStore.pathRangeEnd(from), to, from.length() + 1);
+    }
+
+    @Override
+    public List<Task> findColumn(String email, Status status) {
+        return taskRepository.findColumn(email, status);
+    }
+
+    @Override
+    public Optional<Task> findNextInColumn(User owner, Status status, String rank, long id) {
+        return taskRepository.findNextInColumn(owner, status, rank, id, Limit.of(1)).stream().findFirst();
+    }
+
+    @Override
+    public void updateRanks(User owner, Map<Long, String> ranks) {
+        ranks.forEach((id, rank) -> taskRepository.updateRank(owner, id, rank));
+    }
+
+    @Override
+    public void updateBlockedBy(User owner, Map<Long, Set<Long>> blockedBy) {
+        if (blockedBy.isEmpty()) {
+            return;
+        }
+        Query update = entityManager.createNativeQuery(TaskStore.updateBlockedBySql(blockedBy.size()));
+        Object[] arguments = TaskStore.updateBlockedByArguments(owner, blockedBy);
+        for (int i = 0; i < arguments.length; i++) {
+            update.setParameter(i + 1, arguments[i]);
+        }
+        update.executeUpdate();
+    }
+
+    @Override
+    public void markShared(User owner, long id) {
+        taskRepository.markShared(owner, id);
+    }
+
+    @Override
+    public List<Task> findByProject(User owner, long projectId, Status status) {
+        return status == null
+            ? taskRepository.findByProject(owner, projectId)
+            : taskRepository.findByProjectAndStatus(owner, projectId, status);
+    }
+}
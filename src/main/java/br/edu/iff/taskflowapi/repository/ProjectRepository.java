@@ -0,0 +1,31 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.Project;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    @EntityGraph(attributePaths = "user")
+    List<Project> findByUserEmailOrderById(String email);
+
+    long countByUserId(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Project p where p.id = :id")
+    Optional<Project> findByIdForUpdate(long id);
+
+    @Modifying
+    @Query("update Project p set p.taskCount = p.taskCount + :tasks, p.openCount = p.openCount + :open, "
+        + "p.inProgressCount = p.inProgressCount + :inProgress, p.doneCount = p.doneCount + :done where p.id = :id")
+    int addToCounts(long id, int tasks, int open, int inProgress, int done);
+}
@@ -0,0 +1,14 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.TaskRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveTaskRepository extends R2dbcRepository<TaskRow, Long> {
+
+    @Query("select t.* from task t join app_user u on u.id = t.user_id where u.email = :email order by t.id")
+    Flux<TaskRow> findByUserEmail(String email);
+}
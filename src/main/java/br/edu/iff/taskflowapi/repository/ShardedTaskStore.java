@@ -0,0 +1,467 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.IdsConverter;
+import br.edu.iff.taskflowapi.model.LabelsConverter;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.TaskShare;
+import br.edu.iff.taskflowapi.model.User;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Spreads tasks over several databases by owner: a user's tasks all live in
+ * the shard picked by a jump consistent hash of the user id, so each task
+ * operation touches a single shard and adding a shard only moves the tasks
+ * that now belong to it (see {@link #rebalance()}).
+ * <p>
+ * Task ids come from a per-shard sequence with the shard index in the low
+ * bits, which keeps them unique across shards even after tasks move. A lookup
+ * by id goes to the shard of the authenticated user, or the shard that
+ * created the task, and only asks the others when the task is not there.
+ * Shares stay in the main database and know the owner of each task, so the
+ * tasks shared with a user are read from their owners' shards alone.
+ */
+public class ShardedTaskStore implements TaskStore, AutoCloseable {
+
+    public static final int MAX_SHARDS = 1024;
+    // Matches the increment of task_seq in db/shard/V1__create_task.sql.
+    private static final int ID_BLOCK_SIZE = 64;
+    private static final int MOVE_BATCH_SIZE = 500;
+    private static final int USER_CACHE_SIZE = 10_000;
+    private static final String SELECT = "select id, title, description, status, creation_date, limit_date, user_id, labels, "
+        + "parent_id, path, subtask_count, subtasks_done, blocked_by, rank, shared, project_id, version from task";
+    private static final String MERGE = "merge into task (id, title, description, status, creation_date, limit_date, user_id, "
+        + "labels, parent_id, path, subtask_count, subtasks_done, blocked_by, rank, shared, project_id, version) key (id) "
+        + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // Leaves the subtask counters and the shared flag alone, see TaskStore,
+    // and matches only the version the task was read at.
+    private static final String UPDATE = "update task set title = ?, description = ?, status = ?, creation_date = ?, "
+        + "limit_date = ?, labels = ?, parent_id = ?, path = ?, blocked_by = ?, rank = ?, project_id = ?, "
+        + "version = version + 1 where id = ? and version = ?";
+    private static final String IN_PATH_RANGE = " where user_id = ? and path >= ? and path < ?";
+    private static final String IN_COLUMN = " where user_id = ? and status = ?";
+    private static final String IN_PROJECT = " where project_id = ? and user_id = ?";
+
+    private final List<JdbcTemplate> shards;
+    private final UserRepository userRepository;
+    private final TaskShareRepository shareRepository;
+    private final IdBlock[] idBlocks;
+    private final ExecutorService executor;
+    private final Map<String, User> usersByEmail = new ConcurrentHashMap<>();
+    private final Map<Long, User> usersById = new ConcurrentHashMap<>();
+
+    public ShardedTaskStore(List<JdbcTemplate> shards, UserRepository userRepository, TaskShareRepository shareRepository) {
+        if (shards.isEmpty() || shards.size() > MAX_SHARDS) {
+            throw new IllegalArgumentException("Quantidade de shards inválida: " + shards.size());
+        }
+        this.shards = List.copyOf(shards);
+        this.userRepository = userRepository;
+        this.shareRepository = shareRepository;
+        this.idBlocks = new IdBlock[shards.size()];
+        for (int i = 0; i < idBlocks.length; i++) {
+            idBlocks[i] = new IdBlock(shards.get(i), i);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shards.size(), runnable -> {
+            Thread thread = new Thread(runnable, "shard-query-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public int shardFor(long userId) {
+        return jumpHash(userId, shards.size());
+    }
+
+    @Override
+    public Task save(Task task) {
+        User user = task.getUser();
+        remember(user);
+        int shard = shardFor(user.getId());
+        if (task.getId() == null) {
+            task.setId(idBlocks[shard].next());
+        } else if (shards.get(shard).update(UPDATE, task.getTitle(), task.getDescription(),
+            task.getStatus() == null ? null : task.getStatus().name(), toDate(task.getCreationDate()),
+            toDate(task.getLimitDate()), LabelsConverter.join(task.getLabels()), task.getParentId(), task.getPath(),
+            IdsConverter.join(task.getBlockedBy()), task.getRank(), task.getProjectId(), task.getId(),
+            task.getVersion()) > 0) {
+            task.setVersion(task.getVersion() + 1);
+            return task;
+        } else if (findById(shards.get(shard), task.getId()).isPresent()) {
+            throw new OptimisticLockingFailureException("A tarefa " + task.getId() + " foi alterada por outra requisição.");
+        }
+        merge(shards.get(shard), task);
+        return task;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        User user = currentUser();
+        int first = user != null ? shardFor(user.getId()) : (int) (id % MAX_SHARDS) % shards.size();
+        Optional<Task> task = findById(shards.get(first), id);
+        if (task.isPresent() || shards.size() == 1) {
+            return task;
+        }
+        return scatter(shard -> shard == shards.get(first) ? Optional.<Task>empty() : findById(shard, id)).stream()
+            .flatMap(Optional::stream)
+            .findFirst();
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        User user = currentUser();
+        JdbcTemplate first = user != null ? shards.get(shardFor(user.getId())) : null;
+        List<Task> tasks = first != null ? findAllById(first, ids) : new ArrayList<>();
+        if (tasks.size() == ids.size() || first != null && shards.size() == 1) {
+            return tasks;
+        }
+        Set<Long> missing = new HashSet<>(ids);
+        tasks.forEach(task -> missing.remove(task.getId()));
+        scatter(shard -> shard == first ? List.<Task>of() : findAllById(shard, missing)).forEach(tasks::addAll);
+        return tasks;
+    }
+
+    @Override
+    public List<Task> findByUserEmail(String email) {
+        User user = userByEmail(email);
+        if (user == null) {
+            return new ArrayList<>();
+        }
+        return shards.get(shardFor(user.getId()))
+            .query(SELECT + " where user_id = ? order by id", (rs, row) -> toTask(rs), user.getId());
+    }
+
+    @Override
+    public List<Task> findVisible(String email) {
+        List<Task> tasks = findByUserEmail(email);
+        Map<Integer, List<Long>> sharedIds = new HashMap<>();
+        for (TaskShare share : shareRepository.findByViewer(email)) {
+            sharedIds.computeIfAbsent(shardFor(share.getOwnerId()), shard -> new ArrayList<>()).add(share.getTaskId());
+        }
+        sharedIds.forEach((shard, ids) -> tasks.addAll(findAllById(shards.get(shard), ids)));
+        return tasks;
+    }
+
+    @Override
+    public void delete(Task task) {
+        if (task.getUser() != null && task.getUser().getId() != null) {
+            shards.get(shardFor(task.getUser().getId())).update("delete from task where id = ?", task.getId());
+        } else {
+            scatter(shard -> shard.update("delete from task where id = ?", task.getId()));
+        }
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends Task> tasks) {
+        tasks.forEach(this::delete);
+    }
+
+    @Override
+    public List<Task> findDescendants(Task task) {
+        String from = task.childPath();
+        return shards.get(shardFor(task.getUser().getId())).query(SELECT + IN_PATH_RANGE + " order by id",
+            (rs, row) -> toTask(rs), task.getUser().getId(), from, TaskStore.pathRangeEnd(from));
+    }
+
+    @Override
+    public void deleteDescendants(Task task) {
+        String from = task.childPath();
+        shards.get(shardFor(task.getUser().getId())).update("delete from task" + IN_PATH_RANGE,
+            task.getUser().getId(), from, TaskStore.pathRangeEnd(from));
+    }
+
+    @Override
+    public void addToRollups(User owner, Collection<Long> ids, int count, int done) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        List<Object> arguments = new ArrayList<>(List.of(count, done, owner.getId()));
+        arguments.addAll(ids);
+        shards.get(shardFor(owner.getId())).update("update task set subtask_count = subtask_count + ?, "
+            + "subtasks_done = subtasks_done + ? where user_id = ? and id in (" + placeholders + ")", arguments.toArray());
+    }
+
+    @Override
+    public void replacePathPrefix(User owner, String from, String to) {
+        shards.get(shardFor(owner.getId())).update("update task set path = concat(?, substring(path, ?))" + IN_PATH_RANGE,
+            to, from.length() + 1, owner.getId(), from, TaskStore.pathRangeEnd(from));
+    }
+
+    @Override
+    public List<Task> findColumn(String email, Status status) {
+        User user = userByEmail(email);
+        if (user == null) {
+            return new ArrayList<>();
+        }
+        return shards.get(shardFor(user.getId())).query(SELECT + IN_COLUMN + " order by rank, id",
+            (rs, row) -> toTask(rs), user.getId(), status.name());
+    }
+
+    @Override
+    public Optional<Task> findNextInColumn(User owner, Status status, String rank, long id) {
+        return shards.get(shardFor(owner.getId())).query(SELECT + IN_COLUMN
+                + " and (rank > ? or rank = ? and id > ?) order by rank, id limit 1",
+            (rs, row) -> toTask(rs), owner.getId(), status.name(), rank, rank, id).stream().findFirst();
+    }
+
+    @Override
+    public void updateRanks(User owner, Map<Long, String> ranks) {
+        List<Object[]> arguments = new ArrayList<>();
+        ranks.forEach((id, rank) -> arguments.add(new Object[] {rank, owner.getId(), id}));
+        shards.get(shardFor(owner.getId())).batchUpdate("update task set rank = ? where user_id = ? and id = ?", arguments);
+    }
+
+    @Override
+    public void updateBlockedBy(User owner, Map<Long, Set<Long>> blockedBy) {
+        if (!blockedBy.isEmpty()) {
+            shards.get(shardFor(owner.getId())).update(TaskStore.updateBlockedBySql(blockedBy.size()),
+                TaskStore.updateBlockedByArguments(owner, blockedBy));
+        }
+    }
+
+    @Override
+    public void markShared(User owner, long id) {
+        shards.get(shardFor(owner.getId())).update("update task set shared = true where user_id = ? and id = ?",
+            owner.getId(), id);
+    }
+
+    @Override
+    public List<Task> findByProject(User owner, long projectId, Status status) {
+        JdbcTemplate shard = shards.get(shardFor(owner.getId()));
+        return status == null
+            ? shard.query(SELECT + IN_PROJECT + " order by id", (rs, row) -> toTask(rs), projectId, owner.getId())
+            : shard.query(SELECT + IN_PROJECT + " and status = ? order by rank, id", (rs, row) -> toTask(rs),
+                projectId, owner.getId(), status.name());
+    }
+
+    /**
+     * Counts tasks and owners on every shard in parallel.
+     */
+    public List<ShardStatistics> statistics() {
+        List<Map<String, Object>> totals = scatter(shard -> shard.queryForMap(
+            "select count(*) as tasks, count(distinct user_id) as users from task"));
+        List<Map<Status, Long>> byStatus = scatter(shard -> {
+            Map<Status, Long> counts = new EnumMap<>(Status.class);
+            shard.query("select status, count(*) from task where status is not null group by status", rs -> {
+                counts.put(Status.valueOf(rs.getString(1)), rs.getLong(2));
+            });
+            return counts;
+        });
+        List<ShardStatistics> statistics = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            statistics.add(new ShardStatistics(i, ((Number) totals.get(i).get("TASKS")).longValue(),
+                ((Number) totals.get(i).get("USERS")).longValue(), byStatus.get(i)));
+        }
+        return statistics;
+    }
+
+    /**
+     * Moves every task that is not on its owner's shard, which after adding a
+     * shard means the ones the jump hash now sends to it. Each task is copied
+     * before it is deleted, so an interrupted run can simply be repeated. It
+     * is meant to run before the instance takes traffic.
+     */
+    public long rebalance() {
+        return scatter(this::rebalance).stream().mapToLong(Long::longValue).sum();
+    }
+
+    private long rebalance(JdbcTemplate source) {
+        int sourceIndex = shards.indexOf(source);
+        long moved = 0;
+        long lastId = Long.MIN_VALUE;
+        while (true) {
+            List<Task> batch = source.query(SELECT + " where id > ? order by id limit " + MOVE_BATCH_SIZE,
+                (rs, row) -> toRow(rs), lastId);
+            if (batch.isEmpty()) {
+                return moved;
+            }
+            for (Task task : batch) {
+                int target = shardFor(task.getUser().getId());
+                if (target != sourceIndex) {
+                    merge(shards.get(target), task);
+                    source.update("delete from task where id = ?", task.getId());
+                    moved++;
+                }
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static void merge(JdbcTemplate shard, Task task) {
+        shard.update(MERGE, task.getId(), task.getTitle(), task.getDescription(),
+            task.getStatus() == null ? null : task.getStatus().name(), toDate(task.getCreationDate()),
+            toDate(task.getLimitDate()), task.getUser().getId(), LabelsConverter.join(task.getLabels()),
+            task.getParentId(), task.getPath(), task.getSubtaskCount(), task.getSubtasksDone(),
+            IdsConverter.join(task.getBlockedBy()), task.getRank(), task.isShared(), task.getProjectId(),
+            task.getVersion());
+    }
+
+    private Optional<Task> findById(JdbcTemplate shard, Long id) {
+        return shard.query(SELECT + " where id = ?", (rs, row) -> toTask(rs), id).stream().findFirst();
+    }
+
+    private List<Task> findAllById(JdbcTemplate shard, Collection<Long> ids) {
+        return shard.query(SELECT + " where id in (" + String.join(", ", Collections.nCopies(ids.size(), "?")) + ")",
+            (rs, row) -> toTask(rs), ids.toArray());
+    }
+
+    private <T> List<T> scatter(Function<JdbcTemplate, T> query) {
+        List<CompletableFuture<T>> futures = shards.stream()
+            .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), executor))
+            .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+            || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return userByEmail(authentication.getName());
+    }
+
+    private User userByEmail(String email) {
+        User user = usersByEmail.get(email);
+        if (user == null) {
+            user = userRepository.findByEmail(email).orElse(null);
+            remember(user);
+        }
+        return user;
+    }
+
+    private User userById(long id) {
+        User user = usersById.get(id);
+        if (user == null) {
+            user = userRepository.findById(id).orElse(null);
+            remember(user);
+        }
+        return user;
+    }
+
+    // Users are never renamed, so the cache only has to stay bounded.
+    private void remember(User user) {
+        if (user == null || user.getId() == null || usersById.containsKey(user.getId())) {
+            return;
+        }
+        if (usersById.size() >= USER_CACHE_SIZE) {
+            usersById.clear();
+            usersByEmail.clear();
+        }
+        usersById.put(user.getId(), user);
+        usersByEmail.put(user.getEmail(), user);
+    }
+
+    private Task toTask(ResultSet rs) throws SQLException {
+        Task task = toRow(rs);
+        task.setUser(userById(task.getUser().getId()));
+        return task;
+    }
+
+    private static Task toRow(ResultSet rs) throws SQLException {
+        Task task = new Task();
+        task.setId(rs.getLong("id"));
+        task.setTitle(rs.getString("title"));
+        task.setDescription(rs.getString("description"));
+        String status = rs.getString("status");
+        task.setStatus(status == null ? null : Status.valueOf(status));
+        task.setCreationDate(rs.getObject("creation_date", LocalDate.class));
+        task.setLimitDate(rs.getObject("limit_date", LocalDate.class));
+        task.setLabels(LabelsConverter.split(rs.getString("labels")));
+        task.setParentId(rs.getObject("parent_id", Long.class));
+        task.setPath(rs.getString("path"));
+        task.setSubtaskCount(rs.getInt("subtask_count"));
+        task.setSubtasksDone(rs.getInt("subtasks_done"));
+        task.setBlockedBy(IdsConverter.split(rs.getString("blocked_by")));
+        task.setRank(rs.getString("rank"));
+        task.setShared(rs.getBoolean("shared"));
+        task.setProjectId(rs.getObject("project_id", Long.class));
+        task.setVersion(rs.getLong("version"));
+        User owner = new User();
+        owner.setId(rs.getLong("user_id"));
+        task.setUser(owner);
+        return task;
+    }
+
+    private static Date toDate(LocalDate date) {
+        return date == null ? null : Date.valueOf(date);
+    }
+
+    // Lamping and Veach, "A Fast, Minimal Memory, Consistent Hash Algorithm".
+    static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+
+    public record ShardStatistics(int shard, long tasks, long users, Map<Status, Long> tasksByStatus) {
+    }
+
+    private static final class IdBlock {
+        private final JdbcTemplate shard;
+        private final int index;
+        private long next;
+        private long limit;
+
+        private IdBlock(JdbcTemplate shard, int index) {
+            this.shard = shard;
+            this.index = index;
+        }
+
+        synchronized long next() {
+            if (next == limit) {
+                next = shard.queryForObject("select next value for task_seq", Long.class);
+                limit = next + ID_BLOCK_SIZE;
+            }
+            return next++ * MAX_SHARDS + index;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package br.edu.iff.taskflowapi.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reference-counted, deduplicated UTF-8 strings packed into one byte array and
+ * addressed by an {@code int} id, so equal titles or descriptions are stored
+ * once and no {@link String} is kept per task. Space freed by released strings
+ * is reclaimed by compacting the array once it makes up half of it; ids stay
+ * stable across compactions.
+ * <p>
+ * Not thread-safe: {@link ColumnarTaskStore} calls it under its lock.
+ */
+final class StringArena {
+
+    static final int NULL = -1;
+    private static final int INITIAL_BYTES = 64 * 1024;
+
+    private byte[] bytes = new byte[INITIAL_BYTES];
+    private int used;
+    private int garbage;
+
+    private int[] offsets = new int[1024];
+    private int[] lengths = new int[1024];
+    private int[] hashes = new int[1024];
+    private int[] refCounts = new int[1024];
+    private int ids;
+    private int[] freeIds = new int[64];
+    private int freeCount;
+
+    // Open addressing over ids (stored as id + 1, 0 means empty).
+    private int[] table = new int[2048];
+    private int live;
+
+    int add(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+        int hash = value.hashCode();
+        int slot = index(hash);
+        for (int entry = table[slot]; entry != 0; slot = (slot + 1) & (table.length - 1), entry = table[slot]) {
+            int id = entry - 1;
+            if (hashes[id] == hash && lengths[id] == encoded.length
+                && Arrays.equals(bytes, offsets[id], offsets[id] + encoded.length, encoded, 0, encoded.length)) {
+                refCounts[id]++;
+                return id;
+            }
+        }
+
+        int id = freeCount > 0 ? freeIds[--freeCount] : newId();
+        ensureBytes(encoded.length);
+        System.arraycopy(encoded, 0, bytes, used, encoded.length);
+        offsets[id] = used;
+        lengths[id] = encoded.length;
+        hashes[id] = hash;
+        refCounts[id] = 1;
+        used += encoded.length;
+        table[slot] = id + 1;
+        if (++live * 2 > table.length) {
+            rehash(table.length * 2);
+        }
+        return id;
+    }
+
+    String get(int id) {
+        return id == NULL ? null : new String(bytes, offsets[id], lengths[id], StandardCharsets.UTF_8);
+    }
+
+    void release(int id) {
+        if (id == NULL || --refCounts[id] > 0) {
+            return;
+        }
+        removeFromTable(id);
+        live--;
+        garbage += lengths[id];
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        if (garbage > INITIAL_BYTES && garbage * 2 > used) {
+            compact(used - garbage);
+        }
+    }
+
+    int distinctCount() {
+        return live;
+    }
+
+    int usedBytes() {
+        return used - garbage;
+    }
+
+    private int newId() {
+        if (ids == offsets.length) {
+            int capacity = ids * 2;
+            offsets = Arrays.copyOf(offsets, capacity);
+            lengths = Arrays.copyOf(lengths, capacity);
+            hashes = Arrays.copyOf(hashes, capacity);
+            refCounts = Arrays.copyOf(refCounts, capacity);
+        }
+        return ids++;
+    }
+
+    private void ensureBytes(int length) {
+        if (used + length <= bytes.length) {
+            return;
+        }
+        int needed = used - garbage + length;
+        compact(garbage * 2 > used && needed <= bytes.length ? bytes.length : Math.max(bytes.length * 2, needed));
+    }
+
+    private void compact(int capacity) {
+        byte[] compacted = new byte[Math.max(INITIAL_BYTES, Math.max(capacity, used - garbage))];
+        int position = 0;
+        for (int id = 0; id < ids; id++) {
+            if (refCounts[id] > 0) {
+                System.arraycopy(bytes, offsets[id], compacted, position, lengths[id]);
+                offsets[id] = position;
+                position += lengths[id];
+            }
+        }
+        bytes = compacted;
+        used = position;
+        garbage = 0;
+    }
+
+    private void removeFromTable(int id) {
+        int mask = table.length - 1;
+        int gap = index(hashes[id]);
+        while (table[gap] != id + 1) {
+            gap = (gap + 1) & mask;
+        }
+        for (int i = (gap + 1) & mask; table[i] != 0; i = (i + 1) & mask) {
+            int home = index(hashes[table[i] - 1]);
+            if (((i - home) & mask) >= ((i - gap) & mask)) {
+                table[gap] = table[i];
+                gap = i;
+            }
+        }
+        table[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        table = new int[capacity];
+        for (int id = 0; id < ids; id++) {
+            if (refCounts[id] > 0) {
+                int slot = index(hashes[id]);
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & (capacity - 1);
+                }
+                table[slot] = id + 1;
+            }
+        }
+    }
+
+    private int index(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return (mixed ^ (mixed >>> 16)) & (table.length - 1);
+    }
+}
@@ -1,13 +1,76 @@
 package br.edu.iff.taskflowapi.repository;
 
+import br.edu.iff.taskflowapi.model.Status;
 import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
+    @EntityGraph(attributePaths = "user")
     List<Task> findByUserEmail(String email);
+
+    @Override
+    @EntityGraph(attributePaths = "user")
+    List<Task> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select t from Task t where t.user = :user and t.path >= :from and t.path < :to order by t.id")
+    List<Task> findByPathRange(User user, String from, String to);
+
+    @Modifying
+    @Query("delete from Task t where t.user = :user and t.path >= :from and t.path < :to")
+    int deleteByPathRange(User user, String from, String to);
+
+    @Modifying
+    @Query("update Task t set t.subtaskCount = t.subtaskCount + :count, t.subtasksDone = t.subtasksDone + :done "
+        + "where t.user = :user and t.id in :ids")
+    int addToRollups(User user, Collection<Long> ids, int count, int done);
+
+    @Modifying
+    @Query("update Task t set t.path = concat(:to, substring(t.path, :start)) "
+        + "where t.user = :user and t.path >= :from and t.path < :end")
+    int replacePathPrefix(User user, String from, String end, String to, int start);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select t from Task t where t.user.email = :email and t.status = :status order by t.rank, t.id")
+    List<Task> findColumn(String email, Status status);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select t from Task t where t.user = :user and t.status = :status "
+        + "and (t.rank > :rank or t.rank = :rank and t.id > :id) order by t.rank, t.id")
+    List<Task> findNextInColumn(User user, Status status, String rank, long id, Limit limit);
+
+    @Modifying
+    @Query("update Task t set t.rank = :rank where t.user = :user and t.id = :id")
+    int updateRank(User user, long id, String rank);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select t from Task t where t.projectId = :projectId and t.user = :user order by t.id")
+    List<Task> findByProject(User user, long projectId);
+
+    @EntityGraph(attributePaths = "user")
+    @Query("select t from Task t where t.projectId = :projectId and t.status = :status and t.user = :user "
+        + "order by t.rank, t.id")
+    List<Task> findByProjectAndStatus(User user, long projectId, Status status);
+
+    @Modifying
+    @Query("update Task t set t.shared = true where t.user = :user and t.id = :id")
+    int markShared(User user, long id);
+
+    // Two branches instead of an "or", so each one reads its own index.
+    @Query("select t from Task t join fetch t.user u where u.email = :email "
+        + "union all "
+        + "select t from TaskShare s join User u on u.id = s.userId join Task t on t.id = s.taskId join fetch t.user "
+        + "where u.email = :email")
+    List<Task> findVisible(String email);
 }
@@ -0,0 +1,33 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.dto.ShareResponse;
+import br.edu.iff.taskflowapi.model.AccessLevel;
+import br.edu.iff.taskflowapi.model.TaskShare;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskShareRepository extends JpaRepository<TaskShare, TaskShare.Key> {
+
+    @Query("select s.level from TaskShare s join User u on u.id = s.userId where u.email = :email and s.taskId = :taskId")
+    Optional<AccessLevel> findLevel(long taskId, String email);
+
+    @Query("select s from TaskShare s join User u on u.id = s.userId where u.email = :email")
+    List<TaskShare> findByViewer(String email);
+
+    @Query("select new br.edu.iff.taskflowapi.dto.ShareResponse(u.email, s.level) "
+        + "from TaskShare s join User u on u.id = s.userId where s.taskId = :taskId order by u.email")
+    List<ShareResponse> findByTask(long taskId);
+
+    long countByTaskId(Long taskId);
+
+    @Modifying
+    @Query("delete from TaskShare s where s.taskId in :taskIds")
+    int deleteByTaskIds(Collection<Long> taskIds);
+}
@@ -0,0 +1,141 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.IdsConverter;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The task operations the services rely on, so the storage engine behind them
+ * can be swapped: {@link JpaTaskStore} by default, {@link ColumnarTaskStore}
+ * with the {@code columnar} profile.
+ * <p>
+ * Subtasks are kept as a materialized path, the ids of a task's ancestors, so
+ * a subtree is one range of paths and never needs a lookup per level. The
+ * subtask counters are only changed by {@link #addToRollups}: saving an
+ * existing task leaves them as they are. Saving one that changed since it was
+ * read fails with an {@code OptimisticLockingFailureException}, so whatever
+ * the caller derives from the old state, such as those counters, is applied
+ * only by the save that won.
+ * <p>
+ * Within a status column tasks are ordered by their rank and then by id, so
+ * a task is placed by giving it a key between its neighbours' and a move
+ * only ever writes the moved task.
+ * <p>
+ * Shares live in the main database whatever the store; a task that was
+ * ever shared is flagged, so deleting one that never was costs nothing more.
+ */
+public interface TaskStore {
+
+    Task save(Task task);
+
+    Optional<Task> findById(Long id);
+
+    /**
+     * Returns the tasks with the given ids that exist, in no particular
+     * order, reading each shard at most once.
+     */
+    List<Task> findAllById(Collection<Long> ids);
+
+    List<Task> findByUserEmail(String email);
+
+    /**
+     * Returns the user's own tasks and the ones shared with them, in no
+     * particular order.
+     */
+    List<Task> findVisible(String email);
+
+    void delete(Task task);
+
+    void deleteAll(Iterable<? extends Task> tasks);
+
+    /**
+     * Returns every task below the given one, in id order, with one query.
+     */
+    List<Task> findDescendants(Task task);
+
+    void deleteDescendants(Task task);
+
+    /**
+     * Adds the deltas to the subtask counters of the given tasks.
+     */
+    void addToRollups(User owner, Collection<Long> ids, int count, int done);
+
+    /**
+     * Rewrites the paths of the owner's tasks that start with {@code from}
+     * so they start with {@code to}, leaving every other task untouched.
+     */
+    void replacePathPrefix(User owner, String from, String to);
+
+    /**
+     * Returns the user's tasks with the given status in rank order.
+     */
+    List<Task> findColumn(String email, Status status);
+
+    /**
+     * Returns the first task of the column that comes after the given rank
+     * and id, or the first of the column for an empty rank.
+     */
+    Optional<Task> findNextInColumn(User owner, Status status, String rank, long id);
+
+    /**
+     * Sets the ranks of the owner's tasks, by id.
+     */
+    void updateRanks(User owner, Map<Long, String> ranks);
+
+    /**
+     * Sets the blockers of the owner's tasks, by id, with one update, and
+     * bumps their versions so a save based on an earlier read fails.
+     */
+    void updateBlockedBy(User owner, Map<Long, Set<Long>> blockedBy);
+
+    /**
+     * Flags one of the owner's tasks as shared. Like the subtask counters,
+     * the flag is left alone by {@link #save}.
+     */
+    void markShared(User owner, long id);
+
+    /**
+     * Returns the owner's tasks in the project, in id order, or only the ones
+     * with the given status in rank order.
+     */
+    List<Task> findByProject(User owner, long projectId, Status status);
+
+    /**
+     * The smallest path past every path that starts with the given prefix,
+     * which ends with the "/" separator, so a subtree is the range
+     * {@code [prefix, pathRangeEnd(prefix))} of an index on the path.
+     */
+    static String pathRangeEnd(String prefix) {
+        return prefix.substring(0, prefix.length() - 1) + (char) ('/' + 1);
+    }
+
+    /**
+     * The SQL of {@link #updateBlockedBy} for the given number of tasks. Its
+     * arguments are the id and joined blockers of each task, the owner's id
+     * and then the ids again.
+     */
+    static String updateBlockedBySql(int count) {
+        return "update task set blocked_by = case id" + " when ? then ?".repeat(count) + " end, version = version + 1 "
+            + "where user_id = ? and id in (" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    static Object[] updateBlockedByArguments(User owner, Map<Long, Set<Long>> blockedBy) {
+        List<Object> arguments = new ArrayList<>();
+        blockedBy.forEach((id, blockers) -> {
+            arguments.add(id);
+            arguments.add(IdsConverter.join(blockers));
+        });
+        arguments.add(owner.getId());
+        arguments.addAll(blockedBy.keySet());
+        return arguments.toArray();
+    }
+}
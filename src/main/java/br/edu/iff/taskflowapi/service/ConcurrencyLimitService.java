@@ -0,0 +1,121 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.config.ConcurrencyLimitProperties;
+import br.edu.iff.taskflowapi.filter.EndpointGroup;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class ConcurrencyLimitService {
+
+    private final Limiter[] limiters = new Limiter[EndpointGroup.values().length];
+
+    public ConcurrencyLimitService(ConcurrencyLimitProperties properties) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long windowNanos = properties.getWindow().toNanos();
+        properties.getGroups().forEach((group, config) ->
+            limiters[group.ordinal()] = new Limiter(config.getInitialLimit(), config.getMinLimit(),
+                config.getMaxLimit(), config.getTolerance(), windowNanos));
+    }
+
+    public Limiter limiterFor(EndpointGroup group) {
+        return limiters[group.ordinal()];
+    }
+
+    // Gradient-style limit: compares the latency of the last window with a
+    // slowly moving long-term average and shrinks the limit when requests
+    // start queueing, growing it by sqrt(limit) while latency is stable.
+    public static final class Limiter {
+        private static final double SMOOTHING = 0.2;
+        private static final double LONG_RTT_SMOOTHING = 0.05;
+
+        private final int minLimit;
+        private final int maxLimit;
+        private final double tolerance;
+        private final long windowNanos;
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger peakInFlight = new AtomicInteger();
+        private final LongAdder rttSum = new LongAdder();
+        private final LongAdder samples = new LongAdder();
+        private final AtomicBoolean updating = new AtomicBoolean();
+        private volatile int limit;
+        private volatile long windowEnd;
+        private double estimatedLimit;
+        private double longRtt;
+
+        public Limiter(int initialLimit, int minLimit, int maxLimit, double tolerance, long windowNanos) {
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.tolerance = tolerance;
+            this.windowNanos = windowNanos;
+            this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+            this.estimatedLimit = limit;
+            this.windowEnd = System.nanoTime() + windowNanos;
+        }
+
+        public boolean tryAcquire() {
+            while (true) {
+                int current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+                if (inFlight.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        public void release(long rttNanos, long now) {
+            int current = inFlight.getAndDecrement();
+            rttSum.add(rttNanos);
+            samples.increment();
+            peakInFlight.accumulateAndGet(current, Math::max);
+            if (now - windowEnd >= 0 && updating.compareAndSet(false, true)) {
+                try {
+                    update(now);
+                } finally {
+                    updating.set(false);
+                }
+            }
+        }
+
+        public int getLimit() {
+            return limit;
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        private void update(long now) {
+            windowEnd = now + windowNanos;
+            long count = samples.sumThenReset();
+            long sum = rttSum.sumThenReset();
+            int peak = peakInFlight.getAndSet(0);
+            if (count == 0 || sum == 0) {
+                return;
+            }
+
+            double shortRtt = (double) sum / count;
+            longRtt = longRtt == 0 ? shortRtt : longRtt * (1 - LONG_RTT_SMOOTHING) + shortRtt * LONG_RTT_SMOOTHING;
+            if (longRtt / shortRtt > 2) {
+                longRtt *= 0.95;
+            }
+
+            if (peak < limit / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+            double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+            limit = (int) estimatedLimit;
+        }
+    }
+}
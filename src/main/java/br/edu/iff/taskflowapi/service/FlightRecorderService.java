@@ -0,0 +1,131 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.dto.RecordingResponse;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@Service
+public class FlightRecorderService {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final Path directory;
+    private final String settings;
+    private final Duration maxDuration;
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    private Recording recording;
+
+    public FlightRecorderService(@Value("${jfr.recording.directory:recordings}") Path directory,
+                                 @Value("${jfr.recording.settings:profile}") String settings,
+                                 @Value("${jfr.recording.max-duration:30m}") Duration maxDuration,
+                                 @Value("${jfr.recording.max-age:10m}") Duration maxAge,
+                                 @Value("${jfr.recording.max-size:100MB}") DataSize maxSize) {
+        this.directory = directory;
+        this.settings = settings;
+        this.maxDuration = maxDuration;
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    public synchronized RecordingResponse start() {
+        if (isRunning()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Já existe uma gravação em andamento.");
+        }
+        closeRecording();
+
+        Recording started;
+        try {
+            started = new Recording(Configuration.getConfiguration(settings));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Configuração do JFR inválida: " + settings, e);
+        }
+        started.setName("taskflow");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        // With a destination the recording is written out even when it stops
+        // on its own after maxDuration.
+        started.setDuration(maxDuration);
+        try {
+            started.setDestination(nextFile("recording"));
+        } catch (IOException e) {
+            started.close();
+            throw new UncheckedIOException(e);
+        }
+        started.start();
+        recording = started;
+        return status();
+    }
+
+    public synchronized RecordingResponse dump() {
+        if (!isRunning()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Nenhuma gravação em andamento.");
+        }
+        try {
+            Path file = nextFile("dump");
+            recording.dump(file);
+            RecordingResponse response = status();
+            response.setFile(file.toString());
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public synchronized RecordingResponse stop() {
+        if (!isRunning()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Nenhuma gravação em andamento.");
+        }
+        recording.stop();
+        RecordingResponse response = status();
+        closeRecording();
+        return response;
+    }
+
+    public synchronized RecordingResponse status() {
+        RecordingResponse response = new RecordingResponse();
+        if (recording == null) {
+            response.setState(RecordingState.CLOSED.name());
+            return response;
+        }
+        response.setState(recording.getState().name());
+        response.setStartTime(recording.getStartTime());
+        Path destination = recording.getDestination();
+        response.setFile(destination == null ? null : destination.toString());
+        return response;
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Path nextFile(String kind) throws IOException {
+        Files.createDirectories(directory);
+        return directory.resolve("taskflow-" + kind + "-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr")
+            .toAbsolutePath();
+    }
+}
@@ -0,0 +1,194 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.IdempotencyRecord;
+import br.edu.iff.taskflowapi.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class IdempotencyService {
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final boolean persistent;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private Clock clock = Clock.systemUTC();
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              @Value("${idempotency.store:memory}") String store,
+                              @Value("${idempotency.ttl:24h}") Duration ttl,
+                              @Value("${idempotency.max-entries:10000}") int maxEntries) {
+        this.recordRepository = recordRepository;
+        this.persistent = "jdbc".equalsIgnoreCase(store);
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Starts the request stored under the key, or returns the response of the
+     * one that already did. {@code requestHash} identifies the request's
+     * content; reusing a key for a different request throws
+     * {@link KeyReusedException}.
+     */
+    public Optional<CompletableFuture<StoredResponse>> begin(String key, String requestHash) {
+        long now = clock.millis();
+        Entry entry = entries.get(key);
+        if (entry != null && !entry.isExpired(now)) {
+            return Optional.of(hit(entry, requestHash));
+        }
+
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+
+        Entry created = new Entry(now + ttl.toMillis(), requestHash);
+        Entry current = entries.compute(key, (k, existing) ->
+            existing == null || existing.isExpired(now) ? created : existing);
+        if (current != created) {
+            return Optional.of(hit(current, requestHash));
+        }
+
+        if (persistent) {
+            Optional<IdempotencyRecord> record;
+            try {
+                record = recordRepository.findById(key)
+                    .filter(r -> r.getCreatedAt().plus(ttl).isAfter(Instant.ofEpochMilli(now)));
+            } catch (RuntimeException e) {
+                // Nothing will complete the entry, so a retry must not wait on it.
+                abandon(key);
+                throw e;
+            }
+            if (record.isPresent()) {
+                // Records written before hashes were stored match any request.
+                created.requestHash = record.get().getRequestHash() == null
+                    ? requestHash : record.get().getRequestHash();
+                created.response.complete(toResponse(record.get()));
+                return Optional.of(hit(created, requestHash));
+            }
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void complete(String key, StoredResponse response) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        if (persistent) {
+            recordRepository.save(toRecord(key, entry.requestHash, response));
+        }
+        entry.response.complete(response);
+    }
+
+    public void abandon(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            entry.response.completeExceptionally(new AbandonedException());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.cleanup-interval:60000}")
+    public void evictExpired() {
+        long now = clock.millis();
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+        if (persistent) {
+            recordRepository.deleteCreatedBefore(Instant.ofEpochMilli(now).minus(ttl));
+        }
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    private CompletableFuture<StoredResponse> hit(Entry entry, String requestHash) {
+        if (!entry.requestHash.equals(requestHash)) {
+            throw new KeyReusedException();
+        }
+        hits.increment();
+        return entry.response;
+    }
+
+    private void evict(long now) {
+        entries.entrySet().removeIf(e -> e.getValue().isExpired(now));
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxEntries && iterator.hasNext()) {
+            if (iterator.next().response.isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private IdempotencyRecord toRecord(String key, String requestHash, StoredResponse response) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey(key);
+        record.setRequestHash(requestHash);
+        record.setStatus(response.status());
+        record.setContentType(response.contentType());
+        record.setLocation(response.location());
+        record.setBody(response.body());
+        record.setCreatedAt(clock.instant());
+        return record;
+    }
+
+    private StoredResponse toResponse(IdempotencyRecord record) {
+        return new StoredResponse(record.getStatus(), record.getContentType(), record.getLocation(), record.getBody());
+    }
+
+    public record StoredResponse(int status, String contentType, String location, byte[] body) {
+    }
+
+    public static class AbandonedException extends RuntimeException {
+        public AbandonedException() {
+            super("Requisição original não foi concluída.");
+        }
+    }
+
+    public static class KeyReusedException extends RuntimeException {
+        public KeyReusedException() {
+            super("Idempotency-Key já usada em uma requisição diferente.");
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<StoredResponse> response = new CompletableFuture<>();
+        private final long expiresAt;
+        private volatile String requestHash;
+
+        private Entry(long expiresAt, String requestHash) {
+            this.expiresAt = expiresAt;
+            this.requestHash = requestHash;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
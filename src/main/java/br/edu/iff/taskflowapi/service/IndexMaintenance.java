@@ -0,0 +1,86 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.User;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
+
+/**
+ * Plumbing shared by the per-user in-memory indexes kept by {@link TaskService}.
+ */
+final class IndexMaintenance {
+
+    private IndexMaintenance() {
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or right away
+     * outside of one, so a rolled back write never reaches an index.
+     */
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs the action if the current transaction rolls back, to undo a change
+     * an index had to make before the commit.
+     */
+    static void afterRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    /**
+     * Rebuilds every user's index on a pool of the given size and returns how
+     * many tasks were loaded.
+     */
+    static long rebuild(List<User> users, int threads, String name, ToIntFunction<String> rebuildUser) {
+        AtomicInteger count = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable ->
+            new Thread(runnable, name + "-rebuild-" + count.incrementAndGet()));
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (User user : users) {
+                futures.add(executor.submit(() -> rebuildUser.applyAsInt(user.getEmail())));
+            }
+            long tasks = 0;
+            for (Future<Integer> future : futures) {
+                tasks += future.get();
+            }
+            return tasks;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução de índice interrompida (" + name + ")", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao reconstruir índice (" + name + ")", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.dto.ProjectRequest;
+import br.edu.iff.taskflowapi.dto.ProjectStatsResponse;
+import br.edu.iff.taskflowapi.model.Project;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.ProjectRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Groups a user's tasks into projects. Each project keeps counts of its
+ * tasks by status, which {@link TaskService} adjusts as tasks come, go and
+ * change status, so a project's numbers never depend on how many tasks it
+ * or its owner has.
+ */
+@Service
+public class ProjectService {
+
+    static final int MAX_PROJECTS = 100;
+    static final int MAX_NAME_LENGTH = 255;
+
+    private final ProjectRepository projectRepository;
+    private final UserService userService;
+
+    public ProjectService(ProjectRepository projectRepository, UserService userService) {
+        this.projectRepository = projectRepository;
+        this.userService = userService;
+    }
+
+    @Transactional
+    public Project saveProject(ProjectRequest projectRequest, String email) {
+        User user = userService.getByEmail(email)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuário não encontrado."));
+        String name = projectRequest.getName() == null ? "" : projectRequest.getName().trim();
+        if (name.isEmpty() || name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("O nome do projeto deve ter entre 1 e " + MAX_NAME_LENGTH + " caracteres.");
+        }
+        if (projectRepository.countByUserId(user.getId()) >= MAX_PROJECTS) {
+            throw new IllegalArgumentException("Limite de " + MAX_PROJECTS + " projetos atingido.");
+        }
+        Project project = new Project();
+        project.setName(name);
+        project.setUser(user);
+        return projectRepository.save(project);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Project> getByEmail(String email) {
+        return projectRepository.findByUserEmailOrderById(email);
+    }
+
+    @Transactional(readOnly = true)
+    public Project getById(Long id, String email) {
+        return owned(projectRepository.findById(id), email);
+    }
+
+    /**
+     * Like {@link #getById}, but keeps the project locked until the
+     * transaction ends, so it cannot be deleted while a task is being added
+     * to it, nor gain a task while it is being deleted.
+     */
+    @Transactional
+    public Project lockById(Long id, String email) {
+        return owned(projectRepository.findByIdForUpdate(id), email);
+    }
+
+    /**
+     * Reads the project's counters, without touching its tasks.
+     */
+    @Transactional(readOnly = true)
+    public ProjectStatsResponse getStats(Long id, String email) {
+        Project project = getById(id, email);
+        Map<Status, Integer> byStatus = new EnumMap<>(Status.class);
+        byStatus.put(Status.OPEN, project.getOpenCount());
+        byStatus.put(Status.IN_PROGRESS, project.getInProgressCount());
+        byStatus.put(Status.DONE, project.getDoneCount());
+        ProjectStatsResponse stats = new ProjectStatsResponse();
+        stats.setTasks(project.getTaskCount());
+        stats.setTasksByStatus(byStatus);
+        stats.setProgress(project.getTaskCount() == 0 ? 0 : project.getDoneCount() * 100 / project.getTaskCount());
+        return stats;
+    }
+
+    @Transactional
+    public void deleteProject(Long id, String email) {
+        Project project = lockById(id, email);
+        if (project.getTaskCount() > 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "O projeto ainda tem tarefas.");
+        }
+        projectRepository.delete(project);
+    }
+
+    /**
+     * Moves a task between the counters of its old and new project and
+     * status; either project may be null. A change that leaves every count
+     * as it was writes nothing.
+     */
+    public void recount(Long fromProject, Status from, Long toProject, Status to) {
+        Map<Long, int[]> deltas = new HashMap<>();
+        if (fromProject != null) {
+            add(deltas, fromProject, from, -1);
+        }
+        if (toProject != null) {
+            add(deltas, toProject, to, 1);
+        }
+        deltas.forEach(this::apply);
+    }
+
+    /**
+     * Takes removed tasks out of their projects' counters, with one update
+     * per project.
+     */
+    public void recountRemoved(Collection<Task> removed) {
+        Map<Long, int[]> deltas = new HashMap<>();
+        for (Task task : removed) {
+            if (task.getProjectId() != null) {
+                add(deltas, task.getProjectId(), task.getStatus(), -1);
+            }
+        }
+        deltas.forEach(this::apply);
+    }
+
+    private static Project owned(Optional<Project> project, String email) {
+        Project owned = project
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Projeto não encontrado."));
+        if (!owned.getUser().getEmail().equals(email)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.");
+        }
+        return owned;
+    }
+
+    // Slot 0 counts every task, including the ones without a status.
+    private static void add(Map<Long, int[]> deltas, long projectId, Status status, int delta) {
+        int[] counts = deltas.computeIfAbsent(projectId, id -> new int[1 + Status.values().length]);
+        counts[0] += delta;
+        if (status != null) {
+            counts[1 + status.ordinal()] += delta;
+        }
+    }
+
+    private void apply(long projectId, int[] counts) {
+        for (int count : counts) {
+            if (count != 0) {
+                projectRepository.addToCounts(projectId, counts[0], counts[1 + Status.OPEN.ordinal()],
+                    counts[1 + Status.IN_PROGRESS.ordinal()], counts[1 + Status.DONE.ordinal()]);
+                return;
+            }
+        }
+    }
+}
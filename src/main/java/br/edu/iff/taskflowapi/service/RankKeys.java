@@ -0,0 +1,109 @@
+package br.edu.iff.taskflowapi.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fractional ranking keys: base-62 digit strings read as fractions, so there
+ * is always a key between two others and placing a task never renumbers its
+ * neighbours. The digits are in ASCII order, which makes comparing keys as
+ * plain strings, in Java or in the database, the same as comparing the
+ * fractions. A key never ends in the lowest digit, since no key could be put
+ * between {@code "a"} and {@code "a0"}.
+ * <p>
+ * New keys start with {@code "V"} and grow with the clock, so a new task goes
+ * after every task already in its column; keys for tasks created before
+ * ranking existed and rebalanced keys start with {@code "U"} and stay below
+ * them.
+ */
+final class RankKeys {
+
+    // The size of task.rank; a longer key makes the column be rebalanced
+    // before the move completes.
+    static final int MAX_LENGTH = 64;
+    // Keys past this length get their column rebalanced in the background.
+    static final int REBALANCE_LENGTH = 24;
+    private static final String DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final AtomicLong last = new AtomicLong();
+
+    private RankKeys() {
+    }
+
+    /**
+     * A key past every key handed out so far, on any column.
+     */
+    static String next() {
+        // Leaves room for 1024 keys per millisecond before running ahead.
+        long now = System.currentTimeMillis() << 10;
+        long value = last.updateAndGet(previous -> Math.max(previous + 1, now));
+        return strip("V" + fixed(value, 9));
+    }
+
+    /**
+     * The key of a task that was created before tasks had ranks, which keeps
+     * those tasks in creation order.
+     */
+    static String legacy(long id) {
+        return strip("U" + String.format("%019d", id));
+    }
+
+    /**
+     * A key strictly between the two, where null stands for the start or the
+     * end of the column.
+     */
+    static String between(String before, String after) {
+        String low = before == null ? "" : before;
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; ; i++) {
+            int lo = i < low.length() ? DIGITS.indexOf(low.charAt(i)) : 0;
+            int hi = after != null && i < after.length() ? DIGITS.indexOf(after.charAt(i)) : BASE;
+            if (hi - lo > 1) {
+                return key.append(DIGITS.charAt((lo + hi) >>> 1)).toString();
+            }
+            key.append(DIGITS.charAt(lo));
+            if (hi != lo) {
+                // Anything that starts with this prefix is already below
+                // after, so only before bounds the rest.
+                after = null;
+            }
+        }
+    }
+
+    /**
+     * Evenly spaced keys for a column of the given size, as short as the size
+     * allows and below every key {@link #next()} hands out.
+     */
+    static List<String> spread(int count) {
+        int width = 1;
+        long space = BASE;
+        while (space < 2L * (count + 1)) {
+            width++;
+            space *= BASE;
+        }
+        long step = space / (count + 1);
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            keys.add(strip("U" + fixed(step * i, width)));
+        }
+        return keys;
+    }
+
+    private static String fixed(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        return new String(digits);
+    }
+
+    private static String strip(String key) {
+        int end = key.length();
+        while (key.charAt(end - 1) == DIGITS.charAt(0)) {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+}
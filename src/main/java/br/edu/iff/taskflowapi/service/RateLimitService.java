@@ -0,0 +1,127 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.config.RateLimitProperties;
+import br.edu.iff.taskflowapi.filter.EndpointGroup;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class RateLimitService {
+
+    public enum Scope {
+        USER, IP
+    }
+
+    private final Limit[][] limits = new Limit[EndpointGroup.values().length][Scope.values().length];
+    private final ConcurrentHashMap<String, Bucket>[][] buckets;
+    private final boolean enabled;
+    private final long idleTimeoutNanos;
+    // Proves a request was sent by this process itself; see WarmupService.
+    private final String exemptionToken = UUID.randomUUID().toString();
+
+    @SuppressWarnings("unchecked")
+    public RateLimitService(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.idleTimeoutNanos = properties.getIdleTimeout().toNanos();
+        this.buckets = new ConcurrentHashMap[EndpointGroup.values().length][Scope.values().length];
+        for (EndpointGroup group : EndpointGroup.values()) {
+            RateLimitProperties.Group config = properties.getGroups().get(group);
+            for (Scope scope : Scope.values()) {
+                buckets[group.ordinal()][scope.ordinal()] = new ConcurrentHashMap<>();
+                RateLimitProperties.Quota quota = config == null ? null
+                    : scope == Scope.USER ? config.getUser() : config.getIp();
+                if (quota != null && quota.getCapacity() > 0 && quota.getRefillPerSecond() > 0) {
+                    limits[group.ordinal()][scope.ordinal()] = new Limit(quota.getCapacity(), quota.getRefillPerSecond());
+                }
+            }
+        }
+    }
+
+    public Limit limitFor(EndpointGroup group, Scope scope) {
+        return enabled ? limits[group.ordinal()][scope.ordinal()] : null;
+    }
+
+    public String getExemptionToken() {
+        return exemptionToken;
+    }
+
+    public boolean isExempt(String token) {
+        return token != null && MessageDigest.isEqual(token.getBytes(StandardCharsets.UTF_8),
+            exemptionToken.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the tokens left after consuming one, or a negative value holding
+     * the nanoseconds to wait until a token is available.
+     */
+    public long tryConsume(EndpointGroup group, Scope scope, String key) {
+        Limit limit = limits[group.ordinal()][scope.ordinal()];
+        Bucket bucket = buckets[group.ordinal()][scope.ordinal()].computeIfAbsent(key, k -> new Bucket());
+        return bucket.tryConsume(limit, System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.cleanup-interval:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (ConcurrentHashMap<String, Bucket>[] byScope : buckets) {
+            for (ConcurrentHashMap<String, Bucket> map : byScope) {
+                map.entrySet().removeIf(e -> now - e.getValue().theoreticalArrival.get() > idleTimeoutNanos);
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, Bucket>[] byScope : buckets) {
+            for (ConcurrentHashMap<String, Bucket> map : byScope) {
+                size += map.size();
+            }
+        }
+        return size;
+    }
+
+    public static final class Limit {
+        private final long capacity;
+        private final long emissionIntervalNanos;
+        private final long burstNanos;
+
+        Limit(long capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+            this.burstNanos = emissionIntervalNanos * capacity;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+    }
+
+    // Token bucket expressed as GCRA: the whole state is the theoretical
+    // arrival time of the next request, so refill is lazy and a single CAS
+    // is enough to consume a token.
+    static final class Bucket {
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        long tryConsume(Limit limit, long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                long start = current == Long.MIN_VALUE || current < now ? now : current;
+                long next = start + limit.emissionIntervalNanos;
+                long debt = next - now;
+                if (debt > limit.burstNanos) {
+                    return -Math.max(1, debt - limit.burstNanos);
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return (limit.burstNanos - debt) / limit.emissionIntervalNanos;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.TaskRow;
+import br.edu.iff.taskflowapi.model.UserRow;
+import br.edu.iff.taskflowapi.repository.ReactiveTaskRepository;
+import br.edu.iff.taskflowapi.repository.ReactiveUserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * The task endpoints under the {@code reactive} profile. The subtask and
+ * project counters are not maintained here, so the writes that would change
+ * them are refused.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository, ReactiveUserRepository userRepository) {
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+    }
+
+    public Mono<TaskRow> saveTask(TaskRequest taskRequest, String email) {
+        return userRepository.findByEmail(email)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuário não encontrado.")))
+            .flatMap(user -> {
+                TaskRow task = new TaskRow();
+                task.setTitle(taskRequest.getTitle());
+                task.setDescription(taskRequest.getDescription());
+                task.setLimitDate(LocalDate.parse(taskRequest.getLimitDate()));
+                task.setCreationDate(LocalDate.now());
+                task.setStatus(Status.OPEN);
+                task.setRank(RankKeys.next());
+                task.setUserId(user.getId());
+                return taskRepository.save(task);
+            });
+    }
+
+    public Mono<TaskRow> updateTask(TaskRow task, String email) {
+        return getById(task.getId(), email)
+            .flatMap(taskDB -> {
+                if (taskDB.getStatus() != task.getStatus()
+                        && (taskDB.getParentId() != null || taskDB.getProjectId() != null)) {
+                    return Mono.error(unavailable("Mudar o status de subtarefas ou de tarefas de projetos"));
+                }
+                taskDB.setDescription(task.getDescription());
+                if (taskDB.getStatus() != task.getStatus()) {
+                    taskDB.setRank(RankKeys.next());
+                }
+                taskDB.setStatus(task.getStatus());
+                taskDB.setTitle(task.getTitle());
+                taskDB.setLimitDate(task.getLimitDate());
+                return taskRepository.save(taskDB);
+            });
+    }
+
+    public Mono<Void> deleteTask(Long id, String email) {
+        return getById(id, email).flatMap(task ->
+            task.getParentId() != null || task.getSubtaskCount() > 0 || task.getProjectId() != null
+                ? Mono.error(unavailable("Excluir subtarefas, tarefas com subtarefas ou tarefas de projetos"))
+                : taskRepository.delete(task));
+    }
+
+    public Flux<TaskRow> getByEmail(String email) {
+        return taskRepository.findByUserEmail(email);
+    }
+
+    public Mono<TaskRow> getById(Long id, String email) {
+        return taskRepository.findById(id)
+            .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada.")))
+            .zipWith(userRepository.findByEmail(email).map(UserRow::getId).defaultIfEmpty(-1L))
+            .flatMap(pair -> pair.getT1().getUserId().equals(pair.getT2())
+                ? Mono.just(pair.getT1())
+                : Mono.error(new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.")));
+    }
+
+    private static ResponseStatusException unavailable(String feature) {
+        return new ResponseStatusException(HttpStatus.CONFLICT, feature + " não é possível com o perfil reactive.");
+    }
+}
@@ -0,0 +1,128 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.config.ReplicaProperties;
+import br.edu.iff.taskflowapi.config.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Blob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Stands in for database replication when the replicas are local H2
+ * instances: copies the configured tables from the primary to every replica
+ * at a fixed delay and tells the router how far each replica got, which is
+ * what it measures the replica lag against.
+ * <p>
+ * The primary is read in one repeatable-read transaction and each replica is
+ * rewritten in one transaction, so a replica's readers see either the old or
+ * the new copy, never a mix. Tables are listed parents first.
+ */
+@Service
+@Profile("replicas")
+@ConditionalOnProperty(value = "replicas.synchronize", havingValue = "true", matchIfMissing = true)
+public class ReplicaSynchronizer {
+
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final List<String> tables;
+
+    public ReplicaSynchronizer(ReplicaRoutingDataSource routingDataSource, ReplicaProperties properties) {
+        this.routingDataSource = routingDataSource;
+        this.tables = List.copyOf(properties.getTables());
+    }
+
+    @Scheduled(fixedDelayString = "${replicas.replication-interval:1000}")
+    public synchronized void synchronize() {
+        long upTo = System.nanoTime();
+        try {
+            List<TableCopy> copies = read(routingDataSource.getPrimary());
+            List<DataSource> replicas = routingDataSource.getReplicas();
+            for (int i = 0; i < replicas.size(); i++) {
+                write(replicas.get(i), copies);
+                routingDataSource.replicated(i, upTo);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao sincronizar as réplicas", e);
+        }
+    }
+
+    private List<TableCopy> read(DataSource primary) throws SQLException {
+        List<TableCopy> copies = new ArrayList<>();
+        try (Connection connection = primary.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (Statement statement = connection.createStatement()) {
+                for (String table : tables) {
+                    try (ResultSet rs = statement.executeQuery("select * from " + table)) {
+                        copies.add(copy(table, rs));
+                    }
+                }
+            }
+            connection.commit();
+        }
+        return copies;
+    }
+
+    private static TableCopy copy(String table, ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<String> columns = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnName(i));
+        }
+        List<Object[]> rows = new ArrayList<>();
+        while (rs.next()) {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                Object value = rs.getObject(i + 1);
+                // LOB handles belong to the primary's connection.
+                row[i] = value instanceof Blob blob ? blob.getBytes(1, (int) blob.length()) : value;
+            }
+            rows.add(row);
+        }
+        return new TableCopy(table, columns, rows);
+    }
+
+    private static void write(DataSource replica, List<TableCopy> copies) throws SQLException {
+        try (Connection connection = replica.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    for (int i = copies.size() - 1; i >= 0; i--) {
+                        statement.executeUpdate("delete from " + copies.get(i).table());
+                    }
+                }
+                for (TableCopy copy : copies) {
+                    String sql = "insert into " + copy.table() + " (" + String.join(", ", copy.columns())
+                        + ") values (" + String.join(", ", Collections.nCopies(copy.columns().size(), "?")) + ")";
+                    try (PreparedStatement insert = connection.prepareStatement(sql)) {
+                        for (Object[] row : copy.rows()) {
+                            for (int i = 0; i < row.length; i++) {
+                                insert.setObject(i + 1, row[i]);
+                            }
+                            insert.addBatch();
+                        }
+                        insert.executeBatch();
+                    }
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    private record TableCopy(String table, List<String> columns, List<Object[]> rows) {
+    }
+}
@@ -0,0 +1,400 @@
+package br.edu.iff.taskflowapi.service;
+
+import org.h2.api.Trigger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the in-memory H2 database across restarts by periodically writing the
+ * {@code app_user}, {@code project}, {@code task} and {@code task_share} tables
+ * to a compressed file and loading it back right after the schema migrations
+ * run.
+ * <p>
+ * The snapshot is read inside a single repeatable-read transaction, so H2's
+ * MVCC gives a consistent view of the tables without blocking writers, and it
+ * is streamed straight to disk. Statement triggers count writes, so an
+ * interval without changes costs a counter read.
+ */
+@Service
+public class SnapshotService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotService.class);
+    // "TFS" followed by the format version: 1 had no labels, 2 no subtasks,
+    // 3 no dependencies, 4 no ranks and 5 no shares.
+    private static final int MAGIC_PREFIX = 0x54465300;
+    private static final int VERSION = '7';
+    private static final int BATCH_SIZE = 1000;
+    // Matches the allocation size of app_user_seq in V1__create_schema.sql.
+    private static final int USER_ID_ALLOCATION = 50;
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+    private final Path file;
+    private volatile long snapshotVersion = -1;
+
+    public SnapshotService(DataSource dataSource,
+                           @Value("${snapshot.enabled:false}") boolean enabled,
+                           @Value("${snapshot.file:data/taskflow.snapshot}") Path file) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+        this.file = file;
+    }
+
+    public void restore() {
+        if (!enabled) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (Files.exists(file)) {
+                if (isEmpty(connection)) {
+                    load(connection);
+                } else {
+                    log.warn("Snapshot {} ignorado: o banco já contém dados", file);
+                }
+            }
+            installTriggers(connection);
+            snapshotVersion = ChangeTrigger.CHANGES.get();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao restaurar o snapshot " + file, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o snapshot " + file, e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns whether the snapshot file holds everything committed before the
+     * call, writing a new snapshot if needed.
+     */
+    public boolean checkpoint() {
+        return enabled && (ChangeTrigger.CHANGES.get() == snapshotVersion || snapshotIfChanged());
+    }
+
+    @Scheduled(fixedDelayString = "${snapshot.interval:30000}", initialDelayString = "${snapshot.interval:30000}")
+    public boolean snapshotIfChanged() {
+        if (!enabled) {
+            return false;
+        }
+        // Read before the snapshot starts: a write racing with it is either in
+        // the snapshot already or triggers another one on the next run.
+        long version = ChangeTrigger.CHANGES.get();
+        if (version == snapshotVersion) {
+            return false;
+        }
+        try {
+            write();
+            snapshotVersion = version;
+            return true;
+        } catch (SQLException | IOException e) {
+            log.error("Falha ao gravar o snapshot {}", file, e);
+            return false;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        snapshotIfChanged();
+    }
+
+    private void write() throws SQLException, IOException {
+        long start = System.nanoTime();
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        int users = 0;
+        int projects = 0;
+        int tasks = 0;
+        int shares = 0;
+        try (Connection connection = dataSource.getConnection();
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                 new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024)))) {
+            connection.setAutoCommit(false);
+            connection.setReadOnly(true);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            out.writeInt(MAGIC_PREFIX | VERSION);
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("select id, name, email, password from app_user")) {
+                    while (rs.next()) {
+                        out.writeBoolean(true);
+                        out.writeLong(rs.getLong(1));
+                        writeString(out, rs.getString(2));
+                        writeString(out, rs.getString(3));
+                        writeString(out, rs.getString(4));
+                        users++;
+                    }
+                    out.writeBoolean(false);
+                }
+                try (ResultSet rs = statement.executeQuery(
+                    "select id, name, user_id, task_count, open_count, in_progress_count, done_count from project")) {
+                    while (rs.next()) {
+                        out.writeBoolean(true);
+                        out.writeLong(rs.getLong(1));
+                        out.writeUTF(rs.getString(2));
+                        out.writeLong(rs.getLong(3));
+                        for (int column = 4; column <= 7; column++) {
+                            out.writeInt(rs.getInt(column));
+                        }
+                        projects++;
+                    }
+                    out.writeBoolean(false);
+                }
+                try (ResultSet rs = statement.executeQuery(
+                    "select id, title, description, status, creation_date, limit_date, user_id, labels, parent_id, path, "
+                        + "subtask_count, subtasks_done, blocked_by, rank, shared, project_id from task")) {
+                    while (rs.next()) {
+                        out.writeBoolean(true);
+                        out.writeLong(rs.getLong(1));
+                        writeString(out, rs.getString(2));
+                        writeString(out, rs.getString(3));
+                        writeString(out, rs.getString(4));
+                        writeDate(out, rs.getDate(5));
+                        writeDate(out, rs.getDate(6));
+                        long userId = rs.getLong(7);
+                        out.writeBoolean(!rs.wasNull());
+                        out.writeLong(userId);
+                        writeString(out, rs.getString(8));
+                        long parentId = rs.getLong(9);
+                        out.writeBoolean(!rs.wasNull());
+                        out.writeLong(parentId);
+                        out.writeUTF(rs.getString(10));
+                        out.writeInt(rs.getInt(11));
+                        out.writeInt(rs.getInt(12));
+                        writeString(out, rs.getString(13));
+                        out.writeUTF(rs.getString(14));
+                        out.writeBoolean(rs.getBoolean(15));
+                        long projectId = rs.getLong(16);
+                        out.writeBoolean(!rs.wasNull());
+                        out.writeLong(projectId);
+                        tasks++;
+                    }
+                    out.writeBoolean(false);
+                }
+                try (ResultSet rs = statement.executeQuery("select user_id, task_id, owner_id, level from task_share")) {
+                    while (rs.next()) {
+                        out.writeBoolean(true);
+                        out.writeLong(rs.getLong(1));
+                        out.writeLong(rs.getLong(2));
+                        out.writeLong(rs.getLong(3));
+                        out.writeUTF(rs.getString(4));
+                        shares++;
+                    }
+                    out.writeBoolean(false);
+                }
+            }
+            connection.commit();
+        } catch (SQLException | IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.debug("Snapshot gravado: {} usuários, {} projetos, {} tarefas e {} compartilhamentos em {} ms", users,
+            projects, tasks, shares, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void load(Connection connection) throws SQLException, IOException {
+        long start = System.nanoTime();
+        long maxUserId = 0;
+        long maxProjectId = 0;
+        long maxTaskId = 0;
+        int users = 0;
+        int projects = 0;
+        int tasks = 0;
+        int shares = 0;
+        connection.setAutoCommit(false);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                 new GZIPInputStream(Files.newInputStream(file), 64 * 1024)));
+             PreparedStatement insertUser = connection.prepareStatement(
+                 "insert into app_user (id, name, email, password) values (?, ?, ?, ?)");
+             PreparedStatement insertProject = connection.prepareStatement(
+                 "insert into project (id, name, user_id, task_count, open_count, in_progress_count, done_count) "
+                     + "values (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertTask = connection.prepareStatement(
+                 "insert into task (id, title, description, status, creation_date, limit_date, user_id, labels, "
+                     + "parent_id, path, subtask_count, subtasks_done, blocked_by, rank, shared, project_id) "
+                     + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement insertShare = connection.prepareStatement(
+                 "insert into task_share (user_id, task_id, owner_id, level) values (?, ?, ?, ?)")) {
+            int magic = in.readInt();
+            int version = magic & 0xFF;
+            if ((magic & ~0xFF) != MAGIC_PREFIX || version < '1' || version > VERSION) {
+                throw new IOException("formato de snapshot desconhecido");
+            }
+            while (in.readBoolean()) {
+                long id = in.readLong();
+                insertUser.setLong(1, id);
+                insertUser.setString(2, readString(in));
+                insertUser.setString(3, readString(in));
+                insertUser.setString(4, readString(in));
+                insertUser.addBatch();
+                maxUserId = Math.max(maxUserId, id);
+                if (++users % BATCH_SIZE == 0) {
+                    insertUser.executeBatch();
+                }
+            }
+            insertUser.executeBatch();
+            while (version >= '7' && in.readBoolean()) {
+                long id = in.readLong();
+                insertProject.setLong(1, id);
+                insertProject.setString(2, in.readUTF());
+                insertProject.setLong(3, in.readLong());
+                for (int column = 4; column <= 7; column++) {
+                    insertProject.setInt(column, in.readInt());
+                }
+                insertProject.addBatch();
+                maxProjectId = Math.max(maxProjectId, id);
+                if (++projects % BATCH_SIZE == 0) {
+                    insertProject.executeBatch();
+                }
+            }
+            insertProject.executeBatch();
+            while (in.readBoolean()) {
+                long id = in.readLong();
+                insertTask.setLong(1, id);
+                insertTask.setString(2, readString(in));
+                insertTask.setString(3, readString(in));
+                insertTask.setString(4, readString(in));
+                insertTask.setDate(5, readDate(in));
+                insertTask.setDate(6, readDate(in));
+                boolean hasUser = in.readBoolean();
+                long userId = in.readLong();
+                if (hasUser) {
+                    insertTask.setLong(7, userId);
+                } else {
+                    insertTask.setNull(7, Types.BIGINT);
+                }
+                insertTask.setString(8, version >= '2' ? readString(in) : null);
+                boolean hasParent = version >= '3' && in.readBoolean();
+                long parentId = version >= '3' ? in.readLong() : 0;
+                if (hasParent) {
+                    insertTask.setLong(9, parentId);
+                } else {
+                    insertTask.setNull(9, Types.BIGINT);
+                }
+                insertTask.setString(10, version >= '3' ? in.readUTF() : "");
+                insertTask.setInt(11, version >= '3' ? in.readInt() : 0);
+                insertTask.setInt(12, version >= '3' ? in.readInt() : 0);
+                insertTask.setString(13, version >= '4' ? readString(in) : null);
+                insertTask.setString(14, version >= '5' ? in.readUTF() : RankKeys.legacy(id));
+                insertTask.setBoolean(15, version >= '6' && in.readBoolean());
+                boolean hasProject = version >= '7' && in.readBoolean();
+                long projectId = version >= '7' ? in.readLong() : 0;
+                if (hasProject) {
+                    insertTask.setLong(16, projectId);
+                } else {
+                    insertTask.setNull(16, Types.BIGINT);
+                }
+                insertTask.addBatch();
+                maxTaskId = Math.max(maxTaskId, id);
+                if (++tasks % BATCH_SIZE == 0) {
+                    insertTask.executeBatch();
+                }
+            }
+            insertTask.executeBatch();
+            while (version >= '6' && in.readBoolean()) {
+                insertShare.setLong(1, in.readLong());
+                insertShare.setLong(2, in.readLong());
+                insertShare.setLong(3, in.readLong());
+                insertShare.setString(4, in.readUTF());
+                insertShare.addBatch();
+                if (++shares % BATCH_SIZE == 0) {
+                    insertShare.executeBatch();
+                }
+            }
+            insertShare.executeBatch();
+            connection.commit();
+        } catch (SQLException | IOException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table task alter column id restart with " + (maxTaskId + 1));
+            statement.execute("alter table project alter column id restart with " + (maxProjectId + 1));
+            // Hibernate's pooled optimizer hands out the block that ends at
+            // the value it reads, so the next block has to end past maxUserId.
+            statement.execute("alter sequence app_user_seq restart with " + (maxUserId + USER_ID_ALLOCATION));
+        }
+        log.info("Snapshot {} restaurado: {} usuários, {} projetos, {} tarefas e {} compartilhamentos em {} ms", file,
+            users, projects, tasks, shares, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static boolean isEmpty(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                 "select (select count(*) from app_user) + (select count(*) from task)")) {
+            rs.next();
+            return rs.getLong(1) == 0;
+        }
+    }
+
+    private static void installTriggers(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : new String[] {"app_user", "project", "task", "task_share"}) {
+                statement.execute("create trigger if not exists snapshot_" + table
+                    + " after insert, update, delete on " + table
+                    + " for each statement call '" + ChangeTrigger.class.getName() + "'");
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, Date value) throws IOException {
+        out.writeLong(value == null ? Long.MIN_VALUE : value.toLocalDate().toEpochDay());
+    }
+
+    private static Date readDate(DataInputStream in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay == Long.MIN_VALUE ? null : Date.valueOf(LocalDate.ofEpochDay(epochDay));
+    }
+
+    public static class ChangeTrigger implements Trigger {
+
+        static final AtomicLong CHANGES = new AtomicLong();
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+            CHANGES.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.dto.ShareResponse;
+import br.edu.iff.taskflowapi.model.AccessLevel;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.TaskShare;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskShareRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides who may read and change a task. The owner is told by the task
+ * itself and a task that was never shared needs nothing else, so the common
+ * case never queries. Anyone else needs a share, looked up by its
+ * (user, task) key and cached, misses included.
+ * <p>
+ * Sharing and unsharing drop the cached entry once they commit, and a lookup
+ * that raced with them is not kept. Entries also expire, which bounds how
+ * long a lookup answered by a lagging replica can outlive a change.
+ */
+@Service
+public class TaskAccessControl {
+
+    static final int MAX_SHARES = 100;
+
+    private final TaskShareRepository shareRepository;
+    private final int cacheSize;
+    private final long cacheTtlNanos;
+    private final Map<Grant, Cached> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public TaskAccessControl(TaskShareRepository shareRepository,
+                             @Value("${acl.cache-size:10000}") int cacheSize,
+                             @Value("${acl.cache-ttl:10s}") Duration cacheTtl) {
+        this.shareRepository = shareRepository;
+        this.cacheSize = cacheSize;
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    public static boolean isOwner(Task task, String email) {
+        return task.getUser().getEmail().equals(email);
+    }
+
+    public boolean canRead(Task task, String email) {
+        return isOwner(task, email) || levelOf(task, email) != null;
+    }
+
+    public boolean canWrite(Task task, String email) {
+        return isOwner(task, email) || levelOf(task, email) == AccessLevel.WRITE;
+    }
+
+    /**
+     * Gives the user the level on the task, replacing the one they had.
+     */
+    public void share(Task task, User user, AccessLevel level) {
+        TaskShare.Key key = new TaskShare.Key(user.getId(), task.getId());
+        Optional<TaskShare> existing = shareRepository.findById(key);
+        if (existing.isEmpty() && shareRepository.countByTaskId(task.getId()) >= MAX_SHARES) {
+            throw new IllegalArgumentException("Uma tarefa pode ser compartilhada com no máximo " + MAX_SHARES + " usuários.");
+        }
+        TaskShare share = existing.orElseGet(TaskShare::new);
+        share.setUserId(user.getId());
+        share.setTaskId(task.getId());
+        share.setOwnerId(task.getUser().getId());
+        share.setLevel(level);
+        shareRepository.save(share);
+        invalidateAfterCommit(new Grant(task.getId(), user.getEmail()));
+    }
+
+    public void unshare(Task task, User user) {
+        shareRepository.deleteById(new TaskShare.Key(user.getId(), task.getId()));
+        invalidateAfterCommit(new Grant(task.getId(), user.getEmail()));
+    }
+
+    public List<ShareResponse> shares(Task task) {
+        return shareRepository.findByTask(task.getId());
+    }
+
+    /**
+     * Drops the shares of deleted tasks. Task ids are never reused, so the
+     * cached entries of those tasks can simply age out.
+     */
+    public void revokeAll(Collection<Long> taskIds) {
+        shareRepository.deleteByTaskIds(taskIds);
+    }
+
+    private AccessLevel levelOf(Task task, String email) {
+        if (!task.isShared()) {
+            return null;
+        }
+        Grant grant = new Grant(task.getId(), email);
+        long now = System.nanoTime();
+        Cached cached = cache.get(grant);
+        if (cached != null && now - cached.loadedAt() < cacheTtlNanos) {
+            return cached.level();
+        }
+        long before = generation.get();
+        AccessLevel level = shareRepository.findLevel(task.getId(), email).orElse(null);
+        if (cache.size() >= cacheSize) {
+            cache.clear();
+        }
+        Cached loaded = new Cached(level, now);
+        cache.put(grant, loaded);
+        // A change that committed while this lookup ran may or may not be in
+        // it, so the entry is dropped again.
+        if (generation.get() != before) {
+            cache.remove(grant, loaded);
+        }
+        return level;
+    }
+
+    private void invalidateAfterCommit(Grant grant) {
+        IndexMaintenance.afterCommit(() -> {
+            generation.incrementAndGet();
+            cache.remove(grant);
+        });
+    }
+
+    private record Grant(long taskId, String email) {
+    }
+
+    // A null level caches the absence of a share.
+    private record Cached(AccessLevel level, long loadedAt) {
+    }
+}
@@ -0,0 +1,438 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory graph of the "blocked by" dependencies between each user's tasks,
+ * kept in topological order as edges are added.
+ * <p>
+ * The order is maintained with the Pearce-Kelly algorithm: an edge that
+ * already agrees with the order costs nothing, and one that does not only
+ * searches and renumbers the tasks whose positions lie between its two ends,
+ * finding a cycle on the way if there is one. The tasks that are not done and
+ * have no pending blocker form the ready set, kept sorted by that order and
+ * updated as statuses change, so listing them never walks the graph. The
+ * edges live in the tasks' {@code blocked_by} column; the graph is rebuilt
+ * from the task store on startup and {@link TaskService} keeps it current.
+ */
+@Service
+public class TaskDependencyGraph implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDependencyGraph.class);
+
+    private final TaskStore taskStore;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int rebuildThreads;
+    private final Map<String, UserGraph> graphs = new ConcurrentHashMap<>();
+
+    public TaskDependencyGraph(TaskStore taskStore, UserRepository userRepository,
+                               @Value("${dependencies.enabled:true}") boolean enabled,
+                               @Value("${dependencies.rebuild-threads:0}") int rebuildThreads) {
+        this.taskStore = taskStore;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds the task or records its status once the current transaction
+     * commits, or right away outside of one.
+     */
+    public void index(Task task) {
+        if (!enabled) {
+            return;
+        }
+        String email = task.getUser().getEmail();
+        long id = task.getId();
+        boolean done = task.getStatus() == Status.DONE;
+        IndexMaintenance.afterCommit(() -> {
+            UserGraph graph = graphs.computeIfAbsent(email, key -> new UserGraph());
+            graph.lock.writeLock().lock();
+            try {
+                graph.setDone(graph.node(id, done), done);
+            } finally {
+                graph.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Task task) {
+        if (!enabled) {
+            return;
+        }
+        String email = task.getUser().getEmail();
+        long id = task.getId();
+        IndexMaintenance.afterCommit(() -> {
+            UserGraph graph = graphs.get(email);
+            if (graph == null) {
+                return;
+            }
+            graph.lock.writeLock().lock();
+            try {
+                graph.remove(id);
+            } finally {
+                graph.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Makes {@code task} wait for {@code blocker}. Unlike the other changes
+     * the edge is added right away, so a concurrent request checking for
+     * cycles already sees it, and taken back if the transaction rolls back.
+     * Throws {@link IllegalArgumentException} if the edge would close a cycle.
+     */
+    public void link(Task blocker, Task task) {
+        String email = task.getUser().getEmail();
+        UserGraph graph = graphs.computeIfAbsent(email, key -> new UserGraph());
+        graph.lock.writeLock().lock();
+        try {
+            Node from = graph.node(blocker.getId(), blocker.getStatus() == Status.DONE);
+            Node to = graph.node(task.getId(), task.getStatus() == Status.DONE);
+            if (!graph.link(from, to)) {
+                return;
+            }
+        } finally {
+            graph.lock.writeLock().unlock();
+        }
+        long blockerId = blocker.getId();
+        long taskId = task.getId();
+        IndexMaintenance.afterRollback(() -> unlink(email, blockerId, taskId));
+    }
+
+    public void unlink(long blockerId, Task task) {
+        String email = task.getUser().getEmail();
+        long taskId = task.getId();
+        IndexMaintenance.afterCommit(() -> unlink(email, blockerId, taskId));
+    }
+
+    private void unlink(String email, long blockerId, long taskId) {
+        UserGraph graph = graphs.get(email);
+        if (graph == null) {
+            return;
+        }
+        graph.lock.writeLock().lock();
+        try {
+            graph.unlink(blockerId, taskId);
+        } finally {
+            graph.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the tasks blocked by the given one.
+     */
+    public List<Long> dependents(String email, long id) {
+        List<Long> ids = new ArrayList<>();
+        UserGraph graph = graphs.get(email);
+        if (graph == null) {
+            return ids;
+        }
+        graph.lock.readLock().lock();
+        try {
+            Node node = graph.nodes.get(id);
+            if (node != null) {
+                node.dependents.forEach(dependent -> ids.add(dependent.id));
+            }
+            return ids;
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the user's tasks that are not done and wait for no
+     * unfinished task, in dependency order.
+     */
+    public List<Long> ready(String email, int limit) {
+        List<Long> ids = new ArrayList<>();
+        UserGraph graph = graphs.get(email);
+        if (graph == null) {
+            return ids;
+        }
+        graph.lock.readLock().lock();
+        try {
+            for (Node node : graph.ready) {
+                if (ids.size() == limit) {
+                    break;
+                }
+                ids.add(node.id);
+            }
+            return ids;
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of all of the user's tasks in the maintained order.
+     */
+    List<Long> order(String email) {
+        List<Long> ids = new ArrayList<>();
+        UserGraph graph = graphs.get(email);
+        if (graph == null) {
+            return ids;
+        }
+        graph.lock.readLock().lock();
+        try {
+            List<Node> nodes = new ArrayList<>(graph.nodes.values());
+            nodes.sort(Comparator.comparingInt(node -> node.order));
+            nodes.forEach(node -> ids.add(node.id));
+            return ids;
+        } finally {
+            graph.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every user's tasks from the store, holding each user's graph
+     * locked while it is reloaded, like {@link TaskLabelIndex#rebuild()}.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<User> users = userRepository.findAll();
+        long tasks = IndexMaintenance.rebuild(users, rebuildThreads, "dependencies", this::rebuild);
+        log.info("Grafo de dependências reconstruído: {} tarefas de {} usuários em {} ms", tasks, users.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int rebuild(String email) {
+        UserGraph graph = graphs.computeIfAbsent(email, key -> new UserGraph());
+        graph.lock.writeLock().lock();
+        try {
+            List<Task> tasks = new ArrayList<>(taskStore.findByUserEmail(email));
+            // In id order, blockers usually come first and most edges then
+            // agree with the order from the start.
+            tasks.sort(Comparator.comparing(Task::getId));
+            graph.clear();
+            for (Task task : tasks) {
+                boolean done = task.getStatus() == Status.DONE;
+                graph.setDone(graph.node(task.getId(), done), done);
+            }
+            for (Task task : tasks) {
+                for (Long blockerId : task.getBlockedBy()) {
+                    Node blocker = graph.nodes.get(blockerId);
+                    if (blocker == null) {
+                        continue;
+                    }
+                    try {
+                        graph.link(blocker, graph.nodes.get(task.getId()));
+                    } catch (IllegalArgumentException e) {
+                        log.warn("Dependência {} -> {} ignorada: forma um ciclo", blockerId, task.getId());
+                    }
+                }
+            }
+            return tasks.size();
+        } finally {
+            graph.lock.writeLock().unlock();
+        }
+    }
+
+    private static final class Node {
+
+        private final long id;
+        private int order;
+        private boolean done;
+        private int pendingBlockers;
+        private final Set<Node> blockers = new HashSet<>();
+        private final Set<Node> dependents = new HashSet<>();
+
+        private Node(long id, int order) {
+            this.id = id;
+            this.order = order;
+        }
+    }
+
+    private static final class UserGraph {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Node> nodes = new HashMap<>();
+        // Never change a node's order while it is in here.
+        private final TreeSet<Node> ready = new TreeSet<>(Comparator.comparingInt(node -> node.order));
+        private int nextOrder;
+
+        private void clear() {
+            nodes.clear();
+            ready.clear();
+            nextOrder = 0;
+        }
+
+        // New tasks go last, where nothing can depend on them yet.
+        private Node node(long id, boolean done) {
+            Node node = nodes.get(id);
+            if (node == null) {
+                node = new Node(id, nextOrder++);
+                node.done = done;
+                nodes.put(id, node);
+                if (!done) {
+                    ready.add(node);
+                }
+            }
+            return node;
+        }
+
+        private void setDone(Node node, boolean done) {
+            if (node.done == done) {
+                return;
+            }
+            node.done = done;
+            if (done) {
+                ready.remove(node);
+                for (Node dependent : node.dependents) {
+                    if (--dependent.pendingBlockers == 0 && !dependent.done) {
+                        ready.add(dependent);
+                    }
+                }
+            } else {
+                if (node.pendingBlockers == 0) {
+                    ready.add(node);
+                }
+                for (Node dependent : node.dependents) {
+                    if (dependent.pendingBlockers++ == 0) {
+                        ready.remove(dependent);
+                    }
+                }
+            }
+        }
+
+        private boolean link(Node blocker, Node task) {
+            if (blocker == task) {
+                throw new IllegalArgumentException("Uma tarefa não pode depender de si mesma.");
+            }
+            if (task.blockers.contains(blocker)) {
+                return false;
+            }
+            if (blocker.order > task.order) {
+                reorder(blocker, task);
+            }
+            task.blockers.add(blocker);
+            blocker.dependents.add(task);
+            if (!blocker.done && task.pendingBlockers++ == 0) {
+                ready.remove(task);
+            }
+            return true;
+        }
+
+        private void unlink(long blockerId, long taskId) {
+            Node blocker = nodes.get(blockerId);
+            Node task = nodes.get(taskId);
+            if (blocker == null || task == null || !task.blockers.remove(blocker)) {
+                return;
+            }
+            blocker.dependents.remove(task);
+            // Dropping an edge never breaks the order, so nothing moves.
+            if (!blocker.done && --task.pendingBlockers == 0 && !task.done) {
+                ready.add(task);
+            }
+        }
+
+        private void remove(long id) {
+            Node node = nodes.remove(id);
+            if (node == null) {
+                return;
+            }
+            ready.remove(node);
+            for (Node blocker : node.blockers) {
+                blocker.dependents.remove(node);
+            }
+            for (Node dependent : node.dependents) {
+                dependent.blockers.remove(node);
+                if (!node.done && --dependent.pendingBlockers == 0 && !dependent.done) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        /**
+         * Restores the order for a new edge from {@code blocker} to
+         * {@code task}, which currently comes first. Only the tasks between
+         * the two are visited: those reachable from {@code task} and those
+         * {@code blocker} is reachable from move, keeping their relative
+         * order, and the first group ends up after the second.
+         */
+        private void reorder(Node blocker, Node task) {
+            int lower = task.order;
+            int upper = blocker.order;
+            List<Node> forward = reachable(task, true, node -> node.order <= upper);
+            if (forward.contains(blocker)) {
+                throw new IllegalArgumentException("A dependência criaria um ciclo.");
+            }
+            List<Node> backward = reachable(blocker, false, node -> node.order > lower);
+            Comparator<Node> byOrder = Comparator.comparingInt(node -> node.order);
+            forward.sort(byOrder);
+            backward.sort(byOrder);
+
+            List<Node> moved = new ArrayList<>(backward);
+            moved.addAll(forward);
+            int[] orders = new int[moved.size()];
+            List<Node> wasReady = new ArrayList<>();
+            for (int i = 0; i < orders.length; i++) {
+                Node node = moved.get(i);
+                orders[i] = node.order;
+                if (ready.remove(node)) {
+                    wasReady.add(node);
+                }
+            }
+            Arrays.sort(orders);
+            for (int i = 0; i < orders.length; i++) {
+                moved.get(i).order = orders[i];
+            }
+            ready.addAll(wasReady);
+        }
+
+        private static List<Node> reachable(Node start, boolean forward, Predicate<Node> within) {
+            List<Node> visited = new ArrayList<>();
+            Set<Node> seen = new HashSet<>();
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(start);
+            seen.add(start);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                visited.add(node);
+                for (Node next : forward ? node.dependents : node.blockers) {
+                    if (within.test(next) && seen.add(next)) {
+                        stack.push(next);
+                    }
+                }
+            }
+            return visited;
+        }
+    }
+}
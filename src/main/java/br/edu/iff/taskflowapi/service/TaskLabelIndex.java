@@ -0,0 +1,474 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory bitmap index over task labels and statuses, one per user, that
+ * answers filters such as {@code urgente AND (casa OR trabalho) AND NOT
+ * status:DONE}.
+ * <p>
+ * Each user's tasks get dense ordinals, reused after a delete, and every
+ * label and status keeps a {@link RoaringBitmap} of the ordinals that have
+ * it. A filter is evaluated as intersections, unions and differences of those
+ * bitmaps, smallest first, so it only visits the ordinals that can still
+ * match and never reads a task it does not return. The index is rebuilt from
+ * the task store on startup and {@link TaskService} keeps it current.
+ */
+@Service
+public class TaskLabelIndex implements ApplicationRunner {
+
+    public static final int MAX_LABELS = 20;
+    private static final Logger log = LoggerFactory.getLogger(TaskLabelIndex.class);
+    private static final Pattern LABEL = Pattern.compile("[\\p{L}\\p{N}_-]{1,40}");
+    private static final Pattern TOKENS = Pattern.compile("\\(|\\)|[^\\s()]+");
+    private static final int MAX_TOKENS = 100;
+    private static final String STATUS_PREFIX = "status:";
+
+    private final TaskStore taskStore;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int rebuildThreads;
+    private final Map<String, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    public TaskLabelIndex(TaskStore taskStore, UserRepository userRepository,
+                          @Value("${labels.enabled:true}") boolean enabled,
+                          @Value("${labels.rebuild-threads:0}") int rebuildThreads) {
+        this.taskStore = taskStore;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Trims and lower-cases the labels and checks them, so "Casa" and "casa"
+     * are the same label.
+     */
+    public static Set<String> normalize(Collection<String> labels) {
+        Set<String> normalized = new TreeSet<>();
+        if (labels == null) {
+            return normalized;
+        }
+        for (String label : labels) {
+            String value = label == null ? "" : label.trim().toLowerCase(Locale.ROOT);
+            if (!LABEL.matcher(value).matches()) {
+                throw new IllegalArgumentException("Etiqueta inválida: \"" + label
+                    + "\". Use até 40 letras, números, '-' ou '_'.");
+            }
+            normalized.add(value);
+        }
+        if (normalized.size() > MAX_LABELS) {
+            throw new IllegalArgumentException("Uma tarefa pode ter no máximo " + MAX_LABELS + " etiquetas.");
+        }
+        return normalized;
+    }
+
+    /**
+     * Adds or replaces the task once the current transaction commits, or
+     * right away outside of one.
+     */
+    public void index(Task task) {
+        if (!enabled) {
+            return;
+        }
+        String email = task.getUser().getEmail();
+        long id = task.getId();
+        Status status = task.getStatus();
+        String[] labels = labelsOf(task);
+        IndexMaintenance.afterCommit(() -> {
+            UserIndex index = indexes.computeIfAbsent(email, key -> new UserIndex());
+            index.lock.writeLock().lock();
+            try {
+                index.put(id, status, labels);
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Task task) {
+        if (!enabled) {
+            return;
+        }
+        String email = task.getUser().getEmail();
+        long id = task.getId();
+        IndexMaintenance.afterCommit(() -> {
+            UserIndex index = indexes.get(email);
+            if (index == null) {
+                return;
+            }
+            index.lock.writeLock().lock();
+            try {
+                index.remove(id);
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of the user's tasks that match the filter, lowest first.
+     * Throws {@link IllegalArgumentException} when the filter is malformed.
+     */
+    public List<Long> filter(String email, String query, int limit) {
+        Node filter = parse(query);
+        UserIndex index = indexes.get(email);
+        if (index == null) {
+            return new ArrayList<>();
+        }
+        long[] ids;
+        index.lock.readLock().lock();
+        try {
+            RoaringBitmap matches = index.evaluate(filter);
+            ids = new long[matches.cardinality()];
+            int[] count = {0};
+            matches.forEach(ordinal -> ids[count[0]++] = index.taskIds[ordinal]);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+        Arrays.sort(ids);
+        List<Long> results = new ArrayList<>(Math.min(ids.length, limit));
+        for (int i = 0; i < ids.length && i < limit; i++) {
+            results.add(ids[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Returns how many of the user's tasks carry each label.
+     */
+    public Map<String, Integer> counts(String email) {
+        Map<String, Integer> counts = new TreeMap<>();
+        UserIndex index = indexes.get(email);
+        if (index == null) {
+            return counts;
+        }
+        index.lock.readLock().lock();
+        try {
+            index.byLabel.forEach((label, bitmap) -> counts.put(label, bitmap.cardinality()));
+        } finally {
+            index.lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every user's tasks from the store, holding each user's index
+     * locked while it is reloaded, like {@link TaskSearchIndex#rebuild()}.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<User> users = userRepository.findAll();
+        long tasks = IndexMaintenance.rebuild(users, rebuildThreads, "labels", this::rebuild);
+        log.info("Índice de etiquetas reconstruído: {} tarefas de {} usuários em {} ms", tasks, users.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int rebuild(String email) {
+        UserIndex index = indexes.computeIfAbsent(email, key -> new UserIndex());
+        index.lock.writeLock().lock();
+        try {
+            List<Task> tasks = taskStore.findByUserEmail(email);
+            index.clear();
+            for (Task task : tasks) {
+                index.put(task.getId(), task.getStatus(), labelsOf(task));
+            }
+            return tasks.size();
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    private static String[] labelsOf(Task task) {
+        return task.getLabels() == null ? new String[0] : task.getLabels().toArray(new String[0]);
+    }
+
+    /**
+     * Parses {@code expr := term (OR term)*}, {@code term := factor (AND?
+     * factor)*} and {@code factor := NOT factor | '(' expr ')' | status:NAME |
+     * label}. Keywords ignore case and a missing operator means AND.
+     */
+    static Node parse(String query) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKENS.matcher(query == null ? "" : query);
+        while (matcher.find()) {
+            tokens.add(matcher.group());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("O filtro não pode ser vazio.");
+        }
+        if (tokens.size() > MAX_TOKENS) {
+            throw new IllegalArgumentException("Filtro inválido: use no máximo " + MAX_TOKENS + " termos.");
+        }
+        Parser parser = new Parser(tokens);
+        Node node = parser.expression();
+        if (parser.position < tokens.size()) {
+            throw new IllegalArgumentException("Filtro inválido: \"" + tokens.get(parser.position) + "\" inesperado.");
+        }
+        return node;
+    }
+
+    sealed interface Node permits Label, StatusIs, Not, And, Or {
+    }
+
+    record Label(String label) implements Node {
+    }
+
+    record StatusIs(Status status) implements Node {
+    }
+
+    record Not(Node node) implements Node {
+    }
+
+    record And(List<Node> nodes) implements Node {
+    }
+
+    record Or(List<Node> nodes) implements Node {
+    }
+
+    private static final class Parser {
+
+        private final List<String> tokens;
+        private int position;
+
+        private Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        Node expression() {
+            List<Node> terms = new ArrayList<>();
+            terms.add(term());
+            while (accept("OR")) {
+                terms.add(term());
+            }
+            return terms.size() == 1 ? terms.get(0) : new Or(terms);
+        }
+
+        private Node term() {
+            List<Node> factors = new ArrayList<>();
+            factors.add(factor());
+            while (position < tokens.size() && !peek("OR") && !peek(")")) {
+                accept("AND");
+                factors.add(factor());
+            }
+            return factors.size() == 1 ? factors.get(0) : new And(factors);
+        }
+
+        private Node factor() {
+            if (position == tokens.size()) {
+                throw new IllegalArgumentException("Filtro inválido: termina de forma inesperada.");
+            }
+            if (accept("NOT")) {
+                return new Not(factor());
+            }
+            if (accept("(")) {
+                Node node = expression();
+                if (!accept(")")) {
+                    throw new IllegalArgumentException("Filtro inválido: falta fechar um parêntese.");
+                }
+                return node;
+            }
+            String token = tokens.get(position);
+            if (peek("AND") || peek("OR") || peek(")")) {
+                throw new IllegalArgumentException("Filtro inválido: \"" + token + "\" inesperado.");
+            }
+            position++;
+            if (token.regionMatches(true, 0, STATUS_PREFIX, 0, STATUS_PREFIX.length())) {
+                String name = token.substring(STATUS_PREFIX.length()).toUpperCase(Locale.ROOT);
+                try {
+                    return new StatusIs(Status.valueOf(name));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Filtro inválido: status \"" + name + "\" desconhecido.");
+                }
+            }
+            return new Label(normalize(List.of(token)).iterator().next());
+        }
+
+        private boolean peek(String keyword) {
+            return position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword);
+        }
+
+        private boolean accept(String keyword) {
+            if (peek(keyword)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class UserIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final Map<String, RoaringBitmap> byLabel = new HashMap<>();
+        private final Map<Status, RoaringBitmap> byStatus = new EnumMap<>(Status.class);
+        private RoaringBitmap live;
+        private long[] taskIds;
+        private Status[] statuses;
+        private String[][] labels;
+        private int[] freeOrdinals;
+        private int freeCount;
+        private int ordinalCount;
+
+        private UserIndex() {
+            clear();
+        }
+
+        void clear() {
+            ordinals.clear();
+            byLabel.clear();
+            byStatus.clear();
+            live = new RoaringBitmap();
+            taskIds = new long[16];
+            statuses = new Status[16];
+            labels = new String[16][];
+            freeOrdinals = new int[16];
+            freeCount = 0;
+            ordinalCount = 0;
+        }
+
+        void put(long taskId, Status status, String[] taskLabels) {
+            Integer existing = ordinals.get(taskId);
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                unset(ordinal);
+            } else {
+                ordinal = allocate();
+                ordinals.put(taskId, ordinal);
+                taskIds[ordinal] = taskId;
+                live.add(ordinal);
+            }
+            statuses[ordinal] = status;
+            labels[ordinal] = taskLabels;
+            if (status != null) {
+                byStatus.computeIfAbsent(status, key -> new RoaringBitmap()).add(ordinal);
+            }
+            for (String label : taskLabels) {
+                byLabel.computeIfAbsent(label, key -> new RoaringBitmap()).add(ordinal);
+            }
+        }
+
+        void remove(long taskId) {
+            Integer ordinal = ordinals.remove(taskId);
+            if (ordinal == null) {
+                return;
+            }
+            unset(ordinal);
+            live.remove(ordinal);
+            statuses[ordinal] = null;
+            labels[ordinal] = null;
+            if (freeCount == freeOrdinals.length) {
+                freeOrdinals = Arrays.copyOf(freeOrdinals, freeCount * 2);
+            }
+            freeOrdinals[freeCount++] = ordinal;
+        }
+
+        RoaringBitmap evaluate(Node node) {
+            if (node instanceof Label label) {
+                return byLabel.getOrDefault(label.label(), new RoaringBitmap());
+            }
+            if (node instanceof StatusIs status) {
+                return byStatus.getOrDefault(status.status(), new RoaringBitmap());
+            }
+            if (node instanceof Not not) {
+                return live.andNot(evaluate(not.node()));
+            }
+            if (node instanceof Or or) {
+                RoaringBitmap result = new RoaringBitmap();
+                for (Node child : or.nodes()) {
+                    result = result.or(evaluate(child));
+                }
+                return result;
+            }
+            // Intersect the positive operands smallest first and subtract the
+            // negated ones, instead of complementing them against every task.
+            List<RoaringBitmap> included = new ArrayList<>();
+            List<Node> excluded = new ArrayList<>();
+            for (Node child : ((And) node).nodes()) {
+                if (child instanceof Not not) {
+                    excluded.add(not.node());
+                } else {
+                    included.add(evaluate(child));
+                }
+            }
+            included.sort(Comparator.comparingInt(RoaringBitmap::cardinality));
+            RoaringBitmap result = included.isEmpty() ? live : included.get(0);
+            for (int i = 1; i < included.size() && !result.isEmpty(); i++) {
+                result = result.and(included.get(i));
+            }
+            for (int i = 0; i < excluded.size() && !result.isEmpty(); i++) {
+                result = result.andNot(evaluate(excluded.get(i)));
+            }
+            return result;
+        }
+
+        private void unset(int ordinal) {
+            if (statuses[ordinal] != null) {
+                RoaringBitmap bitmap = byStatus.get(statuses[ordinal]);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    byStatus.remove(statuses[ordinal]);
+                }
+            }
+            for (String label : labels[ordinal]) {
+                RoaringBitmap bitmap = byLabel.get(label);
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    byLabel.remove(label);
+                }
+            }
+        }
+
+        private int allocate() {
+            if (freeCount > 0) {
+                return freeOrdinals[--freeCount];
+            }
+            if (ordinalCount == taskIds.length) {
+                int capacity = ordinalCount * 2;
+                taskIds = Arrays.copyOf(taskIds, capacity);
+                statuses = Arrays.copyOf(statuses, capacity);
+                labels = Arrays.copyOf(labels, capacity);
+            }
+            return ordinalCount++;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives the tasks of a status column short, evenly spaced ranks again.
+ * Repeated moves into the same gap make keys grow by a digit or so each
+ * time; {@link TaskService} queues a column here once one of its keys passes
+ * {@link RankKeys#REBALANCE_LENGTH} and only rebalances inline when a key
+ * would not fit in the column.
+ */
+@Service
+public class TaskRankBalancer {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskRankBalancer.class);
+
+    private final TaskStore taskStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Column, User> pending = new ConcurrentHashMap<>();
+
+    public TaskRankBalancer(TaskStore taskStore, PlatformTransactionManager transactionManager) {
+        this.taskStore = taskStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void schedule(User owner, Status status) {
+        pending.putIfAbsent(new Column(owner.getId(), status), owner);
+    }
+
+    @Scheduled(fixedDelayString = "${ranks.rebalance-interval:60000}")
+    public void rebalancePending() {
+        for (Column column : List.copyOf(pending.keySet())) {
+            User owner = pending.remove(column);
+            try {
+                transactionTemplate.executeWithoutResult(status -> rebalance(owner, column.status()));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao rebalancear a coluna {} do usuário {}", column.status(), column.userId(), e);
+            }
+        }
+    }
+
+    /**
+     * Rewrites the column's ranks in their current order and returns the
+     * new rank of every task in it. Tasks that already have their new rank
+     * are not written.
+     */
+    public Map<Long, String> rebalance(User owner, Status status) {
+        List<Task> tasks = taskStore.findColumn(owner.getEmail(), status);
+        List<String> keys = RankKeys.spread(tasks.size());
+        Map<Long, String> ranks = new LinkedHashMap<>();
+        Map<Long, String> changed = new HashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            ranks.put(task.getId(), keys.get(i));
+            if (!keys.get(i).equals(task.getRank())) {
+                changed.put(task.getId(), keys.get(i));
+            }
+        }
+        if (!changed.isEmpty()) {
+            taskStore.updateRanks(owner, changed);
+        }
+        log.debug("Coluna {} do usuário {} rebalanceada: {} de {} tarefas", status, owner.getId(), changed.size(), tasks.size());
+        return ranks;
+    }
+
+    private record Column(long userId, Status status) {
+    }
+}
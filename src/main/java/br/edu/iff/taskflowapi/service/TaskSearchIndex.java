@@ -0,0 +1,468 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over task titles and descriptions, one per user.
+ * Terms are lower-cased with accents folded, so "Ação" and "acao" match, and
+ * common Portuguese words are dropped. Results are ranked with BM25, title
+ * terms counting twice, and every query term must match, either exactly or
+ * as the prefix of an indexed term.
+ * <p>
+ * Each user's index numbers its tasks densely and keeps a posting list of
+ * (task number, frequency) per term, so a search only reads the lists of the
+ * query terms. An updated task is appended under a new number; the entries
+ * of the old one are skipped until they outnumber the live ones and the
+ * lists are compacted. The index is rebuilt from the task store on startup,
+ * several users at a time, and {@link TaskService} keeps it current.
+ */
+@Service
+public class TaskSearchIndex implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskSearchIndex.class);
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "o", "as", "os", "e", "de", "do", "da", "dos", "das", "em", "no", "na", "nos", "nas",
+        "um", "uma", "uns", "umas", "para", "por", "com", "que", "se", "ao", "aos", "ou", "the", "of", "and");
+    private static final int MAX_TERM_LENGTH = 40;
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final int TITLE_WEIGHT = 2;
+    private static final float PREFIX_WEIGHT = 0.5f;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private final TaskStore taskStore;
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int rebuildThreads;
+    private final Map<String, UserIndex> indexes = new ConcurrentHashMap<>();
+
+    public TaskSearchIndex(TaskStore taskStore, UserRepository userRepository,
+                           @Value("${search.enabled:true}") boolean enabled,
+                           @Value("${search.rebuild-threads:0}") int rebuildThreads) {
+        this.taskStore = taskStore;
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.rebuildThreads = rebuildThreads > 0 ? rebuildThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Adds or replaces the task once the current transaction commits, or
+     * right away outside of one.
+     */
+    public void index(Task task) {
+        if (!enabled) {
+            return;
+        }
+        String email = task.getUser().getEmail();
+        long id = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        IndexMaintenance.afterCommit(() -> {
+            UserIndex index = indexes.computeIfAbsent(email, key -> new UserIndex());
+            index.lock.writeLock().lock();
+            try {
+                index.add(id, title, description);
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Task task) {
+        if (!enabled) {
+            return;
+        }
+        String email = task.getUser().getEmail();
+        long id = task.getId();
+        IndexMaintenance.afterCommit(() -> {
+            UserIndex index = indexes.get(email);
+            if (index == null) {
+                return;
+            }
+            index.lock.writeLock().lock();
+            try {
+                index.remove(id);
+            } finally {
+                index.lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Returns the ids of the user's best matching tasks, best first.
+     */
+    public List<Long> search(String email, String query, int limit) {
+        UserIndex index = indexes.get(email);
+        List<String> terms = tokenize(query).stream().distinct().toList();
+        if (index == null || terms.isEmpty()) {
+            return new ArrayList<>();
+        }
+        index.lock.readLock().lock();
+        try {
+            return index.search(terms, limit);
+        } finally {
+            index.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Reloads every user's tasks from the store. Writes that land meanwhile
+     * are safe: each user's index stays locked while it is reloaded, and
+     * applying a write again over a reload that already saw it is harmless.
+     */
+    public void rebuild() {
+        long start = System.nanoTime();
+        List<User> users = userRepository.findAll();
+        long tasks = IndexMaintenance.rebuild(users, rebuildThreads, "search", this::rebuild);
+        log.info("Índice de busca reconstruído: {} tarefas de {} usuários em {} ms", tasks, users.size(),
+            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private int rebuild(String email) {
+        UserIndex index = indexes.computeIfAbsent(email, key -> new UserIndex());
+        index.lock.writeLock().lock();
+        try {
+            List<Task> tasks = taskStore.findByUserEmail(email);
+            index.clear();
+            for (Task task : tasks) {
+                index.add(task.getId(), task.getTitle(), task.getDescription());
+            }
+            return tasks.size();
+        } finally {
+            index.lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                tokens.add(token.length() > MAX_TERM_LENGTH ? token.substring(0, MAX_TERM_LENGTH) : token);
+            }
+        }
+        return tokens;
+    }
+
+    private static final class UserIndex {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Integer> termIds = new TreeMap<>();
+        private final Map<Long, Integer> documentsByTask = new HashMap<>();
+        private Postings[] postings;
+        private int[] documentFrequencies;
+        private int[] freeTermIds;
+        private int freeTermCount;
+        private int termCount;
+        private long[] taskIds;
+        private int[] lengths;
+        private int[][] documentTerms;
+        private BitSet deleted;
+        private int documentCount;
+        private int liveCount;
+        private long totalLength;
+
+        private UserIndex() {
+            clear();
+        }
+
+        void clear() {
+            termIds.clear();
+            documentsByTask.clear();
+            postings = new Postings[16];
+            documentFrequencies = new int[16];
+            freeTermIds = new int[16];
+            freeTermCount = 0;
+            termCount = 0;
+            taskIds = new long[16];
+            lengths = new int[16];
+            documentTerms = new int[16][];
+            deleted = new BitSet();
+            documentCount = 0;
+            liveCount = 0;
+            totalLength = 0;
+        }
+
+        void add(long taskId, String title, String description) {
+            remove(taskId);
+            Map<String, Integer> frequencies = new LinkedHashMap<>();
+            for (String term : tokenize(title)) {
+                frequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+            }
+            for (String term : tokenize(description)) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+
+            if (documentCount == taskIds.length) {
+                int capacity = documentCount * 2;
+                taskIds = Arrays.copyOf(taskIds, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                documentTerms = Arrays.copyOf(documentTerms, capacity);
+            }
+            int document = documentCount++;
+            int[] terms = new int[frequencies.size()];
+            int length = 0;
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int termId = termIds.computeIfAbsent(entry.getKey(), key -> newTermId());
+                postings[termId].add(document, entry.getValue());
+                documentFrequencies[termId]++;
+                terms[i++] = termId;
+                length += entry.getValue();
+            }
+            taskIds[document] = taskId;
+            lengths[document] = length;
+            documentTerms[document] = terms;
+            documentsByTask.put(taskId, document);
+            liveCount++;
+            totalLength += length;
+        }
+
+        void remove(long taskId) {
+            Integer document = documentsByTask.remove(taskId);
+            if (document == null) {
+                return;
+            }
+            for (int termId : documentTerms[document]) {
+                documentFrequencies[termId]--;
+            }
+            deleted.set(document);
+            documentTerms[document] = null;
+            liveCount--;
+            totalLength -= lengths[document];
+            if (documentCount - liveCount > Math.max(liveCount, 1024)) {
+                compact();
+            }
+        }
+
+        List<Long> search(List<String> queryTerms, int limit) {
+            List<Long> results = new ArrayList<>();
+            if (liveCount == 0) {
+                return results;
+            }
+            List<Map<String, Integer>> expansions = new ArrayList<>(queryTerms.size());
+            for (String queryTerm : queryTerms) {
+                Map<String, Integer> expansion = queryTerm.length() < MIN_PREFIX_LENGTH
+                    ? exact(queryTerm)
+                    : termIds.subMap(queryTerm, true, queryTerm + Character.MAX_VALUE, false);
+                if (expansion.isEmpty()) {
+                    return results;
+                }
+                expansions.add(expansion);
+            }
+            // Every query term has to match, so the one with the shortest
+            // lists picks the candidates and the others only score them.
+            List<Integer> order = new ArrayList<>();
+            for (int q = 0; q < queryTerms.size(); q++) {
+                order.add(q);
+            }
+            order.sort(Comparator.comparingLong(q -> postingCount(expansions.get(q))));
+
+            float averageLength = (float) totalLength / liveCount;
+            Map<Integer, Candidate> candidates = new HashMap<>();
+            for (int step = 0; step < order.size(); step++) {
+                int q = order.get(step);
+                String queryTerm = queryTerms.get(q);
+                for (Map.Entry<String, Integer> expansion : expansions.get(q).entrySet()) {
+                    int termId = expansion.getValue();
+                    int frequency = documentFrequencies[termId];
+                    if (frequency == 0) {
+                        continue;
+                    }
+                    float idf = (float) Math.log(1 + (liveCount - frequency + 0.5) / (frequency + 0.5));
+                    float weight = expansion.getKey().equals(queryTerm) ? idf : idf * PREFIX_WEIGHT;
+                    Postings list = postings[termId];
+                    for (int p = 0; p < list.size; p++) {
+                        int document = list.documents[p];
+                        if (deleted.get(document)) {
+                            continue;
+                        }
+                        Candidate candidate = step == 0
+                            ? candidates.computeIfAbsent(document, Candidate::new)
+                            : candidates.get(document);
+                        if (candidate == null) {
+                            continue;
+                        }
+                        int tf = list.frequencies[p];
+                        float score = weight * tf * (K1 + 1)
+                            / (tf + K1 * (1 - B + B * lengths[document] / averageLength));
+                        // A query term scores its best expansion only, so a
+                        // document is not favoured for holding many of them.
+                        if (candidate.matchedTerms == step) {
+                            candidate.matchedTerms = step + 1;
+                            candidate.termScore = score;
+                            candidate.score += score;
+                        } else if (candidate.matchedTerms == step + 1 && score > candidate.termScore) {
+                            candidate.score += score - candidate.termScore;
+                            candidate.termScore = score;
+                        }
+                    }
+                }
+            }
+
+            PriorityQueue<Candidate> best = new PriorityQueue<>(limit + 1, (left, right) -> left.score != right.score
+                ? Float.compare(left.score, right.score) : Integer.compare(left.document, right.document));
+            for (Candidate candidate : candidates.values()) {
+                if (candidate.matchedTerms != queryTerms.size()) {
+                    continue;
+                }
+                best.add(candidate);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            while (!best.isEmpty()) {
+                results.add(taskIds[best.poll().document]);
+            }
+            Collections.reverse(results);
+            return results;
+        }
+
+        private long postingCount(Map<String, Integer> expansion) {
+            long count = 0;
+            for (int termId : expansion.values()) {
+                count += postings[termId].size;
+            }
+            return count;
+        }
+
+        private Map<String, Integer> exact(String term) {
+            Integer termId = termIds.get(term);
+            return termId == null ? Map.of() : Map.of(term, termId);
+        }
+
+        private int newTermId() {
+            if (freeTermCount > 0) {
+                int termId = freeTermIds[--freeTermCount];
+                postings[termId] = new Postings();
+                return termId;
+            }
+            if (termCount == postings.length) {
+                postings = Arrays.copyOf(postings, termCount * 2);
+                documentFrequencies = Arrays.copyOf(documentFrequencies, termCount * 2);
+            }
+            postings[termCount] = new Postings();
+            return termCount++;
+        }
+
+        // Renumbers the live documents in order, so every posting list stays
+        // sorted, and frees the terms no live document uses any more.
+        private void compact() {
+            int[] renumbered = new int[documentCount];
+            int next = 0;
+            for (int document = 0; document < documentCount; document++) {
+                if (deleted.get(document)) {
+                    renumbered[document] = -1;
+                } else {
+                    renumbered[document] = next;
+                    taskIds[next] = taskIds[document];
+                    lengths[next] = lengths[document];
+                    documentTerms[next] = documentTerms[document];
+                    documentsByTask.put(taskIds[next], next);
+                    next++;
+                }
+            }
+            Arrays.fill(documentTerms, next, documentCount, null);
+            documentCount = next;
+            deleted.clear();
+            termIds.values().removeIf(termId -> {
+                if (documentFrequencies[termId] > 0) {
+                    postings[termId].renumber(renumbered);
+                    return false;
+                }
+                postings[termId] = null;
+                if (freeTermCount == freeTermIds.length) {
+                    freeTermIds = Arrays.copyOf(freeTermIds, freeTermCount * 2);
+                }
+                freeTermIds[freeTermCount++] = termId;
+                return true;
+            });
+        }
+    }
+
+    private static final class Candidate {
+
+        private final int document;
+        private float score;
+        private float termScore;
+        private int matchedTerms;
+
+        private Candidate(int document) {
+            this.document = document;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] documents = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int document, int frequency) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int p = 0; p < size; p++) {
+                int document = renumbered[documents[p]];
+                if (document >= 0) {
+                    documents[kept] = document;
+                    frequencies[kept] = frequencies[p];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+}
@@ -1,28 +1,63 @@
 package br.edu.iff.taskflowapi.service;
 
+import br.edu.iff.taskflowapi.dto.ShareRequest;
+import br.edu.iff.taskflowapi.dto.ShareResponse;
 import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.Project;
 import br.edu.iff.taskflowapi.model.Status;
 import br.edu.iff.taskflowapi.model.Task;
 import br.edu.iff.taskflowapi.model.User;
-import br.edu.iff.taskflowapi.repository.TaskRepository;
+import br.edu.iff.taskflowapi.repository.TaskStore;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
 
 @Service
 public class TaskService {
 
-    private final TaskRepository taskRepository;
+    // Ancestors a task may have, which also bounds the length of its path.
+    static final int MAX_DEPTH = 64;
+    static final int MAX_BLOCKERS = 50;
+    // How many dependents of a deleted task are loaded and rewritten at once.
+    static final int RELEASE_BATCH_SIZE = 500;
+
+    private final TaskStore taskStore;
     private final UserService userService;
+    private final TaskWriteAheadLog writeAheadLog;
+    private final TaskSearchIndex searchIndex;
+    private final TaskLabelIndex labelIndex;
+    private final TaskDependencyGraph dependencyGraph;
+    private final TaskRankBalancer rankBalancer;
+    private final TaskAccessControl accessControl;
+    private final ProjectService projectService;
 
-    public TaskService(TaskRepository taskRepository, UserService userService) {
-        this.taskRepository = taskRepository;
+    public TaskService(TaskStore taskStore, UserService userService, TaskWriteAheadLog writeAheadLog,
+                       TaskSearchIndex searchIndex, TaskLabelIndex labelIndex, TaskDependencyGraph dependencyGraph,
+                       TaskRankBalancer rankBalancer, TaskAccessControl accessControl, ProjectService projectService) {
+        this.taskStore = taskStore;
         this.userService = userService;
+        this.writeAheadLog = writeAheadLog;
+        this.searchIndex = searchIndex;
+        this.labelIndex = labelIndex;
+        this.dependencyGraph = dependencyGraph;
+        this.rankBalancer = rankBalancer;
+        this.accessControl = accessControl;
+        this.projectService = projectService;
     }
 
+    @Transactional
     public Task saveTask(TaskRequest taskRequest, String email) {
         User user = userService.getByEmail(email)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Usuário não encontrado."));
@@ -33,48 +68,534 @@ public class TaskService {
         task.setLimitDate(LocalDate.parse(taskRequest.getLimitDate()));
         task.setCreationDate(LocalDate.now());
         task.setStatus(Status.OPEN);
+        task.setRank(RankKeys.next());
+        task.setLabels(TaskLabelIndex.normalize(taskRequest.getLabels()));
         task.setUser(user);
-        return taskRepository.save(task);
+        if (taskRequest.getParentId() != null) {
+            Task parent = parentFor(taskRequest.getParentId(), email);
+            if (parent.ancestorIds().size() + 1 > MAX_DEPTH) {
+                throw new IllegalArgumentException("Limite de " + MAX_DEPTH + " níveis de subtarefas atingido.");
+            }
+            task.setParentId(parent.getId());
+            task.setPath(parent.childPath());
+            task.setProjectId(parent.getProjectId());
+        }
+        if (taskRequest.getProjectId() != null) {
+            task.setProjectId(projectFor(taskRequest.getProjectId(), email));
+        }
+        Task saved = writeAheadLog.isEnabled() ? writeAheadLog.insert(task) : taskStore.save(task);
+        taskStore.addToRollups(user, saved.ancestorIds(), 1, 0);
+        projectService.recount(null, null, saved.getProjectId(), saved.getStatus());
+        searchIndex.index(saved);
+        labelIndex.index(saved);
+        dependencyGraph.index(saved);
+        return saved;
     }
 
+    @Transactional
     public Task updateTask(Task task, String email) {
-        Task taskDB = taskRepository.findById(task.getId())
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada."));
+        // The counters move by the difference from the status update() reads,
+        // so a save based on a stale read must not keep its increments. The
+        // columnar and sharded stores reject it before they run; with JPA the
+        // version check fails at flush or commit and the rollback undoes them.
+        // The log, which bypasses the check, lets one update of the task in at
+        // a time.
+        return writeAheadLog.isEnabled()
+            ? writeAheadLog.withTaskLock(task.getId(), () -> update(task, email))
+            : update(task, email);
+    }
+
+    private Task update(Task task, String email) {
+        Task taskDB = find(task.getId());
 
-        if (!taskDB.getUser().getEmail().equals(email)) {
+        if (!accessControl.canWrite(taskDB, email)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.");
         }
 
+        if (writeAheadLog.isEnabled()) {
+            // The managed entity must stay untouched: any later flush in this
+            // request would otherwise write it behind the log's back.
+            taskDB = copyOf(taskDB);
+        }
+        Status previous = taskDB.getStatus();
+        if (previous != task.getStatus()) {
+            taskDB.setRank(RankKeys.next());
+        }
         taskDB.setDescription(task.getDescription());
         taskDB.setStatus(task.getStatus());
         taskDB.setTitle(task.getTitle());
         taskDB.setLimitDate(task.getLimitDate());
-        return taskRepository.save(taskDB);
+        taskDB.setLabels(TaskLabelIndex.normalize(task.getLabels()));
+        Task saved = writeAheadLog.isEnabled() ? writeAheadLog.update(taskDB) : taskStore.save(taskDB);
+        reindex(saved, previous);
+        return saved;
+    }
+
+    /**
+     * Places a task right after {@code afterId} in the column of the given
+     * status, or at its top when {@code afterId} is null; a null status keeps
+     * the task's own. Only the moved task is written, unless the column has
+     * run out of room between the two neighbours and is rebalanced first.
+     */
+    @Transactional
+    public Task positionTask(Long id, Status status, Long afterId, String email) {
+        requireWithoutWriteAheadLog("A ordenação manual não está disponível");
+        Task task = getOwned(id, email);
+        Status column = status == null ? task.getStatus() : status;
+        Task after = null;
+        if (afterId != null) {
+            if (afterId.equals(id)) {
+                throw new IllegalArgumentException("Uma tarefa não pode ser posicionada depois de si mesma.");
+            }
+            after = getOwned(afterId, email);
+            if (after.getStatus() != column) {
+                throw new IllegalArgumentException("A tarefa de referência não está na coluna " + column + ".");
+            }
+        }
+        Optional<Task> next = after == null
+            ? taskStore.findNextInColumn(task.getUser(), column, "", 0)
+            : taskStore.findNextInColumn(task.getUser(), column, after.getRank(), after.getId());
+        if (next.isPresent() && next.get().getId().equals(id)) {
+            return task;
+        }
+
+        String before = after == null ? null : after.getRank();
+        String limit = next.map(Task::getRank).orElse(null);
+        String rank = limit == null ? RankKeys.next() : RankKeys.between(before, limit);
+        if (!fits(rank, before, limit)) {
+            Map<Long, String> ranks = rankBalancer.rebalance(task.getUser(), column);
+            before = after == null ? null : ranks.get(after.getId());
+            limit = next.map(each -> ranks.get(each.getId())).orElse(null);
+            rank = limit == null ? RankKeys.next() : RankKeys.between(before, limit);
+        } else if (rank.length() > RankKeys.REBALANCE_LENGTH) {
+            rankBalancer.schedule(task.getUser(), column);
+        }
+
+        Status previous = task.getStatus();
+        task.setStatus(column);
+        task.setRank(rank);
+        Task saved = taskStore.save(task);
+        if (previous != column) {
+            reindex(saved, previous);
+        }
+        return saved;
+    }
+
+    /**
+     * Returns the user's tasks with the given status in their manual order.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getColumn(Status status, String email) {
+        writeAheadLog.awaitApplied();
+        return taskStore.findColumn(email, status);
+    }
+
+    // Keys that tie with a neighbour, which only concurrent moves into the
+    // same gap produce, or that outgrow the column need a rebalance.
+    private static boolean fits(String rank, String before, String after) {
+        return rank.length() <= RankKeys.MAX_LENGTH
+            && (before == null || rank.compareTo(before) > 0)
+            && (after == null || rank.compareTo(after) < 0);
+    }
+
+    private void reindex(Task saved, Status previous) {
+        boolean done = saved.getStatus() == Status.DONE;
+        if (done != (previous == Status.DONE)) {
+            taskStore.addToRollups(saved.getUser(), saved.ancestorIds(), 0, done ? 1 : -1);
+        }
+        projectService.recount(saved.getProjectId(), previous, saved.getProjectId(), saved.getStatus());
+        searchIndex.index(saved);
+        labelIndex.index(saved);
+        dependencyGraph.index(saved);
     }
 
+    @Transactional
     public void deleteTask(Long id, String email) {
-        Task task = taskRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada."));
+        Task task = getOwned(id, email);
 
-        if (!task.getUser().getEmail().equals(email)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.");
+        List<Task> removed = new ArrayList<>();
+        if (task.getSubtaskCount() > 0) {
+            removed.addAll(taskStore.findDescendants(task));
+        }
+        removed.add(task);
+        if (writeAheadLog.isEnabled()) {
+            for (Task each : removed) {
+                writeAheadLog.delete(each);
+            }
+        } else {
+            if (removed.size() > 1) {
+                taskStore.deleteDescendants(task);
+            }
+            taskStore.delete(task);
+        }
+        int done = (int) removed.stream().filter(each -> each.getStatus() == Status.DONE).count();
+        taskStore.addToRollups(task.getUser(), task.ancestorIds(), -removed.size(), -done);
+        if (!writeAheadLog.isEnabled()) {
+            releaseDependents(task.getUser(), removed, email);
+        }
+        projectService.recountRemoved(removed);
+        List<Long> shared = removed.stream().filter(Task::isShared).map(Task::getId).toList();
+        if (!shared.isEmpty()) {
+            accessControl.revokeAll(shared);
+        }
+        for (Task each : removed) {
+            searchIndex.remove(each);
+            labelIndex.remove(each);
+            dependencyGraph.remove(each);
+        }
+    }
+
+    // Drops the removed tasks from the blockers of the tasks that remain,
+    // loading and rewriting the dependents a batch at a time.
+    private void releaseDependents(User owner, List<Task> removed, String email) {
+        Set<Long> removedIds = new HashSet<>();
+        removed.forEach(each -> removedIds.add(each.getId()));
+        Set<Long> dependentIds = new TreeSet<>();
+        for (Long removedId : removedIds) {
+            dependentIds.addAll(dependencyGraph.dependents(email, removedId));
+        }
+        dependentIds.removeAll(removedIds);
+        List<Long> ids = new ArrayList<>(dependentIds);
+        for (int from = 0; from < ids.size(); from += RELEASE_BATCH_SIZE) {
+            Map<Long, Set<Long>> blockedBy = new HashMap<>();
+            List<Long> batch = ids.subList(from, Math.min(from + RELEASE_BATCH_SIZE, ids.size()));
+            for (Task dependent : taskStore.findAllById(batch)) {
+                Set<Long> remaining = new TreeSet<>(dependent.getBlockedBy());
+                remaining.removeAll(removedIds);
+                blockedBy.put(dependent.getId(), remaining);
+            }
+            taskStore.updateBlockedBy(owner, blockedBy);
+        }
+    }
+
+    /**
+     * Makes the task wait for the blocker, rejecting a dependency that would
+     * close a cycle.
+     */
+    @Transactional
+    public Task addBlocker(Long id, Long blockerId, String email) {
+        requireDependencies();
+        Task task = getOwned(id, email);
+        Task blocker = getOwned(blockerId, email);
+        if (task.getBlockedBy().contains(blockerId)) {
+            return task;
+        }
+        if (task.getBlockedBy().size() >= MAX_BLOCKERS) {
+            throw new IllegalArgumentException("Uma tarefa pode depender de no máximo " + MAX_BLOCKERS + " tarefas.");
+        }
+        dependencyGraph.link(blocker, task);
+        Set<Long> blockedBy = new TreeSet<>(task.getBlockedBy());
+        blockedBy.add(blockerId);
+        task.setBlockedBy(blockedBy);
+        return taskStore.save(task);
+    }
+
+    @Transactional
+    public Task removeBlocker(Long id, Long blockerId, String email) {
+        requireDependencies();
+        Task task = getOwned(id, email);
+        if (!task.getBlockedBy().contains(blockerId)) {
+            return task;
+        }
+        Set<Long> blockedBy = new TreeSet<>(task.getBlockedBy());
+        blockedBy.remove(blockerId);
+        task.setBlockedBy(blockedBy);
+        Task saved = taskStore.save(task);
+        dependencyGraph.unlink(blockerId, saved);
+        return saved;
+    }
+
+    /**
+     * Returns the tasks that are not done and wait for no unfinished task,
+     * ordered so that a task's blockers always come before it.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getActionable(int limit, String email) {
+        if (!dependencyGraph.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dependências desativadas.");
+        }
+        return fromIndex(limit, email, max -> dependencyGraph.ready(email, max));
+    }
+
+    /**
+     * Moves a task, with its whole subtree, under another parent or to the
+     * root when {@code parentId} is null. Only the moved tasks and the
+     * ancestors that are not shared by the old and new positions are written.
+     */
+    @Transactional
+    public Task moveTask(Long id, Long parentId, String email) {
+        requireWithoutWriteAheadLog("Subtarefas não estão disponíveis");
+        Task task = getOwned(id, email);
+        Task parent = parentId == null ? null : parentFor(parentId, email);
+        String path = parent == null ? "" : parent.childPath();
+        if (path.equals(task.getPath())) {
+            return task;
+        }
+        String oldChildPath = task.childPath();
+        if (path.startsWith(oldChildPath)) {
+            throw new IllegalArgumentException("Uma tarefa não pode ser movida para dentro de si mesma.");
+        }
+
+        List<Long> oldAncestors = task.ancestorIds();
+        task.setParentId(parent == null ? null : parent.getId());
+        task.setPath(path);
+        List<Long> newAncestors = task.ancestorIds();
+        // The subtree is never deeper than it is large, so only a big one
+        // has to be loaded to find its height.
+        if (newAncestors.size() + task.getSubtaskCount() > MAX_DEPTH) {
+            int height = 0;
+            for (Task descendant : taskStore.findDescendants(task)) {
+                height = Math.max(height, descendant.ancestorIds().size() - oldAncestors.size());
+            }
+            if (newAncestors.size() + height > MAX_DEPTH) {
+                throw new IllegalArgumentException("Limite de " + MAX_DEPTH + " níveis de subtarefas atingido.");
+            }
+        }
+
+        Task saved = taskStore.save(task);
+        if (task.getSubtaskCount() > 0) {
+            taskStore.replacePathPrefix(task.getUser(), oldChildPath, saved.childPath());
+        }
+        int count = task.getSubtaskCount() + 1;
+        int done = task.getSubtasksDone() + (task.getStatus() == Status.DONE ? 1 : 0);
+        List<Long> left = new ArrayList<>(oldAncestors);
+        left.removeAll(newAncestors);
+        List<Long> joined = new ArrayList<>(newAncestors);
+        joined.removeAll(oldAncestors);
+        taskStore.addToRollups(task.getUser(), left, -count, -done);
+        taskStore.addToRollups(task.getUser(), joined, count, done);
+        return saved;
+    }
+
+    /**
+     * Moves a task into another of the user's projects, or out of its project
+     * when {@code projectId} is null. Its subtasks stay where they are.
+     */
+    @Transactional
+    public Task moveToProject(Long id, Long projectId, String email) {
+        requireWithoutWriteAheadLog("Projetos não estão disponíveis");
+        Task task = getOwned(id, email);
+        Long previous = task.getProjectId();
+        if (projectId == null ? previous == null : projectId.equals(previous)) {
+            return task;
+        }
+        task.setProjectId(projectId == null ? null : projectFor(projectId, email));
+        Task saved = taskStore.save(task);
+        projectService.recount(previous, saved.getStatus(), saved.getProjectId(), saved.getStatus());
+        return saved;
+    }
+
+    /**
+     * Returns the tasks of one of the user's projects, optionally only those
+     * with a status, in rank order, and with a label. Only the project's tasks
+     * are read, through an index that starts with the project.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getByProject(Long projectId, Status status, String label, String email) {
+        Project project = projectService.getById(projectId, email);
+        String wanted = label == null ? null : TaskLabelIndex.normalize(List.of(label)).iterator().next();
+        writeAheadLog.awaitApplied();
+        List<Task> tasks = taskStore.findByProject(project.getUser(), project.getId(), status);
+        if (wanted == null) {
+            return tasks;
         }
+        return tasks.stream().filter(task -> task.getLabels().contains(wanted)).toList();
+    }
 
-        taskRepository.delete(task);
+    /**
+     * Returns the task followed by all of its descendants in id order.
+     */
+    @Transactional(readOnly = true)
+    public List<Task> getSubtree(Long id, String email) {
+        Task task = getOwned(id, email);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(task);
+        if (task.getSubtaskCount() > 0) {
+            tasks.addAll(taskStore.findDescendants(task));
+        }
+        return tasks;
     }
 
+    /**
+     * Returns the user's own tasks and the ones shared with them.
+     */
+    @Transactional(readOnly = true)
     public List<Task> getByEmail(String email){
-        return taskRepository.findByUserEmail(email);
+        writeAheadLog.awaitApplied();
+        return taskStore.findVisible(email);
     }
 
+    @Transactional(readOnly = true)
     public Task getById(Long id, String email) {
-        Task task = taskRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada."));
+        Task task = find(id);
 
-        if (!task.getUser().getEmail().equals(email)) {
+        if (!accessControl.canRead(task, email)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.");
         }
 
         return task;
     }
+
+    /**
+     * Gives another user read or write access to one of the user's tasks, or
+     * changes the access they have, and returns everyone the task is shared
+     * with.
+     */
+    @Transactional
+    public List<ShareResponse> shareTask(Long id, ShareRequest shareRequest, String email) {
+        requireWithoutWriteAheadLog("O compartilhamento não está disponível");
+        Task task = getOwned(id, email);
+        if (shareRequest.getLevel() == null) {
+            throw new IllegalArgumentException("O nível de acesso é obrigatório.");
+        }
+        User user = collaborator(shareRequest.getEmail(), task);
+        accessControl.share(task, user, shareRequest.getLevel());
+        if (!task.isShared()) {
+            taskStore.markShared(task.getUser(), task.getId());
+        }
+        return accessControl.shares(task);
+    }
+
+    @Transactional
+    public void unshareTask(Long id, String collaboratorEmail, String email) {
+        requireWithoutWriteAheadLog("O compartilhamento não está disponível");
+        Task task = getOwned(id, email);
+        accessControl.unshare(task, collaborator(collaboratorEmail, task));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ShareResponse> getShares(Long id, String email) {
+        return accessControl.shares(getOwned(id, email));
+    }
+
+    private User collaborator(String email, Task task) {
+        User user = userService.getByEmail(email)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuário não encontrado."));
+        if (user.getId().equals(task.getUser().getId())) {
+            throw new IllegalArgumentException("Uma tarefa não pode ser compartilhada com o próprio dono.");
+        }
+        return user;
+    }
+
+    private Task find(Long id) {
+        writeAheadLog.awaitApplied();
+        return taskStore.findById(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa não encontrada."));
+    }
+
+    // Everything but reading and editing the task itself stays with the
+    // owner, since it touches tasks that are not shared.
+    private Task getOwned(Long id, String email) {
+        Task task = find(id);
+        if (!TaskAccessControl.isOwner(task, email)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.");
+        }
+        return task;
+    }
+
+    @Transactional(readOnly = true)
+    public List<Task> search(String query, int limit, String email) {
+        if (!searchIndex.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Busca desativada.");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("A busca não pode ser vazia.");
+        }
+        return fromIndex(limit, email, max -> searchIndex.search(email, query, max));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Task> filter(String query, int limit, String email) {
+        if (!labelIndex.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Filtro por etiquetas desativado.");
+        }
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("O filtro não pode ser vazio.");
+        }
+        return fromIndex(limit, email, max -> labelIndex.filter(email, query, max));
+    }
+
+    public Map<String, Integer> getLabels(String email) {
+        if (!labelIndex.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Filtro por etiquetas desativado.");
+        }
+        writeAheadLog.awaitApplied();
+        return labelIndex.counts(email);
+    }
+
+    // Runs an in-memory index lookup of up to limit ids, then loads them with
+    // one read and returns the user's own, in the index's order.
+    private List<Task> fromIndex(int limit, String email, IntFunction<List<Long>> lookup) {
+        if (limit < 1 || limit > 100) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e 100.");
+        }
+        writeAheadLog.awaitApplied();
+        List<Long> ids = lookup.apply(limit);
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : taskStore.findAllById(ids)) {
+            if (task.getUser().getEmail().equals(email)) {
+                byId.put(task.getId(), task);
+            }
+        }
+        List<Task> tasks = new ArrayList<>(byId.size());
+        for (Long id : ids) {
+            Task task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+
+    private Long projectFor(Long projectId, String email) {
+        requireWithoutWriteAheadLog("Projetos não estão disponíveis");
+        return projectService.lockById(projectId, email).getId();
+    }
+
+    private Task parentFor(Long parentId, String email) {
+        requireWithoutWriteAheadLog("Subtarefas não estão disponíveis");
+        Task parent = taskStore.findById(parentId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tarefa pai não encontrada."));
+        if (!parent.getUser().getEmail().equals(email)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Usuário não autorizado.");
+        }
+        return parent;
+    }
+
+    private void requireDependencies() {
+        if (!dependencyGraph.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Dependências desativadas.");
+        }
+        requireWithoutWriteAheadLog("Dependências não estão disponíveis");
+    }
+
+    // The log replays tasks one at a time and knows nothing of paths,
+    // blockers or rebalanced columns, so none could be rebuilt from it.
+    private void requireWithoutWriteAheadLog(String feature) {
+        if (writeAheadLog.isEnabled()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, feature + " com o log de escrita ativo.");
+        }
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setStatus(task.getStatus());
+        copy.setCreationDate(task.getCreationDate());
+        copy.setLimitDate(task.getLimitDate());
+        copy.setLabels(task.getLabels());
+        copy.setBlockedBy(task.getBlockedBy());
+        copy.setParentId(task.getParentId());
+        copy.setPath(task.getPath());
+        copy.setSubtaskCount(task.getSubtaskCount());
+        copy.setSubtasksDone(task.getSubtasksDone());
+        copy.setRank(task.getRank());
+        copy.setShared(task.isShared());
+        copy.setVersion(task.getVersion());
+        copy.setProjectId(task.getProjectId());
+        copy.setUser(task.getUser());
+        return copy;
+    }
 }
@@ -0,0 +1,697 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.LabelsConverter;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Optional durable write path for task mutations. Each mutation is appended to
+ * a local log and acknowledged once the group commit holding it has been forced
+ * to disk; a background applier then writes the log to the database in batched
+ * transactions and {@link #recover()} replays it after a crash.
+ * <p>
+ * Writers that arrive while a force is in progress are grouped into the next
+ * one, so a burst costs one fsync per group instead of one commit per request.
+ * Reads call {@link #awaitApplied()} first to keep read-your-writes. Every
+ * record carries the full state it changes, which makes replaying any suffix
+ * of the log over a newer database end in the same state.
+ */
+@Service
+public class TaskWriteAheadLog implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskWriteAheadLog.class);
+    private static final byte INSERT = 1;
+    private static final byte UPDATE = 2;
+    private static final byte DELETE = 3;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_GROUP_SIZE = 1024;
+    private static final int TASK_LOCKS = 64;
+    // The widths of the task columns in db/migration.
+    private static final int MAX_TEXT_LENGTH = 255;
+    private static final int MAX_LABELS_LENGTH = 1000;
+    private static final long MIN_RETRY_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long MAX_RETRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final String[] SQL = {
+        null,
+        "merge into task (id, title, description, status, limit_date, labels, rank, creation_date, user_id) key (id) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+        "update task set title = ?, description = ?, status = ?, limit_date = ?, labels = ?, rank = coalesce(?, rank) "
+            + "where id = ?",
+        "delete from task where id = ?"
+    };
+
+    private final DataSource dataSource;
+    private final SnapshotService snapshotService;
+    private final boolean enabled;
+    private final Path directory;
+    private final long segmentSize;
+    private final int applyBatchSize;
+    private final Duration timeout;
+    private final BlockingQueue<Pending> appendQueue;
+    private final BlockingQueue<Pending> applyQueue = new LinkedBlockingQueue<>();
+    private final ConcurrentLinkedDeque<Segment> closedSegments = new ConcurrentLinkedDeque<>();
+    private final AtomicLong lastTaskId = new AtomicLong();
+    private final ReentrantLock appliedLock = new ReentrantLock();
+    private final Condition appliedChanged = appliedLock.newCondition();
+    private final ReentrantLock[] taskLocks = new ReentrantLock[TASK_LOCKS];
+
+    private volatile boolean running;
+    private volatile long durableLsn;
+    private volatile long appliedLsn;
+    private volatile Exception failure;
+    private boolean truncateWhenApplied;
+    private long segmentIndex;
+    private Path segment;
+    private FileChannel channel;
+    private Thread writer;
+    private Thread applier;
+
+    public TaskWriteAheadLog(DataSource dataSource, SnapshotService snapshotService,
+                             @Value("${wal.enabled:false}") boolean enabled,
+                             @Value("${wal.directory:data/wal}") Path directory,
+                             @Value("${wal.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${wal.queue-capacity:10000}") int queueCapacity,
+                             @Value("${wal.apply-batch-size:1000}") int applyBatchSize,
+                             @Value("${wal.timeout:5s}") Duration timeout) {
+        this.dataSource = dataSource;
+        this.snapshotService = snapshotService;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentSize = segmentSize.toBytes();
+        this.appendQueue = new ArrayBlockingQueue<>(queueCapacity);
+        this.applyBatchSize = applyBatchSize;
+        this.timeout = timeout;
+        for (int i = 0; i < TASK_LOCKS; i++) {
+            taskLocks[i] = new ReentrantLock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Runs a read-modify-write of one task with no other on the same task in
+     * between. The database version check cannot see a record still waiting
+     * to be applied, but a read after {@link #awaitApplied()} under this lock
+     * sees every record appended by the previous holder.
+     */
+    public <T> T withTaskLock(Long id, Supplier<T> action) {
+        ReentrantLock lock = taskLocks[Math.floorMod(Objects.hashCode(id), TASK_LOCKS)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recover() {
+        if (!enabled) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            Files.createDirectories(directory);
+            boolean durableDatabase = !connection.getMetaData().getURL().contains(":mem:");
+            truncateWhenApplied = durableDatabase || !snapshotService.isEnabled();
+            if (!durableDatabase && !snapshotService.isEnabled()) {
+                log.warn("Log de escrita ativo com banco em memória e sem snapshots: "
+                    + "as tarefas só sobrevivem a reinícios enquanto ainda não foram aplicadas");
+            }
+
+            List<Path> segments;
+            try (Stream<Path> files = Files.list(directory)) {
+                segments = files.filter(TaskWriteAheadLog::isSegment).sorted().toList();
+            }
+            int replayed = 0;
+            int discarded = 0;
+            for (Path path : segments) {
+                List<Record> records = read(path);
+                discarded += apply(connection, records);
+                replayed += records.size();
+                closedSegments.add(new Segment(path, 0));
+                segmentIndex = Math.max(segmentIndex, indexOf(path));
+            }
+
+            long maxId;
+            try (Statement statement = connection.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("select coalesce(max(id), 0) from task")) {
+                    rs.next();
+                    maxId = rs.getLong(1);
+                }
+                statement.execute("alter table task alter column id restart with " + (maxId + 1));
+            }
+            lastTaskId.set(maxId);
+            if (replayed > 0) {
+                log.info("Log de escrita {} reaplicado: {} registros em {} segmentos, {} descartados",
+                    directory, replayed, segments.size(), discarded);
+            }
+            openSegment();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Falha ao recuperar o log de escrita " + directory, e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao ler o log de escrita " + directory, e);
+        }
+
+        running = true;
+        writer = new Thread(this::writeLoop, "wal-writer");
+        applier = new Thread(this::applyLoop, "wal-applier");
+        writer.setDaemon(true);
+        applier.setDaemon(true);
+        writer.start();
+        applier.start();
+    }
+
+    public Task insert(Task task) {
+        checkFits(task);
+        task.setId(lastTaskId.incrementAndGet());
+        append(new Record(INSERT, task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+            task.getLimitDate(), LabelsConverter.join(task.getLabels()), task.getRank(), task.getCreationDate(),
+            task.getUser().getId()));
+        return task;
+    }
+
+    public Task update(Task task) {
+        checkFits(task);
+        append(new Record(UPDATE, task.getId(), task.getTitle(), task.getDescription(), task.getStatus(),
+            task.getLimitDate(), LabelsConverter.join(task.getLabels()), task.getRank(), null, null));
+        return task;
+    }
+
+    public void delete(Task task) {
+        append(new Record(DELETE, task.getId(), null, null, null, null, null, null, null, null));
+    }
+
+    // A record is acknowledged before the database sees it, so whatever the
+    // database would reject for its size has to be refused here.
+    private static void checkFits(Task task) {
+        if (length(task.getTitle()) > MAX_TEXT_LENGTH || length(task.getDescription()) > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("O título e a descrição devem ter no máximo " + MAX_TEXT_LENGTH + " caracteres.");
+        }
+        if (length(LabelsConverter.join(task.getLabels())) > MAX_LABELS_LENGTH) {
+            throw new IllegalArgumentException("As etiquetas devem ter no máximo " + MAX_LABELS_LENGTH + " caracteres.");
+        }
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    /**
+     * Blocks until every acknowledged mutation is visible in the database.
+     */
+    public void awaitApplied() {
+        long target = durableLsn;
+        if (appliedLsn >= target) {
+            return;
+        }
+        long nanos = timeout.toNanos();
+        appliedLock.lock();
+        try {
+            while (appliedLsn < target) {
+                if (failure != null) {
+                    throw new IllegalStateException("Log de escrita indisponível", failure);
+                }
+                if (nanos <= 0) {
+                    throw new IllegalStateException("Tempo esgotado aguardando a aplicação do log de escrita");
+                }
+                nanos = appliedChanged.awaitNanos(nanos);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando a aplicação do log de escrita", e);
+        } finally {
+            appliedLock.unlock();
+        }
+    }
+
+    // Segments can only go once the database state that contains them is
+    // durable: right away for a file database, after a snapshot for H2 in memory.
+    @Scheduled(fixedDelayString = "${wal.checkpoint-interval:30000}", initialDelayString = "${wal.checkpoint-interval:30000}")
+    public void checkpoint() {
+        if (!running && writer == null) {
+            return;
+        }
+        long applied = appliedLsn;
+        if (closedSegments.isEmpty() || !truncateWhenApplied && !snapshotService.checkpoint()) {
+            return;
+        }
+        for (Iterator<Segment> it = closedSegments.iterator(); it.hasNext(); ) {
+            Segment closed = it.next();
+            if (closed.lastLsn() > applied) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(closed.path());
+                it.remove();
+            } catch (IOException e) {
+                log.warn("Falha ao remover o segmento {}", closed.path(), e);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.join();
+        // Wakes the applier if it is waiting to retry a batch.
+        LockSupport.unpark(applier);
+        applier.join();
+        try {
+            channel.close();
+            closedSegments.add(new Segment(segment, durableLsn));
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o segmento {}", segment, e);
+        }
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("alter table task alter column id restart with " + (lastTaskId.get() + 1));
+        } catch (SQLException e) {
+            log.warn("Falha ao ajustar a identidade da tabela task", e);
+        }
+        checkpoint();
+    }
+
+    private void append(Record record) {
+        if (failure != null) {
+            throw new IllegalStateException("Log de escrita indisponível", failure);
+        }
+        Pending pending = new Pending(record, encode(record));
+        if (!running || !appendQueue.offer(pending)) {
+            throw new RejectedExecutionException("Fila do log de escrita cheia");
+        }
+        try {
+            pending.durable.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o log de escrita", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao gravar o log de escrita", e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Tempo esgotado aguardando o log de escrita", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<Pending> group = new ArrayList<>(MAX_GROUP_SIZE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        long lsn = 0;
+        while (running || !appendQueue.isEmpty()) {
+            try {
+                Pending first = appendQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                appendQueue.drainTo(group, MAX_GROUP_SIZE - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (failure != null) {
+                group.forEach(p -> p.durable.completeExceptionally(failure));
+                group.clear();
+                continue;
+            }
+            try {
+                int size = 0;
+                for (Pending pending : group) {
+                    size += pending.bytes.length;
+                }
+                if (buffer.capacity() < size) {
+                    buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(size) << 1);
+                }
+                buffer.clear();
+                for (Pending pending : group) {
+                    buffer.put(pending.bytes);
+                    pending.lsn = ++lsn;
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+
+                applyQueue.addAll(group);
+                durableLsn = lsn;
+                group.forEach(p -> p.durable.complete(null));
+                if (channel.position() >= segmentSize) {
+                    channel.close();
+                    closedSegments.add(new Segment(segment, lsn));
+                    openSegment();
+                }
+            } catch (IOException e) {
+                log.error("Falha ao gravar o log de escrita {}", segment, e);
+                failure = e;
+                group.forEach(p -> p.durable.completeExceptionally(e));
+            }
+            group.clear();
+        }
+    }
+
+    private void applyLoop() {
+        List<Pending> batch = new ArrayList<>(applyBatchSize);
+        List<Record> records = new ArrayList<>(applyBatchSize);
+        while (writer.isAlive() || !applyQueue.isEmpty()) {
+            try {
+                Pending first = applyQueue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                applyQueue.drainTo(batch, applyBatchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            batch.forEach(p -> records.add(p.record));
+            if (!applyWithRetry(records)) {
+                // The batch and everything after it stay in the log, which
+                // checkpoint() keeps, and the next recovery applies them.
+                return;
+            }
+
+            appliedLock.lock();
+            try {
+                appliedLsn = batch.get(batch.size() - 1).lsn;
+                appliedChanged.signalAll();
+            } finally {
+                appliedLock.unlock();
+            }
+            batch.clear();
+            records.clear();
+        }
+    }
+
+    /**
+     * Applies a batch, retrying with backoff while the database is unreachable.
+     * Records the database rejects are skipped and logged, as recovery does,
+     * so one bad record cannot hold back the ones after it. Returns false,
+     * leaving the batch unapplied, on shutdown.
+     */
+    private boolean applyWithRetry(List<Record> records) {
+        long delay = MIN_RETRY_NANOS;
+        while (true) {
+            try (Connection connection = dataSource.getConnection()) {
+                apply(connection, records);
+                return true;
+            } catch (SQLException e) {
+                if (!running) {
+                    log.warn("Log de escrita encerrado com {} registros por aplicar: {}", records.size(), e.getMessage());
+                    return false;
+                }
+                log.error("Falha ao aplicar {} registros do log de escrita; nova tentativa em {} ms",
+                    records.size(), TimeUnit.NANOSECONDS.toMillis(delay), e);
+                LockSupport.parkNanos(delay);
+                delay = Math.min(delay * 2, MAX_RETRY_NANOS);
+            }
+        }
+    }
+
+    // Data and constraint errors (SQLSTATE classes 22 and 23) fail the same
+    // way on every attempt.
+    private static boolean isRejected(SQLException e) {
+        String state = e.getSQLState();
+        return state != null && (state.startsWith("22") || state.startsWith("23"));
+    }
+
+    /**
+     * Applies the records in one transaction, grouping consecutive records of
+     * the same kind into a JDBC batch. A failed transaction is retried one
+     * record at a time, and the records the database rejects are skipped and
+     * logged; any other failure is thrown. Returns how many were skipped.
+     */
+    private static int apply(Connection connection, List<Record> records) throws SQLException {
+        if (records.isEmpty()) {
+            return 0;
+        }
+        connection.setAutoCommit(false);
+        PreparedStatement[] statements = new PreparedStatement[SQL.length];
+        try {
+            PreparedStatement current = null;
+            for (Record record : records) {
+                if (statements[record.op()] == null) {
+                    statements[record.op()] = connection.prepareStatement(SQL[record.op()]);
+                }
+                PreparedStatement statement = statements[record.op()];
+                if (current != null && current != statement) {
+                    current.executeBatch();
+                }
+                bind(statement, record);
+                statement.addBatch();
+                current = statement;
+            }
+            current.executeBatch();
+            connection.commit();
+            return 0;
+        } catch (SQLException e) {
+            connection.rollback();
+        } finally {
+            for (PreparedStatement statement : statements) {
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+            connection.setAutoCommit(true);
+        }
+
+        int discarded = 0;
+        for (Record record : records) {
+            try (PreparedStatement statement = connection.prepareStatement(SQL[record.op()])) {
+                bind(statement, record);
+                statement.executeUpdate();
+            } catch (SQLException e) {
+                if (!isRejected(e)) {
+                    throw e;
+                }
+                discarded++;
+                log.error("Registro do log de escrita recusado pelo banco e descartado: {}", record, e);
+            }
+        }
+        return discarded;
+    }
+
+    private static void bind(PreparedStatement statement, Record record) throws SQLException {
+        if (record.op() == DELETE) {
+            statement.setLong(1, record.taskId());
+            return;
+        }
+        int index = record.op() == INSERT ? 2 : 1;
+        statement.setString(index++, record.title());
+        statement.setString(index++, record.description());
+        statement.setString(index++, record.status() == null ? null : record.status().name());
+        statement.setDate(index++, record.limitDate() == null ? null : Date.valueOf(record.limitDate()));
+        statement.setString(index++, record.labels());
+        if (record.op() == INSERT) {
+            // Records written before ranks existed keep the creation order.
+            statement.setString(index++, record.rank() == null ? RankKeys.legacy(record.taskId()) : record.rank());
+            statement.setLong(1, record.taskId());
+            statement.setDate(index++, record.creationDate() == null ? null : Date.valueOf(record.creationDate()));
+            statement.setLong(index, record.userId());
+        } else {
+            statement.setString(index++, record.rank());
+            statement.setLong(index, record.taskId());
+        }
+    }
+
+    private void openSegment() throws IOException {
+        segment = directory.resolve(String.format("wal-%020d.log", ++segmentIndex));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        // Forcing the directory makes the new file itself survive a crash.
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            log.debug("Não foi possível sincronizar o diretório {}", directory, e);
+        }
+    }
+
+    /**
+     * Reads every complete record of a segment. A torn or corrupted tail, left
+     * by a crash in the middle of a group commit, was never acknowledged, so it
+     * is cut off.
+     */
+    private static List<Record> read(Path path) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        List<Record> records = new ArrayList<>();
+        CRC32C crc = new CRC32C();
+        while (buffer.remaining() >= HEADER_SIZE) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.array(), buffer.position(), length);
+            if ((int) crc.getValue() != checksum) {
+                buffer.position(start);
+                break;
+            }
+            records.add(decode(buffer.array(), buffer.position(), length));
+            buffer.position(buffer.position() + length);
+        }
+        if (buffer.hasRemaining()) {
+            log.warn("Segmento {} truncado em {} bytes: registro incompleto ou corrompido", path, buffer.position());
+            try (FileChannel truncate = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                truncate.truncate(buffer.position());
+                truncate.force(false);
+            }
+        }
+        return records;
+    }
+
+    private static byte[] encode(Record record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(0);
+            out.writeInt(0);
+            out.writeByte(record.op());
+            out.writeLong(record.taskId());
+            if (record.op() != DELETE) {
+                writeString(out, record.title());
+                writeString(out, record.description());
+                writeString(out, record.status() == null ? null : record.status().name());
+                writeDate(out, record.limitDate());
+            }
+            if (record.op() == INSERT) {
+                writeDate(out, record.creationDate());
+                out.writeLong(record.userId());
+            }
+            if (record.op() != DELETE) {
+                writeString(out, record.labels());
+                writeString(out, record.rank());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        byte[] frame = bytes.toByteArray();
+        CRC32C crc = new CRC32C();
+        crc.update(frame, HEADER_SIZE, frame.length - HEADER_SIZE);
+        ByteBuffer.wrap(frame).putInt(frame.length - HEADER_SIZE).putInt((int) crc.getValue());
+        return frame;
+    }
+
+    private static Record decode(byte[] bytes, int offset, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, offset, length));
+        byte op = in.readByte();
+        long taskId = in.readLong();
+        if (op == DELETE) {
+            return new Record(op, taskId, null, null, null, null, null, null, null, null);
+        }
+        String title = readString(in);
+        String description = readString(in);
+        String status = readString(in);
+        LocalDate limitDate = readDate(in);
+        LocalDate creationDate = op == INSERT ? readDate(in) : null;
+        Long userId = op == INSERT ? in.readLong() : null;
+        // Records written before labels existed end here.
+        String labels = in.available() > 0 ? readString(in) : null;
+        String rank = in.available() > 0 ? readString(in) : null;
+        return new Record(op, taskId, title, description, status == null ? null : Status.valueOf(status),
+            limitDate, labels, rank, creationDate, userId);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeDate(DataOutputStream out, LocalDate value) throws IOException {
+        out.writeLong(value == null ? Long.MIN_VALUE : value.toEpochDay());
+    }
+
+    private static LocalDate readDate(DataInputStream in) throws IOException {
+        long epochDay = in.readLong();
+        return epochDay == Long.MIN_VALUE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith("wal-") && name.endsWith(".log");
+    }
+
+    private static long indexOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("wal-".length(), name.length() - ".log".length()));
+    }
+
+    private record Record(byte op, long taskId, String title, String description, Status status,
+                          LocalDate limitDate, String labels, String rank, LocalDate creationDate, Long userId) {
+    }
+
+    private record Segment(Path path, long lastLsn) {
+    }
+
+    private static final class Pending {
+        private final Record record;
+        private final byte[] bytes;
+        private final CompletableFuture<Void> durable = new CompletableFuture<>();
+        private long lsn;
+
+        private Pending(Record record, byte[] bytes) {
+            this.record = record;
+            this.bytes = bytes;
+        }
+    }
+}
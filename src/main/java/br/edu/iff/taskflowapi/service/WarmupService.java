@@ -0,0 +1,205 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.dto.LoginRequest;
+import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.dto.UserRequest;
+import br.edu.iff.taskflowapi.filter.RateLimitFilter;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Drives the API over the local port before the instance is marked ready, so
+ * the JWT filter, controllers, Jackson and BCrypt are compiled by the JIT
+ * before real traffic arrives. Spring Boot only publishes
+ * {@code ACCEPTING_TRAFFIC} after the ready listeners return, so the readiness
+ * probe keeps the instance out of rotation while this runs.
+ */
+@Service
+public class WarmupService implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupService.class);
+    private static final int BASE_TASKS = 10;
+
+    private final RateLimitService rateLimitService;
+    private final UserRepository userRepository;
+    private final TaskStore taskStore;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Duration duration;
+    private final int iterations;
+    private final int logins;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private volatile Result lastResult;
+
+    public WarmupService(RateLimitService rateLimitService, UserRepository userRepository,
+                         TaskStore taskStore, ObjectMapper objectMapper,
+                         @Value("${warmup.enabled:false}") boolean enabled,
+                         @Value("${warmup.duration:30s}") Duration duration,
+                         @Value("${warmup.iterations:2000}") int iterations,
+                         @Value("${warmup.logins:20}") int logins) {
+        this.rateLimitService = rateLimitService;
+        this.userRepository = userRepository;
+        this.taskStore = taskStore;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.duration = duration;
+        this.iterations = iterations;
+        this.logins = logins;
+    }
+
+    public Result getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext context)) {
+            return;
+        }
+        String baseUrl = "http://localhost:" + context.getWebServer().getPort();
+        String email = "warmup-" + UUID.randomUUID() + "@warmup.local";
+
+        try {
+            lastResult = run(baseUrl, email);
+            log.info("Aquecimento concluído: {} iterações em {} ms, {} falhas; p99 das primeiras requisições {} ms, das últimas {} ms",
+                lastResult.iterations(), lastResult.elapsed().toMillis(), lastResult.failures(),
+                String.format("%.1f", lastResult.firstP99Millis()), String.format("%.1f", lastResult.lastP99Millis()));
+        } catch (IOException e) {
+            log.warn("Aquecimento interrompido: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            userRepository.findByEmail(email).ifPresent(user -> {
+                taskStore.deleteAll(taskStore.findByUserEmail(email));
+                userRepository.delete(user);
+            });
+        }
+    }
+
+    private Result run(String baseUrl, String email) throws IOException, InterruptedException {
+        String password = UUID.randomUUID().toString();
+        UserRequest userRequest = new UserRequest();
+        userRequest.setName("Warm-up");
+        userRequest.setEmail(email);
+        userRequest.setPassword(password);
+        send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/signup")), "POST", userRequest, null);
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+        String token = login(baseUrl, loginRequest);
+
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTitle("Warm-up");
+        taskRequest.setDescription("Tarefa criada durante o aquecimento");
+        taskRequest.setLimitDate(LocalDate.now().plusDays(1).toString());
+        for (int i = 0; i < BASE_TASKS; i++) {
+            send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/task")), "POST", taskRequest, token);
+        }
+
+        long[] latencies = new long[iterations * 5];
+        int samples = 0;
+        int failures = 0;
+        int loginEvery = logins > 0 ? Math.max(1, iterations / logins) : 0;
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        int iteration = 0;
+        for (; iteration < iterations && System.nanoTime() - deadline < 0; iteration++) {
+            if (loginEvery > 0 && iteration % loginEvery == 0) {
+                token = login(baseUrl, loginRequest);
+            }
+
+            long t0 = System.nanoTime();
+            HttpResponse<String> created = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/task")), "POST", taskRequest, token);
+            long t1 = System.nanoTime();
+            if (created.statusCode() != 201) {
+                failures++;
+                continue;
+            }
+            JsonNode task = objectMapper.readTree(created.body());
+            String taskUrl = baseUrl + "/api/task/" + task.get("id").asLong();
+
+            HttpResponse<String> fetched = send(HttpRequest.newBuilder(URI.create(taskUrl)), "GET", null, token);
+            long t2 = System.nanoTime();
+            HttpResponse<String> listed = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/task/all")), "GET", null, token);
+            long t3 = System.nanoTime();
+            ((ObjectNode) task).put("status", "IN_PROGRESS");
+            HttpResponse<String> updated = send(HttpRequest.newBuilder(URI.create(taskUrl)), "PUT", task, token);
+            long t4 = System.nanoTime();
+            HttpResponse<String> deleted = send(HttpRequest.newBuilder(URI.create(taskUrl)), "DELETE", null, token);
+            long t5 = System.nanoTime();
+
+            if (fetched.statusCode() != 200 || listed.statusCode() != 200 || updated.statusCode() != 200
+                || deleted.statusCode() != 204) {
+                failures++;
+            }
+            latencies[samples++] = t1 - t0;
+            latencies[samples++] = t2 - t1;
+            latencies[samples++] = t3 - t2;
+            latencies[samples++] = t4 - t3;
+            latencies[samples++] = t5 - t4;
+        }
+
+        int window = Math.max(1, samples / 10);
+        return new Result(iteration, failures, Duration.ofNanos(System.nanoTime() - start),
+            p99Millis(latencies, 0, Math.min(window, samples)), p99Millis(latencies, Math.max(0, samples - window), samples));
+    }
+
+    private String login(String baseUrl, LoginRequest loginRequest) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login")),
+            "POST", loginRequest, null);
+        if (response.statusCode() != 200) {
+            throw new IOException("login retornou " + response.statusCode());
+        }
+        return "Bearer " + objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder builder, String method, Object body, String token)
+        throws IOException, InterruptedException {
+        builder.method(method, body == null ? HttpRequest.BodyPublishers.noBody()
+            : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        if (body != null) {
+            builder.header("Content-Type", "application/json");
+        }
+        if (token != null) {
+            builder.header("Authorization", token);
+        }
+        // The quotas would throttle the warm-up and charge the loopback
+        // address, so its own requests skip them; everyone else's still count.
+        builder.header(RateLimitFilter.EXEMPTION_HEADER, rateLimitService.getExemptionToken());
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static double p99Millis(long[] latencies, int from, int to) {
+        if (to <= from) {
+            return 0;
+        }
+        long[] window = Arrays.copyOfRange(latencies, from, to);
+        Arrays.sort(window);
+        return window[(int) Math.ceil(window.length * 0.99) - 1] / 1e6;
+    }
+
+    public record Result(int iterations, int failures, Duration elapsed, double firstP99Millis, double lastP99Millis) {
+    }
+}
@@ -0,0 +1,33 @@
+create sequence app_user_seq start with 1 increment by 50;
+
+create table app_user (
+    id bigint not null,
+    name varchar(255),
+    email varchar(255) unique,
+    password varchar(255),
+    primary key (id)
+);
+
+create table task (
+    id bigint generated by default as identity,
+    title varchar(255),
+    description varchar(255),
+    status varchar(255) check (status in ('OPEN', 'IN_PROGRESS', 'DONE')),
+    creation_date date,
+    limit_date date,
+    user_id bigint,
+    primary key (id),
+    constraint fk_task_user foreign key (user_id) references app_user
+);
+
+create index idx_task_user on task (user_id);
+
+create table idempotency_record (
+    record_key varchar(512) not null,
+    status integer not null,
+    content_type varchar(255),
+    location varchar(255),
+    body blob,
+    created_at timestamp(6) with time zone,
+    primary key (record_key)
+);
@@ -0,0 +1 @@
+alter table task add column blocked_by varchar(1000);
@@ -0,0 +1,5 @@
+-- Existing tasks keep their creation order, below the keys of new tasks.
+alter table task add column rank varchar(64) default 'U' not null;
+update task set rank = rtrim(concat('U', lpad(cast(id as varchar), 19, '0')), '0');
+
+create index idx_task_user_status_rank on task (user_id, status, rank);
@@ -0,0 +1,16 @@
+-- Tasks may live in another database (sharded profile), so there is no
+-- foreign key to task. The owner is kept to find the shard of a shared task.
+create table task_share (
+    user_id bigint not null,
+    task_id bigint not null,
+    owner_id bigint not null,
+    level varchar(255) not null check (level in ('READ', 'WRITE')),
+    primary key (user_id, task_id),
+    constraint fk_task_share_user foreign key (user_id) references app_user
+);
+
+create index idx_task_share_task on task_share (task_id);
+
+-- Set once a task is shared, so deleting a task that never was skips the
+-- shares.
+alter table task add column shared boolean default false not null;
@@ -0,0 +1,20 @@
+-- The counters are changed only by increments, so concurrent task writes
+-- never overwrite each other's.
+create table project (
+    id bigint generated by default as identity,
+    name varchar(255) not null,
+    user_id bigint not null,
+    task_count integer default 0 not null,
+    open_count integer default 0 not null,
+    in_progress_count integer default 0 not null,
+    done_count integer default 0 not null,
+    primary key (id),
+    constraint fk_project_user foreign key (user_id) references app_user
+);
+
+create index idx_project_user on project (user_id);
+
+-- A project's tasks, and each of its status columns, are one range.
+alter table task add column project_id bigint;
+alter table task add constraint fk_task_project foreign key (project_id) references project;
+create index idx_task_project_status_rank on task (project_id, status, rank);
@@ -0,0 +1 @@
+alter table idempotency_record add column request_hash varchar(64);
@@ -0,0 +1,2 @@
+-- Optimistic locking: a save based on a stale read matches no row.
+alter table task add column version bigint default 0 not null;
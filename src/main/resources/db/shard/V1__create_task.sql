@@ -0,0 +1,14 @@
+create sequence task_seq start with 1 increment by 64;
+
+create table task (
+    id bigint not null,
+    title varchar(255),
+    description varchar(255),
+    status varchar(255) check (status in ('OPEN', 'IN_PROGRESS', 'DONE')),
+    creation_date date,
+    limit_date date,
+    user_id bigint not null,
+    primary key (id)
+);
+
+create index idx_task_user on task (user_id, id);
@@ -0,0 +1 @@
+alter table task add column labels varchar(1000);
@@ -0,0 +1,6 @@
+alter table task add column parent_id bigint;
+alter table task add column path varchar(2000) default '' not null;
+alter table task add column subtask_count integer default 0 not null;
+alter table task add column subtasks_done integer default 0 not null;
+
+create index idx_task_user_path on task (user_id, path);
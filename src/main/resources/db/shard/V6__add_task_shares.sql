@@ -0,0 +1,2 @@
+-- Set once a task is shared; the shares themselves stay in the main database.
+alter table task add column shared boolean default false not null;
@@ -0,0 +1,3 @@
+-- Projects stay in the main database, with their owners.
+alter table task add column project_id bigint;
+create index idx_task_project_status_rank on task (project_id, status, rank);
@@ -0,0 +1,121 @@
+package br.edu.iff.taskflowapi.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table marker (name varchar(20))");
+        jdbcTemplate.update("insert into marker values (?)", name);
+        return dataSource;
+    }
+
+    private void route(Duration stickiness, Duration maxLag, boolean trackLag) {
+        routing = new ReplicaRoutingDataSource(database("primary"), List.of(database("replica0"), database("replica1")),
+            stickiness, maxLag, trackLag);
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    private String read() {
+        return readOnly.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+    }
+
+    private String write() {
+        return readWrite.execute(status -> jdbcTemplate.queryForObject("select name from marker", String.class));
+    }
+
+    private void replicateAll() {
+        long now = System.nanoTime();
+        routing.replicated(0, now);
+        routing.replicated(1, now);
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null, "ROLE_USER"));
+    }
+
+    @Test
+    void readOnlyTransactions_goRoundRobinToReplicas_andWritesToPrimary() {
+        route(Duration.ofSeconds(5), Duration.ofSeconds(5), true);
+        replicateAll();
+
+        assertThat(List.of(read(), read(), read(), read())).containsExactlyInAnyOrder(
+            "replica0", "replica1", "replica0", "replica1");
+        assertThat(write()).isEqualTo("primary");
+        assertThat(jdbcTemplate.queryForObject("select name from marker", String.class)).isEqualTo("primary");
+    }
+
+    @Test
+    void replicasNeverSynchronized_areSkipped() {
+        route(Duration.ofSeconds(5), Duration.ofHours(1), true);
+
+        assertThat(read()).isEqualTo("primary");
+    }
+
+    @Test
+    void afterAWrite_thatUsersReadsStickToPrimary_othersStillUseReplicas() {
+        route(Duration.ofHours(1), Duration.ofHours(1), true);
+        replicateAll();
+        authenticate("ana@example.com");
+
+        write();
+
+        assertThat(read()).isEqualTo("primary");
+        authenticate("bia@example.com");
+        assertThat(read()).startsWith("replica");
+    }
+
+    @Test
+    void replicaBehindByMoreThanMaxLag_isSkippedUntilItCatchesUp() {
+        route(Duration.ofHours(1), Duration.ZERO, true);
+        replicateAll();
+        assertThat(read()).startsWith("replica");
+
+        write();
+
+        assertThat(read()).isEqualTo("primary");
+        replicateAll();
+        assertThat(read()).startsWith("replica");
+    }
+
+    @Test
+    void withoutLagTracking_replicasAreUsedRightAway() {
+        route(Duration.ofHours(1), Duration.ZERO, false);
+        write();
+
+        assertThat(read()).startsWith("replica");
+    }
+}
@@ -1,6 +1,12 @@
 package br.edu.iff.taskflowapi.controller;
 
+import br.edu.iff.taskflowapi.dto.ParentRequest;
+import br.edu.iff.taskflowapi.dto.PositionRequest;
+import br.edu.iff.taskflowapi.dto.ShareRequest;
+import br.edu.iff.taskflowapi.dto.ShareResponse;
+import br.edu.iff.taskflowapi.dto.TaskProjectRequest;
 import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.AccessLevel;
 import br.edu.iff.taskflowapi.model.Status;
 import br.edu.iff.taskflowapi.model.Task;
 import br.edu.iff.taskflowapi.security.JwtService;
@@ -86,6 +92,30 @@ class TaskControllerTest {
         verify(taskService, times(1)).getById(task.getId(), email);
     }
 
+    // =============================
+    // search Tests
+    // =============================
+    @Test
+    void search_returnsMatchingTasks() {
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.search("test", 20, email)).thenReturn(Collections.singletonList(task));
+        ResponseEntity<List<Task>> response = taskController.search(token, "test", 20);
+        assertThat(response.getBody()).containsExactly(task);
+        verify(taskService, times(1)).search("test", 20, email);
+    }
+
+    // =============================
+    // filter Tests
+    // =============================
+    @Test
+    void filter_returnsMatchingTasks() {
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.filter("casa OR trabalho", 50, email)).thenReturn(Collections.singletonList(task));
+        ResponseEntity<List<Task>> response = taskController.filter(token, "casa OR trabalho", 50);
+        assertThat(response.getBody()).containsExactly(task);
+        verify(taskService, times(1)).filter("casa OR trabalho", 50, email);
+    }
+
     // =============================
     // save Tests
     // =============================
@@ -114,6 +144,61 @@ class TaskControllerTest {
         verify(taskService, times(1)).updateTask(any(Task.class), eq(email));
     }
 
+    // =============================
+    // subtask Tests
+    // =============================
+    @Test
+    void subtree_returnsTaskAndDescendants() {
+        Task child = new Task();
+        child.setId(2L);
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.getSubtree(task.getId(), email)).thenReturn(List.of(task, child));
+        ResponseEntity<List<Task>> response = taskController.subtree(token, task.getId());
+        assertThat(response.getBody()).containsExactly(task, child);
+    }
+
+    @Test
+    void move_returnsMovedTask() {
+        ParentRequest parentRequest = new ParentRequest();
+        parentRequest.setParentId(7L);
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.moveTask(task.getId(), 7L, email)).thenReturn(task);
+        ResponseEntity<Task> response = taskController.move(token, parentRequest, task.getId());
+        assertThat(response.getBody()).isEqualTo(task);
+        verify(taskService, times(1)).moveTask(task.getId(), 7L, email);
+    }
+
+    @Test
+    void moveToProject_returnsMovedTask() {
+        TaskProjectRequest projectRequest = new TaskProjectRequest();
+        projectRequest.setProjectId(4L);
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.moveToProject(task.getId(), 4L, email)).thenReturn(task);
+        ResponseEntity<Task> response = taskController.moveToProject(token, projectRequest, task.getId());
+        assertThat(response.getBody()).isEqualTo(task);
+        verify(taskService, times(1)).moveToProject(task.getId(), 4L, email);
+    }
+
+    // =============================
+    // dependency Tests
+    // =============================
+    @Test
+    void actionable_returnsReadyTasks() {
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.getActionable(50, email)).thenReturn(Collections.singletonList(task));
+        ResponseEntity<List<Task>> response = taskController.actionable(token, 50);
+        assertThat(response.getBody()).containsExactly(task);
+    }
+
+    @Test
+    void addBlocker_returnsBlockedTask() {
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.addBlocker(task.getId(), 2L, email)).thenReturn(task);
+        ResponseEntity<Task> response = taskController.addBlocker(token, task.getId(), 2L);
+        assertThat(response.getBody()).isEqualTo(task);
+        verify(taskService, times(1)).addBlocker(task.getId(), 2L, email);
+    }
+
     // =============================
     // delete Tests
     // =============================
@@ -173,4 +258,49 @@ class TaskControllerTest {
             .isInstanceOf(RuntimeException.class)
             .hasMessage("fail");
     }
-} 
\ No newline at end of file
+
+    // =============================
+    // ordering Tests
+    // =============================
+    @Test
+    void column_returnsTasksInRankOrder() {
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.getColumn(Status.IN_PROGRESS, email)).thenReturn(Collections.singletonList(task));
+        ResponseEntity<List<Task>> response = taskController.column(token, Status.IN_PROGRESS);
+        assertThat(response.getBody()).containsExactly(task);
+    }
+
+    @Test
+    void position_returnsPlacedTask() {
+        PositionRequest positionRequest = new PositionRequest();
+        positionRequest.setStatus(Status.DONE);
+        positionRequest.setAfterId(3L);
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.positionTask(task.getId(), Status.DONE, 3L, email)).thenReturn(task);
+        ResponseEntity<Task> response = taskController.position(token, positionRequest, task.getId());
+        assertThat(response.getBody()).isEqualTo(task);
+    }
+
+    // =============================
+    // sharing Tests
+    // =============================
+    @Test
+    void share_returnsEveryoneTheTaskIsSharedWith() {
+        ShareRequest shareRequest = new ShareRequest();
+        shareRequest.setEmail("other@example.com");
+        shareRequest.setLevel(AccessLevel.READ);
+        List<ShareResponse> shares = List.of(new ShareResponse("other@example.com", AccessLevel.READ));
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        when(taskService.shareTask(task.getId(), shareRequest, email)).thenReturn(shares);
+        ResponseEntity<List<ShareResponse>> response = taskController.share(token, shareRequest, task.getId());
+        assertThat(response.getBody()).isEqualTo(shares);
+    }
+
+    @Test
+    void unshare_returnsNoContent() {
+        when(jwtService.getEmailFromToken(token)).thenReturn(email);
+        ResponseEntity<Void> response = taskController.unshare(token, task.getId(), "other@example.com");
+        assertThat(response.getStatusCode().value()).isEqualTo(204);
+        verify(taskService).unshareTask(task.getId(), "other@example.com", email);
+    }
+}
@@ -4,6 +4,7 @@ import br.edu.iff.taskflowapi.dto.LoginRequest;
 import br.edu.iff.taskflowapi.dto.UserRequest;
 import br.edu.iff.taskflowapi.model.User;
 import br.edu.iff.taskflowapi.repository.UserRepository;
+import br.edu.iff.taskflowapi.support.SqlStatementCounter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -54,6 +55,35 @@ class AuthenticationIntegrationTest {
         userRepository.findByEmail(email).ifPresent(userRepository::delete);
     }
 
+    @Test
+    void signup_looksUpEmailAndInsertsUser() throws Exception {
+        userRepository.findByEmail(email).ifPresent(userRepository::delete);
+        UserRequest userRequest = new UserRequest();
+        userRequest.setName("Integration User");
+        userRequest.setEmail(email);
+        userRequest.setPassword(password);
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequest)))
+            .andExpect(status().isOk());
+        SqlStatementCounter.assertQueryCount(2);
+    }
+
+    @Test
+    void signup_withExistingEmail_stopsAfterLookup() throws Exception {
+        UserRequest userRequest = new UserRequest();
+        userRequest.setName("Integration User");
+        userRequest.setEmail(email);
+        userRequest.setPassword(password);
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequest)))
+            .andExpect(status().is4xxClientError());
+        SqlStatementCounter.assertStatementCount(1);
+    }
+
     // =============================
     // Login Integration Tests
     // =============================
@@ -62,11 +92,13 @@ class AuthenticationIntegrationTest {
         LoginRequest loginRequest = new LoginRequest();
         loginRequest.setEmail(email);
         loginRequest.setPassword(password);
+        SqlStatementCounter.reset();
         mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.token").exists());
+        SqlStatementCounter.assertStatementCount(1);
     }
 
     @Test
@@ -74,10 +106,12 @@ class AuthenticationIntegrationTest {
         LoginRequest loginRequest = new LoginRequest();
         loginRequest.setEmail(email);
         loginRequest.setPassword("wrongpassword");
+        SqlStatementCounter.reset();
         mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
             .andExpect(status().is4xxClientError());
+        SqlStatementCounter.assertStatementCount(1);
     }
 
     @Test
@@ -85,9 +119,11 @@ class AuthenticationIntegrationTest {
         LoginRequest loginRequest = new LoginRequest();
         loginRequest.setEmail("notfound@example.com");
         loginRequest.setPassword("irrelevant");
+        SqlStatementCounter.reset();
         mockMvc.perform(post("/api/auth/login")
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(loginRequest)))
             .andExpect(status().is4xxClientError());
+        SqlStatementCounter.assertStatementCount(1);
     }
 }
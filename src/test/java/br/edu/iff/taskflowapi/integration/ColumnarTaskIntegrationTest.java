@@ -0,0 +1,35 @@
+package br.edu.iff.taskflowapi.integration;
+
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.support.TaskStoreIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:columnar")
+@ActiveProfiles("columnar")
+class ColumnarTaskIntegrationTest extends TaskStoreIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void tasks_areKeptInMemory_outsideTheDatabase() throws Exception {
+        String token = signupAndLogin("columnar-" + UUID.randomUUID() + "@example.com");
+        Task task = createTask(token, "Columnar Task");
+
+        mockMvc.perform(get("/api/task/" + task.getId())
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Columnar Task"));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from task", Long.class)).isZero();
+    }
+}
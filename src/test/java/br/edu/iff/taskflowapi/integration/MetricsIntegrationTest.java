@@ -0,0 +1,82 @@
+package br.edu.iff.taskflowapi.integration;
+
+import br.edu.iff.taskflowapi.dto.LoginRequest;
+import br.edu.iff.taskflowapi.dto.UserRequest;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private UserRepository userRepository;
+
+    private String email = "metricsintegration@example.com";
+    private String password = "password";
+
+    @AfterEach
+    void tearDown() {
+        userRepository.findByEmail(email).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void prometheusEndpoint_withoutToken_exposesHotPathMetrics() throws Exception {
+        UserRequest userRequest = new UserRequest();
+        userRequest.setName("Metrics Integration User");
+        userRequest.setEmail(email);
+        userRequest.setPassword(password);
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequest)))
+            .andExpect(status().isOk());
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+            .andExpect(status().isOk())
+            .andReturn();
+        String token = "Bearer " + objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("token").asText();
+        mockMvc.perform(get("/api/task/all")
+                .header("Authorization", token))
+            .andExpect(status().isOk());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(metrics)
+            .contains("http_server_requests_seconds_bucket{")
+            .contains("uri=\"/api/task/all\"")
+            .contains("jwt_encode_seconds_bucket{")
+            .contains("jwt_verify_seconds_count{")
+            .contains("password_encode_seconds_count{")
+            .contains("password_matches_seconds_bucket{")
+            .contains("spring_data_repository_invocations_seconds_bucket{")
+            .contains("hikaricp_connections_active{")
+            .contains("executor_queued_tasks{")
+            .contains("idempotency_lookups_total{")
+            .contains("concurrency_limit{");
+    }
+}
@@ -0,0 +1,257 @@
+package br.edu.iff.taskflowapi.integration;
+
+import br.edu.iff.taskflowapi.dto.LoginRequest;
+import br.edu.iff.taskflowapi.dto.LoginResponse;
+import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.dto.UserRequest;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:reactive",
+    "reactive.r2dbc.url=r2dbc:h2:mem:///reactive",
+    "server.shutdown=immediate"
+})
+@ActiveProfiles("reactive")
+class ReactiveTaskIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String password = "password";
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = signupAndLogin("reactive-" + UUID.randomUUID() + "@example.com");
+    }
+
+    @Test
+    void create_getAll_getById_update_delete_flow() {
+        // create
+        Task createdTask = webTestClient.post().uri("/api/task")
+            .header("Authorization", token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(taskRequest("Reactive Task"))
+            .exchange()
+            .expectStatus().isCreated()
+            .expectHeader().exists("Location")
+            .expectBody(Task.class)
+            .returnResult().getResponseBody();
+        assertThat(createdTask.getId()).isNotNull();
+        assertThat(createdTask.getTitle()).isEqualTo("Reactive Task");
+        assertThat(createdTask.getStatus()).isEqualTo(Status.OPEN);
+        assertThat(createdTask.getCreationDate()).isEqualTo(LocalDate.now());
+        assertThat(createdTask.getLimitDate()).isEqualTo(LocalDate.parse("2025-09-22"));
+
+        // get all
+        webTestClient.get().uri("/api/task/all")
+            .header("Authorization", token)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBodyList(Task.class)
+            .value(tasks -> assertThat(tasks).extracting(Task::getId).containsExactly(createdTask.getId()));
+
+        // get by id
+        webTestClient.get().uri("/api/task/" + createdTask.getId())
+            .header("Authorization", token)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Task.class)
+            .value(task -> assertThat(task.getTitle()).isEqualTo("Reactive Task"));
+
+        // update
+        createdTask.setTitle("Updated Title");
+        createdTask.setStatus(Status.DONE);
+        webTestClient.put().uri("/api/task/" + createdTask.getId())
+            .header("Authorization", token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(createdTask)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Task.class)
+            .value(task -> {
+                assertThat(task.getTitle()).isEqualTo("Updated Title");
+                assertThat(task.getStatus()).isEqualTo(Status.DONE);
+            });
+
+        // delete
+        webTestClient.delete().uri("/api/task/" + createdTask.getId())
+            .header("Authorization", token)
+            .exchange()
+            .expectStatus().isNoContent();
+        webTestClient.get().uri("/api/task/" + createdTask.getId())
+            .header("Authorization", token)
+            .exchange()
+            .expectStatus().isNotFound();
+    }
+
+    @Test
+    void getAll_asNdjson_streamsEachTask() {
+        for (int i = 0; i < 3; i++) {
+            webTestClient.post().uri("/api/task")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(taskRequest("Task " + i))
+                .exchange()
+                .expectStatus().isCreated();
+        }
+
+        Flux<Task> tasks = webTestClient.get().uri("/api/task/all")
+            .header("Authorization", token)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Task.class)
+            .getResponseBody();
+
+        StepVerifier.create(tasks.map(Task::getTitle), 1)
+            .expectNext("Task 0")
+            .thenRequest(2)
+            .expectNext("Task 1", "Task 2")
+            .verifyComplete();
+    }
+
+    @Test
+    void getById_fromAnotherUser_returnsForbidden() {
+        Task task = webTestClient.post().uri("/api/task")
+            .header("Authorization", token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(taskRequest("Private Task"))
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody(Task.class)
+            .returnResult().getResponseBody();
+
+        String otherToken = signupAndLogin("reactive-other-" + UUID.randomUUID() + "@example.com");
+        webTestClient.get().uri("/api/task/" + task.getId())
+            .header("Authorization", otherToken)
+            .exchange()
+            .expectStatus().isForbidden();
+    }
+
+    @Test
+    void subtaskWrites_thatWouldLeaveTheCountersStale_areRefused() {
+        Task parent = createTask("Pai");
+        Task child = createTask("Filha");
+        jdbcTemplate.update("update task set parent_id = ?, path = ? where id = ?",
+            parent.getId(), "/" + parent.getId() + "/", child.getId());
+        jdbcTemplate.update("update task set subtask_count = 1 where id = ?", parent.getId());
+
+        child.setStatus(Status.DONE);
+        update(child).expectStatus().isEqualTo(409);
+        child.setStatus(Status.OPEN);
+        child.setTitle("Renomeada");
+        update(child).expectStatus().isOk();
+        assertThat(jdbcTemplate.queryForObject("select version from task where id = ?", Long.class, child.getId()))
+            .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select subtask_count from task where id = ?", Integer.class,
+            parent.getId())).isEqualTo(1);
+
+        for (Task task : new Task[] {parent, child}) {
+            webTestClient.delete().uri("/api/task/" + task.getId())
+                .header("Authorization", token)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+        }
+    }
+
+    @Test
+    void projectTaskWrites_thatWouldLeaveTheCountersStale_areRefused() {
+        Task task = createTask("Do projeto");
+        jdbcTemplate.update("insert into project (name, user_id, task_count, open_count) "
+            + "select 'Projeto', user_id, 1, 1 from task where id = ?", task.getId());
+        jdbcTemplate.update("update task set project_id = (select max(id) from project) where id = ?", task.getId());
+
+        task.setStatus(Status.IN_PROGRESS);
+        update(task).expectStatus().isEqualTo(409);
+        webTestClient.delete().uri("/api/task/" + task.getId())
+            .header("Authorization", token)
+            .exchange()
+            .expectStatus().isEqualTo(409);
+        assertThat(jdbcTemplate.queryForObject("select open_count from project where id = "
+            + "(select project_id from task where id = ?)", Integer.class, task.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void unauthorized_access_returns401() {
+        webTestClient.get().uri("/api/task/all")
+            .exchange()
+            .expectStatus().isUnauthorized();
+        webTestClient.get().uri("/api/task/all")
+            .header("Authorization", "Bearer invalid.token")
+            .exchange()
+            .expectStatus().isUnauthorized()
+            .expectBody().jsonPath("$.error").isEqualTo("401 UNAUTHORIZED");
+    }
+
+    private String signupAndLogin(String email) {
+        UserRequest userRequest = new UserRequest();
+        userRequest.setName("Reactive User");
+        userRequest.setEmail(email);
+        userRequest.setPassword(password);
+        webTestClient.post().uri("/api/auth/signup")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(userRequest)
+            .exchange()
+            .expectStatus().isOk();
+
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+        LoginResponse loginResponse = webTestClient.post().uri("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(loginRequest)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(LoginResponse.class)
+            .returnResult().getResponseBody();
+        return "Bearer " + loginResponse.getToken();
+    }
+
+    private Task createTask(String title) {
+        return webTestClient.post().uri("/api/task")
+            .header("Authorization", token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(taskRequest(title))
+            .exchange()
+            .expectStatus().isCreated()
+            .expectBody(Task.class)
+            .returnResult().getResponseBody();
+    }
+
+    private WebTestClient.ResponseSpec update(Task task) {
+        return webTestClient.put().uri("/api/task/" + task.getId())
+            .header("Authorization", token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(task)
+            .exchange();
+    }
+
+    private TaskRequest taskRequest(String title) {
+        TaskRequest task = new TaskRequest();
+        task.setTitle(title);
+        task.setDescription("desc");
+        task.setLimitDate("2025-09-22");
+        return task;
+    }
+}
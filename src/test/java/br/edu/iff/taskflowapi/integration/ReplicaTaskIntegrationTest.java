@@ -0,0 +1,56 @@
+package br.edu.iff.taskflowapi.integration;
+
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.service.ReplicaSynchronizer;
+import br.edu.iff.taskflowapi.support.TaskStoreIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// The flow inherited from TaskStoreIntegrationTest reads its own writes
+// within the stickiness window.
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:replicated",
+    "replicas.databases[0].url=jdbc:h2:mem:replicated-0",
+    "replicas.databases[1].url=jdbc:h2:mem:replicated-1",
+    "replicas.stickiness=2s",
+    "replicas.max-lag=1h",
+    "replicas.replication-interval=3600000"
+})
+@ActiveProfiles("replicas")
+class ReplicaTaskIntegrationTest extends TaskStoreIntegrationTest {
+
+    @Autowired
+    private ReplicaSynchronizer replicaSynchronizer;
+
+    @Override
+    protected void awaitReplicas() {
+        replicaSynchronizer.synchronize();
+    }
+
+    @Test
+    void afterTheStickinessWindow_readsGoToTheReplicas() throws Exception {
+        String token = signupAndLogin("replica-" + UUID.randomUUID() + "@example.com");
+        Task createdTask = createTask(token, "Replicated Task");
+
+        Thread.sleep(2100);
+        // Still within max-lag, so the replicas are used even though they
+        // have not received the task yet.
+        mockMvc.perform(get("/api/task/" + createdTask.getId())
+                .header("Authorization", token))
+            .andExpect(status().isNotFound());
+
+        replicaSynchronizer.synchronize();
+        mockMvc.perform(get("/api/task/all")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].title").value("Replicated Task"));
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.test.web.servlet.MvcResult;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -103,7 +104,9 @@ class SecurityIntegrationTest {
     void protectedEndpoint_withValidToken_succeeds() throws Exception {
         mockMvc.perform(get("/api/task/all")
                 .header("Authorization", token))
-            .andExpect(status().isOk());
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-RateLimit-Limit"))
+            .andExpect(header().exists("X-RateLimit-Remaining"));
     }
 
     @Test
@@ -0,0 +1,72 @@
+package br.edu.iff.taskflowapi.integration;
+
+import br.edu.iff.taskflowapi.dto.ShardStatisticsResponse;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.support.TaskStoreIntegrationTest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:sharded",
+    "shards.databases[0].url=jdbc:h2:mem:sharded-0",
+    "shards.databases[1].url=jdbc:h2:mem:sharded-1",
+    "shards.databases[2].url=jdbc:h2:mem:sharded-2",
+    "admin.emails=sharded-admin@example.com"
+})
+@ActiveProfiles("sharded")
+class ShardedTaskIntegrationTest extends TaskStoreIntegrationTest {
+
+    @Autowired
+    private ObjectProvider<ApplicationRunner> runners;
+    @Autowired
+    @Qualifier("shardRebalancer")
+    private ApplicationRunner shardRebalancer;
+
+    @Test
+    void rebalancer_runsBeforeTheIndexesAreRebuiltFromTheShards() {
+        assertThat(runners.orderedStream().findFirst()).containsSame(shardRebalancer);
+    }
+
+    @Test
+    void tasksFromManyUsers_spreadAcrossShards_andStayPrivate() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String token = signupAndLogin("sharded-" + i + "-" + UUID.randomUUID() + "@example.com");
+            tokens.add(token);
+            tasks.add(createTask(token, "Task " + i));
+        }
+
+        mockMvc.perform(get("/api/task/" + tasks.get(0).getId())
+                .header("Authorization", tokens.get(1)))
+            .andExpect(status().isForbidden());
+
+        String adminToken = signupAndLogin("sharded-admin@example.com");
+        MvcResult result = mockMvc.perform(get("/api/admin/shards")
+                .header("Authorization", adminToken))
+            .andExpect(status().isOk())
+            .andReturn();
+        List<ShardStatisticsResponse> shards = objectMapper.readValue(result.getResponse().getContentAsString(),
+            new TypeReference<>() {});
+        assertThat(shards).hasSize(3);
+        assertThat(shards.stream().mapToLong(ShardStatisticsResponse::getTasks).sum()).isGreaterThanOrEqualTo(6);
+        mockMvc.perform(get("/api/admin/shards")
+                .header("Authorization", tokens.get(0)))
+            .andExpect(status().isForbidden());
+    }
+}
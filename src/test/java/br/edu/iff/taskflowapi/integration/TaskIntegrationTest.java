@@ -1,12 +1,20 @@
 package br.edu.iff.taskflowapi.integration;
 
 import br.edu.iff.taskflowapi.dto.LoginRequest;
+import br.edu.iff.taskflowapi.dto.PositionRequest;
+import br.edu.iff.taskflowapi.dto.ProjectRequest;
+import br.edu.iff.taskflowapi.dto.ShareRequest;
 import br.edu.iff.taskflowapi.dto.TaskRequest;
 import br.edu.iff.taskflowapi.dto.UserRequest;
+import br.edu.iff.taskflowapi.model.AccessLevel;
+import br.edu.iff.taskflowapi.model.Project;
 import br.edu.iff.taskflowapi.model.Status;
 import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.repository.ProjectRepository;
 import br.edu.iff.taskflowapi.repository.TaskRepository;
+import br.edu.iff.taskflowapi.repository.TaskShareRepository;
 import br.edu.iff.taskflowapi.repository.UserRepository;
+import br.edu.iff.taskflowapi.support.SqlStatementCounter;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.AfterEach;
@@ -18,8 +26,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,16 +48,22 @@ class TaskIntegrationTest {
     private UserRepository userRepository;
     @Autowired
     private TaskRepository taskRepository;
+    @Autowired
+    private TaskShareRepository shareRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
 
     private String email = "taskintegration@example.com";
+    private String collaboratorEmail = "taskcollaborator@example.com";
     private String password = "password";
     private String token;
 
     @BeforeEach
     void setUp() throws Exception {
-        // clean up user and tasks
+        // clean up user, tasks and projects
         userRepository.findByEmail(email).ifPresent(user -> {
             taskRepository.deleteAll(taskRepository.findByUserEmail(email));
+            projectRepository.deleteAll(projectRepository.findByUserEmailOrderById(email));
             userRepository.delete(user);
         });
         // signup
@@ -76,6 +92,11 @@ class TaskIntegrationTest {
     void tearDown() {
         userRepository.findByEmail(email).ifPresent(user -> {
             taskRepository.deleteAll(taskRepository.findByUserEmail(email));
+            projectRepository.deleteAll(projectRepository.findByUserEmailOrderById(email));
+            userRepository.delete(user);
+        });
+        userRepository.findByEmail(collaboratorEmail).ifPresent(user -> {
+            shareRepository.deleteAll(shareRepository.findByViewer(collaboratorEmail));
             userRepository.delete(user);
         });
     }
@@ -90,12 +111,14 @@ class TaskIntegrationTest {
         task.setTitle("Integration Task");
         task.setDescription("desc");
         task.setLimitDate("2025-09-22");
+        SqlStatementCounter.reset();
         MvcResult createResult = mockMvc.perform(post("/api/task")
                 .header("Authorization", token)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(task)))
             .andExpect(status().isCreated())
             .andReturn();
+        SqlStatementCounter.assertStatementCount(2);
         Task createdTask = objectMapper.readValue(createResult.getResponse().getContentAsString(), Task.class);
         assertThat(createdTask.getId()).isNotNull();
         assertThat(createdTask.getTitle()).isEqualTo("Integration Task");
@@ -105,42 +128,557 @@ class TaskIntegrationTest {
         assertThat(createdTask.getDescription()).isEqualTo("desc");
 
         // get all
+        SqlStatementCounter.reset();
         MvcResult allResult = mockMvc.perform(get("/api/task/all")
                 .header("Authorization", token))
             .andExpect(status().isOk())
             .andReturn();
+        SqlStatementCounter.assertStatementCount(1);
         List<Task> tasks = objectMapper.readValue(allResult.getResponse().getContentAsString(), new TypeReference<List<Task>>(){});
         assertThat(tasks).isNotEmpty();
         assertThat(tasks.stream().anyMatch(t -> t.getId().equals(createdTask.getId()))).isTrue();
 
         // get by id
+        SqlStatementCounter.reset();
         MvcResult getResult = mockMvc.perform(get("/api/task/" + createdTask.getId())
                 .header("Authorization", token))
             .andExpect(status().isOk())
             .andReturn();
+        SqlStatementCounter.assertStatementCount(1);
         Task fetchedTask = objectMapper.readValue(getResult.getResponse().getContentAsString(), Task.class);
         assertThat(fetchedTask.getId()).isEqualTo(createdTask.getId());
 
         // update
         createdTask.setTitle("Updated Title");
+        SqlStatementCounter.reset();
         MvcResult updateResult = mockMvc.perform(put("/api/task/" + createdTask.getId())
                 .header("Authorization", token)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(createdTask)))
             .andExpect(status().isOk())
             .andReturn();
+        SqlStatementCounter.assertStatementCount(2);
         Task updatedTask = objectMapper.readValue(updateResult.getResponse().getContentAsString(), Task.class);
         assertThat(updatedTask.getTitle()).isEqualTo("Updated Title");
 
         // delete
+        SqlStatementCounter.reset();
         mockMvc.perform(delete("/api/task/" + createdTask.getId())
                 .header("Authorization", token))
             .andExpect(status().isNoContent());
+        SqlStatementCounter.assertStatementCount(2);
         assertThat(taskRepository.findById(createdTask.getId())).isEmpty();
     }
 
+    @Test
+    void create_withSameIdempotencyKey_replaysFirstResponse() throws Exception {
+        TaskRequest task = new TaskRequest();
+        task.setTitle("Idempotent Task");
+        task.setDescription("desc");
+        task.setLimitDate("2025-09-22");
+        String body = objectMapper.writeValueAsString(task);
+
+        MvcResult first = mockMvc.perform(post("/api/task")
+                .header("Authorization", token)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isCreated())
+            .andReturn();
+        SqlStatementCounter.reset();
+        MvcResult retry = mockMvc.perform(post("/api/task")
+                .header("Authorization", token)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+            .andExpect(status().isCreated())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andReturn();
+        SqlStatementCounter.assertStatementCount(0);
+
+        assertThat(retry.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        assertThat(retry.getResponse().getHeader("Location")).isEqualTo(first.getResponse().getHeader("Location"));
+        assertThat(taskRepository.findByUserEmail(email)).hasSize(1);
+
+        task.setTitle("Outra tarefa");
+        mockMvc.perform(post("/api/task")
+                .header("Authorization", token)
+                .header("Idempotency-Key", "create-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)))
+            .andExpect(status().isUnprocessableEntity());
+        assertThat(taskRepository.findByUserEmail(email)).hasSize(1);
+    }
+
+    @Test
+    void search_findsTasksByFoldedPrefix_andRejectsBlankQueries() throws Exception {
+        for (String title : new String[]{"Relatório de vendas", "Revisão do contrato", "Relatar problema"}) {
+            TaskRequest task = new TaskRequest();
+            task.setTitle(title);
+            task.setDescription("desc");
+            task.setLimitDate("2025-09-22");
+            mockMvc.perform(post("/api/task")
+                    .header("Authorization", token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated());
+        }
+
+        SqlStatementCounter.reset();
+        MvcResult result = mockMvc.perform(get("/api/task/search")
+                .param("q", "RELAT vendas")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        SqlStatementCounter.assertStatementCount(1);
+        List<Task> tasks = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        assertThat(tasks).extracting(Task::getTitle).containsExactly("Relatório de vendas");
+
+        SqlStatementCounter.reset();
+        result = mockMvc.perform(get("/api/task/search")
+                .param("q", "relat")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        SqlStatementCounter.assertStatementCount(1);
+        tasks = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        assertThat(tasks).extracting(Task::getTitle).containsExactlyInAnyOrder("Relatório de vendas", "Relatar problema");
+
+        mockMvc.perform(get("/api/task/search")
+                .param("q", " ")
+                .header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void filter_combinesLabelsAndStatus_andFollowsUpdates() throws Exception {
+        List<Task> created = new ArrayList<>();
+        for (List<String> labels : List.of(List.of("Casa", "urgente"), List.of("trabalho", "urgente"), List.of("casa"))) {
+            TaskRequest task = new TaskRequest();
+            task.setTitle("Tarefa " + labels);
+            task.setDescription("desc");
+            task.setLimitDate("2025-09-22");
+            task.setLabels(labels);
+            MvcResult result = mockMvc.perform(post("/api/task")
+                    .header("Authorization", token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated())
+                .andReturn();
+            created.add(objectMapper.readValue(result.getResponse().getContentAsString(), Task.class));
+        }
+        assertThat(created.get(0).getLabels()).containsExactly("casa", "urgente");
+
+        Task done = created.get(0);
+        done.setStatus(Status.DONE);
+        mockMvc.perform(put("/api/task/" + done.getId())
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(done)))
+            .andExpect(status().isOk());
+
+        SqlStatementCounter.reset();
+        MvcResult result = mockMvc.perform(get("/api/task/filter")
+                .param("q", "urgente OR (casa AND NOT status:done)")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        SqlStatementCounter.assertStatementCount(1);
+        List<Task> tasks = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        assertThat(tasks).extracting(Task::getId)
+            .containsExactly(created.get(0).getId(), created.get(1).getId(), created.get(2).getId());
+
+        result = mockMvc.perform(get("/api/task/filter")
+                .param("q", "casa NOT status:DONE")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        tasks = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        assertThat(tasks).extracting(Task::getId).containsExactly(created.get(2).getId());
+
+        mockMvc.perform(get("/api/task/labels")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.casa").value(2))
+            .andExpect(jsonPath("$.urgente").value(2))
+            .andExpect(jsonPath("$.trabalho").value(1));
+        mockMvc.perform(get("/api/task/filter")
+                .param("q", "casa AND (urgente")
+                .header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void subtasks_rollUpProgress_moveWithTheirSubtree_andAreDeletedWithIt() throws Exception {
+        Task a = createTask("A", null);
+        Task b = createTask("B", a.getId());
+        Task c = createTask("C", b.getId());
+        Task d = createTask("D", null);
+        assertThat(c.getParentId()).isEqualTo(b.getId());
+
+        c.setStatus(Status.DONE);
+        mockMvc.perform(put("/api/task/" + c.getId())
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(c)))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/task/" + a.getId())
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.subtaskCount").value(2))
+            .andExpect(jsonPath("$.subtasksDone").value(1))
+            .andExpect(jsonPath("$.progress").value(33));
+        assertThat(subtree(a)).extracting(Task::getId).containsExactly(a.getId(), b.getId(), c.getId());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(put("/api/task/" + b.getId() + "/parent")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"parentId\": " + d.getId() + "}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.parentId").value(d.getId()));
+        // Two lookups, the task, its descendants' paths and both rollups.
+        SqlStatementCounter.assertStatementCount(6);
+        assertThat(subtree(a)).extracting(Task::getId).containsExactly(a.getId());
+        List<Task> moved = subtree(d);
+        assertThat(moved).extracting(Task::getId).containsExactly(d.getId(), b.getId(), c.getId());
+        assertThat(moved.get(0).getProgress()).isEqualTo(33);
+        assertThat(moved.get(0).getSubtaskCount()).isEqualTo(2);
+
+        mockMvc.perform(put("/api/task/" + d.getId() + "/parent")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"parentId\": " + c.getId() + "}"))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(delete("/api/task/" + d.getId())
+                .header("Authorization", token))
+            .andExpect(status().isNoContent());
+        MvcResult result = mockMvc.perform(get("/api/task/all")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        List<Task> remaining = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        assertThat(remaining).extracting(Task::getId).containsExactly(a.getId());
+        assertThat(remaining.get(0).getSubtaskCount()).isZero();
+    }
+
+    @Test
+    void dependencies_orderActionableTasks_andRejectCycles() throws Exception {
+        Task design = createTask("Projeto", null);
+        Task build = createTask("Construção", null);
+        Task deploy = createTask("Implantação", null);
+        mockMvc.perform(put("/api/task/" + deploy.getId() + "/blockers/" + build.getId())
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.blockedBy[0]").value(build.getId()));
+        mockMvc.perform(put("/api/task/" + build.getId() + "/blockers/" + design.getId())
+                .header("Authorization", token))
+            .andExpect(status().isOk());
+        mockMvc.perform(put("/api/task/" + design.getId() + "/blockers/" + deploy.getId())
+                .header("Authorization", token))
+            .andExpect(status().isBadRequest());
+        SqlStatementCounter.reset();
+        assertThat(actionable()).containsExactly(design.getId());
+        SqlStatementCounter.assertStatementCount(1);
+
+        design.setStatus(Status.DONE);
+        mockMvc.perform(put("/api/task/" + design.getId())
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(design)))
+            .andExpect(status().isOk());
+        assertThat(actionable()).containsExactly(build.getId());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(delete("/api/task/" + build.getId())
+                .header("Authorization", token))
+            .andExpect(status().isNoContent());
+        SqlStatementCounter.assertStatementCount(4);
+        assertThat(actionable()).containsExactly(deploy.getId());
+        mockMvc.perform(get("/api/task/" + deploy.getId())
+                .header("Authorization", token))
+            .andExpect(jsonPath("$.blockedBy").isEmpty());
+    }
+
+    @Test
+    void positions_reorderColumns_writingOnlyTheMovedTask() throws Exception {
+        Task first = createTask("Primeira", null);
+        Task second = createTask("Segunda", null);
+        Task third = createTask("Terceira", null);
+        List<Long> ids = List.of(first.getId(), second.getId(), third.getId());
+        assertThat(column(Status.OPEN, ids)).containsExactly(first.getId(), second.getId(), third.getId());
+
+        SqlStatementCounter.reset();
+        position(third, null, first.getId());
+        SqlStatementCounter.assertStatementCount(4);
+        assertThat(column(Status.OPEN, ids)).containsExactly(first.getId(), third.getId(), second.getId());
+
+        position(second, Status.DONE, null);
+        position(first, null, third.getId());
+        assertThat(column(Status.OPEN, ids)).containsExactly(third.getId(), first.getId());
+        assertThat(column(Status.DONE, ids)).containsExactly(second.getId());
+
+        mockMvc.perform(put("/api/task/" + first.getId() + "/position")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"afterId\": " + second.getId() + "}"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shares_letCollaboratorsReadAndWrite_andAreCheckedWithoutExtraQueries() throws Exception {
+        Task shared = createTask("Compartilhada", null);
+        Task own = createTask("Privada", null);
+        String collaborator = signup(collaboratorEmail);
+
+        share(shared, collaboratorEmail, AccessLevel.READ)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].email").value(collaboratorEmail))
+            .andExpect(jsonPath("$[0].level").value("READ"));
+        SqlStatementCounter.reset();
+        MvcResult allResult = mockMvc.perform(get("/api/task/all")
+                .header("Authorization", collaborator))
+            .andExpect(status().isOk())
+            .andReturn();
+        SqlStatementCounter.assertStatementCount(1);
+        List<Task> visible = objectMapper.readValue(allResult.getResponse().getContentAsString(), new TypeReference<>() {});
+        assertThat(visible).extracting(Task::getId).containsExactly(shared.getId());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/task/" + shared.getId()).header("Authorization", collaborator))
+            .andExpect(status().isOk());
+        SqlStatementCounter.assertStatementCount(2);
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/task/" + shared.getId()).header("Authorization", collaborator))
+            .andExpect(status().isOk());
+        SqlStatementCounter.assertStatementCount(1);
+        mockMvc.perform(get("/api/task/" + own.getId()).header("Authorization", collaborator))
+            .andExpect(status().isForbidden());
+
+        shared.setTitle("Editada");
+        mockMvc.perform(put("/api/task/" + shared.getId())
+                .header("Authorization", collaborator)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(shared)))
+            .andExpect(status().isForbidden());
+        share(shared, collaboratorEmail, AccessLevel.WRITE).andExpect(status().isOk());
+        mockMvc.perform(put("/api/task/" + shared.getId())
+                .header("Authorization", collaborator)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(shared)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Editada"));
+        mockMvc.perform(delete("/api/task/" + shared.getId()).header("Authorization", collaborator))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/task/" + shared.getId() + "/shares").header("Authorization", collaborator))
+            .andExpect(status().isForbidden());
+        share(shared, email, AccessLevel.READ).andExpect(status().isBadRequest());
+        share(shared, "nobody@example.com", AccessLevel.READ).andExpect(status().isNotFound());
+
+        mockMvc.perform(delete("/api/task/" + shared.getId() + "/shares")
+                .param("email", collaboratorEmail)
+                .header("Authorization", token))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/task/" + shared.getId()).header("Authorization", collaborator))
+            .andExpect(status().isForbidden());
+
+        share(shared, collaboratorEmail, AccessLevel.READ).andExpect(status().isOk());
+        SqlStatementCounter.reset();
+        mockMvc.perform(delete("/api/task/" + shared.getId()).header("Authorization", token))
+            .andExpect(status().isNoContent());
+        SqlStatementCounter.assertStatementCount(3);
+        assertThat(shareRepository.findByViewer(collaboratorEmail)).isEmpty();
+    }
+
+    @Test
+    void projects_listTheirTasks_andKeepCountsWithoutReadingThem() throws Exception {
+        Project project = createProject("Casa");
+        mockMvc.perform(get("/api/project/" + project.getId()).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value("Casa"))
+            .andExpect(jsonPath("$.taskCount").value(0));
+        mockMvc.perform(get("/api/project/" + project.getId()).header("Authorization", signup(collaboratorEmail)))
+            .andExpect(status().isForbidden());
+        Task inProject = createTask("No projeto", null, project.getId(), List.of("urgente"));
+        Task subtask = createTask("Subtarefa", inProject.getId());
+        Task outside = createTask("Fora do projeto", null);
+        assertThat(subtask.getProjectId()).isEqualTo(project.getId());
+        assertThat(outside.getProjectId()).isNull();
+
+        SqlStatementCounter.reset();
+        assertThat(projectTasks(project, "")).containsExactly(inProject.getId(), subtask.getId());
+        SqlStatementCounter.assertStatementCount(2);
+        position(subtask, Status.DONE, null);
+        assertThat(projectTasks(project, "?status=DONE")).containsExactly(subtask.getId());
+        assertThat(projectTasks(project, "?label=URGENTE")).containsExactly(inProject.getId());
+
+        mockMvc.perform(put("/api/task/" + outside.getId() + "/project")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"projectId\": " + project.getId() + "}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.projectId").value(project.getId()));
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/project/" + project.getId() + "/stats").header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.tasks").value(3))
+            .andExpect(jsonPath("$.tasksByStatus.OPEN").value(2))
+            .andExpect(jsonPath("$.tasksByStatus.DONE").value(1))
+            .andExpect(jsonPath("$.progress").value(33));
+        SqlStatementCounter.assertStatementCount(1);
+
+        mockMvc.perform(delete("/api/project/" + project.getId()).header("Authorization", token))
+            .andExpect(status().isConflict());
+        mockMvc.perform(delete("/api/task/" + inProject.getId()).header("Authorization", token))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(put("/api/task/" + outside.getId() + "/project")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"projectId\": null}"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/project/" + project.getId() + "/stats").header("Authorization", token))
+            .andExpect(jsonPath("$.tasks").value(0))
+            .andExpect(jsonPath("$.progress").value(0));
+        mockMvc.perform(get("/api/project/all").header("Authorization", token))
+            .andExpect(jsonPath("$[0].name").value("Casa"))
+            .andExpect(jsonPath("$[0].taskCount").value(0));
+        mockMvc.perform(delete("/api/project/" + project.getId()).header("Authorization", token))
+            .andExpect(status().isNoContent());
+    }
+
+    private Project createProject(String name) throws Exception {
+        ProjectRequest request = new ProjectRequest();
+        request.setName(name);
+        MvcResult result = mockMvc.perform(post("/api/project")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        Project project = objectMapper.readValue(result.getResponse().getContentAsString(), Project.class);
+        assertThat(result.getResponse().getHeader("Location")).endsWith("/api/project/" + project.getId());
+        return project;
+    }
+
+    private List<Long> projectTasks(Project project, String query) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/project/" + project.getId() + "/tasks" + query)
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        List<Task> tasks = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private ResultActions share(Task task, String collaboratorEmail, AccessLevel level) throws Exception {
+        ShareRequest request = new ShareRequest();
+        request.setEmail(collaboratorEmail);
+        request.setLevel(level);
+        return mockMvc.perform(put("/api/task/" + task.getId() + "/shares")
+            .header("Authorization", token)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private String signup(String email) throws Exception {
+        UserRequest userRequest = new UserRequest();
+        userRequest.setName("Task Collaborator");
+        userRequest.setEmail(email);
+        userRequest.setPassword(password);
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequest)))
+            .andExpect(status().isOk());
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword(password);
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+            .andExpect(status().isOk())
+            .andReturn();
+        return "Bearer " + objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private void position(Task task, Status status, Long afterId) throws Exception {
+        PositionRequest request = new PositionRequest();
+        request.setStatus(status);
+        request.setAfterId(afterId);
+        mockMvc.perform(put("/api/task/" + task.getId() + "/position")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+            .andExpect(status().isOk());
+    }
+
+    // Other tests share the user, so only the given tasks are kept.
+    private List<Long> column(Status status, List<Long> ids) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/task/column/" + status)
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        List<Task> tasks = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        return tasks.stream().map(Task::getId).filter(ids::contains).toList();
+    }
+
+    private List<Long> actionable() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/task/actionable")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        List<Task> tasks = objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private Task createTask(String title, Long parentId) throws Exception {
+        return createTask(title, parentId, null, null);
+    }
+
+    private Task createTask(String title, Long parentId, Long projectId, List<String> labels) throws Exception {
+        TaskRequest task = new TaskRequest();
+        task.setTitle(title);
+        task.setDescription("desc");
+        task.setLimitDate("2025-09-22");
+        task.setParentId(parentId);
+        task.setProjectId(projectId);
+        task.setLabels(labels);
+        MvcResult result = mockMvc.perform(post("/api/task")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), Task.class);
+    }
+
+    private List<Task> subtree(Task task) throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/task/" + task.getId() + "/subtree")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), new TypeReference<>() {});
+    }
+
+    @Test
+    void getAll_withServerTimingRequestHeader_returnsBreakdown() throws Exception {
+        mockMvc.perform(get("/api/task/all")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Server-Timing"));
+
+        MvcResult result = mockMvc.perform(get("/api/task/all")
+                .header("Authorization", token)
+                .header("X-Server-Timing", "1"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(result.getResponse().getHeader("Server-Timing"))
+            .contains("jwt", "db;", "json;dur=", "total;dur=");
+    }
+
     @Test
     void unauthorized_access_returns4xx() throws Exception {
+        SqlStatementCounter.reset();
         // try to get all tasks without token
         mockMvc.perform(get("/api/task/all"))
             .andExpect(status().is4xxClientError());
@@ -151,5 +689,6 @@ class TaskIntegrationTest {
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(task)))
             .andExpect(status().is4xxClientError());
+        SqlStatementCounter.assertStatementCount(0);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,51 @@
+package br.edu.iff.taskflowapi.integration;
+
+import br.edu.iff.taskflowapi.filter.EndpointGroup;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import br.edu.iff.taskflowapi.service.RateLimitService;
+import br.edu.iff.taskflowapi.service.WarmupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "warmup.enabled=true",
+    "warmup.iterations=5",
+    "warmup.logins=2"
+})
+class WarmupIntegrationTest {
+
+    @Autowired
+    private WarmupService warmupService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private RateLimitService rateLimitService;
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void warmup_exercisesEveryEndpointBeforeReadiness() {
+        WarmupService.Result result = warmupService.getLastResult();
+
+        assertThat(result).isNotNull();
+        assertThat(result.iterations()).isEqualTo(5);
+        assertThat(result.failures()).isZero();
+        assertThat(result.firstP99Millis()).isPositive();
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+    }
+
+    @Test
+    void warmup_removesScratchUser_andIsExemptFromRateLimitsWithoutLiftingThem() {
+        assertThat(userRepository.findAll())
+            .noneMatch(user -> user.getEmail().endsWith("@warmup.local"));
+        assertThat(rateLimitService.limitFor(EndpointGroup.AUTH, RateLimitService.Scope.IP)).isNotNull();
+        assertThat(rateLimitService.size()).isZero();
+        assertThat(rateLimitService.isExempt(null)).isFalse();
+        assertThat(rateLimitService.isExempt("forged")).isFalse();
+    }
+}
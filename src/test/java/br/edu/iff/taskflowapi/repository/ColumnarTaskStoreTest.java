@@ -0,0 +1,312 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.TaskShare;
+import br.edu.iff.taskflowapi.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ColumnarTaskStoreTest {
+
+    private final TaskShareRepository shareRepository = mock(TaskShareRepository.class);
+    private final ColumnarTaskStore store = new ColumnarTaskStore(shareRepository, false);
+
+    private static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        return user;
+    }
+
+    private static Task task(User user, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("Descrição");
+        task.setStatus(Status.OPEN);
+        task.setCreationDate(LocalDate.parse("2024-01-01"));
+        task.setLimitDate(LocalDate.parse("2024-12-31"));
+        task.setLabels(new TreeSet<>(Set.of("casa", "urgente")));
+        task.setBlockedBy(new TreeSet<>(Set.of(100L, 200L)));
+        task.setRank("V");
+        task.setUser(user);
+        return task;
+    }
+
+    @Test
+    void save_assignsIdsAndRoundTripsEveryColumn() {
+        User ana = user(1);
+        Task saved = store.save(task(ana, "Primeira"));
+        Task empty = new Task();
+        empty.setUser(ana);
+        store.save(empty);
+
+        Task found = store.findById(saved.getId()).orElseThrow();
+
+        assertThat(saved.getId()).isEqualTo(1L);
+        assertThat(empty.getId()).isEqualTo(2L);
+        assertThat(found).usingRecursiveComparison().isEqualTo(saved);
+        assertThat(found).isNotSameAs(saved);
+        assertThat(store.findById(2L).orElseThrow()).usingRecursiveComparison().isEqualTo(empty);
+        assertThat(store.findById(3L)).isEmpty();
+    }
+
+    @Test
+    void findAllById_returnsTheTasksThatExist() {
+        User ana = user(1);
+        Task first = store.save(task(ana, "Primeira"));
+        Task second = store.save(task(user(2), "Segunda"));
+
+        assertThat(store.findAllById(List.of(second.getId(), 99L, first.getId())))
+            .extracting(Task::getTitle).containsExactlyInAnyOrder("Primeira", "Segunda");
+        assertThat(store.findAllById(List.of())).isEmpty();
+    }
+
+    @Test
+    void save_withExistingId_updatesInPlace() {
+        Task task = store.save(task(user(1), "Antes"));
+        task.setTitle("Depois");
+        task.setStatus(Status.DONE);
+        task.setLimitDate(null);
+
+        store.save(task);
+
+        Task found = store.findById(task.getId()).orElseThrow();
+        assertThat(found.getTitle()).isEqualTo("Depois");
+        assertThat(found.getStatus()).isEqualTo(Status.DONE);
+        assertThat(found.getLimitDate()).isNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void save_basedOnAStaleRead_throwsAndKeepsTheWinningSave() {
+        Task task = store.save(task(user(1), "Antes"));
+        Task first = store.findById(task.getId()).orElseThrow();
+        Task second = store.findById(task.getId()).orElseThrow();
+        first.setStatus(Status.DONE);
+        second.setTitle("Perdida");
+
+        store.save(first);
+
+        assertThatThrownBy(() -> store.save(second)).isInstanceOf(OptimisticLockingFailureException.class);
+        Task found = store.findById(task.getId()).orElseThrow();
+        assertThat(found.getStatus()).isEqualTo(Status.DONE);
+        assertThat(found.getTitle()).isEqualTo("Antes");
+        assertThat(found.getVersion()).isEqualTo(first.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void updateBlockedBy_rewritesOnlyTheOwnersTasks_andBumpsTheirVersions() {
+        User ana = user(1);
+        Task first = task(ana, "Primeira");
+        first.setBlockedBy(new TreeSet<>(Set.of(100L, 200L)));
+        store.save(first);
+        Task other = task(user(2), "Outra");
+        other.setBlockedBy(new TreeSet<>(Set.of(100L)));
+        store.save(other);
+
+        store.updateBlockedBy(ana, Map.of(first.getId(), Set.of(100L), other.getId(), Set.of()));
+
+        Task found = store.findById(first.getId()).orElseThrow();
+        assertThat(found.getBlockedBy()).containsExactly(100L);
+        assertThat(found.getVersion()).isEqualTo(1);
+        assertThat(store.findById(other.getId()).orElseThrow().getBlockedBy()).containsExactly(100L);
+        assertThatThrownBy(() -> store.save(first)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void findByUserEmail_returnsOnlyThatUsersTasksInCreationOrder() {
+        User ana = user(1);
+        User bia = user(2);
+        Task first = store.save(task(ana, "A1"));
+        store.save(task(bia, "B1"));
+        Task second = store.save(task(ana, "A2"));
+        Task third = store.save(task(ana, "A3"));
+
+        store.delete(second);
+
+        assertThat(store.findByUserEmail(ana.getEmail())).extracting(Task::getId)
+            .containsExactly(first.getId(), third.getId());
+        assertThat(store.findByUserEmail(bia.getEmail())).extracting(Task::getTitle).containsExactly("B1");
+        assertThat(store.findByUserEmail("nobody@example.com")).isEmpty();
+    }
+
+    @Test
+    void delete_reusesSlotsAndForgetsUsersWithoutTasks() {
+        User ana = user(1);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            tasks.add(store.save(task(ana, "Tarefa " + i)));
+        }
+
+        store.deleteAll(tasks);
+        Task next = store.save(task(user(2), "Nova"));
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.findByUserEmail(ana.getEmail())).isEmpty();
+        assertThat(next.getId()).isEqualTo(3001L);
+        assertThat(store.findById(next.getId()).orElseThrow().getTitle()).isEqualTo("Nova");
+    }
+
+    @Test
+    void subtrees_areFoundMovedAndDeletedByPath_andSavesKeepTheCounters() {
+        User ana = user(1);
+        Task root = store.save(task(ana, "Raiz"));
+        Task other = store.save(task(ana, "Outra"));
+        Task child = store.save(child(root, "Filha"));
+        Task grandchild = store.save(child(child, "Neta"));
+        store.save(child(other, "Vizinha"));
+        store.addToRollups(ana, List.of(root.getId()), 2, 1);
+
+        store.save(store.findById(root.getId()).orElseThrow());
+        assertThat(store.findById(root.getId()).orElseThrow().getSubtaskCount()).isEqualTo(2);
+        assertThat(store.findDescendants(root)).extracting(Task::getId).containsExactly(child.getId(), grandchild.getId());
+
+        store.replacePathPrefix(ana, root.childPath(), other.childPath());
+        assertThat(store.findById(grandchild.getId()).orElseThrow().getPath())
+            .isEqualTo("/" + other.getId() + "/" + child.getId() + "/");
+        assertThat(store.findDescendants(root)).isEmpty();
+
+        store.deleteDescendants(other);
+        assertThat(store.findByUserEmail(ana.getEmail())).extracting(Task::getId)
+            .containsExactly(root.getId(), other.getId());
+    }
+
+    private static Task child(Task parent, String title) {
+        Task task = task(parent.getUser(), title);
+        task.setParentId(parent.getId());
+        task.setPath(parent.childPath());
+        return task;
+    }
+
+    @Test
+    void columns_areOrderedByRankThenId_andRanksCanBeRewritten() {
+        User ana = user(1);
+        Task last = store.save(ranked(ana, "Última", "t"));
+        Task first = store.save(ranked(ana, "Primeira", "B"));
+        Task tie = store.save(ranked(ana, "Empate", "t"));
+        Task done = store.save(ranked(ana, "Feita", "M"));
+        done.setStatus(Status.DONE);
+        store.save(done);
+        store.save(ranked(user(2), "Outra", "M"));
+
+        assertThat(store.findColumn(ana.getEmail(), Status.OPEN)).extracting(Task::getId)
+            .containsExactly(first.getId(), last.getId(), tie.getId());
+        assertThat(store.findNextInColumn(ana, Status.OPEN, "", 0)).map(Task::getId).contains(first.getId());
+        assertThat(store.findNextInColumn(ana, Status.OPEN, "t", last.getId())).map(Task::getId).contains(tie.getId());
+        assertThat(store.findNextInColumn(ana, Status.OPEN, "t", tie.getId())).isEmpty();
+
+        store.updateRanks(ana, Map.of(tie.getId(), "M"));
+        assertThat(store.findColumn(ana.getEmail(), Status.OPEN)).extracting(Task::getRank)
+            .containsExactly("B", "M", "t");
+        assertThat(store.findColumn(ana.getEmail(), Status.DONE)).extracting(Task::getId).containsExactly(done.getId());
+        assertThat(store.findColumn("nobody@example.com", Status.OPEN)).isEmpty();
+    }
+
+    private static Task ranked(User user, String title, String rank) {
+        Task task = task(user, title);
+        task.setRank(rank);
+        return task;
+    }
+
+    @Test
+    void projects_listTheirTasksInIdOrderOrByStatusInRankOrder() {
+        User ana = user(1);
+        Task late = store.save(inProject(ana, "Tarde", "t", 3L));
+        Task early = store.save(inProject(ana, "Cedo", "B", 3L));
+        Task done = store.save(inProject(ana, "Feita", "M", 3L));
+        done.setStatus(Status.DONE);
+        store.save(done);
+        store.save(inProject(ana, "Outro projeto", "M", 4L));
+        store.save(ranked(ana, "Sem projeto", "M"));
+        store.save(inProject(user(2), "Outra", "M", 3L));
+
+        assertThat(store.findByProject(ana, 3L, null)).extracting(Task::getId)
+            .containsExactly(late.getId(), early.getId(), done.getId());
+        assertThat(store.findByProject(ana, 3L, Status.OPEN)).extracting(Task::getId)
+            .containsExactly(early.getId(), late.getId());
+
+        late.setProjectId(null);
+        store.save(late);
+        assertThat(store.findById(late.getId()).orElseThrow().getProjectId()).isNull();
+        assertThat(store.findByProject(ana, 3L, null)).extracting(Task::getId)
+            .containsExactly(early.getId(), done.getId());
+    }
+
+    private static Task inProject(User user, String title, String rank, Long projectId) {
+        Task task = ranked(user, title, rank);
+        task.setProjectId(projectId);
+        return task;
+    }
+
+    @Test
+    void visibleTasks_includeSharedTasksStillInTheStore_andTheSharedFlagSurvivesSaves() {
+        User ana = user(1);
+        User bruno = user(2);
+        Task own = store.save(task(bruno, "Própria"));
+        Task shared = store.save(task(ana, "Compartilhada"));
+        store.save(task(ana, "Privada"));
+        when(shareRepository.findByViewer(bruno.getEmail())).thenReturn(List.of(share(bruno, shared), share(bruno, 99)));
+
+        assertThat(store.findVisible(bruno.getEmail())).extracting(Task::getId)
+            .containsExactly(own.getId(), shared.getId());
+
+        store.markShared(bruno, shared.getId());
+        assertThat(store.findById(shared.getId()).orElseThrow().isShared()).isFalse();
+        store.markShared(ana, shared.getId());
+        shared.setTitle("Renomeada");
+        store.save(shared);
+        assertThat(store.findById(shared.getId()).orElseThrow())
+            .extracting(Task::getTitle, Task::isShared).containsExactly("Renomeada", true);
+    }
+
+    private static TaskShare share(User user, Task task) {
+        return share(user, task.getId());
+    }
+
+    private static TaskShare share(User user, long taskId) {
+        TaskShare share = new TaskShare();
+        share.setUserId(user.getId());
+        share.setTaskId(taskId);
+        return share;
+    }
+
+    @Test
+    void stringArena_deduplicatesAndCompacts() {
+        StringArena arena = new StringArena();
+        int first = arena.add("Repetida");
+        int second = arena.add("Repetida");
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            ids.add(arena.add("Título único número " + i));
+        }
+        int usedBeforeRelease = arena.usedBytes();
+
+        ids.subList(0, 19_000).forEach(arena::release);
+        arena.release(first);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(arena.get(first)).isEqualTo("Repetida");
+        assertThat(arena.get(ids.get(19_500))).isEqualTo("Título único número 19500");
+        assertThat(arena.distinctCount()).isEqualTo(1001);
+        assertThat(arena.usedBytes()).isLessThan(usedBeforeRelease / 10);
+        assertThat(arena.get(StringArena.NULL)).isNull();
+    }
+
+    @Test
+    void constructor_rejectsWriteAheadLog() {
+        assertThatThrownBy(() -> new ColumnarTaskStore(shareRepository, true)).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,359 @@
+package br.edu.iff.taskflowapi.repository;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.TaskShare;
+import br.edu.iff.taskflowapi.model.User;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ShardedTaskStoreTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TaskShareRepository shareRepository = mock(TaskShareRepository.class);
+    private final List<ShardedTaskStore> stores = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        stores.forEach(ShardedTaskStore::close);
+    }
+
+    private static JdbcTemplate shard() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:shard-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/shard").load().migrate();
+        return new JdbcTemplate(dataSource);
+    }
+
+    private ShardedTaskStore store(List<JdbcTemplate> shards) {
+        ShardedTaskStore store = new ShardedTaskStore(shards, userRepository, shareRepository);
+        stores.add(store);
+        return store;
+    }
+
+    private User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail("user" + id + "@example.com");
+        when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(userRepository.findById(id)).thenReturn(Optional.of(user));
+        return user;
+    }
+
+    private static Task task(User user, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("desc");
+        task.setStatus(Status.OPEN);
+        task.setCreationDate(LocalDate.parse("2024-01-01"));
+        task.setLimitDate(LocalDate.parse("2024-12-31"));
+        task.setLabels(new TreeSet<>(Set.of("casa", "urgente")));
+        task.setBlockedBy(new TreeSet<>(Set.of(100L, 200L)));
+        task.setRank("V");
+        task.setUser(user);
+        return task;
+    }
+
+    private static long count(JdbcTemplate shard) {
+        return shard.queryForObject("select count(*) from task", Long.class);
+    }
+
+    @Test
+    void save_keepsEachUsersTasksOnOneShard() {
+        List<JdbcTemplate> shards = List.of(shard(), shard(), shard());
+        ShardedTaskStore store = store(shards);
+        Set<Long> ids = new HashSet<>();
+
+        for (long userId = 1; userId <= 30; userId++) {
+            User user = user(userId);
+            for (int i = 0; i < 5; i++) {
+                ids.add(store.save(task(user, "Tarefa " + i)).getId());
+            }
+            int shard = store.shardFor(userId);
+            assertThat(shards.get(shard).queryForObject(
+                "select count(*) from task where user_id = ?", Long.class, userId)).isEqualTo(5);
+        }
+
+        assertThat(ids).hasSize(150);
+        assertThat(shards).allSatisfy(shard -> assertThat(count(shard)).isPositive());
+    }
+
+    @Test
+    void findAndUpdate_roundTripThroughTheOwnersShard() {
+        ShardedTaskStore store = store(List.of(shard(), shard()));
+        User ana = user(7);
+        Task first = store.save(task(ana, "Primeira"));
+        Task second = store.save(task(ana, "Segunda"));
+
+        second.setStatus(Status.DONE);
+        store.save(second);
+        store.delete(first);
+
+        assertThat(store.findById(first.getId())).isEmpty();
+        assertThat(store.findById(second.getId()).orElseThrow())
+            .usingRecursiveComparison().isEqualTo(second);
+        assertThat(store.findByUserEmail(ana.getEmail())).extracting(Task::getId).containsExactly(second.getId());
+        assertThat(store.findByUserEmail("nobody@example.com")).isEmpty();
+    }
+
+    @Test
+    void findAllById_readsEveryShardOnce_andSkipsMissingIds() {
+        ShardedTaskStore store = store(List.of(shard(), shard()));
+        User ana = user(7);
+        long otherShardUser = 8;
+        while (store.shardFor(otherShardUser) == store.shardFor(ana.getId())) {
+            otherShardUser++;
+        }
+        Task first = store.save(task(ana, "Primeira"));
+        Task second = store.save(task(user(otherShardUser), "Segunda"));
+
+        assertThat(store.findAllById(List.of(second.getId(), 999L, first.getId())))
+            .extracting(Task::getTitle).containsExactlyInAnyOrder("Primeira", "Segunda");
+        assertThat(store.findAllById(List.of())).isEmpty();
+    }
+
+    @Test
+    void updateBlockedBy_rewritesOnlyTheOwnersTasks_andBumpsTheirVersions() {
+        ShardedTaskStore store = store(List.of(shard(), shard()));
+        User ana = user(7);
+        Task first = store.save(task(ana, "Primeira"));
+        Task second = store.save(task(ana, "Segunda"));
+        Task other = store.save(task(user(8), "Outra"));
+
+        store.updateBlockedBy(ana, Map.of(first.getId(), Set.of(100L), second.getId(), Set.of(),
+            other.getId(), Set.of()));
+
+        Task found = store.findById(first.getId()).orElseThrow();
+        assertThat(found.getBlockedBy()).containsExactly(100L);
+        assertThat(found.getVersion()).isEqualTo(1);
+        assertThat(store.findById(second.getId()).orElseThrow().getBlockedBy()).isEmpty();
+        assertThat(store.findById(other.getId()).orElseThrow().getBlockedBy()).containsExactly(100L, 200L);
+        assertThatThrownBy(() -> store.save(first)).isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void save_basedOnAStaleRead_throwsAndKeepsTheWinningSave() {
+        ShardedTaskStore store = store(List.of(shard(), shard()));
+        Task task = store.save(task(user(7), "Antes"));
+        Task first = store.findById(task.getId()).orElseThrow();
+        Task second = store.findById(task.getId()).orElseThrow();
+        first.setStatus(Status.DONE);
+        second.setTitle("Perdida");
+
+        store.save(first);
+
+        assertThatThrownBy(() -> store.save(second)).isInstanceOf(OptimisticLockingFailureException.class);
+        Task found = store.findById(task.getId()).orElseThrow();
+        assertThat(found.getStatus()).isEqualTo(Status.DONE);
+        assertThat(found.getTitle()).isEqualTo("Antes");
+        assertThat(found.getVersion()).isEqualTo(first.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void subtrees_areFoundMovedAndDeletedOnTheOwnersShard() {
+        ShardedTaskStore store = store(List.of(shard(), shard()));
+        User ana = user(7);
+        Task root = store.save(task(ana, "Raiz"));
+        Task other = store.save(task(ana, "Outra"));
+        Task child = store.save(child(root, "Filha"));
+        Task grandchild = store.save(child(child, "Neta"));
+        store.save(child(other, "Vizinha"));
+        store.addToRollups(ana, List.of(root.getId(), child.getId()), 1, 1);
+
+        root.setTitle("Raiz renomeada");
+        store.save(root);
+        assertThat(store.findById(root.getId()).orElseThrow())
+            .extracting(Task::getTitle, Task::getSubtaskCount, Task::getSubtasksDone)
+            .containsExactly("Raiz renomeada", 1, 1);
+        assertThat(store.findDescendants(root)).extracting(Task::getId).containsExactly(child.getId(), grandchild.getId());
+
+        store.replacePathPrefix(ana, root.childPath(), other.childPath());
+        assertThat(store.findById(grandchild.getId()).orElseThrow().getPath())
+            .isEqualTo("/" + other.getId() + "/" + child.getId() + "/");
+        assertThat(store.findDescendants(root)).isEmpty();
+
+        store.deleteDescendants(other);
+        assertThat(store.findByUserEmail(ana.getEmail())).extracting(Task::getId)
+            .containsExactly(root.getId(), other.getId());
+    }
+
+    private static Task child(Task parent, String title) {
+        Task task = task(parent.getUser(), title);
+        task.setParentId(parent.getId());
+        task.setPath(parent.childPath());
+        return task;
+    }
+
+    @Test
+    void columns_areOrderedByRankOnTheOwnersShard() {
+        ShardedTaskStore store = store(List.of(shard(), shard()));
+        User ana = user(7);
+        Task last = store.save(ranked(ana, "Última", "t"));
+        Task first = store.save(ranked(ana, "Primeira", "B"));
+        Task tie = store.save(ranked(ana, "Empate", "t"));
+        Task done = store.save(ranked(ana, "Feita", "M"));
+        done.setStatus(Status.DONE);
+        store.save(done);
+        store.save(ranked(user(8), "Outra", "M"));
+
+        assertThat(store.findColumn(ana.getEmail(), Status.OPEN)).extracting(Task::getId)
+            .containsExactly(first.getId(), last.getId(), tie.getId());
+        assertThat(store.findNextInColumn(ana, Status.OPEN, "", 0)).map(Task::getId).contains(first.getId());
+        assertThat(store.findNextInColumn(ana, Status.OPEN, "t", last.getId())).map(Task::getId).contains(tie.getId());
+        assertThat(store.findNextInColumn(ana, Status.OPEN, "t", tie.getId())).isEmpty();
+
+        store.updateRanks(ana, Map.of(tie.getId(), "M"));
+        assertThat(store.findColumn(ana.getEmail(), Status.OPEN)).extracting(Task::getRank)
+            .containsExactly("B", "M", "t");
+        assertThat(store.findColumn(ana.getEmail(), Status.DONE)).extracting(Task::getId).containsExactly(done.getId());
+        assertThat(store.findColumn("nobody@example.com", Status.OPEN)).isEmpty();
+    }
+
+    private static Task ranked(User user, String title, String rank) {
+        Task task = task(user, title);
+        task.setRank(rank);
+        return task;
+    }
+
+    @Test
+    void projects_listTheirTasksInIdOrderOrByStatusInRankOrder() {
+        ShardedTaskStore store = store(List.of(shard(), shard()));
+        User ana = user(7);
+        Task late = store.save(inProject(ana, "Tarde", "t", 3L));
+        Task early = store.save(inProject(ana, "Cedo", "B", 3L));
+        Task done = store.save(inProject(ana, "Feita", "M", 3L));
+        done.setStatus(Status.DONE);
+        store.save(done);
+        store.save(inProject(ana, "Outro projeto", "M", 4L));
+        store.save(ranked(ana, "Sem projeto", "M"));
+        store.save(inProject(user(8), "Outra", "M", 3L));
+
+        assertThat(store.findByProject(ana, 3L, null)).extracting(Task::getId)
+            .containsExactly(late.getId(), early.getId(), done.getId());
+        assertThat(store.findByProject(ana, 3L, Status.OPEN)).extracting(Task::getId)
+            .containsExactly(early.getId(), late.getId());
+
+        late.setProjectId(null);
+        store.save(late);
+        assertThat(store.findById(late.getId()).orElseThrow().getProjectId()).isNull();
+        assertThat(store.findByProject(ana, 3L, null)).extracting(Task::getId)
+            .containsExactly(early.getId(), done.getId());
+    }
+
+    private static Task inProject(User user, String title, String rank, Long projectId) {
+        Task task = ranked(user, title, rank);
+        task.setProjectId(projectId);
+        return task;
+    }
+
+    @Test
+    void visibleTasks_includeSharesFromTheirOwnersShards_andTheSharedFlagSurvivesSaves() {
+        ShardedTaskStore store = store(List.of(shard(), shard(), shard()));
+        User carla = user(9);
+        Task own = store.save(task(carla, "Própria"));
+        List<TaskShare> shares = new ArrayList<>();
+        List<Long> sharedIds = new ArrayList<>();
+        for (long owner = 1; owner <= 6; owner++) {
+            Task task = store.save(task(user(owner), "Compartilhada"));
+            store.save(task(task.getUser(), "Privada"));
+            TaskShare share = new TaskShare();
+            share.setUserId(carla.getId());
+            share.setTaskId(task.getId());
+            share.setOwnerId(owner);
+            shares.add(share);
+            sharedIds.add(task.getId());
+        }
+        when(shareRepository.findByViewer(carla.getEmail())).thenReturn(shares);
+
+        List<Long> expected = new ArrayList<>(sharedIds);
+        expected.add(own.getId());
+        assertThat(store.findVisible(carla.getEmail())).extracting(Task::getId).containsExactlyInAnyOrderElementsOf(expected);
+
+        Task shared = store.findById(sharedIds.get(0)).orElseThrow();
+        store.markShared(shared.getUser(), shared.getId());
+        shared.setTitle("Renomeada");
+        store.save(shared);
+        assertThat(store.findById(shared.getId()).orElseThrow())
+            .extracting(Task::getTitle, Task::isShared).containsExactly("Renomeada", true);
+        assertThat(store.findById(own.getId()).orElseThrow().isShared()).isFalse();
+    }
+
+    @Test
+    void rebalance_afterAddingAShard_movesOnlyTasksThatBelongToIt() {
+        List<JdbcTemplate> shards = new ArrayList<>(List.of(shard(), shard()));
+        ShardedTaskStore before = store(shards);
+        List<User> users = new ArrayList<>();
+        List<Task> tasks = new ArrayList<>();
+        for (long userId = 1; userId <= 200; userId++) {
+            User user = user(userId);
+            users.add(user);
+            tasks.add(before.save(task(user, "Tarefa " + userId)));
+            tasks.add(before.save(task(user, "Outra " + userId)));
+        }
+        long onFirstShard = count(shards.get(0));
+
+        shards.add(shard());
+        ShardedTaskStore after = store(shards);
+        long moved = after.rebalance();
+
+        long expected = users.stream().filter(user -> after.shardFor(user.getId()) == 2).count() * 2;
+        assertThat(moved).isEqualTo(expected).isPositive();
+        assertThat(count(shards.get(2))).isEqualTo(expected);
+        assertThat(count(shards.get(0))).isLessThanOrEqualTo(onFirstShard);
+        assertThat(after.rebalance()).isZero();
+        for (User user : users) {
+            assertThat(after.findByUserEmail(user.getEmail())).hasSize(2);
+        }
+        for (Task task : tasks) {
+            assertThat(after.findById(task.getId())).isPresent();
+        }
+        assertThat(after.statistics()).extracting(ShardedTaskStore.ShardStatistics::tasks)
+            .containsExactly(count(shards.get(0)), count(shards.get(1)), expected);
+    }
+
+    @Test
+    void statistics_countsEveryShard() {
+        ShardedTaskStore store = store(List.of(shard(), shard(), shard()));
+        for (long userId = 1; userId <= 20; userId++) {
+            Task task = task(user(userId), "Tarefa");
+            task.setStatus(userId % 2 == 0 ? Status.DONE : Status.OPEN);
+            store.save(task);
+        }
+
+        List<ShardedTaskStore.ShardStatistics> statistics = store.statistics();
+
+        assertThat(statistics).hasSize(3);
+        assertThat(statistics.stream().mapToLong(ShardedTaskStore.ShardStatistics::tasks).sum()).isEqualTo(20);
+        assertThat(statistics.stream().mapToLong(ShardedTaskStore.ShardStatistics::users).sum()).isEqualTo(20);
+        assertThat(statistics.stream().mapToLong(s -> s.tasksByStatus().getOrDefault(Status.DONE, 0L)).sum())
+            .isEqualTo(10);
+    }
+
+    @Test
+    void jumpHash_growingByOneOnlyMovesKeysToTheNewBucket() {
+        for (long key = 0; key < 10_000; key++) {
+            int before = ShardedTaskStore.jumpHash(key, 4);
+            int after = ShardedTaskStore.jumpHash(key, 5);
+            assertThat(after).isIn(before, 4);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package br.edu.iff.taskflowapi.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffloadingPasswordEncoderTest {
+
+    private OffloadingPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.close();
+    }
+
+    @Test
+    void encode_runsOnHashingThread() {
+        AtomicReference<String> thread = new AtomicReference<>();
+        encoder = new OffloadingPasswordEncoder(new RecordingEncoder(thread), 1, 1);
+
+        assertThat(encoder.encode("secret")).isEqualTo("encoded:secret");
+        assertThat(thread.get()).startsWith("password-hashing-");
+    }
+
+    @Test
+    void matches_delegatesResult() {
+        encoder = new OffloadingPasswordEncoder(new RecordingEncoder(new AtomicReference<>()), 1, 1);
+
+        assertThat(encoder.matches("secret", "encoded:secret")).isTrue();
+        assertThat(encoder.matches("wrong", "encoded:secret")).isFalse();
+    }
+
+    @Test
+    void encode_whenPoolAndQueueAreFull_rejects() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new OffloadingPasswordEncoder(new RecordingEncoder(new AtomicReference<>(), release, started), 1, 1);
+        CompletableFuture<String> running = encodeOnNewThread("a");
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // With the only hashing thread busy, one of these takes the queue
+        // slot and waits; the other is rejected right away.
+        CompletableFuture<String> second = encodeOnNewThread("b");
+        CompletableFuture<String> third = encodeOnNewThread("c");
+        assertThatThrownBy(() -> CompletableFuture.anyOf(second, third).get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(RejectedExecutionException.class);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("encoded:a");
+        assertThat(Stream.of(second, third)
+            .filter(future -> future.handle((result, failure) -> failure == null).join()))
+            .hasSize(1);
+    }
+
+    private CompletableFuture<String> encodeOnNewThread(String rawPassword) {
+        return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), runnable -> new Thread(runnable).start());
+    }
+
+    private record RecordingEncoder(AtomicReference<String> thread, CountDownLatch release, CountDownLatch started)
+        implements PasswordEncoder {
+
+        private RecordingEncoder(AtomicReference<String> thread) {
+            this(thread, null, null);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            thread.set(Thread.currentThread().getName());
+            if (started != null) {
+                started.countDown();
+            }
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "encoded:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encodedPassword.equals("encoded:" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.config.ConcurrencyLimitProperties;
+import br.edu.iff.taskflowapi.filter.EndpointGroup;
+import br.edu.iff.taskflowapi.service.ConcurrencyLimitService.Limiter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitServiceTest {
+
+    private static final long WINDOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // ==================
+    // limiterFor() Tests
+    // ==================
+    @Test
+    void limiterFor_returnsSeparateLimiterPerConfiguredGroup() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.getGroups().put(EndpointGroup.AUTH, new ConcurrencyLimitProperties.Group());
+        properties.getGroups().put(EndpointGroup.TASK_READ, new ConcurrencyLimitProperties.Group());
+        ConcurrencyLimitService service = new ConcurrencyLimitService(properties);
+
+        assertThat(service.limiterFor(EndpointGroup.AUTH)).isNotNull();
+        assertThat(service.limiterFor(EndpointGroup.AUTH)).isNotSameAs(service.limiterFor(EndpointGroup.TASK_READ));
+        assertThat(service.limiterFor(EndpointGroup.OTHER)).isNull();
+    }
+
+    @Test
+    void limiterFor_whenDisabled_returnsNull() {
+        ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+        properties.setEnabled(false);
+        properties.getGroups().put(EndpointGroup.AUTH, new ConcurrencyLimitProperties.Group());
+
+        assertThat(new ConcurrencyLimitService(properties).limiterFor(EndpointGroup.AUTH)).isNull();
+    }
+
+    // ==================
+    // Limiter Tests
+    // ==================
+    @Test
+    void tryAcquire_beyondLimit_rejects() {
+        Limiter limiter = new Limiter(2, 1, 10, 1.5, WINDOW);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void release_withStableLatencyWhileSaturated_growsLimit() {
+        Limiter limiter = new Limiter(10, 1, 100, 1.5, WINDOW);
+        long now = System.nanoTime();
+
+        for (int window = 1; window <= 20; window++) {
+            runWindow(limiter, limiter.getLimit(), TimeUnit.MILLISECONDS.toNanos(10), now + window * WINDOW);
+        }
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void release_withRisingLatency_shrinksLimit() {
+        Limiter limiter = new Limiter(50, 1, 100, 1.5, WINDOW);
+        long now = System.nanoTime();
+        for (int window = 1; window <= 5; window++) {
+            runWindow(limiter, 50, TimeUnit.MILLISECONDS.toNanos(10), now + window * WINDOW);
+        }
+        int before = limiter.getLimit();
+
+        for (int window = 6; window <= 15; window++) {
+            runWindow(limiter, limiter.getLimit(), TimeUnit.MILLISECONDS.toNanos(100), now + window * WINDOW);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    void release_neverGoesBelowMinLimit() {
+        Limiter limiter = new Limiter(20, 15, 100, 1.5, WINDOW);
+        long now = System.nanoTime();
+        runWindow(limiter, 20, TimeUnit.MILLISECONDS.toNanos(1), now + WINDOW);
+
+        for (int window = 2; window <= 20; window++) {
+            runWindow(limiter, limiter.getLimit(), TimeUnit.SECONDS.toNanos(1), now + window * WINDOW);
+            assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(15);
+        }
+
+        assertThat(limiter.getLimit()).isLessThan(20);
+    }
+
+    private void runWindow(Limiter limiter, int requests, long rtt, long end) {
+        int acquired = 0;
+        while (acquired < requests && limiter.tryAcquire()) {
+            acquired++;
+        }
+        for (int i = 0; i < acquired; i++) {
+            limiter.release(rtt, end);
+        }
+    }
+}
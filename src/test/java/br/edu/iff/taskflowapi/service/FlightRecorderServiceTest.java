@@ -0,0 +1,100 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.dto.RecordingResponse;
+import br.edu.iff.taskflowapi.jfr.RequestEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecorderService(directory, "default", Duration.ofMinutes(5), Duration.ofMinutes(5),
+            DataSize.ofMegabytes(10));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if ("RUNNING".equals(service.status().getState())) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void status_withoutRecording_isClosed() {
+        assertThat(service.status().getState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    void start_whenAlreadyRunning_returnsConflict() {
+        service.start();
+
+        assertThatThrownBy(() -> service.start())
+            .isInstanceOf(ResponseStatusException.class)
+            .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+            .isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void dumpAndStop_withoutRecording_returnConflict() {
+        assertThatThrownBy(() -> service.dump()).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> service.stop()).isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void dump_writesRecordedEventsAndKeepsRecording() throws Exception {
+        RecordingResponse started = service.start();
+        assertThat(started.getState()).isEqualTo("RUNNING");
+        assertThat(started.getStartTime()).isNotNull();
+
+        RequestEvent event = new RequestEvent();
+        event.begin();
+        event.method = "GET";
+        event.path = "/api/task/42";
+        event.user = "user@example.com";
+        event.taskId = 42;
+        event.commit();
+
+        RecordingResponse dumped = service.dump();
+        assertThat(dumped.getState()).isEqualTo("RUNNING");
+        List<RecordedEvent> events = RecordingFile.readAllEvents(Path.of(dumped.getFile()));
+        assertThat(events)
+            .filteredOn(e -> e.getEventType().getName().equals("taskflow.Request"))
+            .anySatisfy(e -> {
+                assertThat(e.getString("user")).isEqualTo("user@example.com");
+                assertThat(e.getLong("taskId")).isEqualTo(42);
+            });
+    }
+
+    @Test
+    void stop_writesRecordingToDestination() {
+        service.start();
+
+        RecordingResponse stopped = service.stop();
+
+        assertThat(stopped.getState()).isEqualTo("CLOSED");
+        assertThat(Path.of(stopped.getFile())).startsWith(directory);
+        assertThat(Files.exists(Path.of(stopped.getFile()))).isTrue();
+        assertThat(service.status().getState()).isEqualTo("CLOSED");
+    }
+}
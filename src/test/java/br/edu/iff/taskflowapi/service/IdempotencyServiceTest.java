@@ -0,0 +1,169 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.IdempotencyRecord;
+import br.edu.iff.taskflowapi.repository.IdempotencyRecordRepository;
+import br.edu.iff.taskflowapi.service.IdempotencyService.AbandonedException;
+import br.edu.iff.taskflowapi.service.IdempotencyService.KeyReusedException;
+import br.edu.iff.taskflowapi.service.IdempotencyService.StoredResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository recordRepository;
+
+    private final StoredResponse response = new StoredResponse(201, "application/json", "/api/task/1", "{}".getBytes());
+
+    // ==================
+    // begin() Tests
+    // ==================
+    @Test
+    void begin_withNewKey_returnsEmptyAndDoesNotTouchRepository() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "memory", Duration.ofHours(1), 10);
+
+        assertThat(service.begin("key", "hash")).isEmpty();
+        verifyNoInteractions(recordRepository);
+    }
+
+    @Test
+    void begin_withInFlightKey_returnsPendingFutureThatCompletesWithOriginalResponse() throws Exception {
+        IdempotencyService service = new IdempotencyService(recordRepository, "memory", Duration.ofHours(1), 10);
+        service.begin("key", "hash");
+
+        Optional<CompletableFuture<StoredResponse>> duplicate = service.begin("key", "hash");
+        assertThat(duplicate).isPresent();
+        assertThat(duplicate.get()).isNotDone();
+
+        service.complete("key", response);
+
+        assertThat(duplicate.get().get()).isSameAs(response);
+    }
+
+    @Test
+    void begin_afterAbandon_allowsRetryToExecute() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "memory", Duration.ofHours(1), 10);
+        service.begin("key", "hash");
+        CompletableFuture<StoredResponse> duplicate = service.begin("key", "hash").orElseThrow();
+
+        service.abandon("key");
+
+        assertThatThrownBy(duplicate::get)
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(AbandonedException.class);
+        assertThat(service.begin("key", "hash")).isEmpty();
+    }
+
+    @Test
+    void begin_afterTtl_treatsKeyAsNew() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "memory", Duration.ofMinutes(1), 10);
+        Instant now = Instant.parse("2025-01-01T00:00:00Z");
+        service.setClock(Clock.fixed(now, ZoneOffset.UTC));
+        service.begin("key", "hash");
+        service.complete("key", response);
+
+        service.setClock(Clock.fixed(now.plus(Duration.ofMinutes(2)), ZoneOffset.UTC));
+
+        assertThat(service.begin("key", "hash")).isEmpty();
+    }
+
+    @Test
+    void begin_whenFull_evictsCompletedEntries() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "memory", Duration.ofHours(1), 2);
+        service.begin("a", "hash");
+        service.complete("a", response);
+        service.begin("b", "hash");
+        service.complete("b", response);
+
+        service.begin("c", "hash");
+
+        assertThat(service.size()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void begin_withJdbcStore_replaysPersistedResponse() throws Exception {
+        IdempotencyService service = new IdempotencyService(recordRepository, "jdbc", Duration.ofHours(1), 10);
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key");
+        record.setStatus(201);
+        record.setBody("{}".getBytes());
+        record.setCreatedAt(Instant.now());
+        when(recordRepository.findById("key")).thenReturn(Optional.of(record));
+
+        Optional<CompletableFuture<StoredResponse>> replay = service.begin("key", "hash");
+
+        assertThat(replay).isPresent();
+        assertThat(replay.get().get().status()).isEqualTo(201);
+    }
+
+    @Test
+    void begin_withKeyReusedForADifferentRequest_throwsKeyReusedException() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "memory", Duration.ofHours(1), 10);
+        service.begin("key", "hash");
+
+        assertThatThrownBy(() -> service.begin("key", "other"))
+            .isInstanceOf(KeyReusedException.class);
+        service.complete("key", response);
+        assertThatThrownBy(() -> service.begin("key", "other"))
+            .isInstanceOf(KeyReusedException.class);
+        assertThat(service.begin("key", "hash")).isPresent();
+    }
+
+    @Test
+    void begin_withJdbcStore_rejectsPersistedRecordOfADifferentRequest() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "jdbc", Duration.ofHours(1), 10);
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setKey("key");
+        record.setRequestHash("hash");
+        record.setStatus(201);
+        record.setCreatedAt(Instant.now());
+        when(recordRepository.findById("key")).thenReturn(Optional.of(record));
+
+        assertThatThrownBy(() -> service.begin("key", "other"))
+            .isInstanceOf(KeyReusedException.class);
+        assertThat(service.begin("key", "hash")).isPresent();
+    }
+
+    @Test
+    void begin_withJdbcStoreFailing_letsTheRetryExecute() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "jdbc", Duration.ofHours(1), 10);
+        when(recordRepository.findById("key"))
+            .thenThrow(new IllegalStateException("banco indisponível"))
+            .thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.begin("key", "hash"))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(service.begin("key", "hash")).isEmpty();
+    }
+
+    // ==================
+    // complete() Tests
+    // ==================
+    @Test
+    void complete_withJdbcStore_persistsResponse() {
+        IdempotencyService service = new IdempotencyService(recordRepository, "jdbc", Duration.ofHours(1), 10);
+        when(recordRepository.findById("key")).thenReturn(Optional.empty());
+        service.begin("key", "hash");
+
+        service.complete("key", response);
+
+        verify(recordRepository, times(1)).save(any(IdempotencyRecord.class));
+    }
+}
@@ -0,0 +1,184 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.dto.ProjectRequest;
+import br.edu.iff.taskflowapi.dto.ProjectStatsResponse;
+import br.edu.iff.taskflowapi.model.Project;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.ProjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectServiceTest {
+
+    @Mock
+    private ProjectRepository projectRepository;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private ProjectService projectService;
+
+    private User user;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+
+        project = new Project();
+        project.setId(7L);
+        project.setName("Casa");
+        project.setUser(user);
+    }
+
+    private Task task(long projectId, Status status) {
+        Task task = new Task();
+        task.setProjectId(projectId);
+        task.setStatus(status);
+        return task;
+    }
+
+    @Test
+    void saveProject_trimsTheName_andSavesIt() {
+        // given
+        when(userService.getByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(projectRepository.save(any(Project.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        ProjectRequest request = new ProjectRequest();
+        request.setName("  Casa ");
+
+        // when
+        Project saved = projectService.saveProject(request, user.getEmail());
+
+        // then
+        assertThat(saved.getName()).isEqualTo("Casa");
+        assertThat(saved.getUser()).isEqualTo(user);
+        assertThat(saved.getTaskCount()).isZero();
+    }
+
+    @Test
+    void saveProject_withBlankNameOrTooManyProjects_throwsIllegalArgumentException() {
+        // given
+        when(userService.getByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        ProjectRequest request = new ProjectRequest();
+        request.setName(" ");
+
+        // when / then
+        assertThatThrownBy(() -> projectService.saveProject(request, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        request.setName("Casa");
+        when(projectRepository.countByUserId(user.getId())).thenReturn((long) ProjectService.MAX_PROJECTS);
+        assertThatThrownBy(() -> projectService.saveProject(request, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(projectRepository, never()).save(any());
+    }
+
+    @Test
+    void getById_withAnotherUsersProject_throwsForbidden() {
+        // given
+        when(projectRepository.findById(project.getId())).thenReturn(Optional.of(project));
+
+        // when / then
+        assertThatThrownBy(() -> projectService.getById(project.getId(), "other@example.com"))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+        assertThatThrownBy(() -> projectService.getById(99L, user.getEmail()))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void getStats_readsTheCounters() {
+        // given
+        project.setTaskCount(4);
+        project.setOpenCount(1);
+        project.setInProgressCount(2);
+        project.setDoneCount(1);
+        when(projectRepository.findById(project.getId())).thenReturn(Optional.of(project));
+
+        // when
+        ProjectStatsResponse stats = projectService.getStats(project.getId(), user.getEmail());
+
+        // then
+        assertThat(stats.getTasks()).isEqualTo(4);
+        assertThat(stats.getTasksByStatus())
+            .containsEntry(Status.OPEN, 1)
+            .containsEntry(Status.IN_PROGRESS, 2)
+            .containsEntry(Status.DONE, 1);
+        assertThat(stats.getProgress()).isEqualTo(25);
+    }
+
+    @Test
+    void deleteProject_withTasks_throwsConflict() {
+        // given
+        project.setTaskCount(1);
+        when(projectRepository.findByIdForUpdate(project.getId())).thenReturn(Optional.of(project));
+
+        // when / then
+        assertThatThrownBy(() -> projectService.deleteProject(project.getId(), user.getEmail()))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        verify(projectRepository, never()).delete(any());
+    }
+
+    @Test
+    void deleteProject_withoutTasks_deletesItUnderTheLock() {
+        // given
+        when(projectRepository.findByIdForUpdate(project.getId())).thenReturn(Optional.of(project));
+
+        // when
+        projectService.deleteProject(project.getId(), user.getEmail());
+
+        // then
+        verify(projectRepository).delete(project);
+        verify(projectRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void recount_writesOnlyProjectsWhoseCountsChange() {
+        // when
+        projectService.recount(7L, Status.OPEN, 7L, Status.DONE);
+        projectService.recount(7L, Status.OPEN, 8L, Status.OPEN);
+        projectService.recount(7L, Status.DONE, 7L, Status.DONE);
+        projectService.recount(null, null, null, Status.OPEN);
+
+        // then
+        verify(projectRepository).addToCounts(7L, 0, -1, 0, 1);
+        verify(projectRepository).addToCounts(7L, -1, -1, 0, 0);
+        verify(projectRepository).addToCounts(8L, 1, 1, 0, 0);
+        verifyNoMoreInteractions(projectRepository);
+    }
+
+    @Test
+    void recountRemoved_updatesEachProjectOnce() {
+        // when
+        projectService.recountRemoved(List.of(task(7, Status.OPEN), task(7, Status.DONE), task(8, Status.IN_PROGRESS),
+            new Task()));
+
+        // then
+        verify(projectRepository).addToCounts(7L, -2, -1, 0, -1);
+        verify(projectRepository).addToCounts(8L, -1, 0, -1, 0);
+        verify(projectRepository, times(2)).addToCounts(anyLong(), anyInt(), anyInt(), anyInt(), anyInt());
+    }
+}
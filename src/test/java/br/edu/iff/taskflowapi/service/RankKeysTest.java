@@ -0,0 +1,74 @@
+package br.edu.iff.taskflowapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RankKeysTest {
+
+    @Test
+    void between_isStrictlyBetween_evenForAdjacentKeys() {
+        assertThat(RankKeys.between(null, null)).isEqualTo("V");
+        assertThat(RankKeys.between("A", "B")).isEqualTo("AV");
+        assertThat(RankKeys.between("A", "A1")).isEqualTo("A0V");
+        assertThat(RankKeys.between("Az", "B")).isEqualTo("AzV");
+        assertThat(RankKeys.between(null, "1")).isEqualTo("0V");
+
+        Random random = new Random(42);
+        List<String> keys = new ArrayList<>(List.of(RankKeys.between(null, null)));
+        for (int i = 0; i < 5_000; i++) {
+            int position = random.nextInt(keys.size() + 1);
+            String before = position == 0 ? null : keys.get(position - 1);
+            String after = position == keys.size() ? null : keys.get(position);
+            String key = RankKeys.between(before, after);
+            assertThat(key).doesNotEndWith("0");
+            if (before != null) {
+                assertThat(key).isGreaterThan(before);
+            }
+            if (after != null) {
+                assertThat(key).isLessThan(after);
+            }
+            keys.add(position, key);
+        }
+    }
+
+    @Test
+    void between_growsByAboutOneDigitPerMoveIntoTheSameGap() {
+        String before = "U1";
+        String after = "U2";
+        for (int i = 0; i < 30; i++) {
+            after = RankKeys.between(before, after);
+        }
+        assertThat(after.length()).isLessThanOrEqualTo(RankKeys.REBALANCE_LENGTH);
+        assertThat(after).isGreaterThan(before);
+    }
+
+    @Test
+    void next_comesAfterLegacyAndSpreadKeys_andKeepsGrowing() {
+        String previous = RankKeys.next();
+        for (int i = 0; i < 5_000; i++) {
+            String next = RankKeys.next();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+        assertThat(RankKeys.legacy(Long.MAX_VALUE)).isLessThan(previous);
+        assertThat(RankKeys.legacy(9)).isLessThan(RankKeys.legacy(10));
+        assertThat(RankKeys.legacy(10)).isEqualTo("U000000000000000001");
+    }
+
+    @Test
+    void spread_givesShortIncreasingKeys() {
+        assertThat(RankKeys.spread(0)).isEmpty();
+        assertThat(RankKeys.spread(1)).containsExactly("UV");
+        List<String> keys = RankKeys.spread(10_000);
+        assertThat(keys).hasSize(10_000).isSorted().doesNotHaveDuplicates();
+        assertThat(keys).allSatisfy(key -> {
+            assertThat(key.length()).isLessThanOrEqualTo(4);
+            assertThat(key).isLessThan(RankKeys.next());
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.config.RateLimitProperties;
+import br.edu.iff.taskflowapi.filter.EndpointGroup;
+import br.edu.iff.taskflowapi.service.RateLimitService.Scope;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitServiceTest {
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Quota quota = new RateLimitProperties.Quota();
+        quota.setCapacity(3);
+        quota.setRefillPerSecond(0.001);
+        RateLimitProperties.Group group = new RateLimitProperties.Group();
+        group.setUser(quota);
+        properties = new RateLimitProperties();
+        properties.getGroups().put(EndpointGroup.TASK_WRITE, group);
+    }
+
+    // ==================
+    // tryConsume() Tests
+    // ==================
+    @Test
+    void tryConsume_withinCapacity_returnsRemainingTokens() {
+        RateLimitService service = new RateLimitService(properties);
+
+        assertThat(service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com")).isEqualTo(2);
+        assertThat(service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com")).isEqualTo(1);
+        assertThat(service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com")).isEqualTo(0);
+    }
+
+    @Test
+    void tryConsume_overCapacity_returnsNegativeWait() {
+        RateLimitService service = new RateLimitService(properties);
+        for (int i = 0; i < 3; i++) {
+            service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com");
+        }
+
+        long result = service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com");
+
+        assertThat(result).isNegative();
+        assertThat(-result).isGreaterThan(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void tryConsume_keepsSeparateBucketsPerKey() {
+        RateLimitService service = new RateLimitService(properties);
+        for (int i = 0; i < 3; i++) {
+            service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com");
+        }
+
+        assertThat(service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "b@example.com")).isEqualTo(2);
+    }
+
+    @Test
+    void tryConsume_concurrently_neverGrantsMoreThanCapacity() throws Exception {
+        RateLimitService service = new RateLimitService(properties);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 100; i++) {
+            executor.execute(() -> {
+                if (service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com") >= 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertThat(granted).hasValue(3);
+    }
+
+    // ==================
+    // limitFor() Tests
+    // ==================
+    @Test
+    void limitFor_withoutConfiguredQuota_returnsNull() {
+        RateLimitService service = new RateLimitService(properties);
+
+        assertThat(service.limitFor(EndpointGroup.TASK_WRITE, Scope.USER)).isNotNull();
+        assertThat(service.limitFor(EndpointGroup.TASK_WRITE, Scope.IP)).isNull();
+        assertThat(service.limitFor(EndpointGroup.AUTH, Scope.USER)).isNull();
+    }
+
+    @Test
+    void limitFor_whenDisabled_returnsNull() {
+        properties.setEnabled(false);
+        RateLimitService service = new RateLimitService(properties);
+
+        assertThat(service.limitFor(EndpointGroup.TASK_WRITE, Scope.USER)).isNull();
+    }
+
+    // ==================
+    // evictIdle() Tests
+    // ==================
+    @Test
+    void evictIdle_removesRefilledBuckets() {
+        properties.setIdleTimeout(Duration.ZERO);
+        properties.getGroups().get(EndpointGroup.TASK_WRITE).getUser().setRefillPerSecond(1_000_000_000);
+        RateLimitService service = new RateLimitService(properties);
+        service.tryConsume(EndpointGroup.TASK_WRITE, Scope.USER, "a@example.com");
+
+        service.evictIdle();
+
+        assertThat(service.size()).isZero();
+    }
+}
@@ -0,0 +1,113 @@
+package br.edu.iff.taskflowapi.service;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private static DataSource migratedDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:snapshot-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+
+    @Test
+    void snapshotIfChanged_whenDisabled_doesNothing() {
+        Path file = directory.resolve("taskflow.snapshot");
+        SnapshotService service = new SnapshotService(migratedDatabase(), false, file);
+
+        service.restore();
+
+        assertThat(service.snapshotIfChanged()).isFalse();
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void snapshotIfChanged_onlyWritesAfterChanges() {
+        DataSource dataSource = migratedDatabase();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        SnapshotService service = new SnapshotService(dataSource, true, directory.resolve("taskflow.snapshot"));
+        service.restore();
+
+        assertThat(service.snapshotIfChanged()).isFalse();
+        jdbc.update("insert into app_user (id, name, email, password) values (1, 'Ana', 'ana@example.com', 'hash')");
+        assertThat(service.snapshotIfChanged()).isTrue();
+        assertThat(service.snapshotIfChanged()).isFalse();
+    }
+
+    @Test
+    void restore_loadsSnapshotAndContinuesIdentifiers() throws Exception {
+        Path file = directory.resolve("taskflow.snapshot");
+        DataSource source = migratedDatabase();
+        JdbcTemplate sourceJdbc = new JdbcTemplate(source);
+        SnapshotService sourceService = new SnapshotService(source, true, file);
+        sourceService.restore();
+        sourceJdbc.update("insert into app_user (id, name, email, password) values (1, 'Ana', 'ana@example.com', 'hash')");
+        sourceJdbc.update("insert into app_user (id, name, email, password) values (2, 'Bruno', 'bruno@example.com', null)");
+        sourceJdbc.update("insert into task (title, description, status, creation_date, limit_date, user_id, labels) "
+            + "values ('Primeira', 'desc', 'OPEN', date '2025-01-01', date '2025-02-01', 1, 'casa,urgente')");
+        sourceJdbc.update("insert into task (title, description, status, creation_date, limit_date, user_id, parent_id, "
+            + "path, subtask_count, subtasks_done, blocked_by) "
+            + "values ('Segunda', null, 'DONE', date '2025-01-02', null, 2, 1, '/1/', 3, 2, '1')");
+        sourceJdbc.update("insert into project (name, user_id, task_count, open_count) values ('Casa', 1, 1, 1)");
+        sourceJdbc.update("update task set shared = true, project_id = 1 where id = 1");
+        sourceJdbc.update("insert into task_share (user_id, task_id, owner_id, level) values (2, 1, 1, 'WRITE')");
+        assertThat(sourceService.snapshotIfChanged()).isTrue();
+        assertThat(Files.size(file)).isPositive();
+
+        DataSource target = migratedDatabase();
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        new SnapshotService(target, true, file).restore();
+
+        String users = "select * from app_user order by id";
+        String tasks = "select * from task order by id";
+        assertThat(targetJdbc.queryForList(users)).isEqualTo(sourceJdbc.queryForList(users));
+        assertThat(targetJdbc.queryForList(tasks)).isEqualTo(sourceJdbc.queryForList(tasks));
+        String shares = "select * from task_share";
+        assertThat(targetJdbc.queryForList(shares)).isEqualTo(sourceJdbc.queryForList(shares)).hasSize(1);
+        String projects = "select * from project";
+        assertThat(targetJdbc.queryForList(projects)).isEqualTo(sourceJdbc.queryForList(projects)).hasSize(1);
+
+        targetJdbc.update("insert into task (title, user_id) values ('Nova', 1)");
+        List<Map<String, Object>> ids = targetJdbc.queryForList("select id from task where title = 'Nova'");
+        assertThat((Long) ids.get(0).get("ID")).isGreaterThan(2L);
+        targetJdbc.update("insert into project (name, user_id) values ('Trabalho', 1)");
+        assertThat(targetJdbc.queryForObject("select max(id) from project", Long.class)).isEqualTo(2L);
+        Long nextUserBlockEnd = targetJdbc.queryForObject("select next value for app_user_seq", Long.class);
+        assertThat(nextUserBlockEnd - 49).isGreaterThan(2L);
+    }
+
+    @Test
+    void restore_intoNonEmptyDatabase_keepsExistingData() {
+        Path file = directory.resolve("taskflow.snapshot");
+        DataSource source = migratedDatabase();
+        SnapshotService sourceService = new SnapshotService(source, true, file);
+        sourceService.restore();
+        new JdbcTemplate(source).update("insert into app_user (id, email) values (1, 'ana@example.com')");
+        sourceService.snapshotIfChanged();
+
+        DataSource target = migratedDatabase();
+        JdbcTemplate targetJdbc = new JdbcTemplate(target);
+        targetJdbc.update("insert into app_user (id, email) values (7, 'outro@example.com')");
+        new SnapshotService(target, true, file).restore();
+
+        assertThat(targetJdbc.queryForList("select email from app_user", String.class))
+            .containsExactly("outro@example.com");
+    }
+}
@@ -0,0 +1,120 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.AccessLevel;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskShareRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskAccessControlTest {
+
+    private final TaskShareRepository shareRepository = mock(TaskShareRepository.class);
+    private final User ana = user(1, "ana@example.com");
+    private final User bruno = user(2, "bruno@example.com");
+
+    private static User user(long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+
+    private Task task(long id, boolean shared) {
+        Task task = new Task();
+        task.setId(id);
+        task.setShared(shared);
+        task.setUser(ana);
+        return task;
+    }
+
+    private TaskAccessControl accessControl(int cacheSize, Duration cacheTtl) {
+        return new TaskAccessControl(shareRepository, cacheSize, cacheTtl);
+    }
+
+    @Test
+    void ownersAndTasksNeverShared_needNoLookup() {
+        TaskAccessControl accessControl = accessControl(100, Duration.ofSeconds(10));
+        Task shared = task(1, true);
+        Task unshared = task(2, false);
+
+        assertThat(accessControl.canWrite(shared, ana.getEmail())).isTrue();
+        assertThat(accessControl.canRead(unshared, bruno.getEmail())).isFalse();
+        verifyNoInteractions(shareRepository);
+    }
+
+    @Test
+    void levels_andMissesAreCachedUntilAChangeCommits() {
+        TaskAccessControl accessControl = accessControl(100, Duration.ofSeconds(10));
+        Task task = task(1, true);
+        when(shareRepository.findLevel(1, bruno.getEmail())).thenReturn(Optional.empty());
+        when(shareRepository.findLevel(1, "carla@example.com")).thenReturn(Optional.of(AccessLevel.READ));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(accessControl.canRead(task, bruno.getEmail())).isFalse();
+            assertThat(accessControl.canRead(task, "carla@example.com")).isTrue();
+            assertThat(accessControl.canWrite(task, "carla@example.com")).isFalse();
+        }
+        verify(shareRepository, times(1)).findLevel(1, bruno.getEmail());
+        verify(shareRepository, times(1)).findLevel(1, "carla@example.com");
+
+        when(shareRepository.findLevel(1, bruno.getEmail())).thenReturn(Optional.of(AccessLevel.WRITE));
+        accessControl.share(task, bruno, AccessLevel.WRITE);
+        assertThat(accessControl.canWrite(task, bruno.getEmail())).isTrue();
+
+        when(shareRepository.findLevel(1, bruno.getEmail())).thenReturn(Optional.empty());
+        accessControl.unshare(task, bruno);
+        assertThat(accessControl.canRead(task, bruno.getEmail())).isFalse();
+        assertThat(accessControl.canRead(task, "carla@example.com")).isTrue();
+        verify(shareRepository, times(3)).findLevel(1, bruno.getEmail());
+        verify(shareRepository, times(1)).findLevel(1, "carla@example.com");
+    }
+
+    @Test
+    void lookupRacingWithAChange_isNotCached() {
+        TaskAccessControl accessControl = accessControl(100, Duration.ofSeconds(10));
+        Task task = task(1, true);
+        // The share commits while the first lookup is still reading.
+        when(shareRepository.findLevel(1, bruno.getEmail()))
+            .thenAnswer(invocation -> {
+                accessControl.share(task, bruno, AccessLevel.READ);
+                return Optional.empty();
+            })
+            .thenReturn(Optional.of(AccessLevel.READ));
+
+        assertThat(accessControl.canRead(task, bruno.getEmail())).isFalse();
+        assertThat(accessControl.canRead(task, bruno.getEmail())).isTrue();
+        assertThat(accessControl.canRead(task, bruno.getEmail())).isTrue();
+        verify(shareRepository, times(2)).findLevel(1, bruno.getEmail());
+    }
+
+    @Test
+    void entries_expire_andTheCacheStaysBounded() {
+        when(shareRepository.findLevel(anyLong(), anyString())).thenReturn(Optional.empty());
+        TaskAccessControl expiring = accessControl(100, Duration.ZERO);
+        Task task = task(1, true);
+        expiring.canRead(task, bruno.getEmail());
+        expiring.canRead(task, bruno.getEmail());
+        verify(shareRepository, times(2)).findLevel(1, bruno.getEmail());
+
+        TaskAccessControl small = accessControl(2, Duration.ofSeconds(10));
+        for (long id = 10; id < 13; id++) {
+            small.canRead(task(id, true), bruno.getEmail());
+        }
+        small.canRead(task(12, true), bruno.getEmail());
+        small.canRead(task(10, true), bruno.getEmail());
+        verify(shareRepository, times(1)).findLevel(12, bruno.getEmail());
+        verify(shareRepository, times(2)).findLevel(10, bruno.getEmail());
+    }
+}
@@ -0,0 +1,174 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskDependencyGraphTest {
+
+    private final TaskStore taskStore = mock(TaskStore.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TaskDependencyGraph graph = new TaskDependencyGraph(taskStore, userRepository, true, 2);
+    private final User ana = user();
+
+    private static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("ana@example.com");
+        return user;
+    }
+
+    private Task task(long id, Status status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setUser(ana);
+        graph.index(task);
+        return task;
+    }
+
+    @Test
+    void ready_followsBlockersAndStatusChanges() {
+        Task design = task(1, Status.OPEN);
+        Task build = task(2, Status.OPEN);
+        Task test = task(3, Status.OPEN);
+        Task docs = task(4, Status.IN_PROGRESS);
+        graph.link(build, design);
+        graph.link(test, build);
+
+        assertThat(graph.ready(ana.getEmail(), 10)).containsExactly(test.getId(), docs.getId());
+
+        test.setStatus(Status.DONE);
+        graph.index(test);
+        assertThat(graph.ready(ana.getEmail(), 10)).containsExactly(build.getId(), docs.getId());
+
+        test.setStatus(Status.OPEN);
+        graph.index(test);
+        assertThat(graph.ready(ana.getEmail(), 10)).containsExactly(test.getId(), docs.getId());
+
+        graph.unlink(build.getId(), design);
+        assertThat(graph.ready(ana.getEmail(), 10)).containsExactly(test.getId(), design.getId(), docs.getId());
+        assertThat(graph.ready(ana.getEmail(), 1)).containsExactly(test.getId());
+
+        graph.remove(test);
+        assertThat(graph.ready(ana.getEmail(), 10)).containsExactly(build.getId(), design.getId(), docs.getId());
+        assertThat(graph.dependents(ana.getEmail(), build.getId())).isEmpty();
+    }
+
+    @Test
+    void link_rejectsCycles_andLeavesTheGraphUntouched() {
+        Task first = task(1, Status.OPEN);
+        Task second = task(2, Status.OPEN);
+        Task third = task(3, Status.OPEN);
+        graph.link(first, second);
+        graph.link(second, third);
+
+        assertThatThrownBy(() -> graph.link(third, first))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("A dependência criaria um ciclo.");
+        assertThatThrownBy(() -> graph.link(first, first)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(graph.ready(ana.getEmail(), 10)).containsExactly(first.getId());
+        assertThat(graph.dependents(ana.getEmail(), third.getId())).isEmpty();
+    }
+
+    @Test
+    void link_keepsATopologicalOrder_andFindsTheSameCyclesAsAFullSearch() {
+        Random random = new Random(42);
+        int size = 300;
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= size; id++) {
+            tasks.add(task(id, Status.OPEN));
+        }
+        Map<Long, Set<Long>> dependents = new HashMap<>();
+        for (int i = 0; i < 3_000; i++) {
+            Task blocker = tasks.get(random.nextInt(size));
+            Task task = tasks.get(random.nextInt(size));
+            boolean cycle = reaches(dependents, task.getId(), blocker.getId());
+            if (cycle) {
+                assertThatThrownBy(() -> graph.link(blocker, task)).isInstanceOf(IllegalArgumentException.class);
+            } else {
+                graph.link(blocker, task);
+                dependents.computeIfAbsent(blocker.getId(), id -> new HashSet<>()).add(task.getId());
+            }
+        }
+
+        List<Long> order = graph.order(ana.getEmail());
+        Map<Long, Integer> position = new HashMap<>();
+        for (int i = 0; i < order.size(); i++) {
+            position.put(order.get(i), i);
+        }
+        assertThat(position).hasSize(size);
+        dependents.forEach((blocker, blocked) -> blocked.forEach(task ->
+            assertThat(position.get(blocker)).isLessThan(position.get(task))));
+
+        // Completing the first ready task each time has to reach every task,
+        // so no pending blocker count went astray.
+        int completed = 0;
+        List<Long> ready = graph.ready(ana.getEmail(), 1);
+        while (!ready.isEmpty()) {
+            Task next = tasks.get((int) (ready.get(0) - 1));
+            next.setStatus(Status.DONE);
+            graph.index(next);
+            completed++;
+            ready = graph.ready(ana.getEmail(), 1);
+        }
+        assertThat(completed).isEqualTo(size);
+    }
+
+    @Test
+    void rebuild_loadsTasksAndTheirBlockersFromTheStore() {
+        graph.index(task(99, Status.OPEN));
+        Task first = new Task();
+        first.setId(1L);
+        first.setStatus(Status.DONE);
+        first.setUser(ana);
+        Task second = new Task();
+        second.setId(2L);
+        second.setStatus(Status.OPEN);
+        second.setBlockedBy(Set.of(3L, 42L));
+        second.setUser(ana);
+        Task third = new Task();
+        third.setId(3L);
+        third.setStatus(Status.OPEN);
+        third.setBlockedBy(Set.of(1L));
+        third.setUser(ana);
+        when(userRepository.findAll()).thenReturn(List.of(ana));
+        when(taskStore.findByUserEmail(ana.getEmail())).thenReturn(List.of(second, third, first));
+
+        graph.rebuild();
+
+        assertThat(graph.ready(ana.getEmail(), 10)).containsExactly(third.getId());
+        assertThat(graph.dependents(ana.getEmail(), third.getId())).containsExactly(second.getId());
+    }
+
+    private static boolean reaches(Map<Long, Set<Long>> dependents, long from, long to) {
+        Set<Long> seen = new HashSet<>();
+        List<Long> stack = new ArrayList<>(List.of(from));
+        while (!stack.isEmpty()) {
+            long id = stack.remove(stack.size() - 1);
+            if (id == to) {
+                return true;
+            }
+            if (seen.add(id)) {
+                stack.addAll(dependents.getOrDefault(id, Set.of()));
+            }
+        }
+        return false;
+    }
+}
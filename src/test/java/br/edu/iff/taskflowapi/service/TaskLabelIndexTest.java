@@ -0,0 +1,180 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskLabelIndexTest {
+
+    private final TaskStore taskStore = mock(TaskStore.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TaskLabelIndex index = new TaskLabelIndex(taskStore, userRepository, true, 2);
+    private final User ana = user(1, "ana@example.com");
+
+    private static User user(long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static Task task(long id, User user, Status status, String... labels) {
+        Task task = new Task();
+        task.setId(id);
+        task.setStatus(status);
+        task.setLabels(Set.of(labels));
+        task.setUser(user);
+        return task;
+    }
+
+    @Test
+    void normalize_lowerCasesAndRejectsInvalidLabels() {
+        assertThat(TaskLabelIndex.normalize(List.of(" Casa", "casa", "Ação_2", "x-y"))).containsExactly("ação_2", "casa", "x-y");
+        assertThat(TaskLabelIndex.normalize(null)).isEmpty();
+        assertThatThrownBy(() -> TaskLabelIndex.normalize(List.of("a,b"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TaskLabelIndex.normalize(List.of(" "))).isInstanceOf(IllegalArgumentException.class);
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i <= TaskLabelIndex.MAX_LABELS; i++) {
+            tooMany.add("l" + i);
+        }
+        assertThatThrownBy(() -> TaskLabelIndex.normalize(tooMany)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void parse_followsPrecedence_andRejectsMalformedFilters() {
+        assertThat(TaskLabelIndex.parse("a b or NOT (c AND status:done)")).isEqualTo(new TaskLabelIndex.Or(List.of(
+            new TaskLabelIndex.And(List.of(new TaskLabelIndex.Label("a"), new TaskLabelIndex.Label("b"))),
+            new TaskLabelIndex.Not(new TaskLabelIndex.And(List.of(
+                new TaskLabelIndex.Label("c"), new TaskLabelIndex.StatusIs(Status.DONE)))))));
+
+        for (String invalid : new String[]{"", "a AND", "(a", "a)", "OR a", "status:closed", "NOT", "a,b"}) {
+            assertThatThrownBy(() -> TaskLabelIndex.parse(invalid)).as(invalid).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void filter_combinesLabelsAndStatuses() {
+        index.index(task(1, ana, Status.OPEN, "casa", "urgente"));
+        index.index(task(2, ana, Status.DONE, "casa"));
+        index.index(task(3, ana, Status.IN_PROGRESS, "trabalho", "urgente"));
+        index.index(task(4, ana, Status.OPEN));
+
+        assertThat(index.filter(ana.getEmail(), "casa", 10)).containsExactly(1L, 2L);
+        assertThat(index.filter(ana.getEmail(), "casa urgente", 10)).containsExactly(1L);
+        assertThat(index.filter(ana.getEmail(), "casa OR trabalho", 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.filter(ana.getEmail(), "NOT urgente", 10)).containsExactly(2L, 4L);
+        assertThat(index.filter(ana.getEmail(), "NOT status:DONE AND NOT casa", 10)).containsExactly(3L, 4L);
+        assertThat(index.filter(ana.getEmail(), "urgente AND NOT status:open OR status:done", 10)).containsExactly(2L, 3L);
+        assertThat(index.filter(ana.getEmail(), "casa OR trabalho", 2)).containsExactly(1L, 2L);
+        assertThat(index.filter(ana.getEmail(), "inexistente", 10)).isEmpty();
+        assertThat(index.filter("bia@example.com", "casa", 10)).isEmpty();
+        assertThat(index.counts(ana.getEmail()))
+            .containsExactly(entry("casa", 2), entry("trabalho", 1), entry("urgente", 2));
+    }
+
+    @Test
+    void updatesAndRemovals_areReflected_andOrdinalsReused() {
+        for (long id = 1; id <= 10_000; id++) {
+            index.index(task(id, ana, Status.OPEN, id % 2 == 0 ? "par" : "impar", "todas"));
+        }
+        for (long id = 1; id <= 10_000; id++) {
+            if (id % 10 == 0) {
+                index.index(task(id, ana, Status.DONE, "dez", "todas"));
+            } else if (id % 5 == 0) {
+                index.remove(task(id, ana, null));
+            }
+        }
+        for (long id = 10_001; id <= 11_000; id++) {
+            index.index(task(id, ana, Status.OPEN, "nova"));
+        }
+
+        assertThat(index.filter(ana.getEmail(), "todas", 20_000)).hasSize(9_000);
+        assertThat(index.filter(ana.getEmail(), "par AND status:done", 20_000)).isEmpty();
+        assertThat(index.filter(ana.getEmail(), "dez", 20_000)).hasSize(1_000).allMatch(id -> id % 10 == 0);
+        assertThat(index.filter(ana.getEmail(), "impar", 20_000)).hasSize(4_000).noneMatch(id -> id % 5 == 0);
+        assertThat(index.filter(ana.getEmail(), "NOT todas", 5)).containsExactly(10_001L, 10_002L, 10_003L, 10_004L, 10_005L);
+        assertThat(index.filter(ana.getEmail(), "status:open", 20_000)).hasSize(9_000);
+    }
+
+    @Test
+    void rebuild_loadsEveryUsersTasksFromTheStore() {
+        User bia = user(2, "bia@example.com");
+        index.index(task(99, ana, Status.OPEN, "obsoleta"));
+        when(userRepository.findAll()).thenReturn(List.of(ana, bia));
+        when(taskStore.findByUserEmail(ana.getEmail())).thenReturn(List.of(task(1, ana, Status.OPEN, "casa")));
+        when(taskStore.findByUserEmail(bia.getEmail())).thenReturn(List.of(task(2, bia, Status.DONE, "casa")));
+
+        index.rebuild();
+
+        assertThat(index.filter(ana.getEmail(), "casa", 10)).containsExactly(1L);
+        assertThat(index.filter(ana.getEmail(), "obsoleta", 10)).isEmpty();
+        assertThat(index.filter(bia.getEmail(), "casa status:done", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void roaringBitmap_matchesBitSet_acrossContainerKinds() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            // Mixes sparse values with dense runs, so both container kinds
+            // and the conversions between them are exercised.
+            RoaringBitmap[] bitmaps = {new RoaringBitmap(), new RoaringBitmap()};
+            BitSet[] expected = {new BitSet(), new BitSet()};
+            for (int side = 0; side < 2; side++) {
+                int dense = random.nextInt(3) * 65536;
+                for (int i = 0; i < 20_000; i++) {
+                    int value = random.nextBoolean() ? dense + random.nextInt(12_000) : random.nextInt(400_000);
+                    bitmaps[side].add(value);
+                    expected[side].set(value);
+                }
+                for (int i = 0; i < 8_000; i++) {
+                    int value = dense + random.nextInt(12_000);
+                    bitmaps[side].remove(value);
+                    expected[side].clear(value);
+                }
+            }
+
+            BitSet and = (BitSet) expected[0].clone();
+            and.and(expected[1]);
+            BitSet or = (BitSet) expected[0].clone();
+            or.or(expected[1]);
+            BitSet andNot = (BitSet) expected[0].clone();
+            andNot.andNot(expected[1]);
+
+            assertThat(toBitSet(bitmaps[0])).isEqualTo(expected[0]);
+            assertThat(bitmaps[0].cardinality()).isEqualTo(expected[0].cardinality());
+            assertThat(toBitSet(bitmaps[0].and(bitmaps[1]))).isEqualTo(and);
+            assertThat(toBitSet(bitmaps[0].or(bitmaps[1]))).isEqualTo(or);
+            assertThat(toBitSet(bitmaps[0].andNot(bitmaps[1]))).isEqualTo(andNot);
+            assertThat(bitmaps[0].or(bitmaps[1]).cardinality()).isEqualTo(or.cardinality());
+            assertThat(toBitSet(bitmaps[0])).as("operands stay untouched").isEqualTo(expected[0]);
+            int probe = random.nextInt(400_000);
+            assertThat(bitmaps[1].contains(probe)).isEqualTo(expected[1].get(probe));
+        }
+    }
+
+    private static BitSet toBitSet(RoaringBitmap bitmap) {
+        BitSet bits = new BitSet();
+        int[] previous = {-1};
+        bitmap.forEach(value -> {
+            assertThat(value).isGreaterThan(previous[0]);
+            previous[0] = value;
+            bits.set(value);
+        });
+        return bits;
+    }
+}
@@ -0,0 +1,107 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import br.edu.iff.taskflowapi.repository.TaskStore;
+import br.edu.iff.taskflowapi.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskSearchIndexTest {
+
+    private final TaskStore taskStore = mock(TaskStore.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final TaskSearchIndex index = new TaskSearchIndex(taskStore, userRepository, true, 2);
+    private final User ana = user(1, "ana@example.com");
+
+    private static User user(long id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        return user;
+    }
+
+    private static Task task(long id, User user, String title, String description) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setUser(user);
+        return task;
+    }
+
+    @Test
+    void tokenize_foldsAccentsAndDropsStopWords() {
+        assertThat(TaskSearchIndex.tokenize("Revisão da Ação de COBRANÇA, v2!"))
+            .containsExactly("revisao", "acao", "cobranca", "v2");
+        assertThat(TaskSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void search_ranksWithBm25_titleAboveDescription() {
+        index.index(task(1, ana, "Comprar pão", "Padaria perto do relatório"));
+        index.index(task(2, ana, "Relatório mensal", "Enviar para a diretoria"));
+        index.index(task(3, ana, "Reunião", "Discutir o relatório anual"));
+        index.index(task(4, ana, "Academia", "Treino"));
+
+        assertThat(index.search("ana@example.com", "relatorio", 10)).containsExactly(2L, 3L, 1L);
+        assertThat(index.search("ana@example.com", "RELATÓRIO anual", 10)).containsExactly(3L);
+        assertThat(index.search("ana@example.com", "relatorio", 1)).containsExactly(2L);
+        assertThat(index.search("bia@example.com", "relatorio", 10)).isEmpty();
+        assertThat(index.search("ana@example.com", "de o a", 10)).isEmpty();
+    }
+
+    @Test
+    void search_matchesPrefixes_butPrefersExactTerms() {
+        index.index(task(1, ana, "Casamento da Júlia", null));
+        index.index(task(2, ana, "Casa nova", null));
+        index.index(task(3, ana, "Carro", null));
+
+        assertThat(index.search("ana@example.com", "casa", 10)).containsExactly(2L, 1L);
+        assertThat(index.search("ana@example.com", "cas jul", 10)).containsExactly(1L);
+        assertThat(index.search("ana@example.com", "ca", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesAndRemovals_areReflected_acrossCompactions() {
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            index.index(task(id, ana, "Tarefa antiga " + id, null));
+        }
+        for (long id = 1; id <= 3000; id++) {
+            if (id % 3 == 0) {
+                index.index(task(id, ana, "Tarefa nova " + id, null));
+                expected.add(id);
+            } else {
+                index.remove(task(id, ana, null, null));
+            }
+        }
+
+        assertThat(index.search("ana@example.com", "antiga", 5000)).isEmpty();
+        assertThat(index.search("ana@example.com", "nova", 5000)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(index.search("ana@example.com", "2998", 10)).isEmpty();
+        assertThat(index.search("ana@example.com", "2996", 10)).isEmpty();
+        assertThat(index.search("ana@example.com", "2994", 10)).containsExactly(2994L);
+    }
+
+    @Test
+    void rebuild_loadsEveryUsersTasksFromTheStore() {
+        User bia = user(2, "bia@example.com");
+        index.index(task(99, ana, "Obsoleta", null));
+        when(userRepository.findAll()).thenReturn(List.of(ana, bia));
+        when(taskStore.findByUserEmail(ana.getEmail())).thenReturn(List.of(task(1, ana, "Pagar boleto", null)));
+        when(taskStore.findByUserEmail(bia.getEmail())).thenReturn(List.of(task(2, bia, "Pagar aluguel", null)));
+
+        index.rebuild();
+
+        assertThat(index.search(ana.getEmail(), "pagar", 10)).containsExactly(1L);
+        assertThat(index.search(ana.getEmail(), "obsoleta", 10)).isEmpty();
+        assertThat(index.search(bia.getEmail(), "aluguel", 10)).containsExactly(2L);
+    }
+}
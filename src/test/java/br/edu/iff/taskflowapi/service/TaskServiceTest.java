@@ -1,23 +1,34 @@
 package br.edu.iff.taskflowapi.service;
 
+import br.edu.iff.taskflowapi.dto.ShareRequest;
 import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.model.AccessLevel;
+import br.edu.iff.taskflowapi.model.Project;
 import br.edu.iff.taskflowapi.model.Status;
 import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.TaskShare;
 import br.edu.iff.taskflowapi.model.User;
-import br.edu.iff.taskflowapi.repository.TaskRepository;
+import br.edu.iff.taskflowapi.repository.TaskShareRepository;
+import br.edu.iff.taskflowapi.repository.TaskStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -28,11 +39,34 @@ import static org.mockito.Mockito.*;
 class TaskServiceTest {
 
     @Mock
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
 
     @Mock
     private UserService userService;
 
+    @Mock
+    private TaskWriteAheadLog writeAheadLog;
+
+    @Mock
+    private TaskSearchIndex searchIndex;
+
+    @Mock
+    private TaskLabelIndex labelIndex;
+
+    @Mock
+    private TaskDependencyGraph dependencyGraph;
+
+    @Mock
+    private TaskRankBalancer rankBalancer;
+
+    @Mock
+    private ProjectService projectService;
+
+    private final TaskShareRepository shareRepository = mock(TaskShareRepository.class);
+
+    @Spy
+    private TaskAccessControl accessControl = new TaskAccessControl(shareRepository, 100, Duration.ofSeconds(10));
+
     @InjectMocks
     private TaskService taskService;
 
@@ -67,7 +101,8 @@ class TaskServiceTest {
     void saveTask_withExistingUser_savesTask() {
         // given
         when(userService.getByEmail(user.getEmail())).thenReturn(Optional.of(user));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        taskRequest.setLabels(List.of(" Casa ", "URGENTE", "casa"));
 
         // when
         Task savedTask = taskService.saveTask(taskRequest, user.getEmail());
@@ -80,8 +115,24 @@ class TaskServiceTest {
         assertThat(savedTask.getStatus()).isEqualTo(Status.OPEN);
         assertThat(savedTask.getCreationDate()).isEqualTo(LocalDate.now());
         assertThat(savedTask.getUser()).isEqualTo(user);
+        assertThat(savedTask.getLabels()).containsExactly("casa", "urgente");
         verify(userService, times(1)).getByEmail(user.getEmail());
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskStore, times(1)).save(any(Task.class));
+        verify(searchIndex, times(1)).index(savedTask);
+        verify(labelIndex, times(1)).index(savedTask);
+    }
+
+    @Test
+    void saveTask_withInvalidLabel_throwsIllegalArgumentException() {
+        // given
+        when(userService.getByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        taskRequest.setLabels(List.of("casa", "com espaço"));
+
+        // when / then
+        assertThatThrownBy(() -> taskService.saveTask(taskRequest, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Etiqueta inválida");
+        verifyNoInteractions(taskStore);
     }
 
     @Test
@@ -111,8 +162,8 @@ class TaskServiceTest {
         existingTask.setStatus(Status.OPEN);
         existingTask.setLimitDate(LocalDate.now().plusDays(10));
 
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(existingTask));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(existingTask));
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // when
         Task updatedTask = taskService.updateTask(task, user.getEmail());
@@ -122,13 +173,13 @@ class TaskServiceTest {
         assertThat(updatedTask.getTitle()).isEqualTo("Test Task");
         assertThat(updatedTask.getDescription()).isEqualTo("desc");
         assertThat(updatedTask.getLimitDate()).isEqualTo(task.getLimitDate());
-        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskStore, times(1)).save(any(Task.class));
     }
 
     @Test
     void updateTask_withNonExistingTask_throwsNotFound() {
         // given
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.empty());
+        when(taskStore.findById(task.getId())).thenReturn(Optional.empty());
 
         // when / then
         assertThatThrownBy(() -> taskService.updateTask(task, user.getEmail()))
@@ -148,7 +199,7 @@ class TaskServiceTest {
         anotherUser.setEmail("other@example.com");
         existingTask.setUser(anotherUser);
 
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(existingTask));
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(existingTask));
 
         // when / then
         assertThatThrownBy(() -> taskService.updateTask(task, user.getEmail()))
@@ -168,19 +219,19 @@ class TaskServiceTest {
         existingTask.setId(20L);
         existingTask.setUser(user);
 
-        when(taskRepository.findById(20L)).thenReturn(Optional.of(existingTask));
+        when(taskStore.findById(20L)).thenReturn(Optional.of(existingTask));
 
         // when
         taskService.deleteTask(20L, user.getEmail());
 
         // then
-        verify(taskRepository, times(1)).delete(existingTask);
+        verify(taskStore, times(1)).delete(existingTask);
     }
 
     @Test
     void deleteTask_withNonExistingTask_throwsNotFound() {
         // given
-        when(taskRepository.findById(20L)).thenReturn(Optional.empty());
+        when(taskStore.findById(20L)).thenReturn(Optional.empty());
 
         // when / then
         assertThatThrownBy(() -> taskService.deleteTask(20L, user.getEmail()))
@@ -200,7 +251,7 @@ class TaskServiceTest {
         anotherUser.setEmail("someoneelse@example.com");
         existingTask.setUser(anotherUser);
 
-        when(taskRepository.findById(20L)).thenReturn(Optional.of(existingTask));
+        when(taskStore.findById(20L)).thenReturn(Optional.of(existingTask));
 
         // when / then
         assertThatThrownBy(() -> taskService.deleteTask(20L, user.getEmail()))
@@ -218,7 +269,7 @@ class TaskServiceTest {
         // given
         List<Task> tasks = new ArrayList<>();
         tasks.add(task);
-        when(taskRepository.findByUserEmail(user.getEmail())).thenReturn(tasks);
+        when(taskStore.findVisible(user.getEmail())).thenReturn(tasks);
 
         // when
         List<Task> result = taskService.getByEmail(user.getEmail());
@@ -226,7 +277,7 @@ class TaskServiceTest {
         // then
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).isEqualTo("Test Task");
-        verify(taskRepository, times(1)).findByUserEmail(user.getEmail());
+        verify(taskStore, times(1)).findVisible(user.getEmail());
     }
 
     // ==================
@@ -236,7 +287,7 @@ class TaskServiceTest {
     void getById_withValidTaskAndMatchingUser_returnsTask() {
         // given
         task.setUser(user);
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
 
         // when
         Task foundTask = taskService.getById(task.getId(), user.getEmail());
@@ -250,7 +301,7 @@ class TaskServiceTest {
     @Test
     void getById_withNonExistingTask_throwsNotFound() {
         // given
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.empty());
+        when(taskStore.findById(task.getId())).thenReturn(Optional.empty());
 
         // when / then
         assertThatThrownBy(() -> taskService.getById(task.getId(), user.getEmail()))
@@ -270,7 +321,7 @@ class TaskServiceTest {
         anotherUser.setEmail("someoneelse@example.com");
         existingTask.setUser(anotherUser);
 
-        when(taskRepository.findById(task.getId())).thenReturn(Optional.of(existingTask));
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(existingTask));
 
         // when / then
         assertThatThrownBy(() -> taskService.getById(task.getId(), user.getEmail()))
@@ -279,5 +330,635 @@ class TaskServiceTest {
                 assertThat(ex.getReason()).isEqualTo("Usuário não autorizado.");
             });
     }
-}
 
+    // ==================
+    // search() Tests
+    // ==================
+    @Test
+    void search_returnsTheUsersTasksInRankOrder() {
+        // given
+        task.setUser(user);
+        Task other = new Task();
+        other.setId(11L);
+        other.setUser(user);
+        when(searchIndex.isEnabled()).thenReturn(true);
+        when(searchIndex.search(user.getEmail(), "relatorio", 20)).thenReturn(List.of(11L, 10L, 12L));
+        when(taskStore.findAllById(List.of(11L, 10L, 12L))).thenReturn(List.of(task, other));
+
+        // when
+        List<Task> result = taskService.search("relatorio", 20, user.getEmail());
+
+        // then
+        assertThat(result).extracting(Task::getId).containsExactly(11L, 10L);
+        verify(taskStore, never()).findById(any());
+    }
+
+    @Test
+    void search_withBlankQuery_throwsIllegalArgumentException() {
+        // given
+        when(searchIndex.isEnabled()).thenReturn(true);
+
+        // when / then
+        assertThatThrownBy(() -> taskService.search(" ", 20, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("A busca não pode ser vazia.");
+        verifyNoInteractions(taskStore);
+    }
+
+    // ==================
+    // filter() Tests
+    // ==================
+    @Test
+    void filter_returnsTheUsersMatchingTasks() {
+        // given
+        task.setUser(user);
+        when(labelIndex.isEnabled()).thenReturn(true);
+        when(labelIndex.filter(user.getEmail(), "casa AND NOT status:DONE", 50)).thenReturn(List.of(10L, 12L));
+        when(taskStore.findAllById(List.of(10L, 12L))).thenReturn(List.of(task));
+
+        // when
+        List<Task> result = taskService.filter("casa AND NOT status:DONE", 50, user.getEmail());
+
+        // then
+        assertThat(result).containsExactly(task);
+    }
+
+    @Test
+    void filter_whenDisabled_throwsNotFound() {
+        // given
+        when(labelIndex.isEnabled()).thenReturn(false);
+
+        // when / then
+        assertThatThrownBy(() -> taskService.filter("casa", 50, user.getEmail()))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        verifyNoInteractions(taskStore);
+    }
+
+    // ==================
+    // Subtask Tests
+    // ==================
+    private Task taskAt(long id, String path, Status status) {
+        Task subtask = new Task();
+        subtask.setId(id);
+        subtask.setPath(path);
+        subtask.setStatus(status);
+        subtask.setUser(user);
+        return subtask;
+    }
+
+    @Test
+    void saveTask_withParent_setsPathAndUpdatesAncestorRollups() {
+        // given
+        when(userService.getByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(taskStore.findById(5L)).thenReturn(Optional.of(taskAt(5L, "/1/", Status.OPEN)));
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> {
+            Task saved = invocation.getArgument(0);
+            saved.setId(11L);
+            return saved;
+        });
+        taskRequest.setParentId(5L);
+
+        // when
+        Task saved = taskService.saveTask(taskRequest, user.getEmail());
+
+        // then
+        assertThat(saved.getParentId()).isEqualTo(5L);
+        assertThat(saved.getPath()).isEqualTo("/1/5/");
+        assertThat(saved.childPath()).isEqualTo("/1/5/11/");
+        verify(taskStore).addToRollups(user, List.of(1L, 5L), 1, 0);
+    }
+
+    @Test
+    void updateTask_whenSubtaskIsDone_addsItToAncestorRollups() {
+        // given
+        Task existing = taskAt(11L, "/1/5/", Status.OPEN);
+        when(taskStore.findById(11L)).thenReturn(Optional.of(existing));
+        when(taskStore.save(existing)).thenReturn(existing);
+        Task update = taskAt(11L, "", Status.DONE);
+
+        // when
+        taskService.updateTask(update, user.getEmail());
+
+        // then
+        assertThat(existing.getPath()).as("the request cannot move the task").isEqualTo("/1/5/");
+        verify(taskStore).addToRollups(user, List.of(1L, 5L), 0, 1);
+    }
+
+    @Test
+    void updateTask_whenTheSaveLosesARace_leavesTheCountersAlone() {
+        // given
+        Task existing = taskAt(11L, "/1/5/", Status.OPEN);
+        existing.setProjectId(7L);
+        when(taskStore.findById(11L)).thenReturn(Optional.of(existing));
+        when(taskStore.save(existing)).thenThrow(new OptimisticLockingFailureException("A tarefa 11 foi alterada"));
+
+        // when / then
+        assertThatThrownBy(() -> taskService.updateTask(taskAt(11L, "", Status.DONE), user.getEmail()))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(taskStore, never()).addToRollups(any(), any(), anyInt(), anyInt());
+        verifyNoInteractions(projectService);
+    }
+
+    @Test
+    void updateTask_withWriteAheadLog_readsAndAppendsUnderTheTaskLock() {
+        // given
+        Task existing = taskAt(11L, "/1/5/", Status.OPEN);
+        when(writeAheadLog.isEnabled()).thenReturn(true);
+        when(writeAheadLog.withTaskLock(eq(11L), any())).thenAnswer(invocation -> {
+            verify(taskStore, never()).findById(11L);
+            Object updated = invocation.<Supplier<?>>getArgument(1).get();
+            verify(writeAheadLog).update(any(Task.class));
+            return updated;
+        });
+        when(taskStore.findById(11L)).thenReturn(Optional.of(existing));
+        when(writeAheadLog.update(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        Task saved = taskService.updateTask(taskAt(11L, "", Status.DONE), user.getEmail());
+
+        // then
+        assertThat(saved.getStatus()).isEqualTo(Status.DONE);
+        verify(writeAheadLog).withTaskLock(eq(11L), any());
+        verify(taskStore).addToRollups(user, List.of(1L, 5L), 0, 1);
+    }
+
+    @Test
+    void moveTask_updatesOnlyAncestorsThatChanged() {
+        // given
+        Task moved = taskAt(5L, "/1/2/", Status.DONE);
+        moved.setSubtaskCount(3);
+        moved.setSubtasksDone(1);
+        when(taskStore.findById(5L)).thenReturn(Optional.of(moved));
+        when(taskStore.findById(3L)).thenReturn(Optional.of(taskAt(3L, "/1/", Status.OPEN)));
+        when(taskStore.save(moved)).thenReturn(moved);
+
+        // when
+        Task result = taskService.moveTask(5L, 3L, user.getEmail());
+
+        // then
+        assertThat(result.getParentId()).isEqualTo(3L);
+        assertThat(result.getPath()).isEqualTo("/1/3/");
+        verify(taskStore).replacePathPrefix(user, "/1/2/5/", "/1/3/5/");
+        verify(taskStore).addToRollups(user, List.of(2L), -4, -2);
+        verify(taskStore).addToRollups(user, List.of(3L), 4, 2);
+    }
+
+    @Test
+    void moveTask_intoItsOwnSubtree_throwsIllegalArgumentException() {
+        // given
+        when(taskStore.findById(5L)).thenReturn(Optional.of(taskAt(5L, "/1/", Status.OPEN)));
+        when(taskStore.findById(7L)).thenReturn(Optional.of(taskAt(7L, "/1/5/6/", Status.OPEN)));
+
+        // when / then
+        assertThatThrownBy(() -> taskService.moveTask(5L, 7L, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.moveTask(5L, 5L, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(taskStore, never()).save(any(Task.class));
+    }
+
+    @Test
+    void deleteTask_withSubtasks_removesTheSubtreeAndUpdatesAncestors() {
+        // given
+        Task parent = taskAt(5L, "/1/", Status.OPEN);
+        parent.setSubtaskCount(2);
+        parent.setSubtasksDone(1);
+        Task child = taskAt(6L, "/1/5/", Status.DONE);
+        Task grandchild = taskAt(7L, "/1/5/6/", Status.OPEN);
+        when(taskStore.findById(5L)).thenReturn(Optional.of(parent));
+        when(taskStore.findDescendants(parent)).thenReturn(List.of(child, grandchild));
+
+        // when
+        taskService.deleteTask(5L, user.getEmail());
+
+        // then
+        verify(taskStore).deleteDescendants(parent);
+        verify(taskStore).delete(parent);
+        verify(taskStore).addToRollups(user, List.of(1L), -3, -1);
+        verify(searchIndex).remove(grandchild);
+        verify(labelIndex).remove(child);
+    }
+
+    @Test
+    void moveTask_withWriteAheadLog_throwsConflict() {
+        // given
+        when(writeAheadLog.isEnabled()).thenReturn(true);
+
+        // when / then
+        assertThatThrownBy(() -> taskService.moveTask(5L, null, user.getEmail()))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        verifyNoInteractions(taskStore);
+    }
+
+    // ==================
+    // Dependency Tests
+    // ==================
+    @Test
+    void addBlocker_linksTheTasksAndSavesTheBlocker() {
+        // given
+        Task blocker = taskAt(4L, "", Status.OPEN);
+        Task blocked = taskAt(5L, "", Status.OPEN);
+        when(dependencyGraph.isEnabled()).thenReturn(true);
+        when(taskStore.findById(4L)).thenReturn(Optional.of(blocker));
+        when(taskStore.findById(5L)).thenReturn(Optional.of(blocked));
+        when(taskStore.save(blocked)).thenReturn(blocked);
+
+        // when
+        Task saved = taskService.addBlocker(5L, 4L, user.getEmail());
+
+        // then
+        assertThat(saved.getBlockedBy()).containsExactly(4L);
+        verify(dependencyGraph).link(blocker, blocked);
+    }
+
+    @Test
+    void addBlocker_closingACycle_throwsIllegalArgumentException() {
+        // given
+        Task blocker = taskAt(4L, "", Status.OPEN);
+        Task blocked = taskAt(5L, "", Status.OPEN);
+        when(dependencyGraph.isEnabled()).thenReturn(true);
+        when(taskStore.findById(4L)).thenReturn(Optional.of(blocker));
+        when(taskStore.findById(5L)).thenReturn(Optional.of(blocked));
+        doThrow(new IllegalArgumentException("A dependência criaria um ciclo."))
+            .when(dependencyGraph).link(blocker, blocked);
+
+        // when / then
+        assertThatThrownBy(() -> taskService.addBlocker(5L, 4L, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(blocked.getBlockedBy()).isEmpty();
+        verify(taskStore, never()).save(any(Task.class));
+    }
+
+    @Test
+    void deleteTask_removesItFromTheBlockersOfItsDependents() {
+        // given
+        Task blocker = taskAt(4L, "", Status.OPEN);
+        Task blocked = taskAt(5L, "", Status.OPEN);
+        blocked.setBlockedBy(Set.of(3L, 4L));
+        when(taskStore.findById(4L)).thenReturn(Optional.of(blocker));
+        when(taskStore.findAllById(List.of(5L))).thenReturn(List.of(blocked));
+        when(dependencyGraph.dependents(user.getEmail(), 4L)).thenReturn(List.of(5L));
+
+        // when
+        taskService.deleteTask(4L, user.getEmail());
+
+        // then
+        verify(taskStore).updateBlockedBy(user, Map.of(5L, Set.of(3L)));
+        verify(taskStore, never()).save(any(Task.class));
+        verify(dependencyGraph).remove(blocker);
+    }
+
+    @Test
+    void getActionable_returnsTheReadyTasksInGraphOrder() {
+        // given
+        Task first = taskAt(7L, "", Status.OPEN);
+        Task second = taskAt(3L, "", Status.IN_PROGRESS);
+        when(dependencyGraph.isEnabled()).thenReturn(true);
+        when(dependencyGraph.ready(user.getEmail(), 20)).thenReturn(List.of(7L, 3L));
+        when(taskStore.findAllById(List.of(7L, 3L))).thenReturn(List.of(second, first));
+
+        // when
+        List<Task> result = taskService.getActionable(20, user.getEmail());
+
+        // then
+        assertThat(result).containsExactly(first, second);
+    }
+
+    private Task rankedAt(long id, Status status, String rank) {
+        Task ranked = taskAt(id, "", status);
+        ranked.setRank(rank);
+        when(taskStore.findById(id)).thenReturn(Optional.of(ranked));
+        return ranked;
+    }
+
+    @Test
+    void positionTask_betweenTwoTasks_writesOnlyTheMovedTask() {
+        // given
+        Task moved = rankedAt(5L, Status.OPEN, "V");
+        Task after = rankedAt(6L, Status.OPEN, "A");
+        Task next = taskAt(7L, "", Status.OPEN);
+        next.setRank("B");
+        when(taskStore.findNextInColumn(user, Status.OPEN, "A", 6L)).thenReturn(Optional.of(next));
+        when(taskStore.save(moved)).thenReturn(moved);
+
+        // when
+        Task result = taskService.positionTask(5L, null, after.getId(), user.getEmail());
+
+        // then
+        assertThat(result.getRank()).isEqualTo("AV");
+        verify(taskStore, times(1)).save(any(Task.class));
+        verifyNoInteractions(rankBalancer, searchIndex);
+    }
+
+    @Test
+    void positionTask_toTheTopOfAnotherColumn_updatesRollupsAndIndexes() {
+        // given
+        Task moved = rankedAt(5L, Status.OPEN, "V");
+        moved.setPath("/1/");
+        Task first = taskAt(7L, "", Status.DONE);
+        first.setRank("UV");
+        when(taskStore.findNextInColumn(user, Status.DONE, "", 0)).thenReturn(Optional.of(first));
+        when(taskStore.save(moved)).thenReturn(moved);
+
+        // when
+        Task result = taskService.positionTask(5L, Status.DONE, null, user.getEmail());
+
+        // then
+        assertThat(result.getStatus()).isEqualTo(Status.DONE);
+        assertThat(result.getRank()).isEqualTo("F");
+        verify(taskStore).addToRollups(user, List.of(1L), 0, 1);
+        verify(searchIndex).index(moved);
+        verify(labelIndex).index(moved);
+        verify(dependencyGraph).index(moved);
+    }
+
+    @Test
+    void positionTask_whenNeighboursTie_rebalancesTheColumnFirst() {
+        // given
+        Task moved = rankedAt(5L, Status.OPEN, "V");
+        rankedAt(6L, Status.OPEN, "M");
+        Task next = taskAt(7L, "", Status.OPEN);
+        next.setRank("M");
+        when(taskStore.findNextInColumn(user, Status.OPEN, "M", 6L)).thenReturn(Optional.of(next));
+        when(rankBalancer.rebalance(user, Status.OPEN)).thenReturn(Map.of(6L, "UF", 7L, "UV", 5L, "Uk"));
+        when(taskStore.save(moved)).thenReturn(moved);
+
+        // when
+        Task result = taskService.positionTask(5L, null, 6L, user.getEmail());
+
+        // then
+        assertThat(result.getRank()).isEqualTo("UN");
+    }
+
+    @Test
+    void positionTask_alreadyInPlace_writesNothing() {
+        // given
+        Task moved = rankedAt(5L, Status.OPEN, "B");
+        rankedAt(6L, Status.OPEN, "A");
+        when(taskStore.findNextInColumn(user, Status.OPEN, "A", 6L)).thenReturn(Optional.of(moved));
+
+        // when
+        Task result = taskService.positionTask(5L, null, 6L, user.getEmail());
+
+        // then
+        assertThat(result.getRank()).isEqualTo("B");
+        verify(taskStore, never()).save(any(Task.class));
+    }
+
+    @Test
+    void positionTask_afterATaskOfAnotherColumn_throwsIllegalArgumentException() {
+        // given
+        rankedAt(5L, Status.OPEN, "B");
+        rankedAt(6L, Status.DONE, "A");
+
+        // when / then
+        assertThatThrownBy(() -> taskService.positionTask(5L, null, 6L, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> taskService.positionTask(5L, null, 5L, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(taskStore, never()).save(any(Task.class));
+    }
+
+    // ==================
+    // Sharing Tests
+    // ==================
+    private Task sharedBy(User owner) {
+        task.setUser(owner);
+        task.setShared(true);
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
+        return task;
+    }
+
+    private static User owner() {
+        User owner = new User();
+        owner.setId(2L);
+        owner.setEmail("owner@example.com");
+        return owner;
+    }
+
+    @Test
+    void getById_withTaskSharedWithTheUser_returnsItAndCachesTheAccess() {
+        // given
+        sharedBy(owner());
+        when(shareRepository.findLevel(task.getId(), user.getEmail())).thenReturn(Optional.of(AccessLevel.READ));
+
+        // when
+        taskService.getById(task.getId(), user.getEmail());
+        Task found = taskService.getById(task.getId(), user.getEmail());
+
+        // then
+        assertThat(found).isSameAs(task);
+        verify(shareRepository, times(1)).findLevel(task.getId(), user.getEmail());
+    }
+
+    @Test
+    void updateTask_withReadShare_throwsForbidden_andWithWriteShareSaves() {
+        // given
+        sharedBy(owner());
+        when(shareRepository.findLevel(task.getId(), user.getEmail())).thenReturn(Optional.of(AccessLevel.READ));
+        Task changes = new Task();
+        changes.setId(task.getId());
+        changes.setTitle("Novo título");
+        changes.setStatus(Status.OPEN);
+
+        // when / then
+        assertThatThrownBy(() -> taskService.updateTask(changes, user.getEmail()))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+        verify(taskStore, never()).save(any(Task.class));
+
+        // a share made after the first check drops the cached access once it commits
+        when(shareRepository.findLevel(task.getId(), user.getEmail())).thenReturn(Optional.of(AccessLevel.WRITE));
+        when(shareRepository.findById(new TaskShare.Key(user.getId(), task.getId()))).thenReturn(Optional.empty());
+        accessControl.share(task, user, AccessLevel.WRITE);
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertThat(taskService.updateTask(changes, user.getEmail()).getTitle()).isEqualTo("Novo título");
+        assertThat(task.getUser().getEmail()).isEqualTo("owner@example.com");
+    }
+
+    @Test
+    void moveTask_withWriteShare_throwsForbidden() {
+        // given
+        sharedBy(owner());
+
+        // when / then
+        assertThatThrownBy(() -> taskService.moveTask(task.getId(), null, user.getEmail()))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN));
+        verifyNoInteractions(shareRepository);
+    }
+
+    @Test
+    void shareTask_savesTheShareAndFlagsTheTaskOnce() {
+        // given
+        task.setUser(user);
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
+        User collaborator = owner();
+        when(userService.getByEmail(collaborator.getEmail())).thenReturn(Optional.of(collaborator));
+        when(shareRepository.findById(any())).thenReturn(Optional.empty());
+        ShareRequest request = new ShareRequest();
+        request.setEmail(collaborator.getEmail());
+        request.setLevel(AccessLevel.WRITE);
+
+        // when
+        taskService.shareTask(task.getId(), request, user.getEmail());
+        task.setShared(true);
+        taskService.shareTask(task.getId(), request, user.getEmail());
+
+        // then
+        verify(shareRepository, times(2)).save(argThat(share -> share.getUserId() == 2L && share.getTaskId() == 10L
+            && share.getOwnerId() == 1L && share.getLevel() == AccessLevel.WRITE));
+        verify(taskStore, times(1)).markShared(user, task.getId());
+    }
+
+    @Test
+    void shareTask_withTheOwnerOrTooManyUsers_throwsIllegalArgumentException() {
+        // given
+        task.setUser(user);
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
+        when(userService.getByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        User collaborator = owner();
+        when(userService.getByEmail(collaborator.getEmail())).thenReturn(Optional.of(collaborator));
+        when(shareRepository.findById(any())).thenReturn(Optional.empty());
+        when(shareRepository.countByTaskId(task.getId())).thenReturn((long) TaskAccessControl.MAX_SHARES);
+        ShareRequest request = new ShareRequest();
+        request.setLevel(AccessLevel.READ);
+
+        // when / then
+        request.setEmail(user.getEmail());
+        assertThatThrownBy(() -> taskService.shareTask(task.getId(), request, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        request.setEmail(collaborator.getEmail());
+        assertThatThrownBy(() -> taskService.shareTask(task.getId(), request, user.getEmail()))
+            .isInstanceOf(IllegalArgumentException.class);
+        verify(shareRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteTask_removesTheSharesOnlyOfSharedTasks() {
+        // given
+        task.setUser(user);
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
+
+        // when
+        taskService.deleteTask(task.getId(), user.getEmail());
+        task.setShared(true);
+        taskService.deleteTask(task.getId(), user.getEmail());
+
+        // then
+        verify(shareRepository, times(1)).deleteByTaskIds(List.of(task.getId()));
+    }
+
+    // ==================
+    // Project Tests
+    // ==================
+    private Project project(long id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("Projeto " + id);
+        project.setUser(user);
+        return project;
+    }
+
+    @Test
+    void saveTask_inAProject_countsItInTheProject() {
+        // given
+        when(userService.getByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(projectService.lockById(7L, user.getEmail())).thenReturn(project(7));
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        taskRequest.setProjectId(7L);
+
+        // when
+        Task saved = taskService.saveTask(taskRequest, user.getEmail());
+
+        // then
+        assertThat(saved.getProjectId()).isEqualTo(7L);
+        verify(projectService).recount(null, null, 7L, Status.OPEN);
+    }
+
+    @Test
+    void updateTask_changingStatus_movesItBetweenTheProjectsCounters() {
+        // given
+        task.setUser(user);
+        task.setProjectId(7L);
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        Task changes = new Task();
+        changes.setId(task.getId());
+        changes.setTitle(task.getTitle());
+        changes.setStatus(Status.DONE);
+
+        // when
+        taskService.updateTask(changes, user.getEmail());
+
+        // then
+        verify(projectService).recount(7L, Status.OPEN, 7L, Status.DONE);
+    }
+
+    @Test
+    void moveToProject_movesTheTaskBetweenProjects() {
+        // given
+        task.setUser(user);
+        task.setProjectId(7L);
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
+        when(projectService.lockById(8L, user.getEmail())).thenReturn(project(8));
+        when(taskStore.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        Task moved = taskService.moveToProject(task.getId(), 8L, user.getEmail());
+        taskService.moveToProject(task.getId(), 8L, user.getEmail());
+
+        // then
+        assertThat(moved.getProjectId()).isEqualTo(8L);
+        verify(taskStore, times(1)).save(task);
+        verify(projectService, times(1)).recount(7L, Status.OPEN, 8L, Status.OPEN);
+    }
+
+    @Test
+    void moveToProject_whenTheSaveLosesARace_leavesTheCountersAlone() {
+        // given
+        task.setUser(user);
+        task.setProjectId(7L);
+        when(taskStore.findById(task.getId())).thenReturn(Optional.of(task));
+        when(projectService.lockById(8L, user.getEmail())).thenReturn(project(8));
+        when(taskStore.save(task)).thenThrow(new OptimisticLockingFailureException("A tarefa foi alterada"));
+
+        // when / then
+        assertThatThrownBy(() -> taskService.moveToProject(task.getId(), 8L, user.getEmail()))
+            .isInstanceOf(OptimisticLockingFailureException.class);
+        verify(projectService, never()).recount(any(), any(), any(), any());
+    }
+
+    @Test
+    void moveToProject_withWriteAheadLog_throwsConflict() {
+        // given
+        when(writeAheadLog.isEnabled()).thenReturn(true);
+
+        // when / then
+        assertThatThrownBy(() -> taskService.moveToProject(task.getId(), 8L, user.getEmail()))
+            .isInstanceOfSatisfying(ResponseStatusException.class,
+                ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+        verifyNoInteractions(taskStore, projectService);
+    }
+
+    @Test
+    void getByProject_readsOnlyTheProjectsTasks_andFiltersByLabel() {
+        // given
+        Task labelled = new Task();
+        labelled.setLabels(Set.of("casa"));
+        Task other = new Task();
+        other.setLabels(Set.of("trabalho"));
+        when(projectService.getById(7L, user.getEmail())).thenReturn(project(7));
+        when(taskStore.findByProject(user, 7L, Status.OPEN)).thenReturn(new ArrayList<>(List.of(labelled, other)));
+
+        // when
+        List<Task> tasks = taskService.getByProject(7L, Status.OPEN, " Casa ", user.getEmail());
+
+        // then
+        assertThat(tasks).containsExactly(labelled);
+        verify(writeAheadLog).awaitApplied();
+    }
+}
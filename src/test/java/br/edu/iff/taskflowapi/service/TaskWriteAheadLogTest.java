@@ -0,0 +1,234 @@
+package br.edu.iff.taskflowapi.service;
+
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import br.edu.iff.taskflowapi.model.User;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.unit.DataSize;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<TaskWriteAheadLog> logs = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (TaskWriteAheadLog log : logs) {
+            log.destroy();
+        }
+    }
+
+    private static DataSource migratedDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:wal-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        new JdbcTemplate(dataSource).update(
+            "insert into app_user (id, name, email, password) values (1, 'Ana', 'ana@example.com', 'hash')");
+        return dataSource;
+    }
+
+    private TaskWriteAheadLog writeAheadLog(DataSource dataSource, boolean enabled) {
+        return writeAheadLog(dataSource, enabled, Duration.ofSeconds(5));
+    }
+
+    private TaskWriteAheadLog writeAheadLog(DataSource dataSource, boolean enabled, Duration timeout) {
+        TaskWriteAheadLog log = new TaskWriteAheadLog(dataSource,
+            new SnapshotService(dataSource, false, directory.resolve("taskflow.snapshot")), enabled,
+            directory.resolve("wal"), DataSize.ofMegabytes(1), 100, 10, timeout);
+        log.recover();
+        logs.add(log);
+        return log;
+    }
+
+    private static Task task(String title) {
+        User user = new User();
+        user.setId(1L);
+        Task task = new Task();
+        task.setTitle(title);
+        task.setDescription("desc");
+        task.setStatus(Status.OPEN);
+        task.setCreationDate(LocalDate.parse("2024-01-01"));
+        task.setLimitDate(LocalDate.parse("2024-12-31"));
+        task.setUser(user);
+        return task;
+    }
+
+    @Test
+    void recover_whenDisabled_leavesLogOff() {
+        TaskWriteAheadLog log = writeAheadLog(migratedDatabase(), false);
+
+        log.awaitApplied();
+
+        assertThat(log.isEnabled()).isFalse();
+        assertThat(directory.resolve("wal")).doesNotExist();
+    }
+
+    @Test
+    void mutations_areVisibleAfterAwaitApplied() {
+        DataSource dataSource = migratedDatabase();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.update("insert into task (id, title, status, user_id) values (41, 'Existente', 'OPEN', 1)");
+        TaskWriteAheadLog log = writeAheadLog(dataSource, true);
+
+        Task first = log.insert(task("Primeira"));
+        Task second = log.insert(task("Segunda"));
+        first.setStatus(Status.DONE);
+        log.update(first);
+        log.delete(second);
+        log.awaitApplied();
+
+        assertThat(first.getId()).isEqualTo(42L);
+        assertThat(second.getId()).isEqualTo(43L);
+        assertThat(jdbc.queryForList("select id, title, status from task order by id")).containsExactly(
+            Map.of("ID", 41L, "TITLE", "Existente", "STATUS", "OPEN"),
+            Map.of("ID", 42L, "TITLE", "Primeira", "STATUS", "DONE"));
+    }
+
+    @Test
+    void recover_replaysLogOverDatabaseThatLostTheWrites() {
+        TaskWriteAheadLog crashed = writeAheadLog(migratedDatabase(), true);
+        Task kept = crashed.insert(task("Mantida"));
+        Task removed = crashed.insert(task("Removida"));
+        kept.setTitle("Atualizada");
+        kept.setLabels(new TreeSet<>(Set.of("casa", "urgente")));
+        crashed.update(kept);
+        crashed.delete(removed);
+
+        DataSource dataSource = migratedDatabase();
+        writeAheadLog(dataSource, true);
+
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertThat(jdbc.queryForList("select id, title, user_id, labels from task")).containsExactly(
+            Map.of("ID", 1L, "TITLE", "Atualizada", "USER_ID", 1L, "LABELS", "casa,urgente"));
+        jdbc.update("insert into task (title, user_id) values ('Nova', 1)");
+        assertThat(jdbc.queryForObject("select max(id) from task", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    void failedBatches_areRetriedUntilTheDatabaseIsBack() {
+        FlakyDataSource dataSource = new FlakyDataSource(migratedDatabase());
+        TaskWriteAheadLog log = writeAheadLog(dataSource, true);
+
+        dataSource.down = true;
+        Task task = log.insert(task("Durante a queda"));
+        dataSource.down = false;
+        log.awaitApplied();
+
+        assertThat(new JdbcTemplate(dataSource).queryForList("select id from task", Long.class))
+            .containsExactly(task.getId());
+    }
+
+    @Test
+    void writesNeverApplied_areKeptInTheLogAcrossShutdown() throws Exception {
+        FlakyDataSource dataSource = new FlakyDataSource(migratedDatabase());
+        TaskWriteAheadLog log = writeAheadLog(dataSource, true, Duration.ofMillis(200));
+
+        dataSource.down = true;
+        log.insert(task("Confirmada"));
+        assertThatThrownBy(log::awaitApplied).isInstanceOf(IllegalStateException.class);
+        log.destroy();
+        logs.remove(log);
+
+        DataSource recovered = migratedDatabase();
+        writeAheadLog(recovered, true);
+        assertThat(new JdbcTemplate(recovered).queryForList("select title from task", String.class))
+            .containsExactly("Confirmada");
+    }
+
+    @Test
+    void recordRejectedAfterTheAck_isSkippedWithoutStoppingTheLog() {
+        DataSource dataSource = migratedDatabase();
+        TaskWriteAheadLog log = writeAheadLog(dataSource, true);
+        Task before = log.insert(task("Antes"));
+        Task orphan = task("Sem dono");
+        orphan.getUser().setId(99L);
+
+        log.insert(orphan);
+        Task after = log.insert(task("Depois"));
+        log.awaitApplied();
+        Task later = log.insert(task("Mais tarde"));
+        log.awaitApplied();
+
+        assertThat(new JdbcTemplate(dataSource).queryForList("select id from task order by id", Long.class))
+            .containsExactly(before.getId(), after.getId(), later.getId());
+    }
+
+    @Test
+    void tasksTooLongForTheirColumns_areRefusedBeforeTheAck() {
+        DataSource dataSource = migratedDatabase();
+        TaskWriteAheadLog log = writeAheadLog(dataSource, true);
+        Task kept = log.insert(task("Mantida"));
+
+        assertThatThrownBy(() -> log.insert(task("x".repeat(256)))).isInstanceOf(IllegalArgumentException.class);
+        kept.setDescription("x".repeat(256));
+        assertThatThrownBy(() -> log.update(kept)).isInstanceOf(IllegalArgumentException.class);
+        log.awaitApplied();
+
+        assertThat(new JdbcTemplate(dataSource).queryForList("select description from task", String.class))
+            .containsExactly("desc");
+    }
+
+    // Fails every new connection while down, like a database that went away.
+    private static final class FlakyDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        private FlakyDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("Conexão recusada", "08001");
+            }
+            return super.getConnection();
+        }
+    }
+
+    @Test
+    void recover_cutsOffTornTail() throws Exception {
+        TaskWriteAheadLog crashed = writeAheadLog(migratedDatabase(), true);
+        crashed.insert(task("Completa"));
+        Path segment;
+        try (Stream<Path> files = Files.list(directory.resolve("wal"))) {
+            segment = files.findFirst().orElseThrow();
+        }
+        long size = Files.size(segment);
+        Files.write(segment, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        DataSource dataSource = migratedDatabase();
+        writeAheadLog(dataSource, true);
+
+        assertThat(new JdbcTemplate(dataSource).queryForList("select title from task", String.class))
+            .containsExactly("Completa");
+        assertThat(Files.size(segment)).isEqualTo(size);
+    }
+}
@@ -0,0 +1,53 @@
+package br.edu.iff.taskflowapi.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Records every statement Hibernate prepares on the current thread, so
+ * integration tests can pin the number of queries an endpoint issues.
+ * Registered for the whole test classpath in {@code hibernate.properties}.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static void assertStatementCount(int expected) {
+        assertCount(statements(), expected);
+    }
+
+    /**
+     * Same as {@link #assertStatementCount(int)} but ignores sequence
+     * increments: with the pooled optimizer they only happen once every
+     * allocation block, so their number depends on what ran before.
+     */
+    public static void assertQueryCount(int expected) {
+        assertCount(statements().stream()
+            .filter(sql -> !sql.startsWith("select next value for"))
+            .toList(), expected);
+    }
+
+    private static void assertCount(List<String> statements, int expected) {
+        assertThat(statements)
+            .as("SQL statements:%n%s", String.join(System.lineSeparator(), statements))
+            .hasSize(expected);
+    }
+}
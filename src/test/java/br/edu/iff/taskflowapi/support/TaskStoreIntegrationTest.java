@@ -0,0 +1,120 @@
+package br.edu.iff.taskflowapi.support;
+
+import br.edu.iff.taskflowapi.dto.LoginRequest;
+import br.edu.iff.taskflowapi.dto.TaskRequest;
+import br.edu.iff.taskflowapi.dto.UserRequest;
+import br.edu.iff.taskflowapi.model.Status;
+import br.edu.iff.taskflowapi.model.Task;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * The task flow every storage profile has to pass. Each profile's
+ * integration test extends it with its own {@code @SpringBootTest}
+ * configuration and adds only the behavior specific to its store.
+ */
+@AutoConfigureMockMvc
+public abstract class TaskStoreIntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Test
+    void create_getAll_getById_update_delete_flow() throws Exception {
+        String token = signupAndLogin("store-" + UUID.randomUUID() + "@example.com");
+        Task createdTask = createTask(token, "Store Task");
+        assertThat(createdTask.getId()).isNotNull();
+        assertThat(createdTask.getStatus()).isEqualTo(Status.OPEN);
+
+        mockMvc.perform(get("/api/task/all")
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$[0].id").value(createdTask.getId()));
+
+        createdTask.setTitle("Updated Title");
+        createdTask.setStatus(Status.DONE);
+        mockMvc.perform(put("/api/task/" + createdTask.getId())
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createdTask)))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/task/" + createdTask.getId())
+                .header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.title").value("Updated Title"))
+            .andExpect(jsonPath("$.status").value("DONE"));
+
+        mockMvc.perform(delete("/api/task/" + createdTask.getId())
+                .header("Authorization", token))
+            .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/task/" + createdTask.getId())
+                .header("Authorization", token))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getById_fromAnotherUser_returnsForbidden() throws Exception {
+        Task task = createTask(signupAndLogin("store-" + UUID.randomUUID() + "@example.com"), "Private Task");
+
+        String otherToken = signupAndLogin("store-other-" + UUID.randomUUID() + "@example.com");
+        awaitReplicas();
+        mockMvc.perform(get("/api/task/" + task.getId())
+                .header("Authorization", otherToken))
+            .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Makes the writes so far visible to the reads of other users, for the
+     * profiles that send those to replicas.
+     */
+    protected void awaitReplicas() {
+    }
+
+    protected String signupAndLogin(String email) throws Exception {
+        UserRequest userRequest = new UserRequest();
+        userRequest.setName("Store User");
+        userRequest.setEmail(email);
+        userRequest.setPassword("password");
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userRequest)))
+            .andExpect(status().isOk());
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setEmail(email);
+        loginRequest.setPassword("password");
+        MvcResult loginResult = mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(loginRequest)))
+            .andExpect(status().isOk())
+            .andReturn();
+        return "Bearer " + objectMapper.readTree(loginResult.getResponse().getContentAsString()).get("token").asText();
+    }
+
+    protected Task createTask(String token, String title) throws Exception {
+        TaskRequest task = new TaskRequest();
+        task.setTitle(title);
+        task.setDescription("desc");
+        task.setLimitDate("2025-09-22");
+        MvcResult result = mockMvc.perform(post("/api/task")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(task)))
+            .andExpect(status().isCreated())
+            .andReturn();
+        return objectMapper.readValue(result.getResponse().getContentAsString(), Task.class);
+    }
+}